@@ -0,0 +1,107 @@
+package com.masai.config;
+
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Optional;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Issues and verifies the passes handed out by the flash-sale waiting room:
+ * queue tickets, which prove a buyer's place in line, and purchase permits,
+ * which let an admitted buyer through to the ticket purchase.
+ * <p>
+ * A pass is the URL-safe Base64 form of
+ * {@code version | kind | userId | parkId | position | expiry | truncated HMAC-SHA256},
+ * so checking one needs no shared state beyond the key.
+ */
+@Component
+public class AdmissionPassSigner {
+
+	private static final byte VERSION = 1;
+
+	private static final int PAYLOAD_LENGTH = 1 + 1 + Long.BYTES * 4;
+
+	private static final int MAC_LENGTH = 8;
+
+	@Autowired
+	private JwtHelper jwtHelper;
+
+	private SecretKey key;
+
+	@PostConstruct
+	public void init() {
+		key = jwtHelper.deriveKey("admission-pass");
+	}
+
+	/**
+	 * @param pass contents to sign
+	 * @return the signed pass
+	 */
+	public String sign(AdmissionPass pass) {
+		ByteBuffer buffer = ByteBuffer.allocate(PAYLOAD_LENGTH + MAC_LENGTH);
+		buffer.put(VERSION).put((byte) pass.kind().ordinal()).putLong(pass.userId()).putLong(pass.parkId())
+				.putLong(pass.position()).putLong(pass.expiresAt());
+		buffer.put(mac(buffer.array(), PAYLOAD_LENGTH));
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+	}
+
+	/**
+	 * @param value a pass produced by {@link #sign}
+	 * @param kind  the kind of pass expected
+	 * @return the signed contents, or empty if the pass is malformed, of another
+	 *         kind, expired or its signature does not match
+	 */
+	public Optional<AdmissionPass> verify(String value, Kind kind) {
+		if (value == null) {
+			return Optional.empty();
+		}
+		byte[] bytes;
+		try {
+			bytes = Base64.getUrlDecoder().decode(value);
+		} catch (IllegalArgumentException e) {
+			return Optional.empty();
+		}
+		if (bytes.length != PAYLOAD_LENGTH + MAC_LENGTH || bytes[0] != VERSION || bytes[1] != kind.ordinal()) {
+			return Optional.empty();
+		}
+		byte[] expected = mac(bytes, PAYLOAD_LENGTH);
+		if (!MessageDigest.isEqual(expected, Arrays.copyOfRange(bytes, PAYLOAD_LENGTH, bytes.length))) {
+			return Optional.empty();
+		}
+		ByteBuffer buffer = ByteBuffer.wrap(bytes, 2, PAYLOAD_LENGTH - 2);
+		AdmissionPass pass = new AdmissionPass(kind, buffer.getLong(), buffer.getLong(), buffer.getLong(),
+				buffer.getLong());
+		return pass.expiresAt() < System.currentTimeMillis() ? Optional.empty() : Optional.of(pass);
+	}
+
+	private byte[] mac(byte[] data, int length) {
+		try {
+			Mac mac = Mac.getInstance("HmacSHA256");
+			mac.init(key);
+			mac.update(data, 0, length);
+			return Arrays.copyOf(mac.doFinal(), MAC_LENGTH);
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException("Could not sign admission pass", e);
+		}
+	}
+
+	public enum Kind {
+		QUEUE, PERMIT
+	}
+
+	/**
+	 * Contents of a verified pass.
+	 */
+	public record AdmissionPass(Kind kind, long userId, long parkId, long position, long expiresAt) {
+	}
+}
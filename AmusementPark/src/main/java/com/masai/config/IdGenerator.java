@@ -0,0 +1,13 @@
+package com.masai.config;
+
+/**
+ * Source of entity identifiers. Implementations must be thread-safe and must
+ * never hand out the same value twice.
+ */
+public interface IdGenerator {
+
+	/**
+	 * @return the next identifier
+	 */
+	long nextId();
+}
@@ -0,0 +1,36 @@
+package com.masai.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Provides the {@link IdGenerator} used for all entity IDs. Every application
+ * node sharing a database needs its own {@code id.node-id}.
+ */
+@Configuration
+public class IdGeneratorConfig {
+
+	private static volatile IdGenerator current = new SnowflakeIdGenerator(0);
+
+	@Bean
+	public IdGenerator idGenerator(@Value("${id.node-id:0}") long nodeId) {
+		IdGenerator generator = new SnowflakeIdGenerator(nodeId);
+		use(generator);
+		return generator;
+	}
+
+	/**
+	 * Replaces the generator used for entities annotated with
+	 * {@link TimeOrderedId}.
+	 *
+	 * @param generator the generator to use from now on
+	 */
+	public static void use(IdGenerator generator) {
+		current = generator;
+	}
+
+	static IdGenerator current() {
+		return current;
+	}
+}
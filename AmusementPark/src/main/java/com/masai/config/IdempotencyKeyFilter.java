@@ -0,0 +1,32 @@
+package com.masai.config;
+
+import java.io.IOException;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Keeps a copy of the body of requests sent with an {@code Idempotency-Key},
+ * so {@link IdempotencyStore} can tell a retry from a different request that
+ * reuses the key.
+ */
+@Component
+public class IdempotencyKeyFilter extends OncePerRequestFilter {
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		filterChain.doFilter(new ContentCachingRequestWrapper(request), response);
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return request.getHeader(IdempotencyStore.HEADER) == null;
+	}
+}
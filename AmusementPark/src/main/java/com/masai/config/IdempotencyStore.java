@@ -0,0 +1,309 @@
+package com.masai.config;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+import org.springframework.web.util.WebUtils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.masai.exception.IdempotencyKeyReusedException;
+import com.masai.exception.SomethingWentWrongException;
+import com.masai.model.IdempotencyRecord;
+import com.masai.repository.IdempotencyRecordRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Remembers the responses of POST requests sent with an
+ * {@code Idempotency-Key} header so that client retries are answered from the
+ * store instead of running the request again.
+ * <p>
+ * Recent responses live in a bounded LRU map with a TTL; every successful
+ * response is also written to the Idempotency_Keys table so that a retry
+ * landing after an eviction or on another node is still deduplicated.
+ * Concurrent duplicates on the same node share the first request's result.
+ * <p>
+ * A hash of the request body is kept with each key: reusing a key with a
+ * different body is rejected instead of being answered with the first
+ * request's response. Responses are serialized and stored on a separate
+ * thread, so requests completed by a purchase pipeline worker do not hold that
+ * worker up.
+ */
+@Component
+public class IdempotencyStore {
+
+	public static final String HEADER = "Idempotency-Key";
+
+	public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+	private Logger logger = LoggerFactory.getLogger(IdempotencyStore.class);
+
+	@Autowired
+	private IdempotencyRecordRepository recordRepository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Value("${idempotency.ttl-ms:86400000}")
+	private long ttlMs;
+
+	@Value("${idempotency.max-entries:10000}")
+	private int maxEntries;
+
+	@Value("${idempotency.store-threads:2}")
+	private int storeThreads;
+
+	private ExecutorService storeExecutor;
+
+	private final Map<String, CachedResponse> recent = new LinkedHashMap<>(256, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+			return size() > maxEntries;
+		}
+	};
+
+	private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+	@PostConstruct
+	public void start() {
+		AtomicInteger count = new AtomicInteger();
+		storeExecutor = Executors.newFixedThreadPool(storeThreads, task -> {
+			Thread thread = new Thread(task, "idempotency-store-" + count.getAndIncrement());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	@PreDestroy
+	public void stop() throws InterruptedException {
+		storeExecutor.shutdown();
+		storeExecutor.awaitTermination(5, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * Runs {@code action} unless a response for the same key and scope is already
+	 * known, in which case that response is returned.
+	 *
+	 * @param key     Value of the Idempotency-Key header, may be {@code null}.
+	 * @param scope   Identifies the endpoint, e.g. method and path.
+	 * @param request The request, whose body must match the first request's.
+	 * @param type    Raw type of the response body, used to read stored
+	 *                responses.
+	 * @param action  Request handling to run for a new key.
+	 * @return The response of the first request with this key.
+	 * @throws IdempotencyKeyReusedException If the key was used with a different
+	 *                                       request body.
+	 */
+	public <T> ResponseEntity<T> execute(String key, String scope, HttpServletRequest request, Class<?> type,
+			Supplier<ResponseEntity<T>> action) throws IdempotencyKeyReusedException {
+		try {
+			return executeAsync(key, scope, request, type, () -> CompletableFuture.completedFuture(action.get()))
+					.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw new SomethingWentWrongException(e.getCause());
+		}
+	}
+
+	/**
+	 * Asynchronous variant of {@link #execute}.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public <T> CompletableFuture<ResponseEntity<T>> executeAsync(String key, String scope, HttpServletRequest request,
+			Class<?> type, Supplier<CompletableFuture<ResponseEntity<T>>> action) throws IdempotencyKeyReusedException {
+		if (key == null || key.isBlank()) {
+			return action.get();
+		}
+		String hash = hash(scope, key);
+		String requestHash = bodyHash(request);
+
+		Optional<ResponseEntity<T>> stored = lookup(hash, requestHash, type);
+		if (stored.isPresent()) {
+			return CompletableFuture.completedFuture(stored.get());
+		}
+
+		InFlight mine = new InFlight(requestHash, new CompletableFuture<>());
+		InFlight running = inFlight.putIfAbsent(hash, mine);
+		if (running != null) {
+			checkSameRequest(running.requestHash(), requestHash);
+			return (CompletableFuture) running.future().thenApply(IdempotencyStore::replayed);
+		}
+		// The first request may have stored its response and left between our
+		// lookup and taking the in-flight entry
+		try {
+			stored = lookup(hash, requestHash, type);
+		} catch (RuntimeException e) {
+			inFlight.remove(hash, mine);
+			mine.future().completeExceptionally(e);
+			throw e;
+		}
+		if (stored.isPresent()) {
+			inFlight.remove(hash, mine);
+			mine.future().complete(stored.get());
+			return CompletableFuture.completedFuture(stored.get());
+		}
+
+		CompletableFuture<ResponseEntity<T>> result;
+		try {
+			result = action.get();
+		} catch (RuntimeException e) {
+			result = CompletableFuture.failedFuture(e);
+		}
+		// Duplicates keep waiting on the in-flight entry until the response is stored
+		result.whenCompleteAsync((response, error) -> {
+			try {
+				if (error == null && response.getStatusCode().is2xxSuccessful()) {
+					remember(hash, requestHash, response);
+				}
+			} finally {
+				inFlight.remove(hash, mine);
+				if (error != null) {
+					mine.future().completeExceptionally(error);
+				} else {
+					mine.future().complete(response);
+				}
+			}
+		}, storeExecutor);
+		return result;
+	}
+
+	/**
+	 * Removes expired keys from the table; expired entries in memory are dropped
+	 * when they are next looked up or evicted.
+	 */
+	@Scheduled(fixedDelayString = "${idempotency.cleanup-interval-ms:3600000}")
+	public void purgeExpired() {
+		int removed = recordRepository.deleteExpired(new Date());
+		if (removed > 0) {
+			logger.info("Removed {} expired idempotency keys", removed);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> Optional<ResponseEntity<T>> lookup(String hash, String requestHash, Class<?> type) {
+		long now = System.currentTimeMillis();
+		CachedResponse cached;
+		synchronized (recent) {
+			cached = recent.get(hash);
+			if (cached != null && cached.expiresAt < now) {
+				recent.remove(hash);
+				cached = null;
+			}
+		}
+		if (cached == null) {
+			IdempotencyRecord record = recordRepository.findById(hash)
+					.filter(r -> r.getExpiresAt().getTime() >= now).orElse(null);
+			if (record == null) {
+				return Optional.empty();
+			}
+			cached = new CachedResponse(record.getRequestHash(), record.getStatus(), record.getBody(),
+					record.getExpiresAt().getTime());
+			synchronized (recent) {
+				recent.put(hash, cached);
+			}
+		}
+		checkSameRequest(cached.requestHash, requestHash);
+		try {
+			T body = cached.body == null ? null : (T) objectMapper.readValue(cached.body, type);
+			return Optional.of(replayed(ResponseEntity.status(cached.status).body(body)));
+		} catch (JsonProcessingException e) {
+			logger.warn("Ignoring unreadable stored response for idempotency key", e);
+			return Optional.empty();
+		}
+	}
+
+	private void remember(String hash, String requestHash, ResponseEntity<?> response) {
+		long now = System.currentTimeMillis();
+		try {
+			String body = response.getBody() == null ? null : objectMapper.writeValueAsString(response.getBody());
+			CachedResponse cached = new CachedResponse(requestHash, response.getStatusCode().value(), body,
+					now + ttlMs);
+			synchronized (recent) {
+				recent.put(hash, cached);
+			}
+			recordRepository.save(new IdempotencyRecord(hash, requestHash, cached.status, body, new Date(now),
+					new Date(cached.expiresAt)));
+		} catch (JsonProcessingException | RuntimeException e) {
+			// The request itself succeeded; a missing record only weakens dedup
+			logger.warn("Could not store response for idempotency key", e);
+		}
+	}
+
+	private static <T> ResponseEntity<T> replayed(ResponseEntity<T> response) {
+		HttpHeaders headers = new HttpHeaders();
+		headers.addAll(response.getHeaders());
+		headers.set(REPLAYED_HEADER, "true");
+		HttpStatusCode status = response.getStatusCode();
+		return new ResponseEntity<>(response.getBody(), headers, status);
+	}
+
+	/**
+	 * Records stored before request hashes were kept have none and match any
+	 * request.
+	 */
+	private static void checkSameRequest(String first, String current) throws IdempotencyKeyReusedException {
+		if (first != null && !first.equals(current)) {
+			throw new IdempotencyKeyReusedException(
+					"Idempotency-Key was already used with a different request body.");
+		}
+	}
+
+	/**
+	 * Hash of the body kept by {@link IdempotencyKeyFilter}; requests it did not
+	 * wrap hash as empty.
+	 */
+	private static String bodyHash(HttpServletRequest request) {
+		ContentCachingRequestWrapper cached = request == null ? null
+				: WebUtils.getNativeRequest(request, ContentCachingRequestWrapper.class);
+		return sha256(cached != null ? cached.getContentAsByteArray() : new byte[0]);
+	}
+
+	private static String hash(String scope, String key) {
+		return sha256((scope + '\n' + key).getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static String sha256(byte[] data) {
+		try {
+			return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private record CachedResponse(String requestHash, int status, String body, long expiresAt) {
+	}
+
+	private record InFlight(String requestHash, CompletableFuture<ResponseEntity<?>> future) {
+	}
+}
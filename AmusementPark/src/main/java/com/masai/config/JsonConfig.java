@@ -0,0 +1,56 @@
+package com.masai.config;
+
+import java.util.List;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+
+/**
+ * JSON settings shared by every response.
+ */
+@Configuration
+public class JsonConfig {
+
+	/**
+	 * Writes 64-bit IDs as strings. {@link SnowflakeIdGenerator} values are far
+	 * above 2^53, which JavaScript and most mobile JSON parsers read as
+	 * doubles, silently rounding them to a different ID. Any {@code Long}
+	 * property named {@code id} or ending in {@code Id} is written as a string;
+	 * counts and other numbers are left alone. Requests may send IDs either
+	 * way, as Jackson reads numeric strings into {@code Long}s.
+	 *
+	 * @return Module picked up by Spring Boot's {@code ObjectMapper}.
+	 */
+	@Bean
+	public Module idsAsStrings() {
+		SimpleModule module = new SimpleModule("ids-as-strings");
+		module.setSerializerModifier(new BeanSerializerModifier() {
+
+			@Override
+			public List<BeanPropertyWriter> changeProperties(SerializationConfig config, BeanDescription description,
+					List<BeanPropertyWriter> properties) {
+				for (BeanPropertyWriter property : properties) {
+					if (isId(property)) {
+						property.assignSerializer(ToStringSerializer.instance);
+					}
+				}
+				return properties;
+			}
+		});
+		return module;
+	}
+
+	static boolean isId(BeanPropertyWriter property) {
+		Class<?> type = property.getType().getRawClass();
+		String name = property.getName();
+		return (type == Long.class || type == long.class) && (name.equals("id") || name.endsWith("Id"));
+	}
+}
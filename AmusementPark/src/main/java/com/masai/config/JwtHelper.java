@@ -9,13 +9,17 @@ import io.jsonwebtoken.security.Keys;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Function;
 
+import javax.crypto.Mac;
 import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
 
 @Component
 public class JwtHelper {
@@ -85,6 +89,19 @@ public class JwtHelper {
 				.compact();
 	}
 
+	// derive a separate key for another purpose (e.g. ticket codes) from the same
+	// secret, so that a value signed for one purpose is never valid for another
+	public SecretKey deriveKey(String purpose) {
+		try {
+			Mac mac = Mac.getInstance("HmacSHA256");
+			mac.init(secretKey);
+			byte[] derived = mac.doFinal(purpose.getBytes(StandardCharsets.UTF_8));
+			return new SecretKeySpec(derived, "HmacSHA256");
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException("Could not derive key for " + purpose, e);
+		}
+	}
+
 	// validate token
 	public Boolean validateToken(String token, UserDetails userDetails) {
 		final String username = getUsernameFromToken(token);
@@ -0,0 +1,68 @@
+package com.masai.config;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.masai.exception.InvalidPageTokenException;
+
+/**
+ * Position of a keyset (seek) page: the sort key and ID of the last row
+ * returned, plus the direction it was read in. Pages sorted on a text column
+ * carry the text of the last row instead of a numeric key.
+ * <p>
+ * Clients only ever see the encoded form, which they hand back unchanged to
+ * fetch the next page.
+ *
+ * @param sortKey    Sort column of the last row, e.g. a timestamp in millis.
+ * @param id         ID of the last row, breaks ties on the sort key.
+ * @param descending Whether the page was read newest first.
+ * @param textKey    Text sort column of the last row, {@code null} when the
+ *                   page is sorted on {@code sortKey}.
+ */
+public record PageToken(long sortKey, long id, boolean descending, String textKey) {
+
+	private static final byte VERSION = 1;
+
+	// Same layout followed by the UTF-8 text key
+	private static final byte TEXT_VERSION = 2;
+
+	private static final int LENGTH = 1 + 8 + 8 + 1;
+
+	public PageToken(long sortKey, long id, boolean descending) {
+		this(sortKey, id, descending, null);
+	}
+
+	public String encode() {
+		byte[] text = textKey != null ? textKey.getBytes(StandardCharsets.UTF_8) : new byte[0];
+		ByteBuffer buffer = ByteBuffer.allocate(LENGTH + text.length);
+		buffer.put(textKey != null ? TEXT_VERSION : VERSION).putLong(sortKey).putLong(id)
+				.put((byte) (descending ? 1 : 0)).put(text);
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+	}
+
+	/**
+	 * @param token Encoded token as received from a client.
+	 * @return The decoded position.
+	 * @throws InvalidPageTokenException If the token was not produced by
+	 *                                   {@link #encode()}.
+	 */
+	public static PageToken decode(String token) throws InvalidPageTokenException {
+		byte[] bytes;
+		try {
+			bytes = Base64.getUrlDecoder().decode(token);
+		} catch (IllegalArgumentException e) {
+			throw new InvalidPageTokenException("Invalid page token.");
+		}
+		boolean valid = bytes.length == LENGTH && bytes[0] == VERSION
+				|| bytes.length >= LENGTH && bytes[0] == TEXT_VERSION;
+		if (!valid) {
+			throw new InvalidPageTokenException("Invalid page token.");
+		}
+		ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, LENGTH - 1);
+		String text = bytes[0] == TEXT_VERSION
+				? new String(bytes, LENGTH, bytes.length - LENGTH, StandardCharsets.UTF_8)
+				: null;
+		return new PageToken(buffer.getLong(), buffer.getLong(), buffer.get() == 1, text);
+	}
+}
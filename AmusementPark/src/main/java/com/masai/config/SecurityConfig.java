@@ -1,5 +1,7 @@
 package com.masai.config;
 
+import static org.springframework.security.web.util.matcher.AntPathRequestMatcher.antMatcher;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -14,6 +16,7 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
 
 /**
  * Security Configuration class responsible for configuring Spring Security
@@ -48,10 +51,22 @@ public class SecurityConfig {
 				.cors(AbstractHttpConfigurer::disable) // Disabling Cross-Origin Resource Sharing
 				.authorizeHttpRequests(auth -> auth
 						// .anyRequest().permitAll()
+						// Scheduling sessions sits under the public activity paths, so it is matched first
+						.requestMatchers(HttpMethod.POST, "/api/activities/*/sessions").hasAuthority("ADMIN")
+						.requestMatchers(HttpMethod.DELETE, "/api/activities/*/sessions/*").hasAuthority("ADMIN")
+						// Soft-deleted activities are only listed for admins
+						.requestMatchers(new AndRequestMatcher(antMatcher(HttpMethod.GET, "/api/activities/park/*"),
+								request -> request.getParameter("deleted") != null))
+						.hasAuthority("ADMIN")
 						.requestMatchers("/swagger-ui/**", "/v3/**", "/swagger-resources/**", "/webjars/**",
 								"/auth/login", "/api/users/register", "/api/activities/**", "/api/reviews/park/**",
 								"/api/parks")
 						.permitAll() // Allowing access to specified endpoints without authentication
+						// The signed queue token identifies the buyer, so polling skips the user lookup
+						.requestMatchers(HttpMethod.GET, "/api/flash-sales/queue").permitAll()
+						// Search and proximity queries cover the same public data as the park listing
+						.requestMatchers(HttpMethod.GET, "/api/search", "/api/parks/nearby", "/api/parks/open").permitAll()
+						.requestMatchers(HttpMethod.GET, "/api/wait-times/**").permitAll()
 						.requestMatchers(HttpMethod.PUT, "/api/users/**", "/api/reviews/park/**",
 								"/api/addresses/users/**")
 						.hasAnyAuthority("USER") // Accessible to users only
@@ -64,11 +79,15 @@ public class SecurityConfig {
 						.requestMatchers(HttpMethod.POST, "/api/reviews/park/**", "/api/addresses/users/**",
 								"/api/addresses/bulk/users/**", "/api/user/**")
 						.hasAnyAuthority("USER") // Accessible to users only
+						.requestMatchers("/api/admin/**").hasAuthority("ADMIN") // Admin exports and reports
+						// Metrics and caches show traffic and cached data, only the health check is public
+						.requestMatchers(HttpMethod.GET, "/actuator/health").permitAll()
+						.requestMatchers("/actuator/**").hasAuthority("ADMIN")
 						.requestMatchers(HttpMethod.PUT, "/api/parks/**", "/api/activities").hasAuthority("ADMIN")
 						.requestMatchers(HttpMethod.DELETE, "/api/parks/**", "/api/activities/park/**")
 						.hasAuthority("ADMIN") // Accessible to admins only via DELETE
 						.requestMatchers(HttpMethod.POST, "/api/parks/**", "/api/activities/park/**",
-								"/api/activities/bulk/park/**")
+								"/api/activities/bulk/park/**", "/api/wait-times/events")
 						.hasAuthority("ADMIN") // Accessible to admins only via POST
 						.anyRequest().authenticated() // All other requests need authentication
 
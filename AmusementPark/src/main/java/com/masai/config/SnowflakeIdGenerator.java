@@ -0,0 +1,89 @@
+package com.masai.config;
+
+import java.time.Instant;
+
+/**
+ * Time-ordered 64-bit identifiers built from a millisecond timestamp, a node ID
+ * and a per-millisecond sequence:
+ *
+ * <pre>
+ *  0 | 41 bits: ms since EPOCH | 10 bits: node | 12 bits: sequence
+ * </pre>
+ *
+ * IDs from one node are strictly increasing, IDs from different nodes never
+ * collide as long as every node has its own node ID, and no coordination with
+ * the database is needed before an insert.
+ */
+public class SnowflakeIdGenerator implements IdGenerator {
+
+	/** 2024-01-01T00:00:00Z, leaves room for roughly 69 years of IDs. */
+	public static final long EPOCH = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+
+	static final int NODE_BITS = 10;
+
+	static final int SEQUENCE_BITS = 12;
+
+	public static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+
+	private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+	/** How far the wall clock may step back before we refuse to generate. */
+	private static final long MAX_CLOCK_DRIFT_MS = 5_000;
+
+	private final long nodeId;
+
+	private long lastTimestamp = -1L;
+
+	private long sequence;
+
+	public SnowflakeIdGenerator(long nodeId) {
+		if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+			throw new IllegalArgumentException("Node ID must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+		}
+		this.nodeId = nodeId;
+	}
+
+	@Override
+	public synchronized long nextId() {
+		long timestamp = currentTime();
+		if (timestamp < lastTimestamp) {
+			if (lastTimestamp - timestamp > MAX_CLOCK_DRIFT_MS) {
+				throw new IllegalStateException(
+						"Clock moved backwards by " + (lastTimestamp - timestamp) + " ms, refusing to generate IDs");
+			}
+			// Small step back (NTP slew): keep counting on the last timestamp
+			timestamp = lastTimestamp;
+		}
+		if (timestamp == lastTimestamp) {
+			sequence = (sequence + 1) & SEQUENCE_MASK;
+			if (sequence == 0) {
+				timestamp = waitForNextMillis(lastTimestamp);
+			}
+		} else {
+			sequence = 0;
+		}
+		lastTimestamp = timestamp;
+		return ((timestamp - EPOCH) << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+	}
+
+	/**
+	 * @param id an ID produced by this class
+	 * @return the instant the ID was generated at
+	 */
+	public static Instant timestampOf(long id) {
+		return Instant.ofEpochMilli((id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH);
+	}
+
+	protected long currentTime() {
+		return System.currentTimeMillis();
+	}
+
+	private long waitForNextMillis(long last) {
+		long timestamp = currentTime();
+		while (timestamp <= last) {
+			Thread.onSpinWait();
+			timestamp = currentTime();
+		}
+		return timestamp;
+	}
+}
@@ -0,0 +1,99 @@
+package com.masai.config;
+
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Optional;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Issues and verifies the compact codes printed on tickets.
+ * <p>
+ * A code is the URL-safe Base64 form of
+ * {@code version | ticketId | parkId | visit day | truncated HMAC-SHA256}, 39
+ * characters in total. Verifying one needs only the key, which is derived from
+ * the secret managed by {@link JwtHelper}, so gates can check tickets without a
+ * database round trip.
+ */
+@Component
+public class TicketCodeSigner {
+
+	private static final byte VERSION = 1;
+
+	private static final int PAYLOAD_LENGTH = 1 + Long.BYTES + Long.BYTES + Integer.BYTES;
+
+	private static final int MAC_LENGTH = 8;
+
+	@Autowired
+	private JwtHelper jwtHelper;
+
+	private SecretKey key;
+
+	@PostConstruct
+	public void init() {
+		key = jwtHelper.deriveKey("ticket-code");
+	}
+
+	/**
+	 * @param ticketId ID of the ticket
+	 * @param parkId   ID of the park the ticket is valid for
+	 * @param day      Day the ticket is valid on
+	 * @return the signed code
+	 */
+	public String sign(long ticketId, long parkId, LocalDate day) {
+		ByteBuffer buffer = ByteBuffer.allocate(PAYLOAD_LENGTH + MAC_LENGTH);
+		buffer.put(VERSION).putLong(ticketId).putLong(parkId).putInt((int) day.toEpochDay());
+		buffer.put(mac(buffer.array(), PAYLOAD_LENGTH));
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+	}
+
+	/**
+	 * @param code a code produced by {@link #sign}
+	 * @return the signed contents, or empty if the code is malformed or its
+	 *         signature does not match
+	 */
+	public Optional<TicketCode> verify(String code) {
+		byte[] bytes;
+		try {
+			bytes = Base64.getUrlDecoder().decode(code);
+		} catch (IllegalArgumentException e) {
+			return Optional.empty();
+		}
+		if (bytes.length != PAYLOAD_LENGTH + MAC_LENGTH || bytes[0] != VERSION) {
+			return Optional.empty();
+		}
+		byte[] expected = mac(bytes, PAYLOAD_LENGTH);
+		if (!MessageDigest.isEqual(expected, Arrays.copyOfRange(bytes, PAYLOAD_LENGTH, bytes.length))) {
+			return Optional.empty();
+		}
+		ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, PAYLOAD_LENGTH - 1);
+		return Optional.of(new TicketCode(buffer.getLong(), buffer.getLong(), LocalDate.ofEpochDay(buffer.getInt())));
+	}
+
+	private byte[] mac(byte[] data, int length) {
+		try {
+			Mac mac = Mac.getInstance("HmacSHA256");
+			mac.init(key);
+			mac.update(data, 0, length);
+			return Arrays.copyOf(mac.doFinal(), MAC_LENGTH);
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException("Could not sign ticket code", e);
+		}
+	}
+
+	/**
+	 * Contents of a verified ticket code.
+	 */
+	public record TicketCode(long ticketId, long parkId, LocalDate day) {
+	}
+}
@@ -0,0 +1,19 @@
+package com.masai.config;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+/**
+ * Hibernate bridge for {@link TimeOrderedId}. Hibernate instantiates this class
+ * itself, so the actual {@link IdGenerator} is looked up through
+ * {@link IdGeneratorConfig#current()} on every call.
+ */
+public class TimeOrderedIdentifierGenerator implements IdentifierGenerator {
+
+	private static final long serialVersionUID = 1L;
+
+	@Override
+	public Object generate(SharedSessionContractImplementor session, Object object) {
+		return IdGeneratorConfig.current().nextId();
+	}
+}
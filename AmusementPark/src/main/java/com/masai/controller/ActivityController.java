@@ -1,8 +1,10 @@
 package com.masai.controller;
 
 import com.masai.exception.ActivityNotFoundException;
+import com.masai.exception.InvalidPageTokenException;
 import com.masai.exception.SomethingWentWrongException;
 import com.masai.model.Activity;
+import com.masai.model.ActivityPage;
 import com.masai.service.ActivityService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -20,13 +22,25 @@ public class ActivityController {
 	private ActivityService activityService;
 
 	@GetMapping("/{parkId}")
-	public ResponseEntity<Set<Activity>> getActivity(@PathVariable Integer parkId) throws ActivityNotFoundException {
+	public ResponseEntity<Set<Activity>> getActivity(@PathVariable Long parkId) throws ActivityNotFoundException {
 		Set<Activity> activity = activityService.getActivity(parkId);
 		return new ResponseEntity<>(activity, HttpStatus.OK);
 	}
 
+	@GetMapping("/park/{parkId}")
+	public ResponseEntity<ActivityPage> findActivities(@PathVariable Long parkId,
+			@RequestParam(required = false) Double minPrice, @RequestParam(required = false) Double maxPrice,
+			@RequestParam(required = false) String prefix, @RequestParam(defaultValue = "false") boolean deleted,
+			@RequestParam(defaultValue = "name") String sort, @RequestParam(defaultValue = "asc") String order,
+			@RequestParam(required = false) String pageToken, @RequestParam(defaultValue = "20") int size)
+			throws SomethingWentWrongException, InvalidPageTokenException {
+		ActivityPage page = activityService.findActivities(parkId, minPrice, maxPrice, prefix, deleted, sort,
+				"desc".equalsIgnoreCase(order), pageToken, size);
+		return new ResponseEntity<>(page, HttpStatus.OK);
+	}
+
 	@PostMapping("/park/{parkId}")
-	public ResponseEntity<Activity> createActivity(@RequestBody Activity activity, @PathVariable Integer parkId)
+	public ResponseEntity<Activity> createActivity(@RequestBody Activity activity, @PathVariable Long parkId)
 			throws SomethingWentWrongException {
 		Activity createdActivity = activityService.createActivity(parkId, activity);
 		return new ResponseEntity<>(createdActivity, HttpStatus.CREATED);
@@ -34,7 +48,7 @@ public class ActivityController {
 
 	@PostMapping("/bulk/park/{parkId}")
 	public ResponseEntity<List<Activity>> createActivities(@RequestBody Set<Activity> activities,
-			@PathVariable Integer parkId) throws SomethingWentWrongException {
+			@PathVariable Long parkId) throws SomethingWentWrongException {
 		List<Activity> createdActivities = activityService.addActivitiesInBulk(parkId, activities);
 		return new ResponseEntity<>(createdActivities, HttpStatus.CREATED);
 	}
@@ -47,7 +61,7 @@ public class ActivityController {
 	}
 
 	@DeleteMapping("/park/{parkId}/activity/{activityId}")
-	public ResponseEntity<String> deleteActivity(@PathVariable Integer activityId, @PathVariable Integer parkId)
+	public ResponseEntity<String> deleteActivity(@PathVariable Long activityId, @PathVariable Long parkId)
 			throws ActivityNotFoundException {
 		String message = activityService.deleteActivity(activityId, parkId);
 		return new ResponseEntity<>(message, HttpStatus.OK);
@@ -0,0 +1,44 @@
+package com.masai.controller;
+
+import com.masai.exception.ActivityNotFoundException;
+import com.masai.exception.SomethingWentWrongException;
+import com.masai.model.ActivitySession;
+import com.masai.model.SessionAvailability;
+import com.masai.service.BookingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/activities/{activityId}/sessions")
+public class ActivitySessionController {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @GetMapping
+    public ResponseEntity<List<SessionAvailability>> getSessions(@PathVariable Long activityId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        List<SessionAvailability> sessions = bookingService.getSessions(activityId, date);
+        return new ResponseEntity<>(sessions, HttpStatus.OK);
+    }
+
+    @PostMapping
+    public ResponseEntity<ActivitySession> createSession(@PathVariable Long activityId,
+            @RequestBody ActivitySession session) throws ActivityNotFoundException, SomethingWentWrongException {
+        ActivitySession created = bookingService.createSession(activityId, session);
+        return new ResponseEntity<>(created, HttpStatus.CREATED);
+    }
+
+    @DeleteMapping("/{sessionId}")
+    public ResponseEntity<String> cancelSession(@PathVariable Long activityId, @PathVariable Long sessionId)
+            throws ActivityNotFoundException {
+        String message = bookingService.cancelSession(sessionId);
+        return new ResponseEntity<>(message, HttpStatus.OK);
+    }
+}
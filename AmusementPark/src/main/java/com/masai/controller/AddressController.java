@@ -3,6 +3,8 @@ package com.masai.controller;
 import java.util.List;
 import java.util.Set;
 
+import jakarta.servlet.http.HttpServletRequest;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -12,9 +14,11 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.masai.config.IdempotencyStore;
 import com.masai.model.Address;
 import com.masai.service.AddressService;
 
@@ -25,35 +29,50 @@ public class AddressController {
 	@Autowired
 	private AddressService addressService;
 
+	@Autowired
+	private IdempotencyStore idempotencyStore;
+
 	@PostMapping("/users/{userId}")
-	public ResponseEntity<Address> createAddress(@PathVariable Integer userId, @RequestBody Address address) {
-		Address createdAddress = addressService.createAddress(userId, address);
-		return new ResponseEntity<>(createdAddress, HttpStatus.CREATED);
+	public ResponseEntity<Address> createAddress(@PathVariable Long userId, @RequestBody Address address,
+			@RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+			HttpServletRequest request) {
+		return idempotencyStore.execute(idempotencyKey, scopeOf(request), request, Address.class, () -> {
+			Address createdAddress = addressService.createAddress(userId, address);
+			return new ResponseEntity<>(createdAddress, HttpStatus.CREATED);
+		});
 	}
 
 	@PostMapping("/bulk/users/{userId}")
-	public ResponseEntity<List<Address>> createAddresses(@PathVariable Integer userId,
-			@RequestBody Set<Address> addresses) {
-		List<Address> createdAddresses = addressService.addAddressesInBulk(addresses);
-		return new ResponseEntity<>(createdAddresses, HttpStatus.CREATED);
+	public ResponseEntity<List<Address>> createAddresses(@PathVariable Long userId,
+			@RequestBody Set<Address> addresses,
+			@RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+			HttpServletRequest request) {
+		return idempotencyStore.execute(idempotencyKey, scopeOf(request), request, List.class, () -> {
+			List<Address> createdAddresses = addressService.addAddressesInBulk(addresses);
+			return new ResponseEntity<>(createdAddresses, HttpStatus.CREATED);
+		});
 	}
 
 	@GetMapping("/users/{userId}")
-	public ResponseEntity<Set<Address>> getAddressesByUser(@PathVariable Integer userId) {
+	public ResponseEntity<Set<Address>> getAddressesByUser(@PathVariable Long userId) {
 		Set<Address> address = addressService.getAddressesByUser(userId);
 		return new ResponseEntity<>(address, HttpStatus.OK);
 	}
 
 	@PutMapping("/users/{userId}/update-addresses")
-	public ResponseEntity<String> updateAddressesByUser(@PathVariable Integer userId,
+	public ResponseEntity<String> updateAddressesByUser(@PathVariable Long userId,
 			@RequestBody Set<Address> addresses) {
 		String message = addressService.updateAddressesByUser(userId, addresses);
 		return new ResponseEntity<>(message, HttpStatus.OK);
 	}
 
 	@DeleteMapping("/users/{userId}/delete-addresses/{addressId}")
-	public ResponseEntity<String> deleteAddressesByUser(@PathVariable Integer userId, @PathVariable Integer addressId) {
+	public ResponseEntity<String> deleteAddressesByUser(@PathVariable Long userId, @PathVariable Long addressId) {
 		String deletedAddress = addressService.deleteAddressesByUser(userId, addressId);
 		return new ResponseEntity<>(deletedAddress, HttpStatus.OK);
 	}
+
+	private static String scopeOf(HttpServletRequest request) {
+		return request.getMethod() + " " + request.getRequestURI();
+	}
 }
@@ -0,0 +1,46 @@
+package com.masai.controller;
+
+import com.masai.exception.ActivityNotFoundException;
+import com.masai.exception.InsufficientBalanceException;
+import com.masai.exception.SoldOutException;
+import com.masai.exception.SomethingWentWrongException;
+import com.masai.exception.TicketNotFoundException;
+import com.masai.model.ActivityBooking;
+import com.masai.model.AddOn;
+import com.masai.service.BookingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/user/{userId}/tickets/{ticketId}/bookings")
+public class BookingController {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @GetMapping
+    public ResponseEntity<List<ActivityBooking>> getBookings(@PathVariable Long userId, @PathVariable Long ticketId)
+            throws TicketNotFoundException {
+        List<ActivityBooking> bookings = bookingService.getBookings(userId, ticketId);
+        return new ResponseEntity<>(bookings, HttpStatus.OK);
+    }
+
+    @PostMapping
+    public ResponseEntity<ActivityBooking> bookSession(@PathVariable Long userId, @PathVariable Long ticketId,
+            @RequestBody AddOn addOn) throws TicketNotFoundException, ActivityNotFoundException, SoldOutException,
+            InsufficientBalanceException, SomethingWentWrongException {
+        ActivityBooking booking = bookingService.bookSession(userId, ticketId, addOn);
+        return new ResponseEntity<>(booking, HttpStatus.CREATED);
+    }
+
+    @DeleteMapping("/{bookingId}")
+    public ResponseEntity<String> cancelBooking(@PathVariable Long userId, @PathVariable Long ticketId,
+            @PathVariable Long bookingId) throws TicketNotFoundException {
+        String message = bookingService.cancelBooking(userId, ticketId, bookingId);
+        return new ResponseEntity<>(message, HttpStatus.OK);
+    }
+}
@@ -0,0 +1,25 @@
+package com.masai.controller;
+
+import com.masai.exception.ParkNotFoundException;
+import com.masai.model.CalendarDay;
+import com.masai.service.AvailabilityCalendar;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/parks/{parkId}/calendar")
+public class CalendarController {
+
+    @Autowired
+    private AvailabilityCalendar availabilityCalendar;
+
+    @GetMapping
+    public ResponseEntity<List<CalendarDay>> getCalendar(@PathVariable Long parkId) throws ParkNotFoundException {
+        List<CalendarDay> calendar = availabilityCalendar.getCalendar(parkId);
+        return new ResponseEntity<>(calendar, HttpStatus.OK);
+    }
+}
@@ -0,0 +1,68 @@
+package com.masai.controller;
+
+import com.masai.exception.ParkNotFoundException;
+import com.masai.exception.SomethingWentWrongException;
+import com.masai.model.TicketExportFormat;
+import com.masai.service.ParkService;
+import com.masai.service.TicketExportService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/api/admin/exports")
+public class ExportController {
+
+    @Autowired
+    private TicketExportService ticketExportService;
+
+    @Autowired
+    private ParkService parkService;
+
+    /** Async timeout for one export; -1 lets a multi-million-row export run to completion. */
+    @Value("${export.timeout-ms:-1}")
+    private long timeoutMs;
+
+    @GetMapping("/parks/{parkId}/tickets")
+    public WebAsyncTask<Void> exportTickets(@PathVariable Long parkId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "ndjson") String format, HttpServletResponse response)
+            throws ParkNotFoundException {
+        // Fail with a 404 or 400 before the response is committed
+        parkService.getPark(parkId);
+        TicketExportFormat exportFormat;
+        try {
+            exportFormat = TicketExportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new SomethingWentWrongException("Unknown export format: " + format + ". Use ndjson or csv.");
+        }
+
+        ZoneId zone = ZoneId.systemDefault();
+        Date start = Date.from(from.atStartOfDay(zone).toInstant());
+        Date end = Date.from(to.plusDays(1).atStartOfDay(zone).toInstant());
+
+        String fileName = "tickets-" + parkId + "-" + from + "-" + to
+                + (exportFormat == TicketExportFormat.CSV ? ".csv" : ".ndjson");
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(exportFormat == TicketExportFormat.CSV ? "text/csv" : "application/x-ndjson");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"");
+
+        // A StreamingResponseBody would run under the default MVC async timeout and be cut off mid-file
+        return new WebAsyncTask<>(timeoutMs, () -> {
+            ticketExportService.exportTickets(parkId, start, end, exportFormat, response.getOutputStream());
+            response.flushBuffer();
+            return null;
+        });
+    }
+}
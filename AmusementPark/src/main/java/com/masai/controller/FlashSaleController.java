@@ -0,0 +1,51 @@
+package com.masai.controller;
+
+import com.masai.exception.AdmissionRequiredException;
+import com.masai.exception.ParkNotFoundException;
+import com.masai.model.QueueStatus;
+import com.masai.service.ParkService;
+import com.masai.service.WaitingRoom;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api")
+public class FlashSaleController {
+
+    @Autowired
+    private WaitingRoom waitingRoom;
+
+    @Autowired
+    private ParkService parkService;
+
+    @PostMapping("/flash-sales/parks/{parkId}/queue")
+    public ResponseEntity<QueueStatus> joinQueue(@PathVariable Long parkId, @RequestParam Long userId)
+            throws AdmissionRequiredException {
+        QueueStatus status = waitingRoom.join(userId, parkId);
+        return new ResponseEntity<>(status, HttpStatus.OK);
+    }
+
+    @GetMapping("/flash-sales/queue")
+    public ResponseEntity<QueueStatus> getQueueStatus(@RequestParam String queueToken)
+            throws AdmissionRequiredException {
+        QueueStatus status = waitingRoom.status(queueToken);
+        return new ResponseEntity<>(status, HttpStatus.OK);
+    }
+
+    @PostMapping("/admin/flash-sales/parks/{parkId}")
+    public ResponseEntity<String> openFlashSale(@PathVariable Long parkId,
+            @RequestParam(defaultValue = "${flash-sale.default-rate-per-second:50}") double ratePerSecond,
+            @RequestParam(defaultValue = "${flash-sale.default-burst:100}") int burst) throws ParkNotFoundException {
+        parkService.getPark(parkId);
+        waitingRoom.open(parkId, ratePerSecond, burst);
+        return new ResponseEntity<>("Flash sale opened for park " + parkId + ".", HttpStatus.OK);
+    }
+
+    @DeleteMapping("/admin/flash-sales/parks/{parkId}")
+    public ResponseEntity<String> closeFlashSale(@PathVariable Long parkId) {
+        waitingRoom.close(parkId);
+        return new ResponseEntity<>("Flash sale closed for park " + parkId + ".", HttpStatus.OK);
+    }
+}
@@ -0,0 +1,30 @@
+package com.masai.controller;
+
+import com.masai.model.TicketValidation;
+import com.masai.service.GateService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/gate")
+public class GateController {
+
+    @Autowired
+    private GateService gateService;
+
+    @GetMapping("/tickets/{code}")
+    public ResponseEntity<TicketValidation> validateTicket(@PathVariable String code,
+            @RequestParam(required = false) Long parkId) {
+        TicketValidation validation = gateService.validate(code, parkId);
+        return new ResponseEntity<>(validation, HttpStatus.OK);
+    }
+
+    @PostMapping("/tickets/{code}/admit")
+    public ResponseEntity<TicketValidation> admitTicket(@PathVariable String code,
+            @RequestParam(required = false) Long parkId) {
+        TicketValidation validation = gateService.admit(code, parkId);
+        return new ResponseEntity<>(validation, HttpStatus.OK);
+    }
+}
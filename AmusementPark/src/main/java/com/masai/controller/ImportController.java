@@ -0,0 +1,29 @@
+package com.masai.controller;
+
+import com.masai.model.TicketImportReport;
+import com.masai.service.TicketImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/admin/imports")
+public class ImportController {
+
+    @Autowired
+    private TicketImportService ticketImportService;
+
+    /**
+     * Accepts a JSON array of rows or one JSON row per line
+     * ({@code application/x-ndjson}); the body is read as it arrives.
+     */
+    @PostMapping("/tickets")
+    public ResponseEntity<TicketImportReport> importTickets(HttpServletRequest request) throws IOException {
+        TicketImportReport report = ticketImportService.importTickets(request.getInputStream());
+        return new ResponseEntity<>(report, HttpStatus.OK);
+    }
+}
@@ -0,0 +1,27 @@
+package com.masai.controller;
+
+import com.masai.exception.SomethingWentWrongException;
+import com.masai.model.NearbyPark;
+import com.masai.service.ParkLocator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/parks/nearby")
+public class NearbyController {
+
+    @Autowired
+    private ParkLocator parkLocator;
+
+    @GetMapping
+    public ResponseEntity<List<NearbyPark>> getNearbyParks(@RequestParam double lat, @RequestParam double lng,
+            @RequestParam(defaultValue = "10") int limit, @RequestParam(required = false) Double radiusKm,
+            @RequestParam(defaultValue = "false") boolean openNow) throws SomethingWentWrongException {
+        List<NearbyPark> parks = parkLocator.nearest(lat, lng, limit, radiusKm, openNow);
+        return new ResponseEntity<>(parks, HttpStatus.OK);
+    }
+}
@@ -0,0 +1,28 @@
+package com.masai.controller;
+
+import com.masai.model.OpenPark;
+import com.masai.service.OpenHoursIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/parks/open")
+public class OpenParksController {
+
+    @Autowired
+    private OpenHoursIndex openHoursIndex;
+
+    @GetMapping
+    public ResponseEntity<List<OpenPark>> getOpenParks(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at,
+            @RequestParam(defaultValue = "0") int opensWithin) {
+        List<OpenPark> parks = openHoursIndex.openAt(at != null ? at : LocalDateTime.now(), opensWithin);
+        return new ResponseEntity<>(parks, HttpStatus.OK);
+    }
+}
@@ -0,0 +1,31 @@
+package com.masai.controller;
+
+import com.masai.exception.SomethingWentWrongException;
+import com.masai.model.DeadLetterEvent;
+import com.masai.service.DeadLetterService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/outbox")
+public class OutboxController {
+
+    @Autowired
+    private DeadLetterService deadLetterService;
+
+    @GetMapping("/dead-letters")
+    public ResponseEntity<Page<DeadLetterEvent>> getDeadLetters(Pageable pageable) {
+        Page<DeadLetterEvent> deadLetters = deadLetterService.getDeadLetters(pageable);
+        return new ResponseEntity<>(deadLetters, HttpStatus.OK);
+    }
+
+    @PostMapping("/dead-letters/{id}/retry")
+    public ResponseEntity<String> retryDeadLetter(@PathVariable Long id) throws SomethingWentWrongException {
+        String message = deadLetterService.retryDeadLetter(id);
+        return new ResponseEntity<>(message, HttpStatus.OK);
+    }
+}
@@ -3,12 +3,16 @@ package com.masai.controller;
 import com.masai.exception.ParkNotFoundException;
 import com.masai.exception.SomethingWentWrongException;
 import com.masai.model.Park;
+import com.masai.service.ParkCatalog;
 import com.masai.service.ParkService;
 
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -19,16 +23,35 @@ public class ParkController {
 	@Autowired
 	private ParkService parkService;
 
+	@Autowired
+	private ParkCatalog parkCatalog;
+
 	@GetMapping("/{parkId}")
-	public ResponseEntity<Park> getPark(@PathVariable Integer parkId) throws ParkNotFoundException {
+	public ResponseEntity<Park> getPark(@PathVariable Long parkId) throws ParkNotFoundException {
 		Park park = parkService.getPark(parkId);
 		return new ResponseEntity<>(park, HttpStatus.OK);
 	}
 
+	// Served from the pre-encoded catalog; clients revalidate with If-None-Match
 	@GetMapping
-	public ResponseEntity<List<Park>> getAllParks() throws ParkNotFoundException {
-		List<Park> parks = parkService.getAllParks();
-		return new ResponseEntity<>(parks, HttpStatus.OK);
+	public ResponseEntity<byte[]> getAllParks(
+			@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+			@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+		ParkCatalog.Snapshot catalog = parkCatalog.current();
+		boolean compressed = catalog.gzip() != null && acceptEncoding != null && acceptEncoding.contains("gzip");
+
+		HttpHeaders headers = new HttpHeaders();
+		headers.setETag(catalog.etag(compressed));
+		headers.setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+		headers.setCacheControl(CacheControl.noCache());
+		if (catalog.matches(ifNoneMatch, compressed)) {
+			return new ResponseEntity<>(headers, HttpStatus.NOT_MODIFIED);
+		}
+		headers.setContentType(MediaType.APPLICATION_JSON);
+		if (compressed) {
+			headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+		}
+		return new ResponseEntity<>(compressed ? catalog.gzip() : catalog.json(), headers, HttpStatus.OK);
 	}
 
 	@PostMapping
@@ -38,7 +61,7 @@ public class ParkController {
 	}
 
 	@PutMapping("/{parkId}")
-	public ResponseEntity<String> updatePark(@RequestBody Park park, @PathVariable Integer parkId)
+	public ResponseEntity<String> updatePark(@RequestBody Park park, @PathVariable Long parkId)
 			throws ParkNotFoundException, SomethingWentWrongException {
 		park.setParkId(parkId);
 		String message = parkService.updatePark(park);
@@ -46,7 +69,7 @@ public class ParkController {
 	}
 
 	@DeleteMapping("/{parkId}")
-	public ResponseEntity<String> deletePark(@PathVariable Integer parkId) throws ParkNotFoundException {
+	public ResponseEntity<String> deletePark(@PathVariable Long parkId) throws ParkNotFoundException {
 		String message = parkService.deletePark(parkId);
 		return new ResponseEntity<>(message, HttpStatus.OK);
 	}
@@ -0,0 +1,25 @@
+package com.masai.controller;
+
+import com.masai.exception.ParkNotFoundException;
+import com.masai.exception.SomethingWentWrongException;
+import com.masai.model.ParkDetail;
+import com.masai.service.ParkDetailService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/parks/{parkId}/detail")
+public class ParkDetailController {
+
+    @Autowired
+    private ParkDetailService parkDetailService;
+
+    @GetMapping
+    public ResponseEntity<ParkDetail> getParkDetail(@PathVariable Long parkId)
+            throws ParkNotFoundException, SomethingWentWrongException {
+        ParkDetail detail = parkDetailService.getParkDetail(parkId);
+        return new ResponseEntity<>(detail, HttpStatus.OK);
+    }
+}
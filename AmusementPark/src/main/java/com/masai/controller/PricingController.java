@@ -0,0 +1,29 @@
+package com.masai.controller;
+
+import com.masai.exception.ParkNotFoundException;
+import com.masai.model.PriceQuote;
+import com.masai.service.PriceTable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/parks/{parkId}/prices")
+public class PricingController {
+
+    @Autowired
+    private PriceTable priceTable;
+
+    @GetMapping
+    public ResponseEntity<List<PriceQuote>> getPrices(@PathVariable Long parkId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) throws ParkNotFoundException {
+        List<PriceQuote> quotes = priceTable.quotes(parkId, from, to);
+        return new ResponseEntity<>(quotes, HttpStatus.OK);
+    }
+}
@@ -1,7 +1,9 @@
 package com.masai.controller;
 
+import com.masai.config.IdempotencyStore;
 import com.masai.model.Review;
 import com.masai.service.ReviewService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -16,30 +18,38 @@ public class ReviewController {
     @Autowired
     private ReviewService reviewService;
 
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
     @GetMapping("/park/{parkId}")
-    public ResponseEntity<Set<Review>> getReviewsByParkId(@PathVariable Integer parkId) {
+    public ResponseEntity<Set<Review>> getReviewsByParkId(@PathVariable Long parkId) {
         Set<Review> reviews = reviewService.getReview(parkId);
         return new ResponseEntity<>(reviews, HttpStatus.OK);
     }
 
     @PostMapping("/park/{parkId}/user/{userId}")
-    public ResponseEntity<Review> createReview(@PathVariable Integer parkId, @PathVariable Integer userId,
-                                               @RequestBody Review review) {
-        Review createdReview = reviewService.createReview(parkId, userId, review);
-        return new ResponseEntity<>(createdReview, HttpStatus.CREATED);
+    public ResponseEntity<Review> createReview(@PathVariable Long parkId, @PathVariable Long userId,
+                                               @RequestBody Review review,
+                                               @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+                                               HttpServletRequest request) {
+        return idempotencyStore.execute(idempotencyKey, request.getMethod() + " " + request.getRequestURI(),
+                request, Review.class, () -> {
+                    Review createdReview = reviewService.createReview(parkId, userId, review);
+                    return new ResponseEntity<>(createdReview, HttpStatus.CREATED);
+                });
     }
 
     @PutMapping("/park/{parkId}/user/{userId}/review/{reviewId}")
-    public ResponseEntity<String> updateReview(@PathVariable Integer parkId, @PathVariable Integer userId,
-                                               @PathVariable Integer reviewId, @RequestBody Review review) {
+    public ResponseEntity<String> updateReview(@PathVariable Long parkId, @PathVariable Long userId,
+                                               @PathVariable Long reviewId, @RequestBody Review review) {
         review.setId(reviewId);
         String message = reviewService.updateReview(parkId, userId, review);
         return new ResponseEntity<>(message, HttpStatus.OK);
     }
 
     @DeleteMapping("/park/{parkId}/user/{userId}/{reviewId}")
-    public ResponseEntity<String> deleteReview(@PathVariable Integer parkId, @PathVariable Integer userId,
-                                               @PathVariable Integer reviewId) {
+    public ResponseEntity<String> deleteReview(@PathVariable Long parkId, @PathVariable Long userId,
+                                               @PathVariable Long reviewId) {
         String message = reviewService.deleteReview(parkId, userId, reviewId);
         return new ResponseEntity<>(message, HttpStatus.OK);
     }
@@ -0,0 +1,36 @@
+package com.masai.controller;
+
+import com.masai.exception.ParkNotFoundException;
+import com.masai.model.SalesReport;
+import com.masai.service.SalesReportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/admin/reports")
+public class SalesReportController {
+
+    @Autowired
+    private SalesReportService salesReportService;
+
+    @GetMapping("/parks/{parkId}/sales")
+    public ResponseEntity<SalesReport> getSalesReport(@PathVariable Long parkId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) throws ParkNotFoundException {
+        SalesReport report = salesReportService.getSalesReport(parkId, from, to);
+        return new ResponseEntity<>(report, HttpStatus.OK);
+    }
+
+    @PostMapping("/sales/rebuild")
+    public ResponseEntity<String> rebuildRollups(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        int written = salesReportService.rebuildRollups(from, to);
+        return new ResponseEntity<>("Rebuilt " + written + " daily sales rollups.", HttpStatus.OK);
+    }
+}
@@ -0,0 +1,23 @@
+package com.masai.controller;
+
+import com.masai.model.SearchResults;
+import com.masai.service.ParkSearchIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/search")
+public class SearchController {
+
+    @Autowired
+    private ParkSearchIndex searchIndex;
+
+    @GetMapping
+    public ResponseEntity<SearchResults> search(@RequestParam String q, @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        SearchResults results = searchIndex.search(q, page, size);
+        return new ResponseEntity<>(results, HttpStatus.OK);
+    }
+}
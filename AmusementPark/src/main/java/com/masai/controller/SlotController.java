@@ -0,0 +1,38 @@
+package com.masai.controller;
+
+import com.masai.exception.ParkNotFoundException;
+import com.masai.model.SlotAvailability;
+import com.masai.service.SlotInventory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/parks/{parkId}/slots")
+public class SlotController {
+
+    @Autowired
+    private SlotInventory slotInventory;
+
+    @GetMapping
+    public ResponseEntity<List<SlotAvailability>> getSlots(@PathVariable Long parkId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) throws ParkNotFoundException {
+        List<SlotAvailability> slots = slotInventory.getSlots(parkId, date);
+        return new ResponseEntity<>(slots, HttpStatus.OK);
+    }
+
+    @GetMapping("/first-available")
+    public ResponseEntity<SlotAvailability> getFirstAvailableSlot(@PathVariable Long parkId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime after)
+            throws ParkNotFoundException {
+        return slotInventory.firstAvailable(parkId, after != null ? after : LocalDateTime.now())
+                .map(slot -> new ResponseEntity<>(slot, HttpStatus.OK))
+                .orElseGet(() -> new ResponseEntity<>(HttpStatus.NO_CONTENT));
+    }
+}
@@ -1,15 +1,22 @@
 package com.masai.controller;
 
+import com.masai.config.IdempotencyStore;
+import com.masai.exception.AdmissionRequiredException;
+import com.masai.exception.InvalidPageTokenException;
 import com.masai.exception.SomethingWentWrongException;
 import com.masai.exception.TicketNotFoundException;
 import com.masai.model.Ticket;
+import com.masai.model.TicketPage;
 import com.masai.service.TicketService;
+import com.masai.service.WaitingRoom;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/user/{userId}/tickets")
@@ -18,30 +25,67 @@ public class TicketController {
     @Autowired
     private TicketService ticketService;
 
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Autowired
+    private WaitingRoom waitingRoom;
+
     @GetMapping("/{ticketId}")
-    public ResponseEntity<Ticket> getTicket(@PathVariable Integer userId, @PathVariable Integer ticketId)
+    public ResponseEntity<Ticket> getTicket(@PathVariable Long userId, @PathVariable Long ticketId)
             throws TicketNotFoundException {
         Ticket tickets = ticketService.getTicket(userId, ticketId);
         return new ResponseEntity<>(tickets, HttpStatus.OK);
     }
 
     @GetMapping
-    public ResponseEntity<Set<Ticket>> getTickets(@PathVariable Integer userId) throws TicketNotFoundException {
+    public ResponseEntity<Set<Ticket>> getTickets(@PathVariable Long userId) throws TicketNotFoundException {
         Set<Ticket> tickets = ticketService.getTickets(userId);
         return new ResponseEntity<>(tickets, HttpStatus.OK);
     }
 
+    @GetMapping("/history")
+    public ResponseEntity<TicketPage> getTicketHistory(@PathVariable Long userId,
+            @RequestParam(required = false) String pageToken, @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "desc") String order, @RequestParam(defaultValue = "false") boolean includeTotal)
+            throws InvalidPageTokenException {
+        TicketPage page = ticketService.getTicketHistory(userId, pageToken, size, !"asc".equalsIgnoreCase(order),
+                includeTotal);
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
+
     @PostMapping
-    public ResponseEntity<Ticket> createTicket(@PathVariable Integer userId, Integer parkId, @RequestBody Ticket ticket)
-            throws SomethingWentWrongException {
-        Ticket createdTicket = ticketService.createTicket(userId, parkId, ticket);
-        return new ResponseEntity<>(createdTicket, HttpStatus.CREATED);
+    public CompletableFuture<ResponseEntity<Ticket>> createTicket(@PathVariable Long userId, Long parkId,
+            @RequestBody Ticket ticket,
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+            @RequestHeader(value = WaitingRoom.PERMIT_HEADER, required = false) String permit,
+            HttpServletRequest request) throws SomethingWentWrongException, AdmissionRequiredException {
+        return idempotencyStore.executeAsync(idempotencyKey, scopeOf(request), request, Ticket.class, () -> {
+            // During a flash sale only buyers admitted by the waiting room get through
+            Long admission = waitingRoom.usePermit(permit, userId, parkId);
+            CompletableFuture<Ticket> purchase;
+            try {
+                purchase = ticketService.purchaseTicket(userId, parkId, ticket);
+            } catch (RuntimeException e) {
+                waitingRoom.returnPermit(parkId, admission);
+                throw e;
+            }
+            return purchase.whenComplete((createdTicket, error) -> {
+                if (error != null) {
+                    waitingRoom.returnPermit(parkId, admission);
+                }
+            }).thenApply(createdTicket -> new ResponseEntity<>(createdTicket, HttpStatus.CREATED));
+        });
     }
 
     @DeleteMapping("/{ticketId}")
-    public ResponseEntity<String> deleteTicket(@PathVariable Integer userId, @PathVariable Integer ticketId)
+    public ResponseEntity<String> deleteTicket(@PathVariable Long userId, @PathVariable Long ticketId)
             throws TicketNotFoundException {
         String message = ticketService.deleteTicket(userId, ticketId);
         return new ResponseEntity<>(message, HttpStatus.OK);
     }
+
+    private static String scopeOf(HttpServletRequest request) {
+        return request.getMethod() + " " + request.getRequestURI() + "?" + request.getQueryString();
+    }
 }
@@ -22,7 +22,7 @@ public class UserController {
     private UserService userService;
 
     @GetMapping("/{userId}")
-    public ResponseEntity<User> getUser(@PathVariable Integer userId) throws UserNotFoundException {
+    public ResponseEntity<User> getUser(@PathVariable Long userId) throws UserNotFoundException {
         User user = userService.getUser(userId);
         return new ResponseEntity<>(user, HttpStatus.OK);
     }
@@ -56,7 +56,7 @@ public class UserController {
      */
 
     @PutMapping("/{userId}")
-    public ResponseEntity<String> updateUser(@RequestBody User user, @PathVariable Integer userId)
+    public ResponseEntity<String> updateUser(@RequestBody User user, @PathVariable Long userId)
             throws UserNotFoundException, SomethingWentWrongException {
         user.setUserId(userId);
         String message = userService.updateUser(user);
@@ -64,7 +64,7 @@ public class UserController {
     }
 
     @DeleteMapping("/{userId}")
-    public ResponseEntity<String> deleteUser(@PathVariable Integer userId) throws UserNotFoundException {
+    public ResponseEntity<String> deleteUser(@PathVariable Long userId) throws UserNotFoundException {
         String message = userService.deleteUser(userId);
         return new ResponseEntity<>(message, HttpStatus.OK);
     }
@@ -0,0 +1,40 @@
+package com.masai.controller;
+
+import com.masai.exception.ActivityNotFoundException;
+import com.masai.exception.SomethingWentWrongException;
+import com.masai.model.WaitTime;
+import com.masai.model.WaitTimeEvent;
+import com.masai.service.WaitTimeTracker;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/wait-times")
+public class WaitTimeController {
+
+    @Autowired
+    private WaitTimeTracker waitTimeTracker;
+
+    @PostMapping("/events")
+    public ResponseEntity<String> recordEvents(@RequestBody List<WaitTimeEvent> events)
+            throws ActivityNotFoundException, SomethingWentWrongException {
+        int recorded = waitTimeTracker.record(events);
+        return new ResponseEntity<>(recorded + " events recorded.", HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping("/parks/{parkId}")
+    public ResponseEntity<List<WaitTime>> getParkWaitTimes(@PathVariable Long parkId) {
+        List<WaitTime> waitTimes = waitTimeTracker.getParkWaitTimes(parkId);
+        return new ResponseEntity<>(waitTimes, HttpStatus.OK);
+    }
+
+    @GetMapping("/activities/{activityId}")
+    public ResponseEntity<WaitTime> getWaitTime(@PathVariable Long activityId) throws ActivityNotFoundException {
+        WaitTime waitTime = waitTimeTracker.getWaitTime(activityId);
+        return new ResponseEntity<>(waitTime, HttpStatus.OK);
+    }
+}
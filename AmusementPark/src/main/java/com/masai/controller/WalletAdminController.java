@@ -0,0 +1,25 @@
+package com.masai.controller;
+
+import com.masai.exception.SomethingWentWrongException;
+import com.masai.exception.UserNotFoundException;
+import com.masai.model.WalletTransaction;
+import com.masai.service.WalletService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/wallets")
+public class WalletAdminController {
+
+    @Autowired
+    private WalletService walletService;
+
+    @PostMapping("/{userId}/top-up")
+    public ResponseEntity<WalletTransaction> topUp(@PathVariable Long userId, @RequestParam double amount)
+            throws UserNotFoundException, SomethingWentWrongException {
+        WalletTransaction transaction = walletService.topUp(userId, amount);
+        return new ResponseEntity<>(transaction, HttpStatus.CREATED);
+    }
+}
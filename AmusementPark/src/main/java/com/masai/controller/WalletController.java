@@ -0,0 +1,32 @@
+package com.masai.controller;
+
+import com.masai.exception.UserNotFoundException;
+import com.masai.model.WalletTransaction;
+import com.masai.service.WalletService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/users/{userId}/wallet")
+public class WalletController {
+
+    @Autowired
+    private WalletService walletService;
+
+    @GetMapping
+    public ResponseEntity<Double> getBalance(@PathVariable Long userId) throws UserNotFoundException {
+        double balance = walletService.getBalance(userId);
+        return new ResponseEntity<>(balance, HttpStatus.OK);
+    }
+
+    @GetMapping("/transactions")
+    public ResponseEntity<Page<WalletTransaction>> getTransactions(@PathVariable Long userId, Pageable pageable)
+            throws UserNotFoundException {
+        Page<WalletTransaction> transactions = walletService.getTransactions(userId, pageable);
+        return new ResponseEntity<>(transactions, HttpStatus.OK);
+    }
+}
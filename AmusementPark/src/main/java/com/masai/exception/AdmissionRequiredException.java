@@ -0,0 +1,31 @@
+package com.masai.exception;
+
+public class AdmissionRequiredException extends RuntimeException {
+
+	public AdmissionRequiredException() {
+		super();
+		// TODO Auto-generated constructor stub
+	}
+
+	public AdmissionRequiredException(String message, Throwable cause, boolean enableSuppression,
+			boolean writableStackTrace) {
+		super(message, cause, enableSuppression, writableStackTrace);
+		// TODO Auto-generated constructor stub
+	}
+
+	public AdmissionRequiredException(String message, Throwable cause) {
+		super(message, cause);
+		// TODO Auto-generated constructor stub
+	}
+
+	public AdmissionRequiredException(String message) {
+		super(message);
+		// TODO Auto-generated constructor stub
+	}
+
+	public AdmissionRequiredException(Throwable cause) {
+		super(cause);
+		// TODO Auto-generated constructor stub
+	}
+
+}
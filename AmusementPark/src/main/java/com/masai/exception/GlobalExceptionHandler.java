@@ -52,4 +52,28 @@ public class GlobalExceptionHandler {
 		return new ResponseEntity<ErrorDetails>(ed, HttpStatus.NOT_FOUND);
 	}
 
+	@ExceptionHandler(SoldOutException.class)
+	public ResponseEntity<ErrorDetails> cust(SoldOutException ex, WebRequest req) {
+		ErrorDetails ed = new ErrorDetails(req.getDescription(false), ex.getMessage(), LocalDate.now());
+		return new ResponseEntity<ErrorDetails>(ed, HttpStatus.CONFLICT);
+	}
+
+	@ExceptionHandler(InvalidPageTokenException.class)
+	public ResponseEntity<ErrorDetails> cust(InvalidPageTokenException ex, WebRequest req) {
+		ErrorDetails ed = new ErrorDetails(req.getDescription(false), ex.getMessage(), LocalDate.now());
+		return new ResponseEntity<ErrorDetails>(ed, HttpStatus.BAD_REQUEST);
+	}
+
+	@ExceptionHandler(AdmissionRequiredException.class)
+	public ResponseEntity<ErrorDetails> cust(AdmissionRequiredException ex, WebRequest req) {
+		ErrorDetails ed = new ErrorDetails(req.getDescription(false), ex.getMessage(), LocalDate.now());
+		return new ResponseEntity<ErrorDetails>(ed, HttpStatus.TOO_MANY_REQUESTS);
+	}
+
+	@ExceptionHandler(IdempotencyKeyReusedException.class)
+	public ResponseEntity<ErrorDetails> cust(IdempotencyKeyReusedException ex, WebRequest req) {
+		ErrorDetails ed = new ErrorDetails(req.getDescription(false), ex.getMessage(), LocalDate.now());
+		return new ResponseEntity<ErrorDetails>(ed, HttpStatus.UNPROCESSABLE_ENTITY);
+	}
+
 }
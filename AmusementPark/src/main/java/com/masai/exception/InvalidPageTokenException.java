@@ -0,0 +1,31 @@
+package com.masai.exception;
+
+public class InvalidPageTokenException extends RuntimeException {
+
+	public InvalidPageTokenException() {
+		super();
+		// TODO Auto-generated constructor stub
+	}
+
+	public InvalidPageTokenException(String message, Throwable cause, boolean enableSuppression,
+			boolean writableStackTrace) {
+		super(message, cause, enableSuppression, writableStackTrace);
+		// TODO Auto-generated constructor stub
+	}
+
+	public InvalidPageTokenException(String message, Throwable cause) {
+		super(message, cause);
+		// TODO Auto-generated constructor stub
+	}
+
+	public InvalidPageTokenException(String message) {
+		super(message);
+		// TODO Auto-generated constructor stub
+	}
+
+	public InvalidPageTokenException(Throwable cause) {
+		super(cause);
+		// TODO Auto-generated constructor stub
+	}
+
+}
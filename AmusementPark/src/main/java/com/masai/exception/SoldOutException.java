@@ -0,0 +1,31 @@
+package com.masai.exception;
+
+public class SoldOutException extends RuntimeException {
+
+	public SoldOutException() {
+		super();
+		// TODO Auto-generated constructor stub
+	}
+
+	public SoldOutException(String message, Throwable cause, boolean enableSuppression,
+			boolean writableStackTrace) {
+		super(message, cause, enableSuppression, writableStackTrace);
+		// TODO Auto-generated constructor stub
+	}
+
+	public SoldOutException(String message, Throwable cause) {
+		super(message, cause);
+		// TODO Auto-generated constructor stub
+	}
+
+	public SoldOutException(String message) {
+		super(message);
+		// TODO Auto-generated constructor stub
+	}
+
+	public SoldOutException(Throwable cause) {
+		super(cause);
+		// TODO Auto-generated constructor stub
+	}
+
+}
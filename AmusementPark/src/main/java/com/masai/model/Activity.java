@@ -1,6 +1,7 @@
 package com.masai.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.masai.config.TimeOrderedId;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
@@ -10,15 +11,17 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "Activities")
+@Table(name = "Activities", indexes = {
+		@Index(name = "idx_activities_park_name", columnList = "park_id, isDeleted, name, id"),
+		@Index(name = "idx_activities_park_price", columnList = "park_id, isDeleted, price, id") })
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter
 @Setter
 public class Activity {
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
-	private Integer id;
+	@TimeOrderedId
+	private Long id;
 
 	@NotBlank(message = "Name is required.")
 	private String name;
@@ -0,0 +1,59 @@
+package com.masai.model;
+
+import java.util.Date;
+
+import com.masai.config.TimeOrderedId;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.Temporal;
+import jakarta.persistence.TemporalType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Seats on an activity session booked as an add-on to a ticket. Taken seats
+ * are never counted in a row of their own; the sum of the active bookings of a
+ * session is the durable record the in-memory seat counters rebuild from.
+ */
+@Entity
+@Table(name = "Activity_Bookings", indexes = {
+		@Index(name = "idx_activity_bookings_session", columnList = "session_id, isCancelled"),
+		@Index(name = "idx_activity_bookings_ticket", columnList = "ticket_id") })
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class ActivityBooking {
+	@Id
+	@TimeOrderedId
+	private Long id;
+
+	@Column(name = "session_id", nullable = false, updatable = false)
+	private Long sessionId;
+
+	@Column(name = "ticket_id", nullable = false, updatable = false)
+	private Long ticketId;
+
+	@Column(name = "user_id", nullable = false, updatable = false)
+	private Long userId;
+
+	@Column(name = "activity_id", nullable = false, updatable = false)
+	private Long activityId;
+
+	private int seats;
+
+	// Activity price times seats at booking time
+	private double price;
+
+	private boolean isCancelled = false;
+
+	@Temporal(TemporalType.TIMESTAMP)
+	private Date createdAt = new Date();
+
+}
@@ -0,0 +1,23 @@
+package com.masai.model;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One page of a park's activity listing.
+ * <p>
+ * {@code nextPageToken} is {@code null} on the last page.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class ActivityPage {
+	private List<Activity> activities;
+	private String nextPageToken;
+
+}
@@ -0,0 +1,50 @@
+package com.masai.model;
+
+import java.time.LocalDateTime;
+
+import com.masai.config.TimeOrderedId;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A bookable run of an activity with a fixed number of seats. The park is
+ * copied from the activity so bookings can be checked against a ticket
+ * without loading it.
+ */
+@Entity
+@Table(name = "Activity_Sessions", indexes = @Index(name = "idx_activity_sessions_start", columnList = "activity_id, startTime"))
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class ActivitySession {
+	@Id
+	@TimeOrderedId
+	private Long id;
+
+	@Column(name = "activity_id", nullable = false, updatable = false)
+	private Long activityId;
+
+	@Column(name = "park_id", nullable = false, updatable = false)
+	private Long parkId;
+
+	@NotNull(message = "Start time is required.")
+	private LocalDateTime startTime;
+
+	@NotNull(message = "Capacity is required.")
+	@Min(value = 1, message = "Capacity must be at least 1.")
+	private Integer capacity;
+
+	private boolean isCancelled = false;
+
+}
@@ -0,0 +1,21 @@
+package com.masai.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Activity as listed with its park.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class ActivitySummary {
+	private Long id;
+	private String name;
+	private String description;
+	private double price;
+
+}
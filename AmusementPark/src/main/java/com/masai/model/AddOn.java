@@ -0,0 +1,20 @@
+package com.masai.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Seats on an activity session requested for a ticket; {@code seats} defaults
+ * to 1.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class AddOn {
+	private Long sessionId;
+	private Integer seats;
+
+}
@@ -1,10 +1,9 @@
 package com.masai.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.masai.config.TimeOrderedId;
 
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
@@ -24,8 +23,8 @@ import lombok.Setter;
 @Setter
 public class Address {
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
-	private Integer addressId;
+	@TimeOrderedId
+	private Long addressId;
 
 	@NotBlank(message = "City is required.")
 	private String city;
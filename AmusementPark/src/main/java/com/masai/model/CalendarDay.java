@@ -0,0 +1,25 @@
+package com.masai.model;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Availability of a park on one day; {@code capacity} and {@code remaining}
+ * are {@code null} for parks without a daily limit.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class CalendarDay {
+	private LocalDate day;
+	private Integer capacity;
+	private int sold;
+	private Integer remaining;
+	private boolean available;
+
+}
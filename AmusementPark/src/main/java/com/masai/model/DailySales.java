@@ -0,0 +1,50 @@
+package com.masai.model;
+
+import java.time.LocalDate;
+
+import com.masai.config.TimeOrderedId;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Sales of one park on one day, keyed on the tickets' purchase day.
+ * <p>
+ * {@code ticketCount} and {@code grossRevenue} include tickets that were later
+ * cancelled; those are also counted in {@code cancellations} and
+ * {@code cancelledRevenue}.
+ */
+@Entity
+@Table(name = "Daily_Sales", uniqueConstraints = @UniqueConstraint(name = "uk_daily_sales_park_day", columnNames = {
+		"park_id", "sales_day" }))
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class DailySales {
+	@Id
+	@TimeOrderedId
+	private Long id;
+
+	@Column(name = "park_id", nullable = false)
+	private Long parkId;
+
+	@Column(name = "sales_day", nullable = false)
+	private LocalDate salesDay;
+
+	private long ticketCount;
+
+	private double grossRevenue;
+
+	private long cancellations;
+
+	private double cancelledRevenue;
+
+}
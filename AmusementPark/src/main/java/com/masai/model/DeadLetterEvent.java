@@ -0,0 +1,50 @@
+package com.masai.model;
+
+import java.util.Date;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.Temporal;
+import jakarta.persistence.TemporalType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * An outbox delivery that kept failing and was set aside; it keeps the ID of
+ * the original outbox row.
+ */
+@Entity
+@Table(name = "Outbox_Dead_Letters")
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class DeadLetterEvent {
+	@Id
+	private Long id;
+
+	private String type;
+
+	private String handler;
+
+	private Long aggregateId;
+
+	@Column(columnDefinition = "TEXT")
+	private String payload;
+
+	@Temporal(TemporalType.TIMESTAMP)
+	private Date createdAt;
+
+	@Temporal(TemporalType.TIMESTAMP)
+	private Date failedAt;
+
+	private int attempts;
+
+	@Column(length = 1000)
+	private String lastError;
+
+}
@@ -0,0 +1,49 @@
+package com.masai.model;
+
+import java.util.Date;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import jakarta.persistence.Temporal;
+import jakarta.persistence.TemporalType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Response stored for an {@code Idempotency-Key}, replayed when a client
+ * retries the same request.
+ */
+@Entity
+@Table(name = "Idempotency_Keys", indexes = @Index(name = "idx_idempotency_expires", columnList = "expiresAt"))
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class IdempotencyRecord {
+	@Id
+	@Column(length = 64)
+	private String keyHash;
+
+	// SHA-256 of the request body the key was first used with
+	@Column(length = 64)
+	private String requestHash;
+
+	private int status;
+
+	@Lob
+	@Column(columnDefinition = "MEDIUMTEXT")
+	private String body;
+
+	@Temporal(TemporalType.TIMESTAMP)
+	private Date createdAt;
+
+	@Temporal(TemporalType.TIMESTAMP)
+	private Date expiresAt;
+
+}
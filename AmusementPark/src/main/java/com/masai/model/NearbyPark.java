@@ -0,0 +1,25 @@
+package com.masai.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A park found by a proximity search, with its great-circle distance from the
+ * searched point.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class NearbyPark {
+	private Long parkId;
+	private String name;
+	private String location;
+	private double latitude;
+	private double longitude;
+	private double distanceKm;
+	private boolean openNow;
+
+}
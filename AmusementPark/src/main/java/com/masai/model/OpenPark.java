@@ -0,0 +1,26 @@
+package com.masai.model;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A park in an "open now" listing: either open, with the time it closes, or
+ * about to open, with the time it opens.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class OpenPark {
+	private Long parkId;
+	private String name;
+	private String location;
+	private boolean open;
+	private LocalDateTime opensAt;
+	private LocalDateTime closesAt;
+
+}
@@ -0,0 +1,56 @@
+package com.masai.model;
+
+import java.util.Date;
+
+import com.masai.config.TimeOrderedId;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.Temporal;
+import jakarta.persistence.TemporalType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A pending delivery of an event to one handler, written in the same
+ * transaction as the change that raised the event.
+ */
+@Entity
+@Table(name = "Outbox_Events", indexes = @Index(name = "idx_outbox_next_attempt", columnList = "next_attempt_at"))
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class OutboxEvent {
+	@Id
+	@TimeOrderedId
+	private Long id;
+
+	private String type;
+
+	private String handler;
+
+	private Long aggregateId;
+
+	@Column(columnDefinition = "TEXT")
+	private String payload;
+
+	@Temporal(TemporalType.TIMESTAMP)
+	private Date createdAt;
+
+	private int attempts;
+
+	// Also serves as the claim: a dispatcher pushes it forward while delivering
+	@Temporal(TemporalType.TIMESTAMP)
+	@Column(name = "next_attempt_at")
+	private Date nextAttemptAt;
+
+	@Column(length = 1000)
+	private String lastError;
+
+}
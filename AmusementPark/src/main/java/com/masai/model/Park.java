@@ -4,14 +4,17 @@ import java.util.HashSet;
 import java.util.Set;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.masai.config.TimeOrderedId;
 
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
@@ -28,8 +31,8 @@ import lombok.Setter;
 @Setter
 public class Park {
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
-	private Integer parkId;
+	@TimeOrderedId
+	private Long parkId;
 
 	@NotBlank(message = "Name is required.")
 	private String name;
@@ -51,6 +54,37 @@ public class Park {
 	@NotBlank(message = "Closing hours are required.")
 	private String closingHours;
 
+	// Optional weekly schedule overriding the daily hours, e.g. "Mon-Fri 10:00-18:00; Sat,Sun 9am-8pm"
+	@Column(length = 500)
+	private String weeklyHours;
+
+	// Optional dated exceptions, e.g. "2026-12-25 closed; 2026-12-31 10:00-16:00"
+	@Column(length = 2000)
+	private String holidayHours;
+
+	@Min(value = 0, message = "Daily capacity must be a non-negative value.")
+	private Integer dailyCapacity;
+
+	// Entry fee before demand pricing, null for the default
+	@Min(value = 0, message = "Base fee must be a non-negative value.")
+	private Double baseFee;
+
+	// Timed entry is offered when a slot capacity is set
+	@Min(value = 5, message = "Entry slots must be at least 5 minutes long.")
+	private Integer slotMinutes;
+
+	@Min(value = 0, message = "Slot capacity must be a non-negative value.")
+	private Integer slotCapacity;
+
+	// Position for proximity search, both or neither are set
+	@DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90.")
+	@DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90.")
+	private Double latitude;
+
+	@DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180.")
+	@DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180.")
+	private Double longitude;
+
 	private boolean isDeleted = false;
 
 	@OneToMany(mappedBy = "park", cascade = CascadeType.ALL)
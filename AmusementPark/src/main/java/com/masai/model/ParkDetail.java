@@ -0,0 +1,30 @@
+package com.masai.model;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Everything a park page shows, in one response. Parts that could not be
+ * loaded in time are left empty and named in {@code unavailable}.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class ParkDetail {
+	// Activities and reviews are sent separately below
+	@JsonIgnoreProperties({ "activities", "reviews" })
+	private Park park;
+	private List<ActivitySummary> activities;
+	private RatingSummary rating;
+	private List<Review> latestReviews;
+	private List<CalendarDay> availability;
+	private List<String> unavailable;
+
+}
@@ -0,0 +1,38 @@
+package com.masai.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Park as shown in the park listing: its own fields, its activities and a
+ * summary of its reviews instead of the reviews themselves.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class ParkSummary {
+	private Long parkId;
+	private String name;
+	private String img;
+	private String location;
+	private String description;
+	private String openingHours;
+	private String closingHours;
+	private Integer dailyCapacity;
+	private Double baseFee;
+	private Integer slotMinutes;
+	private Integer slotCapacity;
+	private Double latitude;
+	private Double longitude;
+	private List<ActivitySummary> activities = new ArrayList<>();
+	private long reviewCount;
+	// null while the park has no reviews
+	private Double averageRating;
+
+}
@@ -0,0 +1,21 @@
+package com.masai.model;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Entry fee of a park on one day.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class PriceQuote {
+	private LocalDate day;
+	private double entryFee;
+
+}
@@ -0,0 +1,29 @@
+package com.masai.model;
+
+import java.util.Date;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A buyer's place in a flash-sale waiting room.
+ * <p>
+ * {@code permit} is only set once the buyer has been admitted; it must be sent
+ * in the {@code Purchase-Permit} header when buying the ticket.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class QueueStatus {
+	private Long parkId;
+	private long position;
+	private long ahead;
+	private boolean admitted;
+	private String queueToken;
+	private String permit;
+	private Date permitExpiresAt;
+
+}
@@ -0,0 +1,22 @@
+package com.masai.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Ratings of a park; {@code counts[i]} is the number of reviews with
+ * {@code i + 1} stars and {@code averageRating} is {@code null} without
+ * reviews.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class RatingSummary {
+	private long reviewCount;
+	private Double averageRating;
+	private long[] counts;
+
+}
@@ -1,10 +1,9 @@
 package com.masai.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.masai.config.TimeOrderedId;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
@@ -26,8 +25,8 @@ import lombok.Setter;
 public class Review {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
-	private Integer id;
+	@TimeOrderedId
+	private Long id;
 
 	@JsonIgnore
 	@ManyToOne
@@ -0,0 +1,30 @@
+package com.masai.model;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Sales of a park over a range of days, with the per-day rollups it was summed
+ * from.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class SalesReport {
+	private Long parkId;
+	private LocalDate from;
+	private LocalDate to;
+	private long ticketCount;
+	private double grossRevenue;
+	private long cancellations;
+	private double cancelledRevenue;
+	private double netRevenue;
+	private List<DailySales> days;
+
+}
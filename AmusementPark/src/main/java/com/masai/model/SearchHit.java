@@ -0,0 +1,26 @@
+package com.masai.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One search result; {@code type} is {@code PARK} or {@code ACTIVITY} and
+ * {@code parkId}, {@code parkName} and {@code location} always describe the
+ * park the result belongs to.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class SearchHit {
+	private String type;
+	private Long id;
+	private String name;
+	private Long parkId;
+	private String parkName;
+	private String location;
+	private double score;
+
+}
@@ -0,0 +1,24 @@
+package com.masai.model;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One page of search results, best match first.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class SearchResults {
+	private String query;
+	private int page;
+	private int size;
+	private int total;
+	private List<SearchHit> hits;
+
+}
@@ -0,0 +1,25 @@
+package com.masai.model;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Free seats of an activity session.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class SessionAvailability {
+	private Long sessionId;
+	private Long activityId;
+	private LocalDateTime startTime;
+	private int capacity;
+	private int remaining;
+	private boolean soldOut;
+
+}
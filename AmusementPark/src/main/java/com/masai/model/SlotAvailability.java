@@ -0,0 +1,24 @@
+package com.masai.model;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Free places left in one timed-entry slot.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class SlotAvailability {
+	private LocalDate day;
+	private LocalTime start;
+	private int capacity;
+	private int remaining;
+
+}
@@ -1,39 +1,49 @@
 package com.masai.model;
 
+import java.time.LocalTime;
 import java.util.Date;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.masai.config.TimeOrderedId;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 import jakarta.persistence.Temporal;
 import jakarta.persistence.TemporalType;
+import jakarta.persistence.Transient;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "Tickets")
+@Table(name = "Tickets", indexes = @Index(name = "idx_tickets_user_purchase", columnList = "user_id, purchaseDate, id"))
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter
 @Setter
 public class Ticket {
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
-	private Integer id;
+	@TimeOrderedId
+	private Long id;
 
 	@ManyToOne
 	@JoinColumn(name = "user_id")
+	@JsonIgnoreProperties("addresses")
 	private User user;
 
+	// Tickets are read outside the park's session, so its collections stay out
 	@ManyToOne
 	@JoinColumn(name = "park_id")
+	@JsonIgnoreProperties({ "reviews", "activities" })
 	private Park park;
 
 	@Temporal(TemporalType.TIMESTAMP)
@@ -44,4 +54,29 @@ public class Ticket {
 
 	private boolean isCancelled = false;
 
+	// Set once the capacity of the cancelled ticket was handed back
+	@JsonIgnore
+	private boolean capacityReleased = false;
+
+	// Set when the ticket first passes a gate; a code admits only once
+	@JsonIgnore
+	@Temporal(TemporalType.TIMESTAMP)
+	private Date admittedAt;
+
+	// Start of the timed-entry slot on the visit day, null if the park has none
+	private LocalTime entrySlot;
+
+	// Signed code for gate scanning, derived from the fields above on read
+	@Transient
+	private String code;
+
+	// Activity sessions to book along with the ticket when it is bought
+	@Transient
+	@JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
+	private List<AddOn> addOns;
+
+	// Bookings made along with the ticket, only set on the purchase response
+	@Transient
+	private List<ActivityBooking> bookings;
+
 }
@@ -0,0 +1,35 @@
+package com.masai.model;
+
+import java.time.LocalTime;
+import java.util.Date;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Raised when a ticket is cancelled; carries what the follow-up work needs so
+ * handlers do not have to reload the ticket.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class TicketCancelledEvent {
+
+	public static final String TYPE = "ticket.cancelled";
+
+	private Long ticketId;
+	private Long userId;
+	private Long parkId;
+	private Date purchaseDate;
+	private double entryFee;
+	private LocalTime entrySlot;
+
+	public static TicketCancelledEvent of(Ticket ticket) {
+		return new TicketCancelledEvent(ticket.getId(), ticket.getUser().getUserId(), ticket.getPark().getParkId(),
+				ticket.getPurchaseDate(), ticket.getEntryfee(), ticket.getEntrySlot());
+	}
+
+}
@@ -0,0 +1,8 @@
+package com.masai.model;
+
+/**
+ * Output formats of the ticket export.
+ */
+public enum TicketExportFormat {
+	NDJSON, CSV
+}
@@ -0,0 +1,23 @@
+package com.masai.model;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Summary of a bulk ticket import with the outcome of every row.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class TicketImportReport {
+	private int total;
+	private int imported;
+	private int rejected;
+	private List<TicketImportResult> rows;
+
+}
@@ -0,0 +1,22 @@
+package com.masai.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Outcome of one row of a bulk ticket import. Rows are numbered from 1 in the
+ * order they were sent.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class TicketImportResult {
+	private int row;
+	private boolean imported;
+	private Long ticketId;
+	private String error;
+
+}
@@ -0,0 +1,24 @@
+package com.masai.model;
+
+import java.util.Date;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One ticket of a bulk import, referring to its user and park by ID.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class TicketImportRow {
+	private Long userId;
+	private Long parkId;
+	private Date purchaseDate;
+	private Double entryFee;
+	private boolean cancelled;
+
+}
@@ -0,0 +1,25 @@
+package com.masai.model;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One page of a user's ticket history.
+ * <p>
+ * {@code nextPageToken} is {@code null} on the last page; {@code total} is only
+ * filled in when the caller asked for it.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class TicketPage {
+	private List<Ticket> tickets;
+	private String nextPageToken;
+	private Long total;
+
+}
@@ -0,0 +1,24 @@
+package com.masai.model;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Outcome of scanning a ticket code at a gate.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class TicketValidation {
+	private boolean valid;
+	private String reason;
+	private Long ticketId;
+	private Long parkId;
+	private LocalDate visitDate;
+
+}
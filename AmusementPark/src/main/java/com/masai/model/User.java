@@ -9,12 +9,11 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.masai.config.TimeOrderedId;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
@@ -41,8 +40,8 @@ public class User implements UserDetails {
 	private static final long serialVersionUID = 1L;
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
-	private Integer userId;
+	@TimeOrderedId
+	private Long userId;
 
 	@NotBlank(message = "Full Name is required (First-Name && Last-Name).")
 	@Size(min = 4, message = "Name must be at least 4 characters long.")
@@ -66,6 +65,9 @@ public class User implements UserDetails {
 
 	private String role;
 
+	// Only moved by the wallet's conditional UPDATEs; saving a loaded user must
+	// not write a stale balance back over debits and refunds made meanwhile
+	@Column(nullable = false, updatable = false)
 	private double wallet = 0.0;
 
 	private boolean isDeleted = false;
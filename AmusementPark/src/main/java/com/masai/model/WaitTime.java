@@ -0,0 +1,35 @@
+package com.masai.model;
+
+import java.util.Date;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Estimated queue of an activity as of {@code updatedAt}.
+ * <p>
+ * {@code currentWaitMinutes} is the wait of guests boarding now, measured if
+ * the sensors report it and otherwise derived from the queue length and the
+ * boarding rate; {@code predictedWaitMinutes} is the wait of a guest joining
+ * the queue at the end of the forecast horizon, if arrivals and boardings keep
+ * their current rates until then. Both are {@code null} while guests are
+ * queueing but nobody has boarded recently.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class WaitTime {
+	private Long activityId;
+	private String activityName;
+	private Long parkId;
+	private long queueLength;
+	private double arrivalsPerMinute;
+	private double boardingsPerMinute;
+	private Double currentWaitMinutes;
+	private Double predictedWaitMinutes;
+	private Date updatedAt;
+
+}
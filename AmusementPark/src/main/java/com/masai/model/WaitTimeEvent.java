@@ -0,0 +1,26 @@
+package com.masai.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One queue sensor reading for an activity, timed when it is received.
+ * <p>
+ * {@code count} is the number of guests who entered the queue or boarded
+ * (1 if omitted), or the counted queue length for {@code QUEUE_LENGTH}.
+ * {@code waitSeconds} is optional and only read on {@code BOARDING}, when the
+ * sensor knows how long the boarding guests queued.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class WaitTimeEvent {
+	private Long activityId;
+	private WaitTimeEventType type;
+	private Integer count;
+	private Long waitSeconds;
+
+}
@@ -0,0 +1,5 @@
+package com.masai.model;
+
+public enum WaitTimeEventType {
+	ENTRY, BOARDING, QUEUE_LENGTH
+}
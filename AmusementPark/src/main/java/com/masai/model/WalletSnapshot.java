@@ -0,0 +1,37 @@
+package com.masai.model;
+
+import java.util.Date;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.Temporal;
+import jakarta.persistence.TemporalType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Balance of a user's wallet folded up to (and including) a ledger entry.
+ */
+@Entity
+@Table(name = "Wallet_Snapshots")
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class WalletSnapshot {
+	@Id
+	@Column(name = "user_id")
+	private Long userId;
+
+	private double balance;
+
+	private Long lastEntryId;
+
+	@Temporal(TemporalType.TIMESTAMP)
+	private Date takenAt;
+
+}
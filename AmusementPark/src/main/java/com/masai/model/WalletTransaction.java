@@ -0,0 +1,83 @@
+package com.masai.model;
+
+import java.util.Date;
+
+import org.hibernate.annotations.Immutable;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import com.masai.config.TimeOrderedId;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.Temporal;
+import jakarta.persistence.TemporalType;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Append-only wallet ledger entry. Credits are positive, debits negative.
+ */
+@Entity
+@Immutable
+@Table(name = "Wallet_Ledger", indexes = { @Index(name = "idx_wallet_ledger_user", columnList = "user_id, id"),
+		@Index(name = "idx_wallet_ledger_ticket", columnList = "ticket_id"),
+		@Index(name = "idx_wallet_ledger_booking", columnList = "booking_id") },
+		uniqueConstraints = @UniqueConstraint(name = "uk_wallet_ledger_refund", columnNames = { "refund_of", "type" }))
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class WalletTransaction {
+	@Id
+	@TimeOrderedId
+	private Long id;
+
+	@Column(name = "user_id", nullable = false, updatable = false)
+	private Long userId;
+
+	@Column(nullable = false, updatable = false)
+	private double amount;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false, updatable = false)
+	private WalletTransactionType type;
+
+	@Column(name = "ticket_id", updatable = false)
+	private Long ticketId;
+
+	// Set on activity bookings, which are charged on top of their ticket
+	@Column(name = "booking_id", updatable = false)
+	private Long bookingId;
+
+	// Ticket or booking a refund pays back; unique per type so a refund can only
+	// be written once, null on every other entry
+	@Column(name = "refund_of", updatable = false)
+	@JsonSerialize(using = ToStringSerializer.class)
+	private Long refundOf;
+
+	@Temporal(TemporalType.TIMESTAMP)
+	@Column(nullable = false, updatable = false)
+	private Date createdAt = new Date();
+
+	public WalletTransaction(Long userId, double amount, WalletTransactionType type, Long ticketId) {
+		this.userId = userId;
+		this.amount = amount;
+		this.type = type;
+		this.ticketId = ticketId;
+	}
+
+	public WalletTransaction(Long userId, double amount, WalletTransactionType type, Long ticketId, Long bookingId) {
+		this(userId, amount, type, ticketId);
+		this.bookingId = bookingId;
+	}
+
+}
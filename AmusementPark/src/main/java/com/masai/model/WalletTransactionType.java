@@ -0,0 +1,5 @@
+package com.masai.model;
+
+public enum WalletTransactionType {
+	TOP_UP, PURCHASE, REFUND, BOOKING, BOOKING_REFUND
+}
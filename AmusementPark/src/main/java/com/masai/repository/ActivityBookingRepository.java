@@ -0,0 +1,34 @@
+package com.masai.repository;
+
+import com.masai.model.ActivityBooking;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ActivityBookingRepository extends JpaRepository<ActivityBooking, Long> {
+
+    List<ActivityBooking> findByTicketIdOrderByIdAsc(Long ticketId);
+
+    @Query("SELECT b FROM ActivityBooking b WHERE b.ticketId = :ticketId AND b.isCancelled = false")
+    List<ActivityBooking> findActiveByTicket(Long ticketId);
+
+    @Query("SELECT b FROM ActivityBooking b WHERE b.sessionId = :sessionId AND b.isCancelled = false")
+    List<ActivityBooking> findActiveBySession(Long sessionId);
+
+    @Query("SELECT COALESCE(SUM(b.seats), 0) FROM ActivityBooking b WHERE b.sessionId = :sessionId "
+            + "AND b.isCancelled = false")
+    long sumActiveSeats(Long sessionId);
+
+    @Query("SELECT b.sessionId, SUM(b.seats) FROM ActivityBooking b WHERE b.sessionId IN :sessionIds "
+            + "AND b.isCancelled = false GROUP BY b.sessionId")
+    List<Object[]> sumActiveSeatsBySession(Collection<Long> sessionIds);
+
+    @Modifying
+    @Query("UPDATE ActivityBooking b SET b.isCancelled = true WHERE b.id = :bookingId AND b.isCancelled = false")
+    int markCancelled(Long bookingId);
+}
@@ -11,16 +11,77 @@ import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
-public interface ActivityRepository extends JpaRepository<Activity, Integer> {
+public interface ActivityRepository extends JpaRepository<Activity, Long> {
 
-    List<Activity> findByPark(Park park);
+    @Query("SELECT a FROM Activity a WHERE a.park = :park AND a.isDeleted = false")
+    List<Activity> findLiveByPark(Park park);
 
-    Page<Activity> findByPark(Park park, Pageable page);
+    @Query(value = "SELECT a FROM Activity a WHERE a.park = :park AND a.isDeleted = false",
+            countQuery = "SELECT COUNT(a) FROM Activity a WHERE a.park = :park AND a.isDeleted = false")
+    Page<Activity> findLiveByPark(Park park, Pageable page);
 
-
-    @Query("FROM Park p ORDER BY p.name ASC")
+    @Query(value = "SELECT a FROM Activity a WHERE a.park = :park AND a.isDeleted = false ORDER BY a.name ASC, a.id ASC",
+            countQuery = "SELECT COUNT(a) FROM Activity a WHERE a.park = :park AND a.isDeleted = false")
     Page<Activity> findByParkOrderByNameAsc(Park park, Pageable pageable);
 
-    @Query("FROM Park p ORDER BY p.name DESC")
+    @Query(value = "SELECT a FROM Activity a WHERE a.park = :park AND a.isDeleted = false ORDER BY a.name DESC, a.id DESC",
+            countQuery = "SELECT COUNT(a) FROM Activity a WHERE a.park = :park AND a.isDeleted = false")
     Page<Activity> findByParkOrderByNameDesc(Park park, Pageable pageable);
+
+    @Query("SELECT a.park.parkId, a.id, a.name, a.description, a.price FROM Activity a "
+            + "WHERE a.isDeleted = false AND a.park.isDeleted = false ORDER BY a.name ASC")
+    List<Object[]> findListedActivities();
+
+    // Keyset pages of one park's activities. Park and deleted flag are the
+    // equality prefix of both activity indexes, so each query walks the name or
+    // price index in order and stops at the LIMIT. The prefix is a LIKE pattern
+    // escaped with '!'; a Pageable of page 0 only supplies the LIMIT.
+
+    @Query("SELECT a FROM Activity a WHERE a.park.parkId = :parkId AND a.isDeleted = :deleted "
+            + "AND a.price BETWEEN :minPrice AND :maxPrice AND a.name LIKE :prefix ESCAPE '!' "
+            + "ORDER BY a.name ASC, a.id ASC")
+    List<Activity> findFirstByNameAsc(Long parkId, boolean deleted, double minPrice, double maxPrice,
+            String prefix, Pageable limit);
+
+    @Query("SELECT a FROM Activity a WHERE a.park.parkId = :parkId AND a.isDeleted = :deleted "
+            + "AND a.price BETWEEN :minPrice AND :maxPrice AND a.name LIKE :prefix ESCAPE '!' "
+            + "AND (a.name > :name OR (a.name = :name AND a.id > :id)) ORDER BY a.name ASC, a.id ASC")
+    List<Activity> findAfterByName(Long parkId, boolean deleted, double minPrice, double maxPrice, String prefix,
+            String name, Long id, Pageable limit);
+
+    @Query("SELECT a FROM Activity a WHERE a.park.parkId = :parkId AND a.isDeleted = :deleted "
+            + "AND a.price BETWEEN :minPrice AND :maxPrice AND a.name LIKE :prefix ESCAPE '!' "
+            + "ORDER BY a.name DESC, a.id DESC")
+    List<Activity> findFirstByNameDesc(Long parkId, boolean deleted, double minPrice, double maxPrice,
+            String prefix, Pageable limit);
+
+    @Query("SELECT a FROM Activity a WHERE a.park.parkId = :parkId AND a.isDeleted = :deleted "
+            + "AND a.price BETWEEN :minPrice AND :maxPrice AND a.name LIKE :prefix ESCAPE '!' "
+            + "AND (a.name < :name OR (a.name = :name AND a.id < :id)) ORDER BY a.name DESC, a.id DESC")
+    List<Activity> findBeforeByName(Long parkId, boolean deleted, double minPrice, double maxPrice, String prefix,
+            String name, Long id, Pageable limit);
+
+    @Query("SELECT a FROM Activity a WHERE a.park.parkId = :parkId AND a.isDeleted = :deleted "
+            + "AND a.price BETWEEN :minPrice AND :maxPrice AND a.name LIKE :prefix ESCAPE '!' "
+            + "ORDER BY a.price ASC, a.id ASC")
+    List<Activity> findFirstByPriceAsc(Long parkId, boolean deleted, double minPrice, double maxPrice,
+            String prefix, Pageable limit);
+
+    @Query("SELECT a FROM Activity a WHERE a.park.parkId = :parkId AND a.isDeleted = :deleted "
+            + "AND a.price BETWEEN :minPrice AND :maxPrice AND a.name LIKE :prefix ESCAPE '!' "
+            + "AND (a.price > :price OR (a.price = :price AND a.id > :id)) ORDER BY a.price ASC, a.id ASC")
+    List<Activity> findAfterByPrice(Long parkId, boolean deleted, double minPrice, double maxPrice, String prefix,
+            double price, Long id, Pageable limit);
+
+    @Query("SELECT a FROM Activity a WHERE a.park.parkId = :parkId AND a.isDeleted = :deleted "
+            + "AND a.price BETWEEN :minPrice AND :maxPrice AND a.name LIKE :prefix ESCAPE '!' "
+            + "ORDER BY a.price DESC, a.id DESC")
+    List<Activity> findFirstByPriceDesc(Long parkId, boolean deleted, double minPrice, double maxPrice,
+            String prefix, Pageable limit);
+
+    @Query("SELECT a FROM Activity a WHERE a.park.parkId = :parkId AND a.isDeleted = :deleted "
+            + "AND a.price BETWEEN :minPrice AND :maxPrice AND a.name LIKE :prefix ESCAPE '!' "
+            + "AND (a.price < :price OR (a.price = :price AND a.id < :id)) ORDER BY a.price DESC, a.id DESC")
+    List<Activity> findBeforeByPrice(Long parkId, boolean deleted, double minPrice, double maxPrice, String prefix,
+            double price, Long id, Pageable limit);
 }
@@ -0,0 +1,22 @@
+package com.masai.repository;
+
+import com.masai.model.ActivitySession;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ActivitySessionRepository extends JpaRepository<ActivitySession, Long> {
+
+    @Query("SELECT s FROM ActivitySession s WHERE s.activityId = :activityId AND s.isCancelled = false "
+            + "AND s.startTime >= :from AND s.startTime < :to ORDER BY s.startTime ASC, s.id ASC")
+    List<ActivitySession> findOpenSessions(Long activityId, LocalDateTime from, LocalDateTime to);
+
+    @Modifying
+    @Query("UPDATE ActivitySession s SET s.isCancelled = true WHERE s.id = :sessionId AND s.isCancelled = false")
+    int markCancelled(Long sessionId);
+}
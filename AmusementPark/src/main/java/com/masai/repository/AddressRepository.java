@@ -9,7 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface AddressRepository extends JpaRepository<Address, Integer>{
+public interface AddressRepository extends JpaRepository<Address, Long>{
 
     @Query("SELECT a FROM Address a WHERE a.user = :user")
     Page<Address> findAdressesByUser(User user, Pageable pageable);
@@ -0,0 +1,32 @@
+package com.masai.repository;
+
+import com.masai.model.DailySales;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailySalesRepository extends JpaRepository<DailySales, Long> {
+
+    List<DailySales> findByParkIdAndSalesDayBetweenOrderBySalesDay(Long parkId, LocalDate from, LocalDate to);
+
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO daily_sales (id, park_id, sales_day, ticket_count, gross_revenue, cancellations, "
+            + "cancelled_revenue) VALUES (:id, :parkId, :salesDay, :ticketCount, :grossRevenue, :cancellations, "
+            + ":cancelledRevenue) ON DUPLICATE KEY UPDATE ticket_count = ticket_count + VALUES(ticket_count), "
+            + "gross_revenue = gross_revenue + VALUES(gross_revenue), "
+            + "cancellations = cancellations + VALUES(cancellations), "
+            + "cancelled_revenue = cancelled_revenue + VALUES(cancelled_revenue)", nativeQuery = true)
+    int addToDay(Long id, Long parkId, LocalDate salesDay, long ticketCount, double grossRevenue, long cancellations,
+            double cancelledRevenue);
+
+    @Modifying
+    @Query("DELETE FROM DailySales d WHERE d.salesDay >= :from AND d.salesDay <= :to")
+    int deleteDays(LocalDate from, LocalDate to);
+}
@@ -0,0 +1,9 @@
+package com.masai.repository;
+
+import com.masai.model.DeadLetterEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DeadLetterEventRepository extends JpaRepository<DeadLetterEvent, Long> {
+}
@@ -0,0 +1,18 @@
+package com.masai.repository;
+
+import com.masai.model.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Date;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // SKIP LOCKED lets several dispatchers claim disjoint batches (MySQL 8+)
+    @Query(value = "SELECT * FROM outbox_events WHERE next_attempt_at <= :now ORDER BY next_attempt_at, id "
+            + "LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxEvent> lockDue(Date now, int limit);
+}
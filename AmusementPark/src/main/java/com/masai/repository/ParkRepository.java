@@ -3,16 +3,31 @@ package com.masai.repository;
 import com.masai.model.Park;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
 @Repository
-public interface ParkRepository extends JpaRepository<Park, Integer> {
+public interface ParkRepository extends JpaRepository<Park, Long> {
 
     @Query("SELECT p FROM Park p ORDER BY p.name ASC")
     Page<Park> findAllParksOrderByNameAsc(Pageable pageable);
 
     @Query("SELECT p FROM Park p ORDER BY p.name DESC")
     Page<Park> findAllParksOrderByNameDesc(Pageable pageable);
+
+    @Query("SELECT p.parkId FROM Park p WHERE p.parkId IN :ids")
+    Set<Long> findExistingIds(Collection<Long> ids);
+
+    @EntityGraph(attributePaths = { "activities", "reviews" })
+    @Query("SELECT p FROM Park p")
+    List<Park> findAllWithActivitiesAndReviews();
+
+    @Query("SELECT p FROM Park p WHERE p.isDeleted = false ORDER BY p.name ASC")
+    List<Park> findListedParks();
 }
@@ -8,8 +8,10 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
-public interface ReviewRepository extends JpaRepository<Review, Integer> {
+public interface ReviewRepository extends JpaRepository<Review, Long> {
 
     @Query("SELECT r FROM Review r WHERE r.park = :park")
     Page<Review> findByPark(Park park, Pageable pageable);
@@ -19,4 +21,15 @@ public interface ReviewRepository extends JpaRepository<Review, Integer> {
 
     @Query("SELECT r FROM Review r WHERE r.park = :park ORDER BY r.id DESC")
     Page<Review> findByParkOrderByIdDesc(Park park, Pageable pageable);
+
+    @Query("SELECT r.park.parkId, COUNT(r), AVG(r.rating) FROM Review r WHERE r.isDeleted = false "
+            + "GROUP BY r.park.parkId")
+    List<Object[]> summarizeByPark();
+
+    @Query("SELECT r.rating, COUNT(r) FROM Review r WHERE r.park.parkId = :parkId AND r.isDeleted = false "
+            + "GROUP BY r.rating")
+    List<Object[]> countRatingsByPark(Long parkId);
+
+    @Query("SELECT r FROM Review r WHERE r.park.parkId = :parkId AND r.isDeleted = false ORDER BY r.id DESC")
+    List<Review> findLatestByPark(Long parkId, Pageable limit);
 }
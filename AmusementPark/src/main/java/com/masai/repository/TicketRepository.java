@@ -1,24 +1,110 @@
 package com.masai.repository;
 
 import com.masai.model.Ticket;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
-public interface TicketRepository extends JpaRepository<Ticket, Integer> {
-    Set<Ticket> findTicketsByUser_UserId(Integer userId);
+public interface TicketRepository extends JpaRepository<Ticket, Long> {
+    Set<Ticket> findTicketsByUser_UserId(Long userId);
 
     @Query("SELECT t FROM Ticket t WHERE t.user.userId = :userId")
-    Page<Ticket> findTicketsByUser_UserId(Integer userId, Pageable pageable);
+    Page<Ticket> findTicketsByUser_UserId(Long userId, Pageable pageable);
 
     @Query("SELECT t FROM Ticket t WHERE t.user.userId = :userId ORDER BY t.purchaseDate ASC")
-    Page<Ticket> findTicketsByUser_UserIdOrderByPurchaseDateAsc(Integer userId, Pageable pageable);
+    Page<Ticket> findTicketsByUser_UserIdOrderByPurchaseDateAsc(Long userId, Pageable pageable);
 
     @Query("SELECT t FROM Ticket t WHERE t.user.userId = :userId ORDER BY t.purchaseDate DESC")
-    Page<Ticket> findTicketsByUser_UserIdOrderByPurchaseDateDesc(Integer userId, Pageable pageable);
+    Page<Ticket> findTicketsByUser_UserIdOrderByPurchaseDateDesc(Long userId, Pageable pageable);
+
+    // Keyset pages on (purchaseDate, id): a Pageable of page 0 only supplies the
+    // LIMIT, and a List return type skips the count query
+
+    @Query("SELECT t FROM Ticket t WHERE t.user.userId = :userId ORDER BY t.purchaseDate ASC, t.id ASC")
+    List<Ticket> findFirstTicketsAsc(Long userId, Pageable limit);
+
+    @Query("SELECT t FROM Ticket t WHERE t.user.userId = :userId AND (t.purchaseDate > :purchaseDate "
+            + "OR (t.purchaseDate = :purchaseDate AND t.id > :id)) ORDER BY t.purchaseDate ASC, t.id ASC")
+    List<Ticket> findTicketsAfter(Long userId, Date purchaseDate, Long id, Pageable limit);
+
+    @Query("SELECT t FROM Ticket t WHERE t.user.userId = :userId ORDER BY t.purchaseDate DESC, t.id DESC")
+    List<Ticket> findFirstTicketsDesc(Long userId, Pageable limit);
+
+    @Query("SELECT t FROM Ticket t WHERE t.user.userId = :userId AND (t.purchaseDate < :purchaseDate "
+            + "OR (t.purchaseDate = :purchaseDate AND t.id < :id)) ORDER BY t.purchaseDate DESC, t.id DESC")
+    List<Ticket> findTicketsBefore(Long userId, Date purchaseDate, Long id, Pageable limit);
+
+    long countByUser_UserId(Long userId);
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT t FROM Ticket t JOIN FETCH t.park p LEFT JOIN FETCH t.user WHERE p.parkId = :parkId "
+            + "AND t.purchaseDate >= :from AND t.purchaseDate < :to ORDER BY t.purchaseDate, t.id")
+    Stream<Ticket> streamTicketsByParkBetween(Long parkId, Date from, Date to);
+
+    @Modifying
+    @Query("UPDATE Ticket t SET t.isCancelled = true WHERE t.id = :ticketId AND t.isCancelled = false")
+    int markCancelled(Long ticketId);
+
+    @Modifying
+    @Query("UPDATE Ticket t SET t.capacityReleased = true WHERE t.id = :ticketId AND t.capacityReleased = false")
+    int markCapacityReleased(Long ticketId);
+
+    @Modifying
+    @Query("UPDATE Ticket t SET t.admittedAt = :now WHERE t.id = :ticketId AND t.isCancelled = false "
+            + "AND t.admittedAt IS NULL")
+    int markAdmitted(Long ticketId, Date now);
+
+    @Query("SELECT t.isCancelled, t.admittedAt FROM Ticket t WHERE t.id = :ticketId")
+    List<Object[]> findGateState(Long ticketId);
+
+    // Holds the row until commit, so a cancellation cannot pass a booking being stored
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t.id FROM Ticket t WHERE t.id = :ticketId AND t.isCancelled = false")
+    Optional<Long> lockActive(Long ticketId);
+
+    // A cancelled ticket holds its capacity until the release handler gives it back
+    @Query("SELECT COUNT(t) FROM Ticket t WHERE t.park.parkId = :parkId AND t.capacityReleased = false "
+            + "AND t.purchaseDate >= :from AND t.purchaseDate < :to")
+    long countActiveTicketsByParkBetween(Long parkId, Date from, Date to);
+
+    @Query("SELECT t.park.parkId, CAST(t.purchaseDate AS LocalDate), COUNT(t), SUM(t.entryfee), "
+            + "SUM(CASE WHEN t.isCancelled = true THEN 1 ELSE 0 END), "
+            + "SUM(CASE WHEN t.isCancelled = true THEN t.entryfee ELSE 0 END) FROM Ticket t "
+            + "WHERE t.purchaseDate >= :from AND t.purchaseDate < :to "
+            + "GROUP BY t.park.parkId, CAST(t.purchaseDate AS LocalDate)")
+    List<Object[]> sumSalesByParkAndDayBetween(Date from, Date to);
+
+    @Query("SELECT CAST(t.purchaseDate AS LocalDate), t.entrySlot, COUNT(t) FROM Ticket t "
+            + "WHERE t.park.parkId = :parkId AND t.capacityReleased = false AND t.entrySlot IS NOT NULL "
+            + "AND t.purchaseDate >= :from AND t.purchaseDate < :to "
+            + "GROUP BY CAST(t.purchaseDate AS LocalDate), t.entrySlot")
+    List<Object[]> countSlotsByParkBetween(Long parkId, Date from, Date to);
+
+    @Query("SELECT CAST(t.purchaseDate AS LocalDate), COUNT(t) FROM Ticket t WHERE t.park.parkId = :parkId "
+            + "AND t.isCancelled = false AND t.purchaseDate >= :from AND t.purchaseDate < :to "
+            + "GROUP BY CAST(t.purchaseDate AS LocalDate)")
+    List<Object[]> countActiveTicketsByDayBetween(Long parkId, Date from, Date to);
+
+    @Query("SELECT t.park.parkId, CAST(t.purchaseDate AS LocalDate), COUNT(t) FROM Ticket t "
+            + "WHERE t.isCancelled = false AND t.purchaseDate >= :from AND t.purchaseDate < :to "
+            + "GROUP BY t.park.parkId, CAST(t.purchaseDate AS LocalDate)")
+    List<Object[]> countActiveTicketsByParkAndDayBetween(Date from, Date to);
+
+    @Query("SELECT t.id, t.purchaseDate FROM Ticket t WHERE t.isCancelled = true AND t.purchaseDate >= :from")
+    List<Object[]> findCancelledTicketDatesFrom(Date from);
 }
@@ -1,13 +1,20 @@
 package com.masai.repository;
 
 import com.masai.model.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Integer> {
+public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByEmail(String email);
 
@@ -15,4 +22,23 @@ public interface UserRepository extends JpaRepository<User, Integer> {
 
     Optional<User> findByUsernameIgnoreCase(String username);
 
+    @Modifying
+    @Query("UPDATE User u SET u.wallet = u.wallet - :amount WHERE u.userId = :userId AND u.wallet >= :amount")
+    int debitWallet(Long userId, double amount);
+
+    @Modifying
+    @Query("UPDATE User u SET u.wallet = u.wallet + :amount WHERE u.userId = :userId")
+    int creditWallet(Long userId, double amount);
+
+    // Holds the row until commit, so no debit or credit can run alongside
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u.wallet FROM User u WHERE u.userId = :userId")
+    Optional<Double> lockWallet(Long userId);
+
+    @Query("SELECT u.userId FROM User u WHERE u.wallet > 0 AND NOT EXISTS "
+            + "(SELECT w.id FROM WalletTransaction w WHERE w.userId = u.userId)")
+    List<Long> findIdsWithoutLedger();
+
+    @Query("SELECT u.userId FROM User u WHERE u.userId IN :ids")
+    Set<Long> findExistingIds(Collection<Long> ids);
 }
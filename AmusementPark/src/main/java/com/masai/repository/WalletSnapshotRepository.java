@@ -0,0 +1,13 @@
+package com.masai.repository;
+
+import com.masai.model.WalletSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface WalletSnapshotRepository extends JpaRepository<WalletSnapshot, Long> {
+
+    @Query("SELECT COALESCE(MAX(s.lastEntryId), 0) FROM WalletSnapshot s")
+    Long findWatermark();
+}
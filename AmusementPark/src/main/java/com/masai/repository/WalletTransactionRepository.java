@@ -0,0 +1,34 @@
+package com.masai.repository;
+
+import com.masai.model.WalletTransaction;
+import com.masai.model.WalletTransactionType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Date;
+import java.util.List;
+
+@Repository
+public interface WalletTransactionRepository extends JpaRepository<WalletTransaction, Long> {
+
+    boolean existsByUserId(Long userId);
+
+    boolean existsByTicketIdAndType(Long ticketId, WalletTransactionType type);
+
+    boolean existsByBookingIdAndType(Long bookingId, WalletTransactionType type);
+
+    Page<WalletTransaction> findByUserIdOrderByIdDesc(Long userId, Pageable pageable);
+
+    @Query("SELECT COALESCE(SUM(w.amount), 0) FROM WalletTransaction w WHERE w.userId = :userId AND w.id > :afterId")
+    double sumByUserIdAfter(Long userId, Long afterId);
+
+    @Query("SELECT MAX(w.id) FROM WalletTransaction w WHERE w.createdAt < :before")
+    Long findLastIdBefore(Date before);
+
+    @Query("SELECT w.userId, SUM(w.amount) FROM WalletTransaction w WHERE w.id > :fromId AND w.id <= :toId "
+            + "GROUP BY w.userId")
+    List<Object[]> sumByUserBetween(Long fromId, Long toId);
+}
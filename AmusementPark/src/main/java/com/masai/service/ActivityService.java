@@ -1,9 +1,11 @@
 package com.masai.service;
 
 import com.masai.exception.ActivityNotFoundException;
+import com.masai.exception.InvalidPageTokenException;
 import com.masai.exception.ParkNotFoundException;
 import com.masai.exception.SomethingWentWrongException;
 import com.masai.model.Activity;
+import com.masai.model.ActivityPage;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -25,7 +27,7 @@ public interface ActivityService {
 	 * @throws SomethingWentWrongException If an unexpected issue occurs while
 	 *                                     fetching activities.
 	 */
-	Set<Activity> getActivity(Integer parkId) throws ActivityNotFoundException, SomethingWentWrongException;
+	Set<Activity> getActivity(Long parkId) throws ActivityNotFoundException, SomethingWentWrongException;
 
 	/**
 	 * Fetches a list of activities related to a particular park.
@@ -36,7 +38,7 @@ public interface ActivityService {
 	 * @throws SomethingWentWrongException If an unexpected issue occurs while
 	 *                                     retrieving activities.
 	 */
-	List<Activity> getActivitiesByPark(Integer parkId) throws ParkNotFoundException, SomethingWentWrongException;
+	List<Activity> getActivitiesByPark(Long parkId) throws ParkNotFoundException, SomethingWentWrongException;
 
 	/**
 	 * Creates a new activity for a given park.
@@ -48,7 +50,7 @@ public interface ActivityService {
 	 * @throws SomethingWentWrongException If an unexpected issue occurs during the
 	 *                                     activity creation.
 	 */
-	Activity createActivity(Integer parkId, Activity activity)
+	Activity createActivity(Long parkId, Activity activity)
 			throws ParkNotFoundException, SomethingWentWrongException;
 
 	/**
@@ -72,7 +74,7 @@ public interface ActivityService {
 	 * @throws SomethingWentWrongException If an unexpected issue occurs during the
 	 *                                     deletion.
 	 */
-	String deleteActivity(Integer activityId, Integer parkId)
+	String deleteActivity(Long activityId, Long parkId)
 			throws ActivityNotFoundException, SomethingWentWrongException;
 
 	/**
@@ -88,7 +90,7 @@ public interface ActivityService {
 	 * @throws SomethingWentWrongException If an unexpected issue occurs while
 	 *                                     fetching activities.
 	 */
-	Page<Activity> getActivitiesByPark(Integer parkId, Pageable pageable)
+	Page<Activity> getActivitiesByPark(Long parkId, Pageable pageable)
 			throws ActivityNotFoundException, SomethingWentWrongException;
 
 	/**
@@ -104,7 +106,7 @@ public interface ActivityService {
 	 * @throws SomethingWentWrongException If an unexpected issue occurs while
 	 *                                     retrieving activities.
 	 */
-	Page<Activity> getActivitiesByParkSortedAsc(Integer parkId, Pageable pageable)
+	Page<Activity> getActivitiesByParkSortedAsc(Long parkId, Pageable pageable)
 			throws ParkNotFoundException, SomethingWentWrongException;
 
 	/**
@@ -120,7 +122,7 @@ public interface ActivityService {
 	 * @throws SomethingWentWrongException If an unexpected issue occurs while
 	 *                                     retrieving activities.
 	 */
-	Page<Activity> getActivitiesByParkSortedDesc(Integer parkId, Pageable pageable)
+	Page<Activity> getActivitiesByParkSortedDesc(Long parkId, Pageable pageable)
 			throws ParkNotFoundException, SomethingWentWrongException;
 
 	/**
@@ -131,5 +133,31 @@ public interface ActivityService {
 	 * @throws SomethingWentWrongException If an unexpected issue occurs during bulk
 	 *                                     activity addition.
 	 */
-	List<Activity> addActivitiesInBulk(Integer parkId, Set<Activity> activities) throws SomethingWentWrongException;
+	List<Activity> addActivitiesInBulk(Long parkId, Set<Activity> activities) throws SomethingWentWrongException;
+
+	/**
+	 * Lists a park's activities one keyset page at a time, filtered by price
+	 * range, name prefix and deleted flag and sorted by name or price.
+	 *
+	 * @param parkId     ID of the park whose activities are listed.
+	 * @param minPrice   Lowest price, or {@code null} for no lower bound.
+	 * @param maxPrice   Highest price, or {@code null} for no upper bound.
+	 * @param namePrefix Only activities whose name starts with this, may be
+	 *                   blank.
+	 * @param deleted    Whether to list deleted activities instead of live ones.
+	 * @param sort       {@code name} or {@code price}; ignored when a page token
+	 *                   is given.
+	 * @param descending Whether to sort in descending order; ignored when a page
+	 *                   token is given.
+	 * @param pageToken  Token from the previous page, or {@code null} for the
+	 *                   first page. Later pages need the same filters.
+	 * @param size       Maximum number of activities on the page.
+	 * @return The page and the token for the next one.
+	 * @throws ParkNotFoundException       If the specified park is not found.
+	 * @throws SomethingWentWrongException If the sort or price range is invalid.
+	 * @throws InvalidPageTokenException   If the page token is malformed.
+	 */
+	ActivityPage findActivities(Long parkId, Double minPrice, Double maxPrice, String namePrefix, boolean deleted,
+			String sort, boolean descending, String pageToken, int size)
+			throws ParkNotFoundException, SomethingWentWrongException, InvalidPageTokenException;
 }
@@ -22,7 +22,7 @@ public interface AddressService {
      * @return Created Address object.
      * @throws SomethingWentWrongException If an unexpected issue occurs during address creation.
      */
-    Address createAddress(Integer userId, Address address) throws SomethingWentWrongException;
+    Address createAddress(Long userId, Address address) throws SomethingWentWrongException;
 
     /**
      * Fetches all addresses associated with a specific user.
@@ -32,7 +32,7 @@ public interface AddressService {
      * @throws UserNotFoundException       If the specified user is not found.
      * @throws SomethingWentWrongException If an unexpected issue occurs while retrieving addresses.
      */
-    Set<Address> getAddressesByUser(Integer userId) throws UserNotFoundException, SomethingWentWrongException;
+    Set<Address> getAddressesByUser(Long userId) throws UserNotFoundException, SomethingWentWrongException;
 
     /**
      * Updates multiple addresses for a user.
@@ -43,7 +43,7 @@ public interface AddressService {
      * @throws UserNotFoundException       If the specified user is not found.
      * @throws SomethingWentWrongException If an unexpected issue occurs during the update process.
      */
-    String updateAddressesByUser(Integer userId, Set<Address> addresses)
+    String updateAddressesByUser(Long userId, Set<Address> addresses)
             throws UserNotFoundException, SomethingWentWrongException;
 
     /**
@@ -55,7 +55,7 @@ public interface AddressService {
      * @throws UserNotFoundException       If the specified user is not found.
      * @throws SomethingWentWrongException If an unexpected issue occurs during the deletion.
      */
-    String deleteAddressesByUser(Integer userId, Integer addressId)
+    String deleteAddressesByUser(Long userId, Long addressId)
             throws UserNotFoundException, SomethingWentWrongException;
 
     /**
@@ -67,7 +67,7 @@ public interface AddressService {
      * @throws UserNotFoundException       If the specified user is not found.
      * @throws SomethingWentWrongException If an unexpected issue occurs while retrieving addresses.
      */
-    Page<Address> getAddressesByUser(Integer userId, Pageable pageable)
+    Page<Address> getAddressesByUser(Long userId, Pageable pageable)
             throws UserNotFoundException, SomethingWentWrongException;
 
     /**
@@ -79,7 +79,7 @@ public interface AddressService {
      * @throws UserNotFoundException       If the specified user is not found.
      * @throws SomethingWentWrongException If an unexpected issue occurs while retrieving addresses.
      */
-    Page<Address> getAddressesByUserSortedAsc(Integer userId, Pageable pageable)
+    Page<Address> getAddressesByUserSortedAsc(Long userId, Pageable pageable)
             throws UserNotFoundException, SomethingWentWrongException;
 
     /**
@@ -91,7 +91,7 @@ public interface AddressService {
      * @throws UserNotFoundException       If the specified user is not found.
      * @throws SomethingWentWrongException If an unexpected issue occurs while retrieving addresses.
      */
-    Page<Address> getAddressesByUserSortedDesc(Integer userId, Pageable pageable)
+    Page<Address> getAddressesByUserSortedDesc(Long userId, Pageable pageable)
             throws UserNotFoundException, SomethingWentWrongException;
 
     /**
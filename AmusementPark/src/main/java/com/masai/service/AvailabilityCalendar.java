@@ -0,0 +1,155 @@
+package com.masai.service;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.masai.exception.ParkNotFoundException;
+import com.masai.model.CalendarDay;
+import com.masai.model.Park;
+import com.masai.repository.ParkRepository;
+import com.masai.repository.TicketRepository;
+
+/**
+ * Cached availability of every park for the next {@code calendar.days} days.
+ * <p>
+ * A park's calendar is built with one query grouping its tickets by day and is
+ * then kept current in place: sales and cancellations adjust the count of
+ * their day instead of evicting the whole calendar. Calendars are rebuilt when
+ * the day rolls over, when the park changes, and after {@code calendar.ttl-ms}
+ * to pick up sales made on other nodes.
+ */
+@Component
+public class AvailabilityCalendar {
+
+	@Autowired
+	private TicketRepository ticketRepository;
+
+	@Autowired
+	private ParkRepository parkRepository;
+
+	@Value("${calendar.days:90}")
+	private int days;
+
+	@Value("${calendar.ttl-ms:300000}")
+	private long ttlMs;
+
+	private final Map<Long, Calendar> calendars = new ConcurrentHashMap<>();
+
+	/**
+	 * @param parkId ID of the park.
+	 * @return Availability of each day of the window, starting today.
+	 * @throws ParkNotFoundException If the park is not found.
+	 */
+	public List<CalendarDay> getCalendar(Long parkId) throws ParkNotFoundException {
+		Calendar calendar = calendars.get(parkId);
+		if (calendar == null || calendar.isStale(LocalDate.now(), System.currentTimeMillis(), ttlMs)) {
+			Park park = parkRepository.findById(parkId)
+					.orElseThrow(() -> new ParkNotFoundException("Park with ID " + parkId + " not found"));
+			calendar = build(park);
+			calendars.put(parkId, calendar);
+		}
+
+		List<CalendarDay> result = new ArrayList<>(days);
+		Integer capacity = calendar.capacity;
+		for (int i = 0; i < days; i++) {
+			int sold = calendar.sold.get(i);
+			Integer remaining = capacity != null ? Math.max(0, capacity - sold) : null;
+			result.add(new CalendarDay(calendar.firstDay.plusDays(i), capacity, sold, remaining,
+					remaining == null || remaining > 0));
+		}
+		return result;
+	}
+
+	/**
+	 * Counts a sold ticket in its park's cached calendar, if there is one.
+	 *
+	 * @param parkId    ID of the park.
+	 * @param visitDate Date of the visit.
+	 */
+	public void ticketSold(Long parkId, Date visitDate) {
+		adjust(parkId, visitDate, 1);
+	}
+
+	/**
+	 * Removes a cancelled ticket from its park's cached calendar, if there is
+	 * one.
+	 *
+	 * @param parkId    ID of the park.
+	 * @param visitDate Date of the visit.
+	 */
+	public void ticketCancelled(Long parkId, Date visitDate) {
+		adjust(parkId, visitDate, -1);
+	}
+
+	/**
+	 * Drops the cached calendars of the given parks.
+	 *
+	 * @param parkIds IDs of the parks.
+	 */
+	public void invalidate(Collection<Long> parkIds) {
+		parkIds.forEach(calendars::remove);
+	}
+
+	private void adjust(Long parkId, Date visitDate, int delta) {
+		Calendar calendar = parkId != null ? calendars.get(parkId) : null;
+		if (calendar == null) {
+			return;
+		}
+		Date visit = visitDate != null ? visitDate : new Date();
+		long offset = ChronoUnit.DAYS.between(calendar.firstDay,
+				visit.toInstant().atZone(ZoneId.systemDefault()).toLocalDate());
+		if (offset >= 0 && offset < calendar.sold.length()) {
+			calendar.sold.addAndGet((int) offset, delta);
+		}
+	}
+
+	private Calendar build(Park park) {
+		LocalDate today = LocalDate.now();
+		ZoneId zone = ZoneId.systemDefault();
+		Date from = Date.from(today.atStartOfDay(zone).toInstant());
+		Date to = Date.from(today.plusDays(days).atStartOfDay(zone).toInstant());
+
+		Calendar calendar = new Calendar(today, park.getDailyCapacity(), days, System.currentTimeMillis());
+		for (Object[] row : ticketRepository.countActiveTicketsByDayBetween(park.getParkId(), from, to)) {
+			long offset = ChronoUnit.DAYS.between(today, (LocalDate) row[0]);
+			if (offset >= 0 && offset < days) {
+				calendar.sold.set((int) offset, ((Number) row[1]).intValue());
+			}
+		}
+		return calendar;
+	}
+
+	private static class Calendar {
+
+		private final LocalDate firstDay;
+
+		private final Integer capacity;
+
+		private final AtomicIntegerArray sold;
+
+		private final long builtAt;
+
+		Calendar(LocalDate firstDay, Integer capacity, int days, long builtAt) {
+			this.firstDay = firstDay;
+			this.capacity = capacity;
+			this.sold = new AtomicIntegerArray(days);
+			this.builtAt = builtAt;
+		}
+
+		boolean isStale(LocalDate today, long now, long ttlMs) {
+			return !firstDay.equals(today) || now - builtAt > ttlMs;
+		}
+	}
+}
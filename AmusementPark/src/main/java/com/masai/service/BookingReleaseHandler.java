@@ -0,0 +1,38 @@
+package com.masai.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.masai.model.TicketCancelledEvent;
+
+/**
+ * Cancels and refunds the activity bookings of a cancelled ticket and frees
+ * their seats. Bookings are only cancelled and refunded once, so redeliveries
+ * are harmless.
+ */
+@Component
+public class BookingReleaseHandler implements OutboxHandler<TicketCancelledEvent> {
+
+	@Autowired
+	private BookingService bookingService;
+
+	@Override
+	public String name() {
+		return "booking-release";
+	}
+
+	@Override
+	public String eventType() {
+		return TicketCancelledEvent.TYPE;
+	}
+
+	@Override
+	public Class<TicketCancelledEvent> payloadType() {
+		return TicketCancelledEvent.class;
+	}
+
+	@Override
+	public void handle(TicketCancelledEvent event, Long ticketId) {
+		bookingService.cancelTicketBookings(ticketId);
+	}
+}
@@ -0,0 +1,137 @@
+package com.masai.service;
+
+import com.masai.exception.ActivityNotFoundException;
+import com.masai.exception.InsufficientBalanceException;
+import com.masai.exception.SoldOutException;
+import com.masai.exception.SomethingWentWrongException;
+import com.masai.exception.TicketNotFoundException;
+import com.masai.model.ActivityBooking;
+import com.masai.model.ActivitySession;
+import com.masai.model.AddOn;
+import com.masai.model.SessionAvailability;
+import com.masai.model.Ticket;
+
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Service interface for activity sessions and the bookings added to tickets.
+ */
+public interface BookingService {
+
+    /**
+     * Schedules a bookable session of an activity.
+     *
+     * @param activityId ID of the activity.
+     * @param session    Start time and capacity of the session.
+     * @return The stored session.
+     * @throws ActivityNotFoundException   If the activity is not found.
+     * @throws SomethingWentWrongException If the start time or capacity is
+     *                                     missing.
+     */
+    ActivitySession createSession(Long activityId, ActivitySession session)
+            throws ActivityNotFoundException, SomethingWentWrongException;
+
+    /**
+     * Lists the open sessions of an activity on a day with their free seats.
+     *
+     * @param activityId ID of the activity.
+     * @param date       Day of the sessions.
+     * @return Sessions by start time.
+     */
+    List<SessionAvailability> getSessions(Long activityId, LocalDate date);
+
+    /**
+     * Cancels a session and refunds all of its bookings.
+     *
+     * @param sessionId ID of the session.
+     * @return Message indicating the status of the cancellation.
+     * @throws ActivityNotFoundException If the session is not found.
+     */
+    String cancelSession(Long sessionId) throws ActivityNotFoundException;
+
+    /**
+     * Books seats on a session for a ticket that was already bought.
+     *
+     * @param userId   ID of the ticket owner.
+     * @param ticketId ID of the ticket.
+     * @param addOn    Session and number of seats.
+     * @return The stored booking.
+     * @throws TicketNotFoundException      If the ticket is not found, is
+     *                                      cancelled or belongs to another user.
+     * @throws ActivityNotFoundException    If the session is not found.
+     * @throws SoldOutException             If the session has too few seats left.
+     * @throws InsufficientBalanceException If the wallet does not cover the price.
+     * @throws SomethingWentWrongException  If the session does not fit the ticket.
+     */
+    ActivityBooking bookSession(Long userId, Long ticketId, AddOn addOn) throws TicketNotFoundException,
+            ActivityNotFoundException, SoldOutException, InsufficientBalanceException, SomethingWentWrongException;
+
+    /**
+     * Lists the bookings of a ticket, cancelled ones included.
+     *
+     * @param userId   ID of the ticket owner.
+     * @param ticketId ID of the ticket.
+     * @return Bookings in the order they were made.
+     * @throws TicketNotFoundException If the ticket is not found or belongs to
+     *                                 another user.
+     */
+    List<ActivityBooking> getBookings(Long userId, Long ticketId) throws TicketNotFoundException;
+
+    /**
+     * Cancels a booking, refunds it and frees its seats.
+     *
+     * @param userId    ID of the ticket owner.
+     * @param ticketId  ID of the ticket.
+     * @param bookingId ID of the booking.
+     * @return Message indicating the status of the cancellation.
+     * @throws TicketNotFoundException If the booking is not found on the user's
+     *                                 ticket.
+     */
+    String cancelBooking(Long userId, Long ticketId, Long bookingId) throws TicketNotFoundException;
+
+    /**
+     * Cancels and refunds every booking of a cancelled ticket; bookings that are
+     * already cancelled are skipped, so this can be repeated.
+     *
+     * @param ticketId ID of the cancelled ticket.
+     */
+    void cancelTicketBookings(Long ticketId);
+
+    /**
+     * Takes the seats of the add-ons of a ticket being bought. If one add-on
+     * cannot be held, the seats of the others are given back.
+     *
+     * @param parkId    ID of the park of the ticket.
+     * @param visitDate Date of the visit.
+     * @param addOns    Requested add-ons, may be {@code null}.
+     * @return Seat reservations to store with {@link #storeBookings}.
+     * @throws ActivityNotFoundException   If a session is not found.
+     * @throws SoldOutException            If a session has too few seats left.
+     * @throws SomethingWentWrongException If a session does not fit the ticket.
+     */
+    List<SessionInventory.Reservation> holdAddOns(Long parkId, Date visitDate, List<AddOn> addOns)
+            throws ActivityNotFoundException, SoldOutException, SomethingWentWrongException;
+
+    /**
+     * Prices held seats the way {@link #storeBookings} will charge them.
+     *
+     * @param holds Seats held by {@link #holdAddOns}.
+     * @return Total price of the seats, 0 if there are none.
+     */
+    double priceOf(List<SessionInventory.Reservation> holds);
+
+    /**
+     * Stores the bookings of held seats and charges them to the ticket owner's
+     * wallet. Must run in the transaction that stores the ticket.
+     *
+     * @param ticket The stored ticket.
+     * @param holds  Seats held by {@link #holdAddOns}.
+     * @return The stored bookings.
+     * @throws InsufficientBalanceException If the wallet does not cover the
+     *                                      prices.
+     */
+    List<ActivityBooking> storeBookings(Ticket ticket, List<SessionInventory.Reservation> holds)
+            throws InsufficientBalanceException;
+}
@@ -0,0 +1,29 @@
+package com.masai.service;
+
+import com.masai.exception.SomethingWentWrongException;
+import com.masai.model.DeadLetterEvent;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Service interface for outbox deliveries that ran out of attempts.
+ */
+public interface DeadLetterService {
+
+    /**
+     * Retrieves dead-lettered deliveries.
+     *
+     * @param pageable Pageable object containing pagination information.
+     * @return Page of dead-lettered deliveries.
+     */
+    Page<DeadLetterEvent> getDeadLetters(Pageable pageable);
+
+    /**
+     * Puts a dead-lettered delivery back into the outbox with fresh attempts.
+     *
+     * @param id ID of the dead-lettered delivery.
+     * @return Success message.
+     * @throws SomethingWentWrongException If there is no such delivery.
+     */
+    String retryDeadLetter(Long id) throws SomethingWentWrongException;
+}
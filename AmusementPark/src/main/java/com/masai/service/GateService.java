@@ -0,0 +1,31 @@
+package com.masai.service;
+
+import com.masai.model.TicketValidation;
+
+/**
+ * Service interface for validating tickets at park gates.
+ */
+public interface GateService {
+
+    /**
+     * Checks a scanned ticket code without letting the visitor in. The code is
+     * checked offline first; a code that passes is confirmed against the stored
+     * ticket, so cancellations made on any node and used tickets are rejected.
+     *
+     * @param code   Code printed on the ticket.
+     * @param parkId ID of the park the gate belongs to, or {@code null} to accept any park.
+     * @return Validation result with the reason a ticket was rejected.
+     */
+    TicketValidation validate(String code, Long parkId);
+
+    /**
+     * Lets the holder of a ticket code in. The ticket is marked as admitted in
+     * the same conditional update that checks it is neither cancelled nor used,
+     * so a code admits exactly once, whichever gate or node scans it.
+     *
+     * @param code   Code printed on the ticket.
+     * @param parkId ID of the park the gate belongs to, or {@code null} to accept any park.
+     * @return Validation result, valid only for the scan that admitted the ticket.
+     */
+    TicketValidation admit(String code, Long parkId);
+}
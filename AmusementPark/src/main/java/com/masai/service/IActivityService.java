@@ -1,18 +1,26 @@
 package com.masai.service;
 
+import com.masai.config.PageToken;
 import com.masai.exception.ActivityNotFoundException;
+import com.masai.exception.InvalidPageTokenException;
 import com.masai.exception.ParkNotFoundException;
 import com.masai.exception.SomethingWentWrongException;
 import com.masai.model.Activity;
+import com.masai.model.ActivityPage;
 import com.masai.model.Park;
 import com.masai.repository.ActivityRepository;
 import com.masai.repository.ParkRepository;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 import java.util.Set;
 
@@ -25,34 +33,48 @@ public class IActivityService implements ActivityService {
 	@Autowired
 	private ParkRepository parkRepository;
 
+	@Autowired
+	private ParkCache parkCache;
+
+	@Autowired
+	private ParkSearchIndex searchIndex;
+
 	@Override
-	public Set<Activity> getActivity(Integer parkId) {
+	@Cacheable(cacheNames = ParkCache.ACTIVITIES, key = "#parkId")
+	@Transactional(readOnly = true)
+	public Set<Activity> getActivity(Long parkId) {
 		Optional<Park> parkOptional = parkRepository.findById(parkId);
 		if (parkOptional.isPresent() && !parkOptional.get().isDeleted()) {
-			return parkOptional.get().getActivities();
+			// Cached sets outlive the session, so copy them out while it is open
+			Set<Activity> activities = parkOptional.get().getActivities();
+			Hibernate.initialize(activities);
+			return Set.copyOf(activities);
 		} else {
 			throw new ActivityNotFoundException("Park not found with ID: " + parkId);
 		}
 	}
 
 	@Override
-	public List<Activity> getActivitiesByPark(Integer parkId) {
+	public List<Activity> getActivitiesByPark(Long parkId) {
 		Optional<Park> parkOptional = parkRepository.findById(parkId);
 		if (parkOptional.isPresent()) {
 			Park park = parkOptional.get();
-			return activityRepository.findByPark(park);
+			return activityRepository.findLiveByPark(park);
 		} else {
 			throw new ParkNotFoundException("Park not found with ID: " + parkId);
 		}
 	}
 
 	@Override
-	public Activity createActivity(Integer parkId, Activity activity) {
+	public Activity createActivity(Long parkId, Activity activity) {
 		Optional<Park> parkOptional = parkRepository.findById(parkId);
 		if (parkOptional.isPresent()) {
 			Park park = parkOptional.get();
 			activity.setPark(park);
-			return activityRepository.save(activity);
+			Activity saved = activityRepository.save(activity);
+			parkCache.evictPark(parkId);
+			searchIndex.reindexPark(parkId);
+			return saved;
 		} else {
 			throw new ParkNotFoundException("Park not found with ID: " + parkId);
 		}
@@ -67,6 +89,9 @@ public class IActivityService implements ActivityService {
 			existingActivity.setDescription(activity.getDescription());
 			existingActivity.setPrice(activity.getPrice());
 			activityRepository.save(existingActivity);
+			Long parkId = existingActivity.getPark() != null ? existingActivity.getPark().getParkId() : null;
+			parkCache.evictPark(parkId);
+			searchIndex.reindexPark(parkId);
 			return "Activity updated successfully.";
 		} else {
 			throw new ActivityNotFoundException("Activity not found with ID: " + activity.getId());
@@ -74,7 +99,7 @@ public class IActivityService implements ActivityService {
 	}
 
 	@Override
-	public String deleteActivity(Integer parkId, Integer activityId) {
+	public String deleteActivity(Long parkId, Long activityId) {
 		Optional<Park> parkOptional = parkRepository.findById(parkId);
 		if (parkOptional.isPresent() && !parkOptional.get().isDeleted()) {
 			Optional<Activity> activityOptional = activityRepository.findById(activityId);
@@ -82,6 +107,9 @@ public class IActivityService implements ActivityService {
 				Activity activity = activityOptional.get();
 				activity.setDeleted(true); // Mark activity as deleted instead of removing it
 				activityRepository.save(activity);
+				Long ownerId = activity.getPark() != null ? activity.getPark().getParkId() : parkId;
+				parkCache.evictPark(ownerId);
+				searchIndex.reindexPark(ownerId);
 				return "Activity deleted successfully.";
 			} else {
 				throw new ActivityNotFoundException("Activity not found with ID: " + activityId);
@@ -105,11 +133,11 @@ public class IActivityService implements ActivityService {
 	 *                                     fetching activities.
 	 */
 	@Override
-	public Page<Activity> getActivitiesByPark(Integer parkId, Pageable pageable)
+	public Page<Activity> getActivitiesByPark(Long parkId, Pageable pageable)
 			throws ActivityNotFoundException, SomethingWentWrongException {
 		Optional<Park> parkOptional = parkRepository.findById(parkId);
 		if (parkOptional.isPresent() && !parkOptional.get().isDeleted()) {
-			return activityRepository.findByPark(parkOptional.get(), pageable);
+			return activityRepository.findLiveByPark(parkOptional.get(), pageable);
 		} else {
 			throw new ActivityNotFoundException("No activities found for the specified park.");
 		}
@@ -129,12 +157,11 @@ public class IActivityService implements ActivityService {
 	 *                                     retrieving activities.
 	 */
 	@Override
-	public Page<Activity> getActivitiesByParkSortedAsc(Integer parkId, Pageable pageable)
+	public Page<Activity> getActivitiesByParkSortedAsc(Long parkId, Pageable pageable)
 			throws ParkNotFoundException, SomethingWentWrongException {
 		Optional<Park> parkOptional = parkRepository.findById(parkId);
 		if (parkOptional.isPresent() && !parkOptional.get().isDeleted()) {
 			return activityRepository.findByParkOrderByNameAsc(parkOptional.get(), pageable);
-			// Replace 'SomeField' with the field you want to sort by in ascending order
 		} else {
 			throw new ParkNotFoundException("Park not found with ID: " + parkId);
 		}
@@ -154,12 +181,11 @@ public class IActivityService implements ActivityService {
 	 *                                     retrieving activities.
 	 */
 	@Override
-	public Page<Activity> getActivitiesByParkSortedDesc(Integer parkId, Pageable pageable)
+	public Page<Activity> getActivitiesByParkSortedDesc(Long parkId, Pageable pageable)
 			throws ParkNotFoundException, SomethingWentWrongException {
 		Optional<Park> parkOptional = parkRepository.findById(parkId);
 		if (parkOptional.isPresent() && !parkOptional.get().isDeleted()) {
 			return activityRepository.findByParkOrderByNameDesc(parkOptional.get(), pageable);
-			// Replace 'SomeField' with the field you want to sort by in descending order
 		} else {
 			throw new ParkNotFoundException("Park not found with ID: " + parkId);
 		}
@@ -174,13 +200,104 @@ public class IActivityService implements ActivityService {
 	 *                                     activity addition.
 	 */
 	@Override
-	public List<Activity> addActivitiesInBulk(Integer parkId, Set<Activity> activities)
+	public List<Activity> addActivitiesInBulk(Long parkId, Set<Activity> activities)
 			throws SomethingWentWrongException {
 		Park park = parkRepository.findById(parkId)
 				.orElseThrow(() -> new SomethingWentWrongException("Park not found!!"));
 		for (Activity activity : activities) {
 			activity.setPark(park);
 		}
-		return activityRepository.saveAll(activities);
+		List<Activity> saved = activityRepository.saveAll(activities);
+		parkCache.evictPark(parkId);
+		searchIndex.reindexPark(parkId);
+		return saved;
+	}
+
+	/**
+	 * Lists a park's activities one keyset page at a time. Each page seeks past
+	 * the last row of the previous one on the park's name or price index, so deep
+	 * pages cost the same as the first.
+	 *
+	 * @param parkId     ID of the park whose activities are listed.
+	 * @param minPrice   Lowest price, or {@code null} for no lower bound.
+	 * @param maxPrice   Highest price, or {@code null} for no upper bound.
+	 * @param namePrefix Only activities whose name starts with this, may be
+	 *                   blank.
+	 * @param deleted    Whether to list deleted activities instead of live ones.
+	 * @param sort       {@code name} or {@code price}; ignored when a page token
+	 *                   is given.
+	 * @param descending Whether to sort in descending order; ignored when a page
+	 *                   token is given.
+	 * @param pageToken  Token from the previous page, or {@code null} for the
+	 *                   first page.
+	 * @param size       Maximum number of activities on the page.
+	 * @return The page and the token for the next one.
+	 * @throws ParkNotFoundException       If the specified park is not found.
+	 * @throws SomethingWentWrongException If the sort or price range is invalid.
+	 * @throws InvalidPageTokenException   If the page token is malformed.
+	 */
+	@Override
+	public ActivityPage findActivities(Long parkId, Double minPrice, Double maxPrice, String namePrefix,
+			boolean deleted, String sort, boolean descending, String pageToken, int size)
+			throws ParkNotFoundException, SomethingWentWrongException, InvalidPageTokenException {
+		parkRepository.findById(parkId).filter(park -> !park.isDeleted())
+				.orElseThrow(() -> new ParkNotFoundException("Park not found with ID: " + parkId));
+		double min = minPrice != null ? minPrice : 0;
+		double max = maxPrice != null ? maxPrice : Double.MAX_VALUE;
+		if (min > max) {
+			throw new SomethingWentWrongException("Minimum price must not exceed maximum price.");
+		}
+		String prefix = namePrefix == null ? "%" : namePrefix.trim().replaceAll("([!%_])", "!$1") + "%";
+
+		int pageSize = Math.max(1, Math.min(size, 100));
+		// Fetch one extra row to know whether another page follows
+		Pageable limit = PageRequest.of(0, pageSize + 1);
+		List<Activity> activities;
+		boolean byName;
+		if (pageToken == null || pageToken.isBlank()) {
+			String order = sort == null ? "name" : sort.toLowerCase(Locale.ROOT);
+			if (!order.equals("name") && !order.equals("price")) {
+				throw new SomethingWentWrongException("Activities can only be sorted by name or price.");
+			}
+			byName = order.equals("name");
+			if (byName) {
+				activities = descending
+						? activityRepository.findFirstByNameDesc(parkId, deleted, min, max, prefix, limit)
+						: activityRepository.findFirstByNameAsc(parkId, deleted, min, max, prefix, limit);
+			} else {
+				activities = descending
+						? activityRepository.findFirstByPriceDesc(parkId, deleted, min, max, prefix, limit)
+						: activityRepository.findFirstByPriceAsc(parkId, deleted, min, max, prefix, limit);
+			}
+		} else {
+			// The token fixes sort and direction; filters have to be sent again
+			PageToken after = PageToken.decode(pageToken);
+			descending = after.descending();
+			byName = after.textKey() != null;
+			if (byName) {
+				activities = descending
+						? activityRepository.findBeforeByName(parkId, deleted, min, max, prefix, after.textKey(),
+								after.id(), limit)
+						: activityRepository.findAfterByName(parkId, deleted, min, max, prefix, after.textKey(),
+								after.id(), limit);
+			} else {
+				double price = Double.longBitsToDouble(after.sortKey());
+				activities = descending
+						? activityRepository.findBeforeByPrice(parkId, deleted, min, max, prefix, price, after.id(),
+								limit)
+						: activityRepository.findAfterByPrice(parkId, deleted, min, max, prefix, price, after.id(),
+								limit);
+			}
+		}
+
+		String nextPageToken = null;
+		if (activities.size() > pageSize) {
+			activities = activities.subList(0, pageSize);
+			Activity last = activities.get(pageSize - 1);
+			nextPageToken = byName
+					? new PageToken(0, last.getId(), descending, last.getName() != null ? last.getName() : "").encode()
+					: new PageToken(Double.doubleToLongBits(last.getPrice()), last.getId(), descending).encode();
+		}
+		return new ActivityPage(activities, nextPageToken);
 	}
 }
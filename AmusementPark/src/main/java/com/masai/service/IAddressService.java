@@ -25,7 +25,7 @@ public class IAddressService implements AddressService {
     private UserRepository userRepository;
 
     @Override
-    public Address createAddress(Integer userId, Address address) {
+    public Address createAddress(Long userId, Address address) {
         Optional<User> userOptional = userRepository.findById(userId);
         if (userOptional.isPresent()) {
             User user = userOptional.get();
@@ -37,7 +37,7 @@ public class IAddressService implements AddressService {
     }
 
     @Override
-    public Set<Address> getAddressesByUser(Integer userId) {
+    public Set<Address> getAddressesByUser(Long userId) {
         Optional<User> userOptional = userRepository.findById(userId);
         if (userOptional.isPresent()) {
             User user = userOptional.get();
@@ -48,7 +48,7 @@ public class IAddressService implements AddressService {
     }
 
     @Override
-    public String updateAddressesByUser(Integer userId, Set<Address> addresses) {
+    public String updateAddressesByUser(Long userId, Set<Address> addresses) {
         Optional<User> userOptional = userRepository.findById(userId);
         if (userOptional.isPresent()) {
             User user = userOptional.get();
@@ -64,7 +64,7 @@ public class IAddressService implements AddressService {
     }
 
     @Override
-    public String deleteAddressesByUser(Integer userId, Integer addressId) {
+    public String deleteAddressesByUser(Long userId, Long addressId) {
         Optional<User> userOptional = userRepository.findById(userId);
         if (userOptional.isPresent()) {
             User user = userOptional.get();
@@ -89,7 +89,7 @@ public class IAddressService implements AddressService {
      * @throws SomethingWentWrongException If an unexpected issue occurs while retrieving addresses.
      */
     @Override
-    public Page<Address> getAddressesByUser(Integer userId, Pageable pageable) throws UserNotFoundException, SomethingWentWrongException {
+    public Page<Address> getAddressesByUser(Long userId, Pageable pageable) throws UserNotFoundException, SomethingWentWrongException {
         Optional<User> userOptional = userRepository.findById(userId);
         if (userOptional.isPresent()) {
             User user = userOptional.get();
@@ -109,7 +109,7 @@ public class IAddressService implements AddressService {
      * @throws SomethingWentWrongException If an unexpected issue occurs while retrieving addresses.
      */
     @Override
-    public Page<Address> getAddressesByUserSortedAsc(Integer userId, Pageable pageable) throws UserNotFoundException, SomethingWentWrongException {
+    public Page<Address> getAddressesByUserSortedAsc(Long userId, Pageable pageable) throws UserNotFoundException, SomethingWentWrongException {
         Optional<User> userOptional = userRepository.findById(userId);
         if (userOptional.isPresent()) {
             User user = userOptional.get();
@@ -129,7 +129,7 @@ public class IAddressService implements AddressService {
      * @throws SomethingWentWrongException If an unexpected issue occurs while retrieving addresses.
      */
     @Override
-    public Page<Address> getAddressesByUserSortedDesc(Integer userId, Pageable pageable) throws UserNotFoundException, SomethingWentWrongException {
+    public Page<Address> getAddressesByUserSortedDesc(Long userId, Pageable pageable) throws UserNotFoundException, SomethingWentWrongException {
         Optional<User> userOptional = userRepository.findById(userId);
         if (userOptional.isPresent()) {
             User user = userOptional.get();
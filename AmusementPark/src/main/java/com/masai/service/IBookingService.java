@@ -0,0 +1,269 @@
+package com.masai.service;
+
+import com.masai.exception.ActivityNotFoundException;
+import com.masai.exception.InsufficientBalanceException;
+import com.masai.exception.SoldOutException;
+import com.masai.exception.SomethingWentWrongException;
+import com.masai.exception.TicketNotFoundException;
+import com.masai.model.Activity;
+import com.masai.model.ActivityBooking;
+import com.masai.model.ActivitySession;
+import com.masai.model.AddOn;
+import com.masai.model.SessionAvailability;
+import com.masai.model.Ticket;
+import com.masai.repository.ActivityBookingRepository;
+import com.masai.repository.ActivityRepository;
+import com.masai.repository.ActivitySessionRepository;
+import com.masai.repository.TicketRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class IBookingService implements BookingService {
+
+    @Autowired
+    private ActivitySessionRepository sessionRepository;
+
+    @Autowired
+    private ActivityBookingRepository bookingRepository;
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private SessionInventory sessionInventory;
+
+    @Autowired
+    private WalletService walletService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${bookings.max-seats:10}")
+    private int maxSeats;
+
+    @Override
+    public ActivitySession createSession(Long activityId, ActivitySession session)
+            throws ActivityNotFoundException, SomethingWentWrongException {
+        Activity activity = activityRepository.findById(activityId)
+                .filter(found -> !found.isDeleted() && found.getPark() != null)
+                .orElseThrow(() -> new ActivityNotFoundException("Activity not found with ID: " + activityId));
+        if (session.getStartTime() == null || session.getCapacity() == null || session.getCapacity() < 1) {
+            throw new SomethingWentWrongException("A session needs a start time and a capacity of at least 1.");
+        }
+        ActivitySession created = new ActivitySession(null, activityId, activity.getPark().getParkId(),
+                session.getStartTime(), session.getCapacity(), false);
+        ActivitySession saved = sessionRepository.save(created);
+        sessionInventory.register(saved);
+        return saved;
+    }
+
+    @Override
+    public List<SessionAvailability> getSessions(Long activityId, LocalDate date) {
+        List<ActivitySession> sessions = sessionRepository.findOpenSessions(activityId, date.atStartOfDay(),
+                date.plusDays(1).atStartOfDay());
+        return sessionInventory.availability(sessions);
+    }
+
+    @Override
+    public String cancelSession(Long sessionId) throws ActivityNotFoundException {
+        ActivitySession session = sessionRepository.findById(sessionId)
+                .orElseThrow(() -> new ActivityNotFoundException("Activity session not found with ID: " + sessionId));
+        if (session.isCancelled()) {
+            return "Session already cancelled.";
+        }
+        // Stop selling first so no booking slips in while the others are refunded
+        sessionInventory.cancel(sessionId);
+        transactionTemplate.executeWithoutResult(status -> {
+            sessionRepository.markCancelled(sessionId);
+            for (ActivityBooking booking : bookingRepository.findActiveBySession(sessionId)) {
+                cancelAndRefund(booking);
+            }
+        });
+        // A booking may have reloaded the session before the cancellation committed
+        sessionInventory.cancel(sessionId);
+        return "Session cancelled successfully.";
+    }
+
+    @Override
+    public ActivityBooking bookSession(Long userId, Long ticketId, AddOn addOn) throws TicketNotFoundException,
+            ActivityNotFoundException, SoldOutException, InsufficientBalanceException, SomethingWentWrongException {
+        Ticket ticket = ownedTicket(userId, ticketId);
+        if (ticket.isCancelled()) {
+            throw new TicketNotFoundException("Cancelled Ticket with ID " + ticketId + " cannot be booked on.");
+        }
+        List<SessionInventory.Reservation> holds = holdAddOns(ticket.getPark().getParkId(), ticket.getPurchaseDate(),
+                List.of(addOn));
+        try {
+            List<ActivityBooking> stored = transactionTemplate.execute(status -> {
+                // The check above ran outside the transaction; a cancellation may have committed since
+                if (ticketRepository.lockActive(ticketId).isEmpty()) {
+                    throw new TicketNotFoundException("Cancelled Ticket with ID " + ticketId + " cannot be booked on.");
+                }
+                return storeBookings(ticket, holds);
+            });
+            holds.forEach(SessionInventory.Reservation::commit);
+            return stored.get(0);
+        } catch (RuntimeException e) {
+            holds.forEach(SessionInventory.Reservation::rollback);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<ActivityBooking> getBookings(Long userId, Long ticketId) throws TicketNotFoundException {
+        ownedTicket(userId, ticketId);
+        return bookingRepository.findByTicketIdOrderByIdAsc(ticketId);
+    }
+
+    @Override
+    public String cancelBooking(Long userId, Long ticketId, Long bookingId) throws TicketNotFoundException {
+        ownedTicket(userId, ticketId);
+        ActivityBooking booking = bookingRepository.findById(bookingId)
+                .filter(found -> found.getTicketId().equals(ticketId))
+                .orElseThrow(() -> new TicketNotFoundException(
+                        "Booking with ID " + bookingId + " not found on Ticket with ID " + ticketId));
+        Boolean cancelled = transactionTemplate.execute(status -> cancelAndRefund(booking));
+        if (!Boolean.TRUE.equals(cancelled)) {
+            return "Booking already cancelled.";
+        }
+        sessionInventory.release(booking.getSessionId(), booking.getSeats());
+        return "Booking cancelled successfully.";
+    }
+
+    @Override
+    public void cancelTicketBookings(Long ticketId) {
+        List<ActivityBooking> cancelled = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (ActivityBooking booking : bookingRepository.findActiveByTicket(ticketId)) {
+                if (cancelAndRefund(booking)) {
+                    cancelled.add(booking);
+                }
+            }
+        });
+        cancelled.forEach(booking -> sessionInventory.release(booking.getSessionId(), booking.getSeats()));
+    }
+
+    @Override
+    public List<SessionInventory.Reservation> holdAddOns(Long parkId, Date visitDate, List<AddOn> addOns)
+            throws ActivityNotFoundException, SoldOutException, SomethingWentWrongException {
+        if (addOns == null || addOns.isEmpty()) {
+            return List.of();
+        }
+        LocalDate visitDay = (visitDate != null ? visitDate : new Date()).toInstant().atZone(ZoneId.systemDefault())
+                .toLocalDate();
+        LocalDateTime now = LocalDateTime.now();
+        List<SessionInventory.Reservation> holds = new ArrayList<>(addOns.size());
+        try {
+            for (AddOn addOn : addOns) {
+                int seats = addOn.getSeats() != null ? addOn.getSeats() : 1;
+                if (addOn.getSessionId() == null || seats < 1 || seats > maxSeats) {
+                    throw new SomethingWentWrongException(
+                            "Every add-on needs a session ID and between 1 and " + maxSeats + " seats.");
+                }
+                // Checked against the session kept in memory, before any seat is taken
+                ActivitySession session = sessionInventory.session(addOn.getSessionId());
+                if (!session.getParkId().equals(parkId)) {
+                    throw new SomethingWentWrongException(
+                            "Activity session " + session.getId() + " is not in park " + parkId);
+                }
+                if (!session.getStartTime().toLocalDate().equals(visitDay)) {
+                    throw new SomethingWentWrongException(
+                            "Activity session " + session.getId() + " is not on the visit day " + visitDay);
+                }
+                if (!session.getStartTime().isAfter(now)) {
+                    throw new SomethingWentWrongException("Activity session " + session.getId() + " has already started");
+                }
+                holds.add(sessionInventory.reserve(session.getId(), seats));
+            }
+        } catch (RuntimeException e) {
+            holds.forEach(SessionInventory.Reservation::rollback);
+            throw e;
+        }
+        return holds;
+    }
+
+    @Override
+    public double priceOf(List<SessionInventory.Reservation> holds) {
+        if (holds == null || holds.isEmpty()) {
+            return 0;
+        }
+        Set<Long> activityIds = new HashSet<>();
+        holds.forEach(hold -> activityIds.add(hold.session().getActivityId()));
+        Map<Long, Double> prices = activityRepository.findAllById(activityIds).stream()
+                .collect(Collectors.toMap(Activity::getId, Activity::getPrice));
+        double total = 0;
+        for (SessionInventory.Reservation hold : holds) {
+            total += prices.getOrDefault(hold.session().getActivityId(), 0.0) * hold.seats();
+        }
+        return total;
+    }
+
+    @Override
+    public List<ActivityBooking> storeBookings(Ticket ticket, List<SessionInventory.Reservation> holds)
+            throws InsufficientBalanceException {
+        if (holds == null || holds.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> activityIds = new HashSet<>();
+        holds.forEach(hold -> activityIds.add(hold.session().getActivityId()));
+        Map<Long, Activity> activities = activityRepository.findAllById(activityIds).stream()
+                .collect(Collectors.toMap(Activity::getId, Function.identity()));
+
+        Long userId = ticket.getUser().getUserId();
+        List<ActivityBooking> bookings = new ArrayList<>(holds.size());
+        for (SessionInventory.Reservation hold : holds) {
+            Activity activity = activities.get(hold.session().getActivityId());
+            if (activity == null || activity.isDeleted()) {
+                throw new ActivityNotFoundException("Activity not found with ID: " + hold.session().getActivityId());
+            }
+            bookings.add(new ActivityBooking(null, hold.session().getId(), ticket.getId(), userId, activity.getId(),
+                    hold.seats(), activity.getPrice() * hold.seats(), false, new Date()));
+        }
+        List<ActivityBooking> saved = bookingRepository.saveAll(bookings);
+        for (ActivityBooking booking : saved) {
+            walletService.debitForBooking(userId, booking.getPrice(), ticket.getId(), booking.getId());
+        }
+        return saved;
+    }
+
+    private Ticket ownedTicket(Long userId, Long ticketId) throws TicketNotFoundException {
+        Ticket ticket = ticketRepository.findById(ticketId)
+                .orElseThrow(() -> new TicketNotFoundException("Ticket with ID " + ticketId + " not found"));
+        if (ticket.getUser() == null || !ticket.getUser().getUserId().equals(userId)) {
+            throw new TicketNotFoundException(
+                    "Ticket with ID " + ticketId + " does not belong to User with ID " + userId);
+        }
+        return ticket;
+    }
+
+    /**
+     * @return whether this call cancelled the booking; must run in a
+     *         transaction
+     */
+    private boolean cancelAndRefund(ActivityBooking booking) {
+        if (bookingRepository.markCancelled(booking.getId()) == 0) {
+            return false;
+        }
+        booking.setCancelled(true);
+        walletService.refundBooking(booking.getUserId(), booking.getPrice(), booking.getTicketId(), booking.getId());
+        return true;
+    }
+}
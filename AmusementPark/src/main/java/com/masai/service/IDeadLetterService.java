@@ -0,0 +1,45 @@
+package com.masai.service;
+
+import com.masai.exception.SomethingWentWrongException;
+import com.masai.model.DeadLetterEvent;
+import com.masai.model.OutboxEvent;
+import com.masai.repository.DeadLetterEventRepository;
+import com.masai.repository.OutboxEventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+
+@Service
+public class IDeadLetterService implements DeadLetterService {
+
+    @Autowired
+    private DeadLetterEventRepository deadLetterEventRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+
+    @Override
+    public Page<DeadLetterEvent> getDeadLetters(Pageable pageable) {
+        return deadLetterEventRepository.findAll(pageable);
+    }
+
+    @Override
+    @Transactional
+    public String retryDeadLetter(Long id) throws SomethingWentWrongException {
+        DeadLetterEvent deadLetter = deadLetterEventRepository.findById(id)
+                .orElseThrow(() -> new SomethingWentWrongException("No dead-lettered event with ID " + id));
+        Date now = new Date();
+        outboxEventRepository.save(new OutboxEvent(null, deadLetter.getType(), deadLetter.getHandler(),
+                deadLetter.getAggregateId(), deadLetter.getPayload(), deadLetter.getCreatedAt(), 0, now, null));
+        deadLetterEventRepository.delete(deadLetter);
+        outboxDispatcher.wakeUp();
+        return "Event " + id + " queued for redelivery.";
+    }
+}
@@ -0,0 +1,104 @@
+package com.masai.service;
+
+import com.masai.config.TicketCodeSigner;
+import com.masai.config.TicketCodeSigner.TicketCode;
+import com.masai.model.TicketValidation;
+import com.masai.repository.TicketRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+public class IGateService implements GateService {
+
+    @Autowired
+    private TicketCodeSigner ticketCodeSigner;
+
+    @Autowired
+    private TicketRevocationFilter revocationFilter;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Override
+    public TicketValidation validate(String code, Long parkId) {
+        Optional<TicketCode> verified = ticketCodeSigner.verify(code);
+        if (verified.isEmpty()) {
+            return new TicketValidation(false, "Invalid ticket code.", null, null, null);
+        }
+        TicketCode ticket = verified.get();
+        TicketValidation offline = checkOffline(ticket, parkId);
+        if (offline != null) {
+            return offline;
+        }
+        List<Object[]> state = ticketRepository.findGateState(ticket.ticketId());
+        if (state.isEmpty()) {
+            return rejected(ticket, "Ticket not found.");
+        }
+        if ((Boolean) state.get(0)[0]) {
+            return cancelled(ticket);
+        }
+        if (state.get(0)[1] != null) {
+            return rejected(ticket, "Ticket has already been used.");
+        }
+        return accepted(ticket);
+    }
+
+    @Override
+    @Transactional
+    public TicketValidation admit(String code, Long parkId) {
+        Optional<TicketCode> verified = ticketCodeSigner.verify(code);
+        if (verified.isEmpty()) {
+            return new TicketValidation(false, "Invalid ticket code.", null, null, null);
+        }
+        TicketCode ticket = verified.get();
+        TicketValidation offline = checkOffline(ticket, parkId);
+        if (offline != null) {
+            return offline;
+        }
+        if (ticketRepository.markAdmitted(ticket.ticketId(), new Date()) == 1) {
+            return accepted(ticket);
+        }
+        // Nothing was updated: find out why for the gate's display
+        TicketValidation rejection = validate(code, parkId);
+        return rejection.isValid() ? rejected(ticket, "Ticket has already been used.") : rejection;
+    }
+
+    /**
+     * Checks that need no database read. The revocation filter only answers
+     * for cancellations this node has seen, so passing it is not enough.
+     */
+    private TicketValidation checkOffline(TicketCode ticket, Long parkId) {
+        if (parkId != null && ticket.parkId() != parkId) {
+            return rejected(ticket, "Ticket is for another park.");
+        }
+        if (!ticket.day().equals(LocalDate.now())) {
+            return rejected(ticket, "Ticket is not valid today.");
+        }
+        if (revocationFilter.isRevoked(ticket.ticketId())) {
+            return rejected(ticket, "Ticket has been cancelled.");
+        }
+        return null;
+    }
+
+    private TicketValidation cancelled(TicketCode ticket) {
+        // Cancelled on another node or before a restart: remember it here too
+        revocationFilter.revoke(ticket.ticketId(),
+                Date.from(ticket.day().atStartOfDay(ZoneId.systemDefault()).toInstant()));
+        return rejected(ticket, "Ticket has been cancelled.");
+    }
+
+    private static TicketValidation accepted(TicketCode ticket) {
+        return new TicketValidation(true, null, ticket.ticketId(), ticket.parkId(), ticket.day());
+    }
+
+    private static TicketValidation rejected(TicketCode ticket, String reason) {
+        return new TicketValidation(false, reason, ticket.ticketId(), ticket.parkId(), ticket.day());
+    }
+}
@@ -0,0 +1,154 @@
+package com.masai.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.masai.exception.ParkNotFoundException;
+import com.masai.exception.SomethingWentWrongException;
+import com.masai.model.Activity;
+import com.masai.model.ActivitySummary;
+import com.masai.model.CalendarDay;
+import com.masai.model.Park;
+import com.masai.model.ParkDetail;
+import com.masai.model.RatingSummary;
+import com.masai.model.Review;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+@Service
+public class IParkDetailService implements ParkDetailService {
+
+    private Logger logger = LoggerFactory.getLogger(IParkDetailService.class);
+
+    @Autowired
+    private ParkService parkService;
+
+    @Autowired
+    private ActivityService activityService;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private AvailabilityCalendar availabilityCalendar;
+
+    @Value("${park-detail.threads:16}")
+    private int threads;
+
+    @Value("${park-detail.queue-capacity:256}")
+    private int queueCapacity;
+
+    @Value("${park-detail.park-timeout-ms:1000}")
+    private long parkTimeoutMs;
+
+    @Value("${park-detail.part-timeout-ms:500}")
+    private long partTimeoutMs;
+
+    @Value("${park-detail.latest-reviews:5}")
+    private int latestReviews;
+
+    @Value("${park-detail.availability-days:14}")
+    private int availabilityDays;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void start() {
+        // Platform threads: virtual threads are still a preview feature on the Java release we build for.
+        // When the pool is saturated the request thread runs the part itself instead of failing it.
+        AtomicInteger count = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), task -> {
+                    Thread thread = new Thread(task, "park-detail-" + count.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public ParkDetail getParkDetail(Long parkId) throws ParkNotFoundException, SomethingWentWrongException {
+        List<String> unavailable = Collections.synchronizedList(new ArrayList<>());
+
+        CompletableFuture<Park> park = CompletableFuture.supplyAsync(() -> parkService.getPark(parkId), executor)
+                .orTimeout(parkTimeoutMs, TimeUnit.MILLISECONDS);
+        CompletableFuture<List<ActivitySummary>> activities = part("activities", unavailable, List.of(),
+                () -> liveActivities(parkId));
+        CompletableFuture<RatingSummary> rating = part("rating", unavailable, null,
+                () -> reviewService.getRatingSummary(parkId));
+        CompletableFuture<List<Review>> reviews = part("latestReviews", unavailable, List.of(),
+                () -> reviewService.getLatestReviews(parkId, latestReviews));
+        CompletableFuture<List<CalendarDay>> availability = part("availability", unavailable, List.of(),
+                () -> upcomingDays(parkId));
+
+        Park found;
+        try {
+            found = park.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof ParkNotFoundException notFound) {
+                throw notFound;
+            }
+            if (e.getCause() instanceof TimeoutException) {
+                throw new SomethingWentWrongException("Park " + parkId + " could not be loaded in time.");
+            }
+            throw e.getCause() instanceof RuntimeException cause ? cause : new SomethingWentWrongException(e.getCause());
+        }
+        // Every part completes by its own timeout, so this waits for the slowest part at most
+        CompletableFuture.allOf(activities, rating, reviews, availability).join();
+
+        List<String> missing = new ArrayList<>(unavailable);
+        Collections.sort(missing);
+        return new ParkDetail(found, activities.join(), rating.join(), reviews.join(), availability.join(), missing);
+    }
+
+    private <T> CompletableFuture<T> part(String name, List<String> unavailable, T fallback, Supplier<T> query) {
+        return CompletableFuture.supplyAsync(query, executor)
+                .orTimeout(partTimeoutMs, TimeUnit.MILLISECONDS)
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    logger.warn("Park page part {} unavailable: {}", name, cause.toString());
+                    unavailable.add(name);
+                    return fallback;
+                });
+    }
+
+    private List<ActivitySummary> liveActivities(Long parkId) {
+        List<ActivitySummary> live = new ArrayList<>();
+        for (Activity activity : activityService.getActivity(parkId)) {
+            if (!activity.isDeleted()) {
+                live.add(new ActivitySummary(activity.getId(), activity.getName(), activity.getDescription(),
+                        activity.getPrice()));
+            }
+        }
+        live.sort(Comparator.comparing(ActivitySummary::getName, Comparator.nullsLast(Comparator.naturalOrder())));
+        return live;
+    }
+
+    private List<CalendarDay> upcomingDays(Long parkId) {
+        List<CalendarDay> calendar = availabilityCalendar.getCalendar(parkId);
+        return calendar.size() > availabilityDays ? List.copyOf(calendar.subList(0, availabilityDays)) : calendar;
+    }
+}
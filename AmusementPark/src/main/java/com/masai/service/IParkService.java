@@ -1,17 +1,27 @@
 package com.masai.service;
 
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.masai.exception.ParkNotFoundException;
 import com.masai.exception.SomethingWentWrongException;
+import com.masai.model.ActivitySummary;
 import com.masai.model.Park;
+import com.masai.model.ParkSummary;
 import com.masai.repository.ActivityRepository;
 import com.masai.repository.ParkRepository;
+import com.masai.repository.ReviewRepository;
 
 @Service
 public class IParkService implements ParkService {
@@ -22,23 +32,80 @@ public class IParkService implements ParkService {
     @Autowired
     private ActivityRepository activityRepository;
 
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private SlotInventory slotInventory;
+
+    @Autowired
+    private AvailabilityCalendar availabilityCalendar;
+
+    @Autowired
+    private ParkCache parkCache;
+
+    @Autowired
+    private ParkSearchIndex searchIndex;
+
+    @Autowired
+    private ParkLocator parkLocator;
+
+    @Autowired
+    private OpenHoursIndex openHoursIndex;
+
     @Override
-    public Park getPark(Integer parkId) throws ParkNotFoundException, SomethingWentWrongException {
-        return repo.findById(parkId)
+    @Cacheable(cacheNames = ParkCache.PARKS, key = "#parkId")
+    @Transactional(readOnly = true)
+    public Park getPark(Long parkId) throws ParkNotFoundException, SomethingWentWrongException {
+        Park park = repo.findById(parkId)
                 .orElseThrow(() -> new ParkNotFoundException("Couldn't find park with id: " + parkId));
+        // Cached parks outlive the session, so copy them out while it is open
+        return copyOf(park);
     }
 
     @Override
     public List<Park> getAllParks() throws SomethingWentWrongException {
         try {
-            return repo.findAll();
+            return repo.findAllWithActivitiesAndReviews();
         } catch (Exception e) {
             throw new SomethingWentWrongException();
         }
     }
 
+    @Override
+    @Cacheable(cacheNames = ParkCache.PARK_LIST, key = "'all'")
+    @Transactional(readOnly = true)
+    public List<ParkSummary> getParkSummaries() throws SomethingWentWrongException {
+        try {
+            // One query each for parks, activities and review stats, however many parks there are
+            Map<Long, ParkSummary> summaries = new LinkedHashMap<>();
+            for (Park park : repo.findListedParks()) {
+                summaries.put(park.getParkId(), summarize(park));
+            }
+            for (Object[] row : activityRepository.findListedActivities()) {
+                ParkSummary summary = summaries.get((Long) row[0]);
+                if (summary != null) {
+                    summary.getActivities().add(new ActivitySummary((Long) row[1], (String) row[2],
+                            (String) row[3], (Double) row[4]));
+                }
+            }
+            for (Object[] row : reviewRepository.summarizeByPark()) {
+                ParkSummary summary = summaries.get((Long) row[0]);
+                if (summary != null) {
+                    summary.setReviewCount((Long) row[1]);
+                    summary.setAverageRating((Double) row[2]);
+                }
+            }
+            return List.copyOf(summaries.values());
+        } catch (Exception e) {
+            e.printStackTrace();
+            throw new SomethingWentWrongException();
+        }
+    }
+
     @Override
     public Park createPark(Park park) throws SomethingWentWrongException {
+        OpeningHours.Schedule schedule = parseSchedule(park);
         try {
             // Set the park reference for each activity
             if (park.getActivities() != null) {
@@ -53,6 +120,10 @@ public class IParkService implements ParkService {
                 park.getActivities().forEach(activityRepository::save);
             }
 
+            parkCache.evictParkList();
+            searchIndex.reindexPark(savedPark.getParkId());
+            parkLocator.update(savedPark);
+            openHoursIndex.update(savedPark, schedule);
             return savedPark;
         } catch (Exception e) {
             e.printStackTrace();
@@ -64,6 +135,7 @@ public class IParkService implements ParkService {
     public String updatePark(Park park) throws ParkNotFoundException, SomethingWentWrongException {
         Park existingPark = repo.findById(park.getParkId())
                 .orElseThrow(() -> new ParkNotFoundException("Couldn't find park with id: " + park.getParkId()));
+        OpeningHours.Schedule schedule = parseSchedule(park);
         try {
             // Update park properties here
             existingPark.setName(park.getName());
@@ -71,6 +143,14 @@ public class IParkService implements ParkService {
             existingPark.setDescription(park.getDescription());
             existingPark.setOpeningHours(park.getOpeningHours());
             existingPark.setClosingHours(park.getClosingHours());
+            existingPark.setWeeklyHours(park.getWeeklyHours());
+            existingPark.setHolidayHours(park.getHolidayHours());
+            existingPark.setDailyCapacity(park.getDailyCapacity());
+            existingPark.setBaseFee(park.getBaseFee());
+            existingPark.setSlotMinutes(park.getSlotMinutes());
+            existingPark.setSlotCapacity(park.getSlotCapacity());
+            existingPark.setLatitude(park.getLatitude());
+            existingPark.setLongitude(park.getLongitude());
 
             // Set the park reference for each activity
             if (park.getActivities() != null) {
@@ -79,12 +159,19 @@ public class IParkService implements ParkService {
 
             // Save the updated park
             repo.save(existingPark);
+            // Slots follow the park's hours, rebuild them
+            slotInventory.invalidate(existingPark);
+            availabilityCalendar.invalidate(List.of(existingPark.getParkId()));
 
             // Save the updated activity entities
             if (park.getActivities() != null) {
                 park.getActivities().forEach(activityRepository::save);
             }
 
+            parkCache.evictPark(existingPark.getParkId());
+            searchIndex.reindexPark(existingPark.getParkId());
+            parkLocator.update(existingPark);
+            openHoursIndex.update(existingPark, schedule);
             return "Park updated successfully.";
         } catch (Exception e) {
             e.printStackTrace();
@@ -93,13 +180,17 @@ public class IParkService implements ParkService {
     }
 
     @Override
-    public String deletePark(Integer parkId) throws ParkNotFoundException {
+    public String deletePark(Long parkId) throws ParkNotFoundException {
         Park park = repo.findById(parkId)
                 .orElseThrow(() -> new ParkNotFoundException("Couldn't find park with id: " + parkId));
 
         // Instead of deleting the park, mark it as deleted
         park.setDeleted(true);
         repo.save(park);
+        parkCache.evictPark(parkId);
+        searchIndex.reindexPark(parkId);
+        parkLocator.update(park);
+        openHoursIndex.update(park, null);
         return "Park deleted successfully.";
     }
 
@@ -148,6 +239,73 @@ public class IParkService implements ParkService {
      */
     @Override
     public List<Park> addParksInBulk(List<Park> parks) throws SomethingWentWrongException {
-        return repo.saveAll(parks);
+        Map<Park, OpeningHours.Schedule> schedules = new HashMap<>();
+        for (Park park : parks) {
+            schedules.put(park, parseSchedule(park));
+        }
+        List<Park> saved = repo.saveAll(parks);
+        // Parks sent with an ID replace the stored ones
+        saved.forEach(park -> {
+            parkCache.evictPark(park.getParkId());
+            searchIndex.reindexPark(park.getParkId());
+            parkLocator.update(park);
+            openHoursIndex.update(park, schedules.getOrDefault(park, OpeningHours.storedSchedule(park)));
+        });
+        return saved;
+    }
+
+    /**
+     * Parses a park's hours when it is written, so malformed schedules are
+     * rejected up front and readers never parse them again.
+     */
+    private static OpeningHours.Schedule parseSchedule(Park park) throws SomethingWentWrongException {
+        try {
+            return OpeningHours.schedule(park);
+        } catch (IllegalArgumentException e) {
+            throw new SomethingWentWrongException(e.getMessage());
+        }
+    }
+
+    private static ParkSummary summarize(Park park) {
+        ParkSummary summary = new ParkSummary();
+        summary.setParkId(park.getParkId());
+        summary.setName(park.getName());
+        summary.setImg(park.getImg());
+        summary.setLocation(park.getLocation());
+        summary.setDescription(park.getDescription());
+        summary.setOpeningHours(park.getOpeningHours());
+        summary.setClosingHours(park.getClosingHours());
+        summary.setDailyCapacity(park.getDailyCapacity());
+        summary.setBaseFee(park.getBaseFee());
+        summary.setSlotMinutes(park.getSlotMinutes());
+        summary.setSlotCapacity(park.getSlotCapacity());
+        summary.setLatitude(park.getLatitude());
+        summary.setLongitude(park.getLongitude());
+        return summary;
+    }
+
+    private static Park copyOf(Park park) {
+        Park copy = new Park();
+        copy.setParkId(park.getParkId());
+        copy.setName(park.getName());
+        copy.setImg(park.getImg());
+        copy.setLocation(park.getLocation());
+        copy.setDescription(park.getDescription());
+        copy.setOpeningHours(park.getOpeningHours());
+        copy.setClosingHours(park.getClosingHours());
+        copy.setWeeklyHours(park.getWeeklyHours());
+        copy.setHolidayHours(park.getHolidayHours());
+        copy.setDailyCapacity(park.getDailyCapacity());
+        copy.setBaseFee(park.getBaseFee());
+        copy.setSlotMinutes(park.getSlotMinutes());
+        copy.setSlotCapacity(park.getSlotCapacity());
+        copy.setLatitude(park.getLatitude());
+        copy.setLongitude(park.getLongitude());
+        copy.setDeleted(park.isDeleted());
+        Hibernate.initialize(park.getActivities());
+        Hibernate.initialize(park.getReviews());
+        copy.setActivities(Set.copyOf(park.getActivities()));
+        copy.setReviews(Set.copyOf(park.getReviews()));
+        return copy;
     }
 }
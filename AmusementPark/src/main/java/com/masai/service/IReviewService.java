@@ -5,6 +5,7 @@ import com.masai.exception.ReviewNotFoundException;
 import com.masai.exception.SomethingWentWrongException;
 import com.masai.exception.UserNotFoundException;
 import com.masai.model.Park;
+import com.masai.model.RatingSummary;
 import com.masai.model.Review;
 import com.masai.model.User;
 import com.masai.repository.ParkRepository;
@@ -12,6 +13,7 @@ import com.masai.repository.ReviewRepository;
 import com.masai.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
@@ -31,8 +33,12 @@ public class IReviewService implements ReviewService {
     @Autowired
     private UserRepository userRepository;
 
+    // Cached parks embed their reviews
+    @Autowired
+    private ParkCache parkCache;
+
     @Override
-    public Set<Review> getReview(Integer parkId) throws ReviewNotFoundException {
+    public Set<Review> getReview(Long parkId) throws ReviewNotFoundException {
         Optional<Park> park = parkRepository.findById(parkId);
         if (!park.isPresent()) {
             throw new ReviewNotFoundException("Park with id " + parkId + " not found.");
@@ -42,42 +48,51 @@ public class IReviewService implements ReviewService {
     }
 
     @Override
-    public Review createReview(Integer parkId, Integer userId, Review review) throws SomethingWentWrongException {
+    public Review createReview(Long parkId, Long userId, Review review) throws SomethingWentWrongException {
         Park park = parkRepository.findById(parkId).orElseThrow(() -> new ParkNotFoundException("Park not found."));
         User user = userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException("User not found."));
 
         review.setPark(park);
         review.setUser(user);
 
-        return reviewRepository.save(review);
+        Review saved = reviewRepository.save(review);
+        parkCache.evictPark(parkId);
+        return saved;
     }
 
     @Override
-    public String updateReview(Integer parkId, Integer userId, Review review)
+    public String updateReview(Long parkId, Long userId, Review review)
             throws ReviewNotFoundException, SomethingWentWrongException {
         Park park = parkRepository.findById(parkId).orElseThrow(() -> new ParkNotFoundException("Park not found."));
         User user = userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException("User not found."));
         Review existingReview = reviewRepository.findById(review.getId())
                 .orElseThrow(() -> new ReviewNotFoundException("Review Not Found"));
 
+        Park previousPark = existingReview.getPark();
+
         existingReview.setPark(park);
         existingReview.setUser(user);
         existingReview.setRating(review.getRating());
         existingReview.setComment(review.getComment());
 
         reviewRepository.save(existingReview);
+        parkCache.evictPark(parkId);
+        if (previousPark != null && !parkId.equals(previousPark.getParkId())) {
+            parkCache.evictPark(previousPark.getParkId());
+        }
 
         return "Review updated successfully.";
     }
 
     @Override
-    public String deleteReview(Integer parkId, Integer userId, Integer reviewId) throws ReviewNotFoundException {
+    public String deleteReview(Long parkId, Long userId, Long reviewId) throws ReviewNotFoundException {
         parkRepository.findById(parkId).orElseThrow(() -> new ParkNotFoundException("Park not found."));
         userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException("User not found."));
         Review review = reviewRepository.findById(reviewId)
                 .orElseThrow(() -> new ReviewNotFoundException("Review with id " + reviewId + " not found."));
         review.setDeleted(true);
         reviewRepository.save(review);
+        parkCache.evictPark(review.getPark() != null ? review.getPark().getParkId() : parkId);
 
         return "Review deleted successfully.";
     }
@@ -94,7 +109,7 @@ public class IReviewService implements ReviewService {
      *                                 park.
      */
     @Override
-    public Page<Review> getReview(Integer parkId, Pageable pageable) throws ReviewNotFoundException {
+    public Page<Review> getReview(Long parkId, Pageable pageable) throws ReviewNotFoundException {
         Optional<Park> park = parkRepository.findById(parkId);
         if (!park.isPresent()) {
             throw new ReviewNotFoundException("Park with id " + parkId + " not found.");
@@ -116,7 +131,7 @@ public class IReviewService implements ReviewService {
      *                                 park.
      */
     @Override
-    public Page<Review> getReviewSortedAsc(Integer parkId, Pageable pageable) throws ReviewNotFoundException {
+    public Page<Review> getReviewSortedAsc(Long parkId, Pageable pageable) throws ReviewNotFoundException {
         Optional<Park> park = parkRepository.findById(parkId);
         if (!park.isPresent()) {
             throw new ReviewNotFoundException("Park with id " + parkId + " not found.");
@@ -138,7 +153,7 @@ public class IReviewService implements ReviewService {
      *                                 park.
      */
     @Override
-    public Page<Review> getReviewSortedDesc(Integer parkId, Pageable pageable) throws ReviewNotFoundException {
+    public Page<Review> getReviewSortedDesc(Long parkId, Pageable pageable) throws ReviewNotFoundException {
         Optional<Park> park = parkRepository.findById(parkId);
         if (!park.isPresent()) {
             throw new ReviewNotFoundException("Park with id " + parkId + " not found.");
@@ -158,10 +173,35 @@ public class IReviewService implements ReviewService {
     @Override
     public List<Review> addReviewsInBulk(List<Review> reviews) throws SomethingWentWrongException {
         try {
-            return reviewRepository.saveAll(reviews);
+            List<Review> saved = reviewRepository.saveAll(reviews);
+            saved.stream().filter(review -> review.getPark() != null)
+                    .forEach(review -> parkCache.evictPark(review.getPark().getParkId()));
+            return saved;
         } catch (Exception e) {
             throw new SomethingWentWrongException("An error occurred while adding reviews in bulk.");
         }
     }
 
+    @Override
+    public RatingSummary getRatingSummary(Long parkId) {
+        long[] counts = new long[5];
+        long total = 0;
+        long stars = 0;
+        for (Object[] row : reviewRepository.countRatingsByPark(parkId)) {
+            int rating = (Integer) row[0];
+            long count = (Long) row[1];
+            if (rating >= 1 && rating <= 5) {
+                counts[rating - 1] = count;
+                total += count;
+                stars += rating * count;
+            }
+        }
+        return new RatingSummary(total, total > 0 ? (double) stars / total : null, counts);
+    }
+
+    @Override
+    public List<Review> getLatestReviews(Long parkId, int limit) {
+        return reviewRepository.findLatestByPark(parkId, PageRequest.of(0, Math.max(1, limit)));
+    }
+
 }
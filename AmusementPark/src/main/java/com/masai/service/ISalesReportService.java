@@ -0,0 +1,109 @@
+package com.masai.service;
+
+import com.masai.exception.ParkNotFoundException;
+import com.masai.model.DailySales;
+import com.masai.model.SalesReport;
+import com.masai.repository.DailySalesRepository;
+import com.masai.repository.ParkRepository;
+import com.masai.repository.TicketRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Sales reports answered from the Daily_Sales rollups, which
+ * {@link SalesAccumulator} keeps up to date as tickets are sold and cancelled.
+ */
+@Service
+public class ISalesReportService implements SalesReportService {
+
+    private Logger logger = LoggerFactory.getLogger(ISalesReportService.class);
+
+    @Autowired
+    private DailySalesRepository dailySalesRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private ParkRepository parkRepository;
+
+    @Autowired
+    private SalesAccumulator salesAccumulator;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${sales.rollup.rebuild-days:7}")
+    private int rebuildDays;
+
+    @Override
+    public SalesReport getSalesReport(Long parkId, LocalDate from, LocalDate to) throws ParkNotFoundException {
+        if (!parkRepository.existsById(parkId)) {
+            throw new ParkNotFoundException("Park with ID " + parkId + " not found");
+        }
+
+        List<DailySales> days = dailySalesRepository.findByParkIdAndSalesDayBetweenOrderBySalesDay(parkId, from, to);
+        SalesReport report = new SalesReport(parkId, from, to, 0, 0, 0, 0, 0, days);
+        for (DailySales day : days) {
+            report.setTicketCount(report.getTicketCount() + day.getTicketCount());
+            report.setGrossRevenue(report.getGrossRevenue() + day.getGrossRevenue());
+            report.setCancellations(report.getCancellations() + day.getCancellations());
+            report.setCancelledRevenue(report.getCancelledRevenue() + day.getCancelledRevenue());
+        }
+        report.setNetRevenue(report.getGrossRevenue() - report.getCancelledRevenue());
+        return report;
+    }
+
+    /**
+     * Recomputes the daily rollups of all parks from the Tickets table.
+     * <p>
+     * Pending deltas are flushed first and the rollups of the range are replaced
+     * in one transaction. Sales recorded while the rebuild runs can still be
+     * counted twice for the current day, so the nightly job only rebuilds days
+     * that are over.
+     *
+     * @param from First day, inclusive.
+     * @param to   Last day, inclusive.
+     * @return Number of rollup rows written.
+     */
+    @Override
+    public int rebuildRollups(LocalDate from, LocalDate to) {
+        salesAccumulator.flush();
+
+        ZoneId zone = ZoneId.systemDefault();
+        Date start = Date.from(from.atStartOfDay(zone).toInstant());
+        Date end = Date.from(to.plusDays(1).atStartOfDay(zone).toInstant());
+
+        Integer written = transactionTemplate.execute(status -> {
+            List<DailySales> rollups = new ArrayList<>();
+            for (Object[] row : ticketRepository.sumSalesByParkAndDayBetween(start, end)) {
+                rollups.add(new DailySales(null, (Long) row[0], (LocalDate) row[1], ((Number) row[2]).longValue(),
+                        ((Number) row[3]).doubleValue(), ((Number) row[4]).longValue(),
+                        ((Number) row[5]).doubleValue()));
+            }
+            dailySalesRepository.deleteDays(from, to);
+            dailySalesRepository.flush();
+            dailySalesRepository.saveAll(rollups);
+            return rollups.size();
+        });
+        logger.info("Rebuilt {} sales rollups from {} to {}", written, from, to);
+        return written;
+    }
+
+    @Scheduled(cron = "${sales.rollup.rebuild-cron:0 30 3 * * *}")
+    public void rebuildRecentDays() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        rebuildRollups(yesterday.minusDays(rebuildDays - 1L), yesterday);
+    }
+}
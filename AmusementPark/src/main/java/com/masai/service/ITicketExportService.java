@@ -0,0 +1,95 @@
+package com.masai.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.masai.model.Ticket;
+import com.masai.model.TicketExportFormat;
+import com.masai.repository.TicketRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Ticket export that keeps memory flat regardless of its size.
+ * <p>
+ * Rows come from a server-side cursor ({@code useCursorFetch} with a fetch
+ * size on the query), are written out one by one and the persistence context
+ * is cleared every few hundred rows so that managed tickets do not pile up.
+ */
+@Service
+public class ITicketExportService implements TicketExportService {
+
+    private static final String CSV_HEADER = "id,userId,parkId,purchaseDate,entryFee,cancelled";
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${export.clear-every:500}")
+    private int clearEvery;
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportTickets(Long parkId, Date from, Date to, TicketExportFormat format, OutputStream out)
+            throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == TicketExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        long written = 0;
+        try (Stream<Ticket> tickets = ticketRepository.streamTicketsByParkBetween(parkId, from, to)) {
+            Iterator<Ticket> it = tickets.iterator();
+            while (it.hasNext()) {
+                ExportRow row = ExportRow.of(it.next());
+                if (format == TicketExportFormat.CSV) {
+                    writer.write(row.toCsv());
+                } else {
+                    writer.write(objectMapper.writeValueAsString(row));
+                }
+                writer.write('\n');
+                if (++written % clearEvery == 0) {
+                    entityManager.clear();
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+        return written;
+    }
+
+    /**
+     * Flat view of a ticket, so the export never walks the user or park graph.
+     */
+    private record ExportRow(Long id, Long userId, Long parkId, Date purchaseDate, double entryFee,
+            boolean cancelled) {
+
+        static ExportRow of(Ticket ticket) {
+            return new ExportRow(ticket.getId(), ticket.getUser() != null ? ticket.getUser().getUserId() : null,
+                    ticket.getPark().getParkId(), ticket.getPurchaseDate(), ticket.getEntryfee(), ticket.isCancelled());
+        }
+
+        String toCsv() {
+            return id + "," + (userId != null ? userId : "") + "," + parkId + ","
+                    + (purchaseDate != null ? purchaseDate.toInstant() : "") + "," + entryFee + "," + cancelled;
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.masai.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.masai.model.Ticket;
+import com.masai.model.TicketImportReport;
+import com.masai.model.TicketImportResult;
+import com.masai.model.TicketImportRow;
+import com.masai.repository.ParkRepository;
+import com.masai.repository.TicketRepository;
+import com.masai.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Bulk ticket import that works through its input in chunks.
+ * <p>
+ * Rows are parsed one at a time from the request body. For every chunk the
+ * referenced user and park IDs that are not yet known are checked with one
+ * {@code IN} query each, rows are validated in parallel and the valid ones
+ * are inserted in their own transaction, so a chunk's persistence context is
+ * dropped as soon as it commits. If a chunk fails to commit, its rows are
+ * retried one by one to find the offending row.
+ * <p>
+ * Imported tickets are not charged to wallets and do not go through the
+ * daily inventory; the inventory picks them up on its next reconcile.
+ */
+@Service
+public class ITicketImportService implements TicketImportService {
+
+    private Logger logger = LoggerFactory.getLogger(ITicketImportService.class);
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ParkRepository parkRepository;
+
+    @Autowired
+    private SalesAccumulator salesAccumulator;
+
+    @Autowired
+    private AvailabilityCalendar availabilityCalendar;
+
+    @Autowired
+    private TicketRevocationFilter revocationFilter;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${import.chunk-size:500}")
+    private int chunkSize;
+
+    @Override
+    public TicketImportReport importTickets(InputStream in) throws IOException {
+        List<TicketImportResult> results = new ArrayList<>();
+        Set<Long> knownUsers = new HashSet<>();
+        Set<Long> knownParks = new HashSet<>();
+        List<PendingRow> chunk = new ArrayList<>(chunkSize);
+        int rowNumber = 0;
+
+        // A top-level array is unwrapped, so this reads both JSON arrays and NDJSON
+        try (MappingIterator<TicketImportRow> rows = objectMapper.readerFor(TicketImportRow.class).readValues(in)) {
+            while (rows.hasNextValue()) {
+                rowNumber++;
+                try {
+                    chunk.add(new PendingRow(rowNumber, rows.nextValue(), null));
+                } catch (JsonMappingException e) {
+                    chunk.add(new PendingRow(rowNumber, null, "Unreadable row: " + e.getOriginalMessage()));
+                }
+                if (chunk.size() >= chunkSize) {
+                    importChunk(chunk, knownUsers, knownParks, results);
+                    chunk.clear();
+                }
+            }
+        } catch (JsonParseException e) {
+            // Rows before the syntax error are kept; nothing after it can be read
+            chunk.add(new PendingRow(results.size() + chunk.size() + 1, null, "Malformed JSON, import stopped: " + e.getOriginalMessage()));
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, knownUsers, knownParks, results);
+        }
+
+        // Imported tickets are not counted one by one, rebuild the touched calendars
+        availabilityCalendar.invalidate(knownParks);
+
+        int imported = (int) results.stream().filter(TicketImportResult::isImported).count();
+        logger.info("Imported {} of {} tickets", imported, results.size());
+        return new TicketImportReport(results.size(), imported, results.size() - imported, results);
+    }
+
+    private void importChunk(List<PendingRow> chunk, Set<Long> knownUsers, Set<Long> knownParks,
+            List<TicketImportResult> results) {
+        knownUsers.addAll(existing(chunk, TicketImportRow::getUserId, knownUsers, userRepository::findExistingIds));
+        knownParks.addAll(existing(chunk, TicketImportRow::getParkId, knownParks, parkRepository::findExistingIds));
+
+        String[] errors = new String[chunk.size()];
+        IntStream.range(0, chunk.size()).parallel()
+                .forEach(i -> errors[i] = validate(chunk.get(i), knownUsers, knownParks));
+
+        List<PendingRow> valid = new ArrayList<>(chunk.size());
+        TicketImportResult[] outcomes = new TicketImportResult[chunk.size()];
+        for (int i = 0; i < chunk.size(); i++) {
+            if (errors[i] != null) {
+                outcomes[i] = new TicketImportResult(chunk.get(i).number(), false, null, errors[i]);
+            } else {
+                valid.add(chunk.get(i));
+            }
+        }
+
+        List<TicketImportResult> stored = new ArrayList<>(valid.size());
+        try {
+            stored.addAll(persist(valid));
+        } catch (RuntimeException chunkFailure) {
+            for (PendingRow row : valid) {
+                try {
+                    stored.addAll(persist(List.of(row)));
+                } catch (RuntimeException e) {
+                    stored.add(new TicketImportResult(row.number(), false, null, "Could not store row: "
+                            + NestedExceptionUtils.getMostSpecificCause(e).getMessage()));
+                }
+            }
+        }
+        int first = chunk.get(0).number();
+        stored.forEach(outcome -> outcomes[outcome.getRow() - first] = outcome);
+        results.addAll(List.of(outcomes));
+    }
+
+    private List<TicketImportResult> persist(List<PendingRow> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        List<Ticket> tickets = transactionTemplate.execute(status -> {
+            List<Ticket> created = new ArrayList<>(rows.size());
+            for (PendingRow pending : rows) {
+                TicketImportRow row = pending.row();
+                Ticket ticket = new Ticket();
+                ticket.setUser(userRepository.getReferenceById(row.getUserId()));
+                ticket.setPark(parkRepository.getReferenceById(row.getParkId()));
+                if (row.getPurchaseDate() != null) {
+                    ticket.setPurchaseDate(row.getPurchaseDate());
+                }
+                if (row.getEntryFee() != null) {
+                    ticket.setEntryfee(row.getEntryFee());
+                }
+                ticket.setCancelled(row.isCancelled());
+                // Imported cancellations never held any capacity
+                ticket.setCapacityReleased(row.isCancelled());
+                created.add(ticket);
+            }
+            return ticketRepository.saveAll(created);
+        });
+
+        List<TicketImportResult> outcomes = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            TicketImportRow row = rows.get(i).row();
+            Ticket ticket = tickets.get(i);
+            salesAccumulator.recordSale(row.getParkId(), ticket.getPurchaseDate(), ticket.getEntryfee());
+            if (ticket.isCancelled()) {
+                salesAccumulator.recordCancellation(row.getParkId(), ticket.getPurchaseDate(), ticket.getEntryfee());
+                revocationFilter.revoke(ticket.getId(), ticket.getPurchaseDate());
+            }
+            outcomes.add(new TicketImportResult(rows.get(i).number(), true, ticket.getId(), null));
+        }
+        return outcomes;
+    }
+
+    private static String validate(PendingRow pending, Set<Long> knownUsers, Set<Long> knownParks) {
+        if (pending.error() != null) {
+            return pending.error();
+        }
+        TicketImportRow row = pending.row();
+        if (row == null) {
+            return "Empty row";
+        }
+        if (row.getUserId() == null || !knownUsers.contains(row.getUserId())) {
+            return "User with ID " + row.getUserId() + " not found";
+        }
+        if (row.getParkId() == null || !knownParks.contains(row.getParkId())) {
+            return "Park with ID " + row.getParkId() + " not found";
+        }
+        if (row.getEntryFee() != null && (row.getEntryFee() < 0 || row.getEntryFee().isNaN())) {
+            return "Entry fee must not be negative";
+        }
+        return null;
+    }
+
+    /**
+     * Looks up which of the chunk's IDs that are not known yet exist.
+     */
+    private static Set<Long> existing(List<PendingRow> chunk, Function<TicketImportRow, Long> idOf, Set<Long> known,
+            Function<Collection<Long>, Set<Long>> lookup) {
+        Set<Long> unknown = chunk.stream().map(PendingRow::row).filter(Objects::nonNull).map(idOf)
+                .filter(id -> id != null && !known.contains(id)).collect(Collectors.toSet());
+        return unknown.isEmpty() ? Set.of() : lookup.apply(unknown);
+    }
+
+    private record PendingRow(int number, TicketImportRow row, String error) {
+    }
+}
@@ -1,22 +1,31 @@
 package com.masai.service;
 
-import com.masai.exception.ParkNotFoundException;
+import com.masai.config.PageToken;
+import com.masai.config.TicketCodeSigner;
+import com.masai.exception.InvalidPageTokenException;
 import com.masai.exception.SomethingWentWrongException;
 import com.masai.exception.TicketNotFoundException;
 import com.masai.exception.UserNotFoundException;
-import com.masai.model.Park;
 import com.masai.model.Ticket;
-import com.masai.model.User;
-import com.masai.repository.ParkRepository;
+import com.masai.model.TicketCancelledEvent;
+import com.masai.model.TicketPage;
 import com.masai.repository.TicketRepository;
 import com.masai.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
 
 @Service
 public class ITicketService implements TicketService {
@@ -28,10 +37,28 @@ public class ITicketService implements TicketService {
     private UserRepository userRepository;
 
     @Autowired
-    private ParkRepository parkRepository;
+    private TicketPurchasePipeline purchasePipeline;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TicketCodeSigner ticketCodeSigner;
+
+    @Autowired
+    private TicketRevocationFilter revocationFilter;
+
+    @Autowired
+    private SalesAccumulator salesAccumulator;
+
+    @Autowired
+    private Outbox outbox;
+
+    @Autowired
+    private AvailabilityCalendar availabilityCalendar;
 
     @Override
-    public Ticket getTicket(Integer userId, Integer ticketId) throws TicketNotFoundException, UserNotFoundException {
+    public Ticket getTicket(Long userId, Long ticketId) throws TicketNotFoundException, UserNotFoundException {
         // Check if the user exists
         userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException("User with ID " + userId + " not found"));
@@ -44,11 +71,11 @@ public class ITicketService implements TicketService {
             throw new TicketNotFoundException("Ticket with ID " + ticketId + " not found");
         }
 
-        return ticket;
+        return withCode(ticket);
     }
 
     @Override
-    public Set<Ticket> getTickets(Integer userId) throws UserNotFoundException {
+    public Set<Ticket> getTickets(Long userId) throws UserNotFoundException {
         // Check if the user exists
         userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException("User with ID " + userId + " not found"));
@@ -60,28 +87,42 @@ public class ITicketService implements TicketService {
             throw new TicketNotFoundException("No tickets found for User with ID " + userId);
         }
 
+        tickets.forEach(this::withCode);
         return tickets;
     }
 
     @Override
-    public Ticket createTicket(Integer userId, Integer parkId, Ticket ticket)
+    public Ticket createTicket(Long userId, Long parkId, Ticket ticket)
             throws SomethingWentWrongException, UserNotFoundException {
-        // Check if the user exists
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException("User with ID " + userId + " not found"));
-        Park park = parkRepository.findById(parkId)
-                .orElseThrow(() -> new ParkNotFoundException("Park with ID " + parkId + " not found"));
-
-        // Set the user ID for the ticket
-        ticket.setUser(user);
-        ticket.setPark(park);
+        try {
+            return purchaseTicket(userId, parkId, ticket).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new SomethingWentWrongException(e.getCause());
+        }
+    }
 
-        // Save the ticket
-        return ticketRepository.save(ticket);
+    /**
+     * Queues a ticket purchase on the batching purchase pipeline.
+     *
+     * @param userId ID of the user for whom the ticket is created.
+     * @param parkId ID of the park for which the ticket is created.
+     * @param ticket Ticket object containing details of the ticket to be created.
+     * @return Future completed with the created Ticket once it is committed.
+     */
+    @Override
+    public CompletableFuture<Ticket> purchaseTicket(Long userId, Long parkId, Ticket ticket) {
+        return purchasePipeline.submit(userId, parkId, ticket).thenApply(created -> {
+            salesAccumulator.recordSale(created);
+            availabilityCalendar.ticketSold(parkId, created.getPurchaseDate());
+            return withCode(created);
+        });
     }
 
     @Override
-    public String updateTicket(Integer userId, Integer ticketId, Ticket ticket)
+    public String updateTicket(Long userId, Long ticketId, Ticket ticket)
             throws TicketNotFoundException, SomethingWentWrongException, UserNotFoundException {
         // Check if the user exists
         userRepository.findById(userId)
@@ -112,7 +153,7 @@ public class ITicketService implements TicketService {
     }
 
     @Override
-    public String deleteTicket(Integer userId, Integer ticketId) throws TicketNotFoundException, UserNotFoundException {
+    public String deleteTicket(Long userId, Long ticketId) throws TicketNotFoundException, UserNotFoundException {
         // Check if the user exists
         userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException("User with ID " + userId + " not found"));
@@ -127,9 +168,27 @@ public class ITicketService implements TicketService {
                     "Ticket with ID " + ticketId + " does not belong to User with ID " + userId);
         }
 
-        // Instead of deleting, mark the ticket as cancelled
-        existingTicket.setCancelled(true);
-        ticketRepository.save(existingTicket);
+        if (existingTicket.isCancelled()) {
+            return "Ticket already cancelled.";
+        }
+
+        // Instead of deleting, mark the ticket as cancelled. The refund and the
+        // release of its capacity follow through the outbox
+        Boolean cancelled = transactionTemplate.execute(status -> {
+            if (ticketRepository.markCancelled(ticketId) == 0) {
+                return false;
+            }
+            existingTicket.setCancelled(true);
+            outbox.publish(TicketCancelledEvent.TYPE, ticketId, TicketCancelledEvent.of(existingTicket));
+            return true;
+        });
+        if (!Boolean.TRUE.equals(cancelled)) {
+            return "Ticket already cancelled.";
+        }
+
+        // Gates have to stop accepting the ticket right away
+        revocationFilter.revoke(ticketId, existingTicket.getPurchaseDate());
+        availabilityCalendar.ticketCancelled(existingTicket.getPark().getParkId(), existingTicket.getPurchaseDate());
 
         return "Ticket cancelled successfully.";
     }
@@ -147,7 +206,7 @@ public class ITicketService implements TicketService {
      * @throws UserNotFoundException   If the specified user is not found.
      */
     @Override
-    public Page<Ticket> getTickets(Integer userId, Pageable pageable)
+    public Page<Ticket> getTickets(Long userId, Pageable pageable)
             throws TicketNotFoundException, UserNotFoundException {
         userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException("User with ID " + userId + " not found"));
@@ -157,6 +216,7 @@ public class ITicketService implements TicketService {
             throw new TicketNotFoundException("No tickets found for User with ID " + userId);
         }
 
+        tickets.forEach(this::withCode);
         return tickets;
     }
 
@@ -174,7 +234,7 @@ public class ITicketService implements TicketService {
      * @throws UserNotFoundException   If the specified user is not found.
      */
     @Override
-    public Page<Ticket> getTicketsSortedAsc(Integer userId, Pageable pageable)
+    public Page<Ticket> getTicketsSortedAsc(Long userId, Pageable pageable)
             throws TicketNotFoundException, UserNotFoundException {
         userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException("User with ID " + userId + " not found"));
@@ -184,6 +244,7 @@ public class ITicketService implements TicketService {
             throw new TicketNotFoundException("No tickets found for User with ID " + userId);
         }
 
+        tickets.forEach(this::withCode);
         return tickets;
     }
 
@@ -201,7 +262,7 @@ public class ITicketService implements TicketService {
      * @throws UserNotFoundException   If the specified user is not found.
      */
     @Override
-    public Page<Ticket> getTicketsSortedDesc(Integer userId, Pageable pageable)
+    public Page<Ticket> getTicketsSortedDesc(Long userId, Pageable pageable)
             throws TicketNotFoundException, UserNotFoundException {
         userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException("User with ID " + userId + " not found"));
@@ -211,9 +272,59 @@ public class ITicketService implements TicketService {
             throw new TicketNotFoundException("No tickets found for User with ID " + userId);
         }
 
+        tickets.forEach(this::withCode);
         return tickets;
     }
 
+    /**
+     * Retrieves a user's tickets one keyset page at a time, ordered by purchase
+     * date and ID. Each page seeks past the last row of the previous one, so deep
+     * pages cost the same as the first; the count only runs when asked for.
+     *
+     * @param userId       ID of the user for whom tickets are requested.
+     * @param pageToken    Token from the previous page, or {@code null} for the
+     *                     first page.
+     * @param size         Maximum number of tickets on the page.
+     * @param descending   Whether to list the newest tickets first; ignored when
+     *                     a page token is given.
+     * @param includeTotal Whether to also count all of the user's tickets.
+     * @return The page and the token for the next one.
+     * @throws UserNotFoundException     If the specified user is not found.
+     * @throws InvalidPageTokenException If the page token is malformed.
+     */
+    @Override
+    public TicketPage getTicketHistory(Long userId, String pageToken, int size, boolean descending,
+            boolean includeTotal) throws UserNotFoundException, InvalidPageTokenException {
+        userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException("User with ID " + userId + " not found"));
+
+        int pageSize = Math.max(1, Math.min(size, 100));
+        // Fetch one extra row to know whether another page follows
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<Ticket> tickets;
+        if (pageToken == null || pageToken.isBlank()) {
+            tickets = descending ? ticketRepository.findFirstTicketsDesc(userId, limit)
+                    : ticketRepository.findFirstTicketsAsc(userId, limit);
+        } else {
+            PageToken after = PageToken.decode(pageToken);
+            descending = after.descending();
+            Date purchaseDate = new Date(after.sortKey());
+            tickets = descending ? ticketRepository.findTicketsBefore(userId, purchaseDate, after.id(), limit)
+                    : ticketRepository.findTicketsAfter(userId, purchaseDate, after.id(), limit);
+        }
+
+        String nextPageToken = null;
+        if (tickets.size() > pageSize) {
+            tickets = tickets.subList(0, pageSize);
+            Ticket last = tickets.get(pageSize - 1);
+            nextPageToken = new PageToken(last.getPurchaseDate().getTime(), last.getId(), descending).encode();
+        }
+        tickets.forEach(this::withCode);
+
+        Long total = includeTotal ? ticketRepository.countByUser_UserId(userId) : null;
+        return new TicketPage(tickets, nextPageToken, total);
+    }
+
     /**
      * Adds a list of tickets in bulk.
      *
@@ -226,6 +337,36 @@ public class ITicketService implements TicketService {
     @Override
     public List<Ticket> addTicketsInBulk(List<Ticket> tickets)
             throws SomethingWentWrongException, UserNotFoundException {
-        return ticketRepository.saveAll(tickets);
+        // Tickets added already cancelled never held any capacity
+        tickets.forEach(ticket -> ticket.setCapacityReleased(ticket.isCancelled()));
+        List<Ticket> saved = ticketRepository.saveAll(tickets);
+        for (Ticket ticket : saved) {
+            salesAccumulator.recordSale(ticket);
+            if (ticket.isCancelled()) {
+                salesAccumulator.recordCancellation(ticket);
+                revocationFilter.revoke(ticket.getId(), ticket.getPurchaseDate());
+            }
+        }
+        availabilityCalendar.invalidate(saved.stream().filter(ticket -> ticket.getPark() != null)
+                .map(ticket -> ticket.getPark().getParkId()).collect(Collectors.toSet()));
+        return saved;
+    }
+
+    /**
+     * Attaches the signed gate code to a ticket. Cancelled tickets get none, and
+     * neither do bulk-loaded tickets without a park or a visit date.
+     *
+     * @param ticket Ticket to sign.
+     * @return The same ticket, with its code set or cleared.
+     */
+    private Ticket withCode(Ticket ticket) {
+        if (ticket.isCancelled() || ticket.getId() == null || ticket.getPark() == null
+                || ticket.getPurchaseDate() == null) {
+            ticket.setCode(null);
+            return ticket;
+        }
+        LocalDate visitDay = ticket.getPurchaseDate().toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+        ticket.setCode(ticketCodeSigner.sign(ticket.getId(), ticket.getPark().getParkId(), visitDay));
+        return ticket;
     }
 }
@@ -4,8 +4,11 @@ import com.masai.exception.SomethingWentWrongException;
 import com.masai.exception.UserNotFoundException;
 import com.masai.model.Address;
 import com.masai.model.User;
+import com.masai.model.WalletTransaction;
+import com.masai.model.WalletTransactionType;
 import com.masai.repository.AddressRepository;
 import com.masai.repository.UserRepository;
+import com.masai.repository.WalletTransactionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -14,6 +17,7 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -31,8 +35,11 @@ public class IUserService implements UserService, UserDetailsService {
 	@Autowired
 	private PasswordEncoder passwordEncoder;
 
+	@Autowired
+	private WalletTransactionRepository walletTransactionRepository;
+
 	@Override
-	public User getUser(Integer userId) throws UserNotFoundException {
+	public User getUser(Long userId) throws UserNotFoundException {
 		// Try to find the user by ID
 		User user = repo.findById(userId)
 				.orElseThrow(() -> new UserNotFoundException("User not found with ID: " + userId));
@@ -41,12 +48,14 @@ public class IUserService implements UserService, UserDetailsService {
 	}
 
 	@Override
+	@Transactional
 	public User createUser(User user) throws SomethingWentWrongException {
 		try {
 			// Save the user first to generate a user_id
 			user.setPassword(passwordEncoder.encode(user.getPassword()));
 			user.setRole("USER");
 			User savedUser = repo.save(user);
+			recordOpeningBalance(savedUser);
 
 			// Update the addresses with the saved user reference
 			Set<Address> addresses = user.getAddresses();
@@ -93,7 +102,7 @@ public class IUserService implements UserService, UserDetailsService {
 	}
 
 	@Override
-	public String deleteUser(Integer userId) throws UserNotFoundException {
+	public String deleteUser(Long userId) throws UserNotFoundException {
 		User user = repo.findById(userId)
 				.orElseThrow(() -> new UserNotFoundException("Couldn't find user with id: " + userId));
 
@@ -125,12 +134,14 @@ public class IUserService implements UserService, UserDetailsService {
 	 *                                     creation.
 	 */
 	@Override
+	@Transactional
 	public User createAdmin(User user) throws SomethingWentWrongException {
 		try {
 			// Save the user first to generate a user_id
 			user.setPassword(passwordEncoder.encode(user.getPassword()));
 			user.setRole("ADMIN");
 			User savedUser = repo.save(user);
+			recordOpeningBalance(savedUser);
 
 			// Update the addresses with the saved user reference
 			Set<Address> addresses = user.getAddresses();
@@ -176,4 +187,17 @@ public class IUserService implements UserService, UserDetailsService {
 		User user = repo.findByUsername(username).orElseThrow(() -> new UserNotFoundException("User not Found !! "));
 		return user;
 	}
+
+	/**
+	 * Records the wallet amount a user registers with as the first ledger entry,
+	 * so that the ledger alone adds up to the balance.
+	 *
+	 * @param user Freshly saved user.
+	 */
+	private void recordOpeningBalance(User user) {
+		if (user.getWallet() > 0) {
+			walletTransactionRepository.save(new WalletTransaction(user.getUserId(), user.getWallet(),
+					WalletTransactionType.TOP_UP, null));
+		}
+	}
 }
@@ -0,0 +1,217 @@
+package com.masai.service;
+
+import com.masai.exception.InsufficientBalanceException;
+import com.masai.exception.SomethingWentWrongException;
+import com.masai.exception.UserNotFoundException;
+import com.masai.model.WalletSnapshot;
+import com.masai.model.WalletTransaction;
+import com.masai.model.WalletTransactionType;
+import com.masai.repository.UserRepository;
+import com.masai.repository.WalletSnapshotRepository;
+import com.masai.repository.WalletTransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Wallet backed by an append-only ledger.
+ * <p>
+ * {@code User.wallet} is only used as a guard: every debit is a single
+ * conditional {@code UPDATE ... WHERE wallet >= amount}, so concurrent
+ * purchases for the same user can never overdraw it and never lose an update.
+ * The authoritative balance is folded from the ledger on top of periodic
+ * snapshots.
+ */
+@Service
+public class IWalletService implements WalletService {
+
+    private Logger logger = LoggerFactory.getLogger(IWalletService.class);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private WalletTransactionRepository walletTransactionRepository;
+
+    @Autowired
+    private WalletSnapshotRepository walletSnapshotRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${wallet.snapshot-settle-ms:60000}")
+    private long snapshotSettleMs;
+
+    /**
+     * Gives users created before the ledger existed an opening entry for the
+     * balance they already hold, so that the ledger agrees with the wallet.
+     * Each user is written under a lock on their row and re-checked, which keeps
+     * the backfill safe to run on several nodes at once and on every restart.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOpeningBalances() {
+        int backfilled = 0;
+        for (Long userId : userRepository.findIdsWithoutLedger()) {
+            Boolean written = transactionTemplate.execute(status -> {
+                Double wallet = userRepository.lockWallet(userId).orElse(0.0);
+                if (wallet <= 0 || walletTransactionRepository.existsByUserId(userId)) {
+                    return false;
+                }
+                walletTransactionRepository
+                        .save(new WalletTransaction(userId, wallet, WalletTransactionType.TOP_UP, null));
+                return true;
+            });
+            if (Boolean.TRUE.equals(written)) {
+                backfilled++;
+            }
+        }
+        if (backfilled > 0) {
+            logger.info("Recorded opening wallet balances for {} users", backfilled);
+        }
+    }
+
+    @Override
+    @Transactional
+    public WalletTransaction topUp(Long userId, double amount)
+            throws UserNotFoundException, SomethingWentWrongException {
+        if (amount <= 0) {
+            throw new SomethingWentWrongException("Top-up amount must be positive.");
+        }
+        if (userRepository.creditWallet(userId, amount) == 0) {
+            throw new UserNotFoundException("User with ID " + userId + " not found");
+        }
+        return walletTransactionRepository
+                .save(new WalletTransaction(userId, amount, WalletTransactionType.TOP_UP, null));
+    }
+
+    @Override
+    @Transactional
+    public WalletTransaction debitForTicket(Long userId, double amount, Long ticketId)
+            throws InsufficientBalanceException, SomethingWentWrongException {
+        if (amount < 0) {
+            throw new SomethingWentWrongException("Entry fee cannot be negative.");
+        }
+        if (userRepository.debitWallet(userId, amount) == 0) {
+            throw new InsufficientBalanceException("Insufficient wallet balance for User with ID " + userId);
+        }
+        return walletTransactionRepository
+                .save(new WalletTransaction(userId, -amount, WalletTransactionType.PURCHASE, ticketId));
+    }
+
+    /**
+     * Runs in its own transaction so that a refund written concurrently, which
+     * trips the unique key on {@code (refund_of, type)}, rolls back the credit
+     * and reads as "already refunded" instead of failing the caller.
+     */
+    @Override
+    public WalletTransaction refundTicket(Long userId, double amount, Long ticketId) {
+        if (!walletTransactionRepository.existsByTicketIdAndType(ticketId, WalletTransactionType.PURCHASE)
+                || walletTransactionRepository.existsByTicketIdAndType(ticketId, WalletTransactionType.REFUND)) {
+            return null;
+        }
+        WalletTransaction refund = new WalletTransaction(userId, amount, WalletTransactionType.REFUND, ticketId);
+        refund.setRefundOf(ticketId);
+        try {
+            return transactionTemplate.execute(status -> {
+                WalletTransaction saved = walletTransactionRepository.saveAndFlush(refund);
+                userRepository.creditWallet(userId, amount);
+                return saved;
+            });
+        } catch (DataIntegrityViolationException e) {
+            logger.info("Ticket {} was already refunded", ticketId);
+            return null;
+        }
+    }
+
+    @Override
+    @Transactional
+    public WalletTransaction debitForBooking(Long userId, double amount, Long ticketId, Long bookingId)
+            throws InsufficientBalanceException, SomethingWentWrongException {
+        if (amount < 0) {
+            throw new SomethingWentWrongException("Booking price cannot be negative.");
+        }
+        if (userRepository.debitWallet(userId, amount) == 0) {
+            throw new InsufficientBalanceException("Insufficient wallet balance for User with ID " + userId);
+        }
+        return walletTransactionRepository
+                .save(new WalletTransaction(userId, -amount, WalletTransactionType.BOOKING, ticketId, bookingId));
+    }
+
+    @Override
+    @Transactional
+    public WalletTransaction refundBooking(Long userId, double amount, Long ticketId, Long bookingId) {
+        if (!walletTransactionRepository.existsByBookingIdAndType(bookingId, WalletTransactionType.BOOKING)
+                || walletTransactionRepository.existsByBookingIdAndType(bookingId,
+                        WalletTransactionType.BOOKING_REFUND)) {
+            return null;
+        }
+        // Callers cancel the booking in the same transaction, so a duplicate
+        // refund rolls that back too
+        WalletTransaction refund = new WalletTransaction(userId, amount, WalletTransactionType.BOOKING_REFUND,
+                ticketId, bookingId);
+        refund.setRefundOf(bookingId);
+        WalletTransaction saved = walletTransactionRepository.saveAndFlush(refund);
+        userRepository.creditWallet(userId, amount);
+        return saved;
+    }
+
+    @Override
+    public double getBalance(Long userId) throws UserNotFoundException {
+        if (!userRepository.existsById(userId)) {
+            throw new UserNotFoundException("User with ID " + userId + " not found");
+        }
+        WalletSnapshot snapshot = walletSnapshotRepository.findById(userId)
+                .orElse(new WalletSnapshot(userId, 0.0, 0L, null));
+        return snapshot.getBalance()
+                + walletTransactionRepository.sumByUserIdAfter(userId, snapshot.getLastEntryId());
+    }
+
+    @Override
+    public Page<WalletTransaction> getTransactions(Long userId, Pageable pageable) throws UserNotFoundException {
+        if (!userRepository.existsById(userId)) {
+            throw new UserNotFoundException("User with ID " + userId + " not found");
+        }
+        return walletTransactionRepository.findByUserIdOrderByIdDesc(userId, pageable);
+    }
+
+    /**
+     * Folds settled ledger entries into the per-user snapshots. Entries younger
+     * than the settle window are left for the next run so that identity values
+     * committed out of order are never skipped.
+     */
+    @Scheduled(fixedDelayString = "${wallet.snapshot-interval-ms:300000}")
+    @Transactional
+    public void takeSnapshots() {
+        Long from = walletSnapshotRepository.findWatermark();
+        Long to = walletTransactionRepository.findLastIdBefore(new Date(System.currentTimeMillis() - snapshotSettleMs));
+        if (to == null || to <= from) {
+            return;
+        }
+        Date now = new Date();
+        List<Object[]> sums = walletTransactionRepository.sumByUserBetween(from, to);
+        for (Object[] row : sums) {
+            Long userId = (Long) row[0];
+            double delta = ((Number) row[1]).doubleValue();
+            WalletSnapshot snapshot = walletSnapshotRepository.findById(userId)
+                    .orElse(new WalletSnapshot(userId, 0.0, 0L, null));
+            snapshot.setBalance(snapshot.getBalance() + delta);
+            snapshot.setLastEntryId(to);
+            snapshot.setTakenAt(now);
+            walletSnapshotRepository.save(snapshot);
+        }
+        logger.info("Wallet snapshots advanced to ledger entry {} for {} users", to, sums.size());
+    }
+}
@@ -0,0 +1,242 @@
+package com.masai.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.masai.model.OpenPark;
+import com.masai.model.Park;
+import com.masai.repository.ParkRepository;
+
+/**
+ * Answers "which parks are open at T" and "which open within N minutes"
+ * without touching the database.
+ * <p>
+ * Park hours are parsed into {@link OpeningHours.Schedule}s when a park is
+ * written. The index splits the week into {@value #BUCKET_MINUTES}-minute
+ * buckets and lists, per bucket, the parks whose regular hours overlap it;
+ * parks with a holiday exception are listed per date instead. A query only
+ * checks the parks in the buckets its window covers (plus the exceptions for
+ * those days) against their exact schedule. The index is immutable and rebuilt
+ * on every park write, which is cheap next to how often it is read.
+ */
+@Component
+public class OpenHoursIndex {
+
+	private Logger logger = LoggerFactory.getLogger(OpenHoursIndex.class);
+
+	static final int BUCKET_MINUTES = 15;
+
+	private static final int MINUTES_PER_WEEK = 7 * OpeningHours.MINUTES_PER_DAY;
+
+	private static final int BUCKETS = MINUTES_PER_WEEK / BUCKET_MINUTES;
+
+	@Autowired
+	private ParkRepository parkRepository;
+
+	@Value("${hours.max-lookahead-minutes:1440}")
+	private int maxLookaheadMinutes;
+
+	// Guarded by this, like pending
+	private final Map<Long, Listed> parks = new HashMap<>();
+
+	private volatile Snapshot snapshot = new Snapshot(Map.of(), new long[BUCKETS][], Map.of());
+
+	// Writes seen while a rebuild was reading, re-applied after the swap
+	private final Map<Long, Listed> pending = new HashMap<>();
+
+	private boolean rebuilding;
+
+	private final Object rebuildLock = new Object();
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void load() {
+		rebuild();
+	}
+
+	/**
+	 * Reloads every park from the database, so writes made on other nodes show
+	 * up.
+	 */
+	@Scheduled(fixedDelayString = "${hours.rebuild-interval-ms:600000}", initialDelayString = "${hours.rebuild-interval-ms:600000}")
+	public void rebuild() {
+		synchronized (rebuildLock) {
+			synchronized (this) {
+				rebuilding = true;
+			}
+			Map<Long, Listed> fresh = new HashMap<>();
+			try {
+				for (Park park : parkRepository.findListedParks()) {
+					fresh.put(park.getParkId(), Listed.of(park, OpeningHours.storedSchedule(park)));
+				}
+			} catch (RuntimeException e) {
+				logger.warn("Could not rebuild the opening hours index", e);
+				fresh = null;
+			}
+			synchronized (this) {
+				rebuilding = false;
+				if (fresh != null) {
+					parks.clear();
+					parks.putAll(fresh);
+					pending.forEach(this::apply);
+				}
+				pending.clear();
+				reindex();
+			}
+		}
+	}
+
+	/**
+	 * Indexes the current state of a park; deleted parks are removed.
+	 *
+	 * @param park     The park as stored.
+	 * @param schedule Its schedule, parsed when it was written.
+	 */
+	public synchronized void update(Park park, OpeningHours.Schedule schedule) {
+		if (park == null || park.getParkId() == null) {
+			return;
+		}
+		Listed listed = park.isDeleted() ? null : Listed.of(park, schedule);
+		if (rebuilding) {
+			pending.put(park.getParkId(), listed != null ? listed : Listed.removed(park.getParkId()));
+		}
+		apply(park.getParkId(), listed != null ? listed : Listed.removed(park.getParkId()));
+		reindex();
+	}
+
+	/**
+	 * Lists the parks open at a moment and, optionally, the ones opening soon
+	 * after.
+	 *
+	 * @param at          Moment to check, in local time.
+	 * @param opensWithin Also list parks that open within this many minutes,
+	 *                    capped at {@code hours.max-lookahead-minutes}; 0 for
+	 *                    open parks only.
+	 * @return Open parks by closing time, then parks about to open by opening
+	 *         time.
+	 */
+	public List<OpenPark> openAt(LocalDateTime at, int opensWithin) {
+		int window = Math.max(0, Math.min(opensWithin, maxLookaheadMinutes));
+		Snapshot current = snapshot;
+
+		Set<Long> candidates = new HashSet<>();
+		int minuteOfWeek = (at.getDayOfWeek().getValue() - 1) * OpeningHours.MINUTES_PER_DAY + at.getHour() * 60
+				+ at.getMinute();
+		int first = minuteOfWeek / BUCKET_MINUTES;
+		int count = Math.min(BUCKETS, (minuteOfWeek + window) / BUCKET_MINUTES - first + 1);
+		for (int i = 0; i < count; i++) {
+			long[] ids = current.buckets()[(first + i) % BUCKETS];
+			if (ids != null) {
+				for (long id : ids) {
+					candidates.add(id);
+				}
+			}
+		}
+		// Exceptions of the day before can run past midnight into this one
+		LocalDate last = at.plusMinutes(window).toLocalDate();
+		for (LocalDate date = at.toLocalDate().minusDays(1); !date.isAfter(last); date = date.plusDays(1)) {
+			long[] ids = current.exceptions().get(date);
+			if (ids != null) {
+				for (long id : ids) {
+					candidates.add(id);
+				}
+			}
+		}
+
+		List<OpenPark> open = new ArrayList<>();
+		for (Long id : candidates) {
+			Listed listed = current.parks().get(id);
+			if (listed == null) {
+				continue;
+			}
+			Optional<LocalDateTime> closesAt = listed.schedule().closesAt(at);
+			if (closesAt.isPresent()) {
+				open.add(new OpenPark(id, listed.name(), listed.location(), true, null, closesAt.get()));
+			} else if (window > 0) {
+				listed.schedule().nextOpening(at, window).ifPresent(opensAt -> open
+						.add(new OpenPark(id, listed.name(), listed.location(), false, opensAt, null)));
+			}
+		}
+		open.sort(Comparator.comparing(OpenPark::isOpen).reversed()
+				.thenComparing(park -> park.isOpen() ? park.getClosesAt() : park.getOpensAt())
+				.thenComparing(OpenPark::getParkId));
+		return open;
+	}
+
+	private void apply(Long parkId, Listed listed) {
+		if (listed.schedule() == null) {
+			parks.remove(parkId);
+		} else {
+			parks.put(parkId, listed);
+		}
+	}
+
+	private void reindex() {
+		List<List<Long>> buckets = new ArrayList<>(BUCKETS);
+		for (int i = 0; i < BUCKETS; i++) {
+			buckets.add(new ArrayList<>());
+		}
+		Map<LocalDate, List<Long>> exceptions = new HashMap<>();
+		for (Listed listed : parks.values()) {
+			Long id = listed.parkId();
+			for (DayOfWeek day : DayOfWeek.values()) {
+				int[] ranges = listed.schedule().weekly(day);
+				int dayStart = (day.getValue() - 1) * OpeningHours.MINUTES_PER_DAY;
+				for (int i = 0; i < ranges.length; i += 2) {
+					int from = (dayStart + ranges[i]) / BUCKET_MINUTES;
+					int to = (dayStart + ranges[i + 1] - 1) / BUCKET_MINUTES;
+					for (int b = from; b <= to; b++) {
+						int bucket = b % BUCKETS;
+						// Parks are added one at a time, so a repeat is always the last entry
+						List<Long> ids = buckets.get(bucket);
+						if (ids.isEmpty() || !ids.get(ids.size() - 1).equals(id)) {
+							ids.add(id);
+						}
+					}
+				}
+			}
+			for (LocalDate date : listed.schedule().exceptionDates()) {
+				exceptions.computeIfAbsent(date, d -> new ArrayList<>()).add(id);
+			}
+		}
+
+		long[][] bucketIds = new long[BUCKETS][];
+		for (int i = 0; i < BUCKETS; i++) {
+			bucketIds[i] = buckets.get(i).stream().mapToLong(Long::longValue).toArray();
+		}
+		Map<LocalDate, long[]> exceptionIds = new HashMap<>();
+		exceptions.forEach((date, ids) -> exceptionIds.put(date, ids.stream().mapToLong(Long::longValue).toArray()));
+		snapshot = new Snapshot(Map.copyOf(parks), bucketIds, exceptionIds);
+	}
+
+	private record Listed(Long parkId, String name, String location, OpeningHours.Schedule schedule) {
+
+		static Listed of(Park park, OpeningHours.Schedule schedule) {
+			return new Listed(park.getParkId(), park.getName(), park.getLocation(), schedule);
+		}
+
+		static Listed removed(Long parkId) {
+			return new Listed(parkId, null, null, null);
+		}
+	}
+
+	private record Snapshot(Map<Long, Listed> parks, long[][] buckets, Map<LocalDate, long[]> exceptions) {
+	}
+}
@@ -0,0 +1,307 @@
+package com.masai.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import com.masai.model.Park;
+
+/**
+ * Reads the free-text opening and closing hours stored on parks, e.g.
+ * {@code "09:00"}, {@code "9:30 AM"} or {@code "6pm"}, and the optional weekly
+ * and holiday schedules, e.g. {@code "Mon-Fri 10:00-18:00; Sat,Sun 9am-8pm"}
+ * and {@code "2026-12-25 closed; 2026-12-31 10:00-16:00"}.
+ */
+public final class OpeningHours {
+
+	public static final int MINUTES_PER_DAY = 24 * 60;
+
+	private static final List<DateTimeFormatter> TIME_FORMATS = List.of(formatter("H:mm"), formatter("h:mm a"),
+			formatter("h:mma"), formatter("h a"), formatter("ha"), formatter("H.mm"), formatter("H"));
+
+	private static final int[] CLOSED = new int[0];
+
+	private OpeningHours() {
+	}
+
+	/**
+	 * @param text a time of day as entered for a park
+	 * @return the parsed time, or empty if the text is not a recognisable time
+	 */
+	public static Optional<LocalTime> parseTime(String text) {
+		if (text == null || text.isBlank()) {
+			return Optional.empty();
+		}
+		String value = text.trim().replace(".M.", "M").replace(".m.", "m");
+		for (DateTimeFormatter format : TIME_FORMATS) {
+			try {
+				return Optional.of(LocalTime.parse(value, format));
+			} catch (DateTimeParseException e) {
+				// try the next format
+			}
+		}
+		return Optional.empty();
+	}
+
+	/**
+	 * Parses a park's hours into minute-of-day intervals. Without a weekly
+	 * schedule the park keeps its opening and closing hours every day; hours
+	 * that cannot be read leave it closed rather than failing, as they were
+	 * always free text. Later weekly entries replace earlier ones for the same
+	 * days, so {@code "Daily 9-17; Sun closed"} works as expected.
+	 *
+	 * @param opening  daily opening hours
+	 * @param closing  daily closing hours
+	 * @param weekly   weekly schedule, may be blank
+	 * @param holidays dated exceptions to the weekly schedule, may be blank
+	 * @return the parsed schedule
+	 * @throws IllegalArgumentException if the weekly or holiday schedule is
+	 *                                  malformed
+	 */
+	public static Schedule schedule(String opening, String closing, String weekly, String holidays)
+			throws IllegalArgumentException {
+		int[][] week = new int[7][];
+		if (weekly == null || weekly.isBlank()) {
+			Optional<LocalTime> open = parseTime(opening);
+			Optional<LocalTime> close = parseTime(closing);
+			int[] daily = open.isPresent() && close.isPresent() ? range(open.get(), close.get()) : CLOSED;
+			Arrays.fill(week, daily);
+		} else {
+			Arrays.fill(week, CLOSED);
+			for (String entry : entries(weekly)) {
+				String[] parts = entry.split("\\s+", 2);
+				int[] ranges = ranges(parts.length > 1 ? parts[1] : "", entry);
+				for (DayOfWeek day : days(parts[0], entry)) {
+					week[day.getValue() - 1] = ranges;
+				}
+			}
+		}
+
+		Map<LocalDate, int[]> exceptions = new HashMap<>();
+		if (holidays != null && !holidays.isBlank()) {
+			for (String entry : entries(holidays)) {
+				String[] parts = entry.split("\\s+", 2);
+				try {
+					exceptions.put(LocalDate.parse(parts[0]), ranges(parts.length > 1 ? parts[1] : "", entry));
+				} catch (DateTimeParseException e) {
+					throw new IllegalArgumentException("Unrecognised date in holiday hours: " + entry);
+				}
+			}
+		}
+		return new Schedule(week, exceptions);
+	}
+
+	/**
+	 * @param park a park as entered
+	 * @return the park's parsed schedule
+	 * @throws IllegalArgumentException if its weekly or holiday schedule is
+	 *                                  malformed
+	 */
+	public static Schedule schedule(Park park) throws IllegalArgumentException {
+		return schedule(park.getOpeningHours(), park.getClosingHours(), park.getWeeklyHours(),
+				park.getHolidayHours());
+	}
+
+	/**
+	 * Schedule of a stored park; schedules stored before validation existed
+	 * fall back to the daily hours instead of failing.
+	 *
+	 * @param park a stored park
+	 * @return the park's parsed schedule
+	 */
+	public static Schedule storedSchedule(Park park) {
+		try {
+			return schedule(park);
+		} catch (IllegalArgumentException e) {
+			return schedule(park.getOpeningHours(), park.getClosingHours(), null, null);
+		}
+	}
+
+	private static List<String> entries(String text) {
+		List<String> entries = new ArrayList<>();
+		for (String entry : text.split("[;\\n]")) {
+			if (!entry.isBlank()) {
+				// "Sat, Sun 9 am - 5 pm" reads as "Sat,Sun 9 am-5 pm"
+				entries.add(entry.trim().replaceAll("\\s*([,-])\\s*", "$1"));
+			}
+		}
+		return entries;
+	}
+
+	private static List<DayOfWeek> days(String text, String entry) {
+		List<DayOfWeek> days = new ArrayList<>();
+		String value = text.toLowerCase(Locale.ROOT);
+		if (value.equals("daily") || value.equals("everyday")) {
+			return Arrays.asList(DayOfWeek.values());
+		}
+		for (String part : value.split(",")) {
+			String[] bounds = part.split("-");
+			DayOfWeek from = day(bounds[0], entry);
+			DayOfWeek to = bounds.length > 1 ? day(bounds[1], entry) : from;
+			// Ranges may wrap past Sunday, e.g. Fri-Mon
+			for (DayOfWeek day = from;; day = day.plus(1)) {
+				days.add(day);
+				if (day == to) {
+					break;
+				}
+			}
+		}
+		return days;
+	}
+
+	private static DayOfWeek day(String text, String entry) {
+		String value = text.trim();
+		for (DayOfWeek day : DayOfWeek.values()) {
+			String name = day.name().toLowerCase(Locale.ROOT);
+			if (value.length() >= 2 && name.startsWith(value)) {
+				return day;
+			}
+		}
+		throw new IllegalArgumentException("Unrecognised day in opening hours: " + entry);
+	}
+
+	/**
+	 * @return start and end minute pairs; an end past {@link #MINUTES_PER_DAY}
+	 *         runs into the next day
+	 */
+	private static int[] ranges(String text, String entry) {
+		String value = text.trim();
+		if (value.isEmpty() || value.equalsIgnoreCase("closed")) {
+			return CLOSED;
+		}
+		List<int[]> ranges = new ArrayList<>();
+		for (String part : value.split(",")) {
+			String[] times = part.split("-");
+			Optional<LocalTime> open = times.length == 2 ? parseTime(times[0]) : Optional.empty();
+			Optional<LocalTime> close = times.length == 2 ? parseTime(times[1]) : Optional.empty();
+			if (open.isEmpty() || close.isEmpty()) {
+				throw new IllegalArgumentException("Unrecognised hours in opening hours: " + entry);
+			}
+			ranges.add(range(open.get(), close.get()));
+		}
+		ranges.sort((a, b) -> Integer.compare(a[0], b[0]));
+		int[] flat = new int[ranges.size() * 2];
+		for (int i = 0; i < ranges.size(); i++) {
+			flat[2 * i] = ranges.get(i)[0];
+			flat[2 * i + 1] = ranges.get(i)[1];
+		}
+		return flat;
+	}
+
+	/**
+	 * Closing at or before opening means closing after midnight; equal times
+	 * mean open around the clock.
+	 */
+	private static int[] range(LocalTime open, LocalTime close) {
+		int start = open.getHour() * 60 + open.getMinute();
+		int end = close.getHour() * 60 + close.getMinute();
+		return new int[] { start, end > start ? end : end + MINUTES_PER_DAY };
+	}
+
+	private static DateTimeFormatter formatter(String pattern) {
+		return new DateTimeFormatterBuilder().parseCaseInsensitive().appendPattern(pattern).toFormatter(Locale.ENGLISH);
+	}
+
+	/**
+	 * Opening intervals of a park per weekday plus dated exceptions, in minutes
+	 * of the day. An interval ending after midnight spills into the next day.
+	 */
+	public static final class Schedule {
+
+		private final int[][] week;
+
+		private final Map<LocalDate, int[]> exceptions;
+
+		private Schedule(int[][] week, Map<LocalDate, int[]> exceptions) {
+			this.week = week;
+			this.exceptions = exceptions;
+		}
+
+		/**
+		 * @param day a weekday
+		 * @return start and end minute pairs of that weekday's regular hours
+		 */
+		public int[] weekly(DayOfWeek day) {
+			return week[day.getValue() - 1];
+		}
+
+		/**
+		 * @return days whose hours differ from the weekly schedule
+		 */
+		public Set<LocalDate> exceptionDates() {
+			return Collections.unmodifiableSet(exceptions.keySet());
+		}
+
+		/**
+		 * @param date a calendar day
+		 * @return start and end minute pairs in effect on that day
+		 */
+		public int[] on(LocalDate date) {
+			return exceptions.getOrDefault(date, weekly(date.getDayOfWeek()));
+		}
+
+		/**
+		 * @param at a moment in local time
+		 * @return whether the park is open then
+		 */
+		public boolean isOpen(LocalDateTime at) {
+			return closesAt(at).isPresent();
+		}
+
+		/**
+		 * @param at a moment in local time
+		 * @return end of the interval the park is open in at that moment, empty
+		 *         if it is closed
+		 */
+		public Optional<LocalDateTime> closesAt(LocalDateTime at) {
+			LocalDate date = at.toLocalDate();
+			int minute = at.getHour() * 60 + at.getMinute();
+			int[] today = on(date);
+			for (int i = 0; i < today.length; i += 2) {
+				if (today[i] <= minute && minute < today[i + 1]) {
+					return Optional.of(date.atStartOfDay().plusMinutes(today[i + 1]));
+				}
+			}
+			int[] yesterday = on(date.minusDays(1));
+			for (int i = 0; i < yesterday.length; i += 2) {
+				if (minute + MINUTES_PER_DAY < yesterday[i + 1]) {
+					return Optional.of(date.minusDays(1).atStartOfDay().plusMinutes(yesterday[i + 1]));
+				}
+			}
+			return Optional.empty();
+		}
+
+		/**
+		 * @param at      a moment in local time
+		 * @param minutes how far ahead to look
+		 * @return the first opening after {@code at} and no later than
+		 *         {@code minutes} after it, empty if there is none
+		 */
+		public Optional<LocalDateTime> nextOpening(LocalDateTime at, int minutes) {
+			LocalDateTime until = at.plusMinutes(minutes);
+			for (LocalDate date = at.toLocalDate(); !date.isAfter(until.toLocalDate()); date = date.plusDays(1)) {
+				int[] ranges = on(date);
+				for (int i = 0; i < ranges.length; i += 2) {
+					LocalDateTime start = date.atStartOfDay().plusMinutes(ranges[i]);
+					if (start.isAfter(at) && !start.isAfter(until)) {
+						return Optional.of(start);
+					}
+				}
+			}
+			return Optional.empty();
+		}
+	}
+}
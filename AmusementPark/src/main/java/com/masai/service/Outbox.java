@@ -0,0 +1,78 @@
+package com.masai.service;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.masai.exception.SomethingWentWrongException;
+import com.masai.model.OutboxEvent;
+import com.masai.repository.OutboxEventRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Records events in the Outbox_Events table, one row per subscribed
+ * {@link OutboxHandler}, as part of the caller's transaction. The rows only
+ * become visible to {@link OutboxDispatcher} if that transaction commits.
+ */
+@Component
+public class Outbox {
+
+	@Autowired
+	private OutboxEventRepository outboxEventRepository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private OutboxDispatcher dispatcher;
+
+	@Autowired
+	private List<OutboxHandler<?>> handlers;
+
+	private Map<String, List<String>> handlersByType;
+
+	@PostConstruct
+	public void init() {
+		handlersByType = handlers.stream().collect(Collectors.groupingBy(OutboxHandler::eventType,
+				Collectors.mapping(OutboxHandler::name, Collectors.toList())));
+	}
+
+	/**
+	 * Records an event; must be called inside a transaction.
+	 *
+	 * @param type        Event type.
+	 * @param aggregateId ID of the entity the event is about.
+	 * @param payload     Event payload, stored as JSON.
+	 */
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void publish(String type, Long aggregateId, Object payload) {
+		String json;
+		try {
+			json = objectMapper.writeValueAsString(payload);
+		} catch (JsonProcessingException e) {
+			throw new SomethingWentWrongException(e);
+		}
+		Date now = new Date();
+		for (String handler : handlersByType.getOrDefault(type, List.of())) {
+			outboxEventRepository.save(new OutboxEvent(null, type, handler, aggregateId, json, now, 0, now, null));
+		}
+		// Wake the dispatcher once the rows are committed instead of waiting for its next poll
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				dispatcher.wakeUp();
+			}
+		});
+	}
+}
@@ -0,0 +1,223 @@
+package com.masai.service;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.masai.model.DeadLetterEvent;
+import com.masai.model.OutboxEvent;
+import com.masai.repository.DeadLetterEventRepository;
+import com.masai.repository.OutboxEventRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Drains the Outbox_Events table and delivers each row to its handler.
+ * <p>
+ * A poller thread claims a batch of due rows with
+ * {@code SELECT ... FOR UPDATE SKIP LOCKED}, pushes their next attempt past a
+ * lease and commits, then hands the rows to a pool of worker threads. A
+ * delivered row is deleted; a failed one is rescheduled with exponential
+ * backoff and moved to Outbox_Dead_Letters once it runs out of attempts. If a
+ * node dies mid-delivery its lease runs out and another dispatcher picks the
+ * row up again, so delivery is at least once.
+ * <p>
+ * The poller sleeps between polls unless {@link Outbox} wakes it after a
+ * commit.
+ */
+@Component
+public class OutboxDispatcher {
+
+	private Logger logger = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+	@Autowired
+	private OutboxEventRepository outboxEventRepository;
+
+	@Autowired
+	private DeadLetterEventRepository deadLetterEventRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private List<OutboxHandler<?>> handlerList;
+
+	@Value("${outbox.batch-size:100}")
+	private int batchSize;
+
+	@Value("${outbox.workers:4}")
+	private int workerCount;
+
+	@Value("${outbox.poll-interval-ms:1000}")
+	private long pollIntervalMs;
+
+	@Value("${outbox.lease-ms:60000}")
+	private long leaseMs;
+
+	@Value("${outbox.max-attempts:10}")
+	private int maxAttempts;
+
+	@Value("${outbox.retry-base-ms:1000}")
+	private long retryBaseMs;
+
+	@Value("${outbox.retry-max-ms:600000}")
+	private long retryMaxMs;
+
+	private Map<String, OutboxHandler<?>> handlers;
+
+	private final Semaphore wakeUps = new Semaphore(0);
+
+	private ExecutorService workers;
+
+	private Thread poller;
+
+	private volatile boolean running;
+
+	@PostConstruct
+	public void start() {
+		handlers = handlerList.stream().collect(Collectors.toMap(OutboxHandler::name, Function.identity()));
+		// Platform threads: virtual threads are still a preview feature on the Java release we build for
+		AtomicInteger count = new AtomicInteger();
+		workers = Executors.newFixedThreadPool(workerCount, task -> {
+			Thread thread = new Thread(task, "outbox-worker-" + count.getAndIncrement());
+			thread.setDaemon(true);
+			return thread;
+		});
+		running = true;
+		poller = new Thread(this::poll, "outbox-poller");
+		poller.setDaemon(true);
+		poller.start();
+	}
+
+	@PreDestroy
+	public void stop() throws InterruptedException {
+		running = false;
+		poller.interrupt();
+		poller.join(TimeUnit.SECONDS.toMillis(5));
+		workers.shutdown();
+		workers.awaitTermination(5, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * Makes the poller look for due rows right away.
+	 */
+	public void wakeUp() {
+		if (wakeUps.availablePermits() == 0) {
+			wakeUps.release();
+		}
+	}
+
+	private void poll() {
+		while (running) {
+			try {
+				if (dispatchBatch() < batchSize) {
+					wakeUps.tryAcquire(pollIntervalMs, TimeUnit.MILLISECONDS);
+					wakeUps.drainPermits();
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			} catch (RuntimeException e) {
+				logger.error("Outbox poll failed", e);
+				try {
+					Thread.sleep(pollIntervalMs);
+				} catch (InterruptedException interrupted) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+			}
+		}
+	}
+
+	private int dispatchBatch() throws InterruptedException {
+		Date now = new Date();
+		List<OutboxEvent> batch = transactionTemplate.execute(status -> {
+			List<OutboxEvent> due = outboxEventRepository.lockDue(now, batchSize);
+			Date leaseEnd = new Date(now.getTime() + leaseMs);
+			due.forEach(event -> event.setNextAttemptAt(leaseEnd));
+			return due;
+		});
+		if (batch == null || batch.isEmpty()) {
+			return 0;
+		}
+
+		List<Future<?>> deliveries = new ArrayList<>(batch.size());
+		for (OutboxEvent event : batch) {
+			deliveries.add(workers.submit(() -> deliver(event)));
+		}
+		for (Future<?> delivery : deliveries) {
+			try {
+				delivery.get();
+			} catch (ExecutionException e) {
+				logger.error("Outbox delivery failed unexpectedly", e.getCause());
+			}
+		}
+		return batch.size();
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private void deliver(OutboxEvent event) {
+		try {
+			OutboxHandler handler = handlers.get(event.getHandler());
+			if (handler == null) {
+				throw new IllegalStateException("No outbox handler named " + event.getHandler());
+			}
+			handler.handle(objectMapper.readValue(event.getPayload(), handler.payloadType()), event.getAggregateId());
+			outboxEventRepository.deleteById(event.getId());
+		} catch (Exception e) {
+			failed(event, e);
+		}
+	}
+
+	private void failed(OutboxEvent event, Exception e) {
+		int attempts = event.getAttempts() + 1;
+		String error = String.valueOf(e);
+		error = error.length() > 1000 ? error.substring(0, 1000) : error;
+
+		if (attempts >= maxAttempts) {
+			logger.error("Giving up on outbox event {} for {} after {} attempts", event.getId(), event.getHandler(),
+					attempts, e);
+			String lastError = error;
+			transactionTemplate.executeWithoutResult(status -> {
+				deadLetterEventRepository.save(new DeadLetterEvent(event.getId(), event.getType(), event.getHandler(),
+						event.getAggregateId(), event.getPayload(), event.getCreatedAt(), new Date(), attempts,
+						lastError));
+				outboxEventRepository.deleteById(event.getId());
+			});
+			return;
+		}
+
+		long backoff = Math.min(retryMaxMs, retryBaseMs << Math.min(attempts - 1, 20));
+		// Jitter so that events failing together do not retry together
+		backoff += ThreadLocalRandom.current().nextLong(backoff / 5 + 1);
+		logger.warn("Outbox event {} for {} failed (attempt {}), retrying in {} ms", event.getId(),
+				event.getHandler(), attempts, backoff, e);
+		event.setAttempts(attempts);
+		event.setLastError(error);
+		event.setNextAttemptAt(new Date(System.currentTimeMillis() + backoff));
+		outboxEventRepository.save(event);
+	}
+}
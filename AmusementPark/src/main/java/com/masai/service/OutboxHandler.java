@@ -0,0 +1,37 @@
+package com.masai.service;
+
+/**
+ * Receives outbox events of one type. Every handler bean gets its own
+ * delivery of each event, retried independently of the other handlers.
+ * <p>
+ * Delivery is at least once: a handler may see the same event again after a
+ * failure or a crash and should tolerate that.
+ *
+ * @param <T> Type the event payload is read as.
+ */
+public interface OutboxHandler<T> {
+
+    /**
+     * @return Stable name of the handler, stored with each delivery.
+     */
+    String name();
+
+    /**
+     * @return Event type the handler subscribes to.
+     */
+    String eventType();
+
+    /**
+     * @return Class the JSON payload is read into.
+     */
+    Class<T> payloadType();
+
+    /**
+     * Handles one event; throwing schedules a retry.
+     *
+     * @param payload     The event payload.
+     * @param aggregateId ID of the entity the event is about.
+     * @throws Exception If the event could not be handled.
+     */
+    void handle(T payload, Long aggregateId) throws Exception;
+}
@@ -0,0 +1,76 @@
+package com.masai.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Names of the read-through caches for parks and their activities, and the
+ * evictions the write paths use to keep them exact.
+ * <p>
+ * The caches themselves are Caffeine caches configured through
+ * {@code spring.cache.*} (size and TTL bounds, statistics); Spring Boot binds
+ * them to the meter registry, so hits, misses and evictions show up under
+ * {@code cache.gets} and {@code cache.evictions} on the actuator.
+ */
+@Component
+public class ParkCache {
+
+	/** Single parks by park ID. */
+	public static final String PARKS = "parks";
+
+	/** The full park listing under a single key. */
+	public static final String PARK_LIST = "parkList";
+
+	/** Activities of a park by park ID. */
+	public static final String ACTIVITIES = "parkActivities";
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	private final AtomicLong version = new AtomicLong();
+
+	/**
+	 * Drops everything cached for one park: the park itself (which embeds its
+	 * activities and reviews), its activities and the listing it appears in.
+	 *
+	 * @param parkId ID of the park that changed.
+	 */
+	public void evictPark(Long parkId) {
+		if (parkId != null) {
+			evict(PARKS, parkId);
+			evict(ACTIVITIES, parkId);
+		}
+		evictParkList();
+	}
+
+	/**
+	 * Drops the cached park listing, e.g. after a park was added.
+	 */
+	public void evictParkList() {
+		Cache cache = cacheManager.getCache(PARK_LIST);
+		if (cache != null) {
+			cache.clear();
+		}
+		version.incrementAndGet();
+	}
+
+	/**
+	 * @return Counter bumped by every eviction, lets derived views such as the
+	 *         {@link ParkCatalog} tell whether parks changed since they were
+	 *         built.
+	 */
+	public long version() {
+		return version.get();
+	}
+
+	private void evict(String name, Long parkId) {
+		Cache cache = cacheManager.getCache(name);
+		if (cache != null) {
+			cache.evict(parkId);
+		}
+	}
+}
@@ -0,0 +1,170 @@
+package com.masai.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.masai.exception.SomethingWentWrongException;
+
+/**
+ * The public park listing, pre-serialized.
+ * <p>
+ * The listing is encoded to JSON once, gzip-compressed once and hashed, and
+ * the resulting immutable {@link Snapshot} is swapped in whole. A background
+ * check rebuilds it whenever the {@link ParkCache} reports a change to parks,
+ * activities or reviews (and at least every {@code catalog.max-age-ms} so
+ * changes made on other nodes show up), so serving the listing is a buffer
+ * write and a revalidation is an ETag compare.
+ */
+@Component
+public class ParkCatalog {
+
+	private Logger logger = LoggerFactory.getLogger(ParkCatalog.class);
+
+	@Autowired
+	private ParkService parkService;
+
+	@Autowired
+	private ParkCache parkCache;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Value("${catalog.max-age-ms:300000}")
+	private long maxAgeMs;
+
+	@Value("${catalog.gzip-min-bytes:1024}")
+	private int gzipMinBytes;
+
+	private volatile Snapshot snapshot;
+
+	/**
+	 * @return The current catalog, built on the spot if none exists yet.
+	 */
+	public Snapshot current() {
+		Snapshot current = snapshot;
+		if (current == null) {
+			synchronized (this) {
+				if (snapshot == null) {
+					rebuild();
+				}
+				current = snapshot;
+			}
+		}
+		return current;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void load() {
+		refresh();
+	}
+
+	/**
+	 * Rebuilds the snapshot if parks changed since it was built or it is older
+	 * than the maximum age.
+	 */
+	@Scheduled(fixedDelayString = "${catalog.refresh-interval-ms:1000}")
+	public void refresh() {
+		Snapshot current = snapshot;
+		if (current != null && current.version() == parkCache.version()
+				&& System.currentTimeMillis() - current.builtAt() < maxAgeMs) {
+			return;
+		}
+		try {
+			synchronized (this) {
+				rebuild();
+			}
+		} catch (RuntimeException e) {
+			// Keep serving the previous snapshot and try again on the next run
+			logger.warn("Could not rebuild the park catalog", e);
+		}
+	}
+
+	private void rebuild() {
+		// Read the version first so a change racing with the build triggers another one
+		long version = parkCache.version();
+		try {
+			byte[] json = objectMapper.writeValueAsBytes(parkService.getParkSummaries());
+			byte[] gzip = json.length >= gzipMinBytes ? gzip(json) : null;
+			String hash = HexFormat.of().formatHex(Arrays.copyOf(MessageDigest.getInstance("SHA-256").digest(json), 16));
+			Snapshot previous = snapshot;
+			snapshot = new Snapshot(json, gzip, hash, version, System.currentTimeMillis());
+			if (previous == null || !previous.hash().equals(hash)) {
+				logger.info("Rebuilt the park catalog ({} bytes, {} compressed)", json.length,
+						gzip != null ? gzip.length : "not");
+			}
+		} catch (IOException | NoSuchAlgorithmException e) {
+			throw new SomethingWentWrongException(e);
+		}
+	}
+
+	private static byte[] gzip(byte[] data) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+		try (GZIPOutputStream zip = new GZIPOutputStream(out)) {
+			zip.write(data);
+		}
+		return out.toByteArray();
+	}
+
+	/**
+	 * One immutable encoding of the catalog.
+	 *
+	 * @param json    The listing as JSON.
+	 * @param gzip    The same bytes gzip-compressed, {@code null} when the
+	 *                listing is too small to be worth compressing.
+	 * @param hash    Hex content hash of {@code json}.
+	 * @param version {@link ParkCache#version()} the snapshot was built from.
+	 * @param builtAt Build time in epoch milliseconds.
+	 */
+	public record Snapshot(byte[] json, byte[] gzip, String hash, long version, long builtAt) {
+
+		/**
+		 * Strong ETag of one representation; the compressed bytes are a
+		 * different representation and get their own tag.
+		 *
+		 * @param compressed Whether the gzip bytes are sent.
+		 * @return Quoted entity tag.
+		 */
+		public String etag(boolean compressed) {
+			return '"' + hash + (compressed ? "-gzip" : "") + '"';
+		}
+
+		/**
+		 * @param ifNoneMatch Value of the If-None-Match header, may be
+		 *                    {@code null}.
+		 * @param compressed  Whether the gzip bytes would be sent.
+		 * @return {@code true} if the client already has this representation.
+		 */
+		public boolean matches(String ifNoneMatch, boolean compressed) {
+			if (ifNoneMatch == null) {
+				return false;
+			}
+			String etag = etag(compressed);
+			for (String tag : ifNoneMatch.split(",")) {
+				String candidate = tag.trim();
+				// If-None-Match uses the weak comparison
+				if (candidate.startsWith("W/")) {
+					candidate = candidate.substring(2);
+				}
+				if (candidate.equals("*") || candidate.equals(etag)) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+}
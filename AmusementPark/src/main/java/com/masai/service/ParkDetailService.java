@@ -0,0 +1,23 @@
+package com.masai.service;
+
+import com.masai.exception.ParkNotFoundException;
+import com.masai.exception.SomethingWentWrongException;
+import com.masai.model.ParkDetail;
+
+/**
+ * Service interface for the park page aggregate.
+ */
+public interface ParkDetailService {
+
+    /**
+     * Loads a park together with its activities, rating summary, latest reviews
+     * and upcoming availability. The parts are loaded concurrently; a part that
+     * fails or exceeds its timeout is left empty and reported as unavailable.
+     *
+     * @param parkId ID of the park.
+     * @return The park page.
+     * @throws ParkNotFoundException       If the park does not exist.
+     * @throws SomethingWentWrongException If the park itself could not be loaded in time.
+     */
+    ParkDetail getParkDetail(Long parkId) throws ParkNotFoundException, SomethingWentWrongException;
+}
@@ -0,0 +1,333 @@
+package com.masai.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.masai.exception.SomethingWentWrongException;
+import com.masai.model.NearbyPark;
+import com.masai.model.Park;
+import com.masai.repository.ParkRepository;
+
+/**
+ * In-memory spatial index of park positions for "parks near me" queries.
+ * <p>
+ * Parks are bucketed into a fixed grid of {@code geo.cell-degrees} cells. A
+ * query scans rings of cells outwards from the searched point, keeping the k
+ * closest parks in a bounded heap, and stops as soon as the next ring cannot
+ * hold anything closer than what was found (or lies beyond the radius), so a
+ * query touches a handful of cells however many parks are indexed. Opening
+ * hours are parsed when a park is indexed, so the "open now" filter is a
+ * lookup in the park's {@link OpeningHours.Schedule}.
+ * <p>
+ * {@link IParkService} updates the index on every park write; a periodic
+ * rebuild picks up changes made on other nodes.
+ */
+@Component
+public class ParkLocator {
+
+	private Logger logger = LoggerFactory.getLogger(ParkLocator.class);
+
+	private static final double EARTH_RADIUS_KM = 6371.0088;
+
+	private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+
+	@Autowired
+	private ParkRepository parkRepository;
+
+	@Value("${geo.cell-degrees:0.5}")
+	private double cellDegrees;
+
+	@Value("${geo.max-results:100}")
+	private int maxResults;
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private Grid grid;
+
+	// Writes seen while a rebuild was reading, re-applied after the swap
+	private final Map<Long, Park> pending = new ConcurrentHashMap<>();
+
+	private volatile boolean rebuilding;
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void load() {
+		rebuild();
+	}
+
+	/**
+	 * Builds a new grid from the stored parks and swaps it in.
+	 */
+	@Scheduled(fixedDelayString = "${geo.rebuild-interval-ms:600000}", initialDelayString = "${geo.rebuild-interval-ms:600000}")
+	public synchronized void rebuild() {
+		rebuilding = true;
+		Grid fresh = new Grid(cellDegrees);
+		try {
+			for (Park park : parkRepository.findListedParks()) {
+				if (park.getLatitude() != null && park.getLongitude() != null) {
+					fresh.put(Entry.of(park));
+				}
+			}
+		} catch (RuntimeException e) {
+			rebuilding = false;
+			logger.warn("Could not rebuild the park location index", e);
+			return;
+		}
+		lock.writeLock().lock();
+		try {
+			grid = fresh;
+			rebuilding = false;
+			pending.values().forEach(this::apply);
+			pending.clear();
+		} finally {
+			lock.writeLock().unlock();
+		}
+		logger.info("Indexed the positions of {} parks", fresh.size());
+	}
+
+	/**
+	 * Indexes the current state of a park; deleted parks and parks without a
+	 * position are removed.
+	 *
+	 * @param park The park as stored.
+	 */
+	public void update(Park park) {
+		if (park == null || park.getParkId() == null) {
+			return;
+		}
+		if (rebuilding) {
+			pending.put(park.getParkId(), park);
+		}
+		lock.writeLock().lock();
+		try {
+			apply(park);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Finds the parks closest to a point.
+	 *
+	 * @param latitude  Latitude of the point.
+	 * @param longitude Longitude of the point.
+	 * @param limit     Maximum number of parks, capped at
+	 *                  {@code geo.max-results}.
+	 * @param radiusKm  Only parks within this distance, {@code null} for any
+	 *                  distance.
+	 * @param openNow   Only parks that are open at the moment.
+	 * @return Parks sorted by distance, closest first.
+	 * @throws SomethingWentWrongException If the coordinates are out of range.
+	 */
+	public List<NearbyPark> nearest(double latitude, double longitude, int limit, Double radiusKm, boolean openNow)
+			throws SomethingWentWrongException {
+		if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+			throw new SomethingWentWrongException("Latitude must be between -90 and 90 and longitude between -180 and 180.");
+		}
+		int k = Math.max(1, Math.min(limit, maxResults));
+		double radius = radiusKm != null ? radiusKm : Double.MAX_VALUE;
+		LocalDateTime now = LocalDateTime.now();
+
+		// Max-heap on distance holding the best k so far
+		PriorityQueue<Candidate> best = new PriorityQueue<>(Comparator.comparingDouble(Candidate::distanceKm).reversed());
+		lock.readLock().lock();
+		try {
+			Grid current = grid;
+			if (current == null || current.size() == 0) {
+				return List.of();
+			}
+			int row = current.row(latitude);
+			int col = current.col(longitude);
+			Set<Long> visited = new HashSet<>();
+			int seen = 0;
+			for (int ring = 0; ring <= current.rows + current.cols; ring++) {
+				double reachKm = current.minDistanceKm(latitude, ring);
+				if (reachKm > radius || (best.size() == k && reachKm > best.peek().distanceKm())) {
+					break;
+				}
+				for (long cell : current.ring(row, col, ring)) {
+					List<Entry> entries = visited.add(cell) ? current.cells.get(cell) : null;
+					if (entries == null) {
+						continue;
+					}
+					seen += entries.size();
+					for (Entry entry : entries) {
+						if (openNow && !entry.schedule().isOpen(now)) {
+							continue;
+						}
+						double distance = distanceKm(latitude, longitude, entry.latitude(), entry.longitude());
+						if (distance <= radius && (best.size() < k || distance < best.peek().distanceKm())) {
+							best.offer(new Candidate(entry, distance));
+							if (best.size() > k) {
+								best.poll();
+							}
+						}
+					}
+				}
+				if (seen == current.size()) {
+					break;
+				}
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+
+		List<Candidate> ranked = new ArrayList<>(best);
+		ranked.sort(Comparator.comparingDouble(Candidate::distanceKm));
+		List<NearbyPark> parks = new ArrayList<>(ranked.size());
+		for (Candidate candidate : ranked) {
+			Entry entry = candidate.entry();
+			parks.add(new NearbyPark(entry.parkId(), entry.name(), entry.location(), entry.latitude(),
+					entry.longitude(), Math.round(candidate.distanceKm() * 1000) / 1000.0,
+					entry.schedule().isOpen(now)));
+		}
+		return parks;
+	}
+
+	private void apply(Park park) {
+		if (grid == null) {
+			return;
+		}
+		grid.remove(park.getParkId());
+		if (!park.isDeleted() && park.getLatitude() != null && park.getLongitude() != null) {
+			grid.put(Entry.of(park));
+		}
+	}
+
+	/**
+	 * Haversine great-circle distance.
+	 */
+	static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+		double dLat = Math.toRadians(lat2 - lat1);
+		double dLng = Math.toRadians(lng2 - lng1);
+		double a = Math.sin(dLat / 2) * Math.sin(dLat / 2) + Math.cos(Math.toRadians(lat1))
+				* Math.cos(Math.toRadians(lat2)) * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+		return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+	}
+
+	private record Entry(Long parkId, String name, String location, double latitude, double longitude,
+			OpeningHours.Schedule schedule) {
+
+		static Entry of(Park park) {
+			return new Entry(park.getParkId(), park.getName(), park.getLocation(), park.getLatitude(),
+					park.getLongitude(), OpeningHours.storedSchedule(park));
+		}
+	}
+
+	private record Candidate(Entry entry, double distanceKm) {
+	}
+
+	/**
+	 * Equal-angle grid over the globe; guarded by the enclosing lock.
+	 */
+	private static class Grid {
+
+		private final double cellDegrees;
+
+		private final int rows;
+
+		private final int cols;
+
+		private final Map<Long, List<Entry>> cells = new HashMap<>();
+
+		private final Map<Long, Long> cellOfPark = new HashMap<>();
+
+		// Highest |latitude| ever indexed, only grows
+		private double maxAbsLatitude;
+
+		Grid(double cellDegrees) {
+			this.cellDegrees = cellDegrees;
+			this.rows = (int) Math.ceil(180 / cellDegrees);
+			this.cols = (int) Math.ceil(360 / cellDegrees);
+		}
+
+		int size() {
+			return cellOfPark.size();
+		}
+
+		int row(double latitude) {
+			return Math.min(rows - 1, (int) Math.floor((latitude + 90) / cellDegrees));
+		}
+
+		int col(double longitude) {
+			return Math.floorMod((int) Math.floor((longitude + 180) / cellDegrees), cols);
+		}
+
+		long key(int row, int col) {
+			return (long) row * cols + Math.floorMod(col, cols);
+		}
+
+		void put(Entry entry) {
+			if (entry.latitude() < -90 || entry.latitude() > 90) {
+				return;
+			}
+			long cell = key(row(entry.latitude()), col(entry.longitude()));
+			cells.computeIfAbsent(cell, c -> new ArrayList<>()).add(entry);
+			cellOfPark.put(entry.parkId(), cell);
+			maxAbsLatitude = Math.max(maxAbsLatitude, Math.abs(entry.latitude()));
+		}
+
+		void remove(Long parkId) {
+			Long cell = cellOfPark.remove(parkId);
+			if (cell == null) {
+				return;
+			}
+			List<Entry> entries = cells.get(cell);
+			entries.removeIf(entry -> entry.parkId().equals(parkId));
+			if (entries.isEmpty()) {
+				cells.remove(cell);
+			}
+		}
+
+		/**
+		 * Cells whose row or column is exactly {@code ring} steps from the centre;
+		 * longitude wraps around, rows beyond the poles are skipped.
+		 */
+		List<Long> ring(int row, int col, int ring) {
+			List<Long> keys = new ArrayList<>();
+			for (int r = row - ring; r <= row + ring; r++) {
+				if (r < 0 || r >= rows) {
+					continue;
+				}
+				boolean edge = r == row - ring || r == row + ring;
+				int step = edge ? 1 : Math.max(1, 2 * ring);
+				for (int c = col - ring; c <= col + ring; c += step) {
+					keys.add(key(r, c));
+				}
+			}
+			return keys;
+		}
+
+		/**
+		 * Lower bound on the distance from a point to any park outside the
+		 * first {@code ring} rings around it. Cells narrow towards the poles, so
+		 * the column spacing is taken at the highest latitude those rings reach
+		 * that holds any park.
+		 */
+		double minDistanceKm(double latitude, int ring) {
+			if (ring == 0) {
+				return 0;
+			}
+			double reach = Math.min(Math.min(89.9, maxAbsLatitude), Math.abs(latitude) + (ring + 1) * cellDegrees);
+			return (ring - 1) * cellDegrees * KM_PER_DEGREE * Math.cos(Math.toRadians(reach));
+		}
+	}
+}
@@ -0,0 +1,345 @@
+package com.masai.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.masai.model.Activity;
+import com.masai.model.Park;
+import com.masai.model.SearchHit;
+import com.masai.model.SearchResults;
+import com.masai.repository.ActivityRepository;
+import com.masai.repository.ParkRepository;
+
+/**
+ * In-memory full-text index over parks and their activities.
+ * <p>
+ * Every listed park and every listed activity is one document. Text is
+ * lower-cased, split on anything that is not a letter or digit, stripped of
+ * stop words and of plural endings; a term's frequency in a document is
+ * weighted by the field it came from (names count more than descriptions, and
+ * activities also carry their park's name and location so "water slide near
+ * Pune" finds a slide in a Pune park). Queries are ranked with BM25, and each
+ * query term also matches the terms it is a prefix of, at a discount.
+ * <p>
+ * The park and activity services re-index a park after every change; a
+ * periodic full rebuild picks up changes made on other nodes.
+ */
+@Component
+public class ParkSearchIndex {
+
+	private Logger logger = LoggerFactory.getLogger(ParkSearchIndex.class);
+
+	public static final String PARK = "PARK";
+
+	public static final String ACTIVITY = "ACTIVITY";
+
+	private static final double K1 = 1.2;
+
+	private static final double B = 0.75;
+
+	private static final Set<String> STOP_WORDS = Set.of("a", "an", "and", "at", "by", "for", "from", "in", "into",
+			"is", "near", "of", "on", "or", "the", "to", "with");
+
+	@Autowired
+	private ParkRepository parkRepository;
+
+	@Autowired
+	private ActivityRepository activityRepository;
+
+	@Value("${search.prefix-weight:0.7}")
+	private double prefixWeight;
+
+	@Value("${search.max-prefix-expansions:50}")
+	private int maxPrefixExpansions;
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private Index index = new Index();
+
+	// Parks re-indexed while a full rebuild was reading, re-applied after the swap
+	private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+
+	private volatile boolean rebuilding;
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void load() {
+		rebuild();
+	}
+
+	/**
+	 * Builds a new index from the database and swaps it in.
+	 */
+	@Scheduled(fixedDelayString = "${search.rebuild-interval-ms:600000}", initialDelayString = "${search.rebuild-interval-ms:600000}")
+	public synchronized void rebuild() {
+		rebuilding = true;
+		Index fresh = new Index();
+		try {
+			Map<Long, Park> parks = new HashMap<>();
+			for (Park park : parkRepository.findListedParks()) {
+				parks.put(park.getParkId(), park);
+				fresh.add(parkDocument(park));
+			}
+			for (Object[] row : activityRepository.findListedActivities()) {
+				Park park = parks.get((Long) row[0]);
+				if (park != null) {
+					fresh.add(activityDocument((Long) row[1], (String) row[2], (String) row[3], park));
+				}
+			}
+		} catch (RuntimeException e) {
+			rebuilding = false;
+			logger.warn("Could not rebuild the search index", e);
+			return;
+		}
+
+		List<Long> replay;
+		lock.writeLock().lock();
+		try {
+			index = fresh;
+			rebuilding = false;
+			replay = new ArrayList<>(dirty);
+			dirty.clear();
+		} finally {
+			lock.writeLock().unlock();
+		}
+		replay.forEach(this::reindexPark);
+		logger.info("Indexed {} parks and activities for search", fresh.docs.size());
+	}
+
+	/**
+	 * Replaces the documents of one park and its activities with their stored
+	 * state; a deleted or missing park is removed from the index.
+	 *
+	 * @param parkId ID of the park that changed.
+	 */
+	public void reindexPark(Long parkId) {
+		if (parkId == null) {
+			return;
+		}
+		if (rebuilding) {
+			dirty.add(parkId);
+		}
+		List<Document> documents = new ArrayList<>();
+		try {
+			parkRepository.findById(parkId).filter(park -> !park.isDeleted()).ifPresent(park -> {
+				documents.add(parkDocument(park));
+				for (Activity activity : activityRepository.findLiveByPark(park)) {
+					documents.add(activityDocument(activity.getId(), activity.getName(), activity.getDescription(),
+							park));
+				}
+			});
+		} catch (RuntimeException e) {
+			// The change itself is stored; the next full rebuild catches up
+			logger.warn("Could not re-index park {}", parkId, e);
+			return;
+		}
+		lock.writeLock().lock();
+		try {
+			index.removePark(parkId);
+			documents.forEach(index::add);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Ranks parks and activities against a free-text query.
+	 *
+	 * @param query Search text.
+	 * @param page  Zero-based page number.
+	 * @param size  Results per page, at most 100.
+	 * @return The requested page of results, best match first.
+	 */
+	public SearchResults search(String query, int page, int size) {
+		int pageNo = Math.max(0, page);
+		int pageSize = Math.max(1, Math.min(size, 100));
+		Set<String> terms = new LinkedHashSet<>(tokenize(query));
+
+		Map<DocKey, Double> scores = new HashMap<>();
+		lock.readLock().lock();
+		try {
+			if (!terms.isEmpty() && !index.docs.isEmpty()) {
+				double avgLength = (double) index.totalLength / index.docs.size();
+				for (String term : terms) {
+					// A document scores once per query term, by its best exact or prefix match
+					Map<DocKey, Double> best = new HashMap<>();
+					score(term, 1.0, avgLength, best);
+					int expansions = 0;
+					for (String longer : index.postings.subMap(term, false, term + Character.MAX_VALUE, false)
+							.keySet()) {
+						if (expansions++ >= maxPrefixExpansions) {
+							break;
+						}
+						score(longer, prefixWeight, avgLength, best);
+					}
+					best.forEach((key, score) -> scores.merge(key, score, Double::sum));
+				}
+			}
+
+			// Keep only the documents up to the end of the requested page
+			long wanted = (long) (pageNo + 1) * pageSize;
+			Comparator<Map.Entry<DocKey, Double>> rank = Map.Entry.<DocKey, Double>comparingByValue()
+					.thenComparing(entry -> entry.getKey().id(), Comparator.reverseOrder());
+			PriorityQueue<Map.Entry<DocKey, Double>> top = new PriorityQueue<>(rank);
+			for (Map.Entry<DocKey, Double> entry : scores.entrySet()) {
+				top.offer(entry);
+				if (top.size() > wanted) {
+					top.poll();
+				}
+			}
+			List<Map.Entry<DocKey, Double>> ranked = new ArrayList<>(top);
+			ranked.sort(rank.reversed());
+
+			List<SearchHit> hits = new ArrayList<>(pageSize);
+			for (int i = pageNo * pageSize; i < ranked.size(); i++) {
+				Document doc = index.docs.get(ranked.get(i).getKey());
+				hits.add(new SearchHit(doc.key().type(), doc.key().id(), doc.name(), doc.parkId(), doc.parkName(),
+						doc.location(), ranked.get(i).getValue()));
+			}
+			return new SearchResults(query, pageNo, pageSize, scores.size(), hits);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private void score(String term, double weight, double avgLength, Map<DocKey, Double> best) {
+		Map<DocKey, Float> postings = index.postings.get(term);
+		if (postings == null) {
+			return;
+		}
+		int n = index.docs.size();
+		double idf = Math.log(1 + (n - postings.size() + 0.5) / (postings.size() + 0.5));
+		postings.forEach((key, tf) -> {
+			double norm = 1 - B + B * index.docs.get(key).length() / avgLength;
+			double score = weight * idf * tf * (K1 + 1) / (tf + K1 * norm);
+			best.merge(key, score, Math::max);
+		});
+	}
+
+	private static Document parkDocument(Park park) {
+		Map<String, Float> terms = new HashMap<>();
+		int length = addField(terms, park.getName(), 3f) + addField(terms, park.getLocation(), 2f)
+				+ addField(terms, park.getDescription(), 1f);
+		return new Document(new DocKey(PARK, park.getParkId()), park.getParkId(), park.getName(), park.getName(),
+				park.getLocation(), length, terms);
+	}
+
+	private static Document activityDocument(Long id, String name, String description, Park park) {
+		Map<String, Float> terms = new HashMap<>();
+		int length = addField(terms, name, 3f) + addField(terms, description, 1f)
+				+ addField(terms, park.getName(), 1f) + addField(terms, park.getLocation(), 1.5f);
+		return new Document(new DocKey(ACTIVITY, id), park.getParkId(), name, park.getName(), park.getLocation(),
+				length, terms);
+	}
+
+	private static int addField(Map<String, Float> terms, String text, float weight) {
+		List<String> tokens = tokenize(text);
+		tokens.forEach(token -> terms.merge(token, weight, Float::sum));
+		return tokens.size();
+	}
+
+	static List<String> tokenize(String text) {
+		List<String> tokens = new ArrayList<>();
+		if (text == null) {
+			return tokens;
+		}
+		for (String raw : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+			if (!raw.isEmpty() && !STOP_WORDS.contains(raw)) {
+				tokens.add(stem(raw));
+			}
+		}
+		return tokens;
+	}
+
+	/**
+	 * Folds the common English plural endings so "slides" finds "slide".
+	 */
+	private static String stem(String token) {
+		if (token.length() > 4 && token.endsWith("ies")) {
+			return token.substring(0, token.length() - 3) + "y";
+		}
+		if (token.length() > 3 && token.endsWith("s") && !token.endsWith("ss") && !token.endsWith("us")) {
+			return token.substring(0, token.length() - 1);
+		}
+		return token;
+	}
+
+	private record DocKey(String type, Long id) {
+	}
+
+	private record Document(DocKey key, Long parkId, String name, String parkName, String location, int length,
+			Map<String, Float> terms) {
+	}
+
+	/**
+	 * Postings keyed by term in sorted order, so prefix matches are a range scan.
+	 * Guarded by the enclosing lock.
+	 */
+	private static class Index {
+
+		private final Map<DocKey, Document> docs = new HashMap<>();
+
+		private final NavigableMap<String, Map<DocKey, Float>> postings = new TreeMap<>();
+
+		private final Map<Long, Set<DocKey>> docsByPark = new HashMap<>();
+
+		private long totalLength;
+
+		void add(Document doc) {
+			remove(doc.key());
+			docs.put(doc.key(), doc);
+			doc.terms().forEach((term, tf) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(doc.key(), tf));
+			docsByPark.computeIfAbsent(doc.parkId(), id -> new HashSet<>()).add(doc.key());
+			totalLength += doc.length();
+		}
+
+		void remove(DocKey key) {
+			Document doc = docs.remove(key);
+			if (doc == null) {
+				return;
+			}
+			for (String term : doc.terms().keySet()) {
+				Map<DocKey, Float> docsWithTerm = postings.get(term);
+				if (docsWithTerm != null) {
+					docsWithTerm.remove(key);
+					if (docsWithTerm.isEmpty()) {
+						postings.remove(term);
+					}
+				}
+			}
+			Set<DocKey> parkDocs = docsByPark.get(doc.parkId());
+			if (parkDocs != null) {
+				parkDocs.remove(key);
+			}
+			totalLength -= doc.length();
+		}
+
+		void removePark(Long parkId) {
+			Set<DocKey> keys = docsByPark.remove(parkId);
+			if (keys != null) {
+				new ArrayList<>(keys).forEach(this::remove);
+			}
+		}
+	}
+}
@@ -3,6 +3,7 @@ package com.masai.service;
 import com.masai.exception.ParkNotFoundException;
 import com.masai.exception.SomethingWentWrongException;
 import com.masai.model.Park;
+import com.masai.model.ParkSummary;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -21,7 +22,7 @@ public interface ParkService {
      * @throws ParkNotFoundException       If the specified park is not found.
      * @throws SomethingWentWrongException If an unexpected issue occurs while retrieving the park.
      */
-    Park getPark(Integer parkId) throws ParkNotFoundException, SomethingWentWrongException;
+    Park getPark(Long parkId) throws ParkNotFoundException, SomethingWentWrongException;
 
     /**
      * Retrieves a list of all parks.
@@ -31,6 +32,16 @@ public interface ParkService {
      */
     List<Park> getAllParks() throws SomethingWentWrongException;
 
+    /**
+     * Retrieves the park listing: every park that is not deleted, with its
+     * activities and a summary of its reviews, loaded with a fixed number of
+     * queries.
+     *
+     * @return Listed parks ordered by name.
+     * @throws SomethingWentWrongException If an unexpected issue occurs while retrieving parks.
+     */
+    List<ParkSummary> getParkSummaries() throws SomethingWentWrongException;
+
     /**
      * Creates a new park.
      *
@@ -58,7 +69,7 @@ public interface ParkService {
      * @throws ParkNotFoundException       If the specified park is not found.
      * @throws SomethingWentWrongException If an unexpected issue occurs during the deletion.
      */
-    String deletePark(Integer parkId) throws ParkNotFoundException, SomethingWentWrongException;
+    String deletePark(Long parkId) throws ParkNotFoundException, SomethingWentWrongException;
 
     /**
      * Retrieves a paginated list of all parks.
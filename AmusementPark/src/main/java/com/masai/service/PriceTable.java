@@ -0,0 +1,138 @@
+package com.masai.service;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.masai.exception.ParkNotFoundException;
+import com.masai.model.Park;
+import com.masai.model.PriceQuote;
+import com.masai.repository.ParkRepository;
+import com.masai.repository.TicketRepository;
+
+/**
+ * Precomputed entry fees of every park for the next
+ * {@code pricing.horizon-days} days.
+ * <p>
+ * A refresh reads the tickets sold per park and day with one grouped query,
+ * prices every (park, day) with the {@link PricingEngine} and swaps in the new
+ * table, so quoting and buying cost a single array lookup. Days outside the
+ * table, or parks added since the last refresh, are priced on the spot
+ * without demand.
+ */
+@Component
+public class PriceTable {
+
+	private Logger logger = LoggerFactory.getLogger(PriceTable.class);
+
+	@Autowired
+	private ParkRepository parkRepository;
+
+	@Autowired
+	private TicketRepository ticketRepository;
+
+	@Autowired
+	private PricingEngine pricingEngine;
+
+	@Value("${pricing.horizon-days:90}")
+	private int horizonDays;
+
+	private volatile Snapshot snapshot = new Snapshot(LocalDate.now(), Map.of());
+
+	/**
+	 * Recomputes the table from the current sales.
+	 */
+	@Scheduled(fixedDelayString = "${pricing.refresh-interval-ms:60000}")
+	public void refresh() {
+		LocalDate today = LocalDate.now();
+		ZoneId zone = ZoneId.systemDefault();
+		Date from = Date.from(today.atStartOfDay(zone).toInstant());
+		Date to = Date.from(today.plusDays(horizonDays).atStartOfDay(zone).toInstant());
+
+		Map<Long, long[]> sold = new HashMap<>();
+		for (Object[] row : ticketRepository.countActiveTicketsByParkAndDayBetween(from, to)) {
+			int offset = (int) ChronoUnit.DAYS.between(today, (LocalDate) row[1]);
+			if (offset >= 0 && offset < horizonDays) {
+				sold.computeIfAbsent((Long) row[0], id -> new long[horizonDays])[offset] = ((Number) row[2]).longValue();
+			}
+		}
+
+		Map<Long, double[]> prices = new HashMap<>();
+		for (Park park : parkRepository.findAll()) {
+			if (park.isDeleted()) {
+				continue;
+			}
+			long[] parkSold = sold.getOrDefault(park.getParkId(), new long[horizonDays]);
+			double[] parkPrices = new double[horizonDays];
+			for (int i = 0; i < horizonDays; i++) {
+				parkPrices[i] = pricingEngine.price(park, today.plusDays(i), parkSold[i], today);
+			}
+			prices.put(park.getParkId(), parkPrices);
+		}
+		snapshot = new Snapshot(today, prices);
+		logger.debug("Priced {} parks for {} days", prices.size(), horizonDays);
+	}
+
+	/**
+	 * @param park      The park visited.
+	 * @param visitDate Date of the visit.
+	 * @return Entry fee to charge.
+	 */
+	public double priceFor(Park park, Date visitDate) {
+		Date visit = visitDate != null ? visitDate : new Date();
+		return priceFor(park, visit.toInstant().atZone(ZoneId.systemDefault()).toLocalDate());
+	}
+
+	/**
+	 * @param parkId ID of the park.
+	 * @param from   First day, inclusive.
+	 * @param to     Last day, inclusive.
+	 * @return The entry fee of every day in the range.
+	 * @throws ParkNotFoundException If the park is not found.
+	 */
+	public List<PriceQuote> quotes(Long parkId, LocalDate from, LocalDate to) throws ParkNotFoundException {
+		Park park = snapshot.prices.containsKey(parkId) ? null : findPark(parkId);
+		List<PriceQuote> quotes = new ArrayList<>();
+		for (LocalDate day = from; !day.isAfter(to) && quotes.size() < horizonDays; day = day.plusDays(1)) {
+			double price = lookup(parkId, day);
+			if (Double.isNaN(price)) {
+				park = park != null ? park : findPark(parkId);
+				price = pricingEngine.price(park, day, 0, LocalDate.now());
+			}
+			quotes.add(new PriceQuote(day, price));
+		}
+		return quotes;
+	}
+
+	private Park findPark(Long parkId) throws ParkNotFoundException {
+		return parkRepository.findById(parkId)
+				.orElseThrow(() -> new ParkNotFoundException("Park with ID " + parkId + " not found"));
+	}
+
+	private double priceFor(Park park, LocalDate day) {
+		double price = lookup(park.getParkId(), day);
+		return Double.isNaN(price) ? pricingEngine.price(park, day, 0, LocalDate.now()) : price;
+	}
+
+	private double lookup(Long parkId, LocalDate day) {
+		Snapshot current = snapshot;
+		double[] prices = current.prices.get(parkId);
+		long offset = ChronoUnit.DAYS.between(current.baseDay, day);
+		return prices != null && offset >= 0 && offset < prices.length ? prices[(int) offset] : Double.NaN;
+	}
+
+	private record Snapshot(LocalDate baseDay, Map<Long, double[]> prices) {
+	}
+}
@@ -0,0 +1,87 @@
+package com.masai.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.masai.model.Park;
+
+/**
+ * Pricing rules for entry fees.
+ * <p>
+ * The park's base fee is multiplied by a weekend factor, a demand factor that
+ * grows with the share of the day's capacity already sold, and a lead-time
+ * factor that rewards early booking and charges a premium at the last minute.
+ * The result is kept within a band around the base fee and rounded to the
+ * configured step.
+ */
+@Component
+public class PricingEngine {
+
+	@Value("${pricing.default-base-fee:100.0}")
+	private double defaultBaseFee;
+
+	@Value("${pricing.weekend-multiplier:1.2}")
+	private double weekendMultiplier;
+
+	@Value("${pricing.demand-weight:0.5}")
+	private double demandWeight;
+
+	@Value("${pricing.last-minute-days:1}")
+	private int lastMinuteDays;
+
+	@Value("${pricing.last-minute-premium:0.1}")
+	private double lastMinutePremium;
+
+	@Value("${pricing.early-bird-days:30}")
+	private int earlyBirdDays;
+
+	@Value("${pricing.early-bird-discount:0.1}")
+	private double earlyBirdDiscount;
+
+	@Value("${pricing.min-multiplier:0.8}")
+	private double minMultiplier;
+
+	@Value("${pricing.max-multiplier:2.0}")
+	private double maxMultiplier;
+
+	@Value("${pricing.rounding-step:0.5}")
+	private double roundingStep;
+
+	/**
+	 * @param park  The park visited.
+	 * @param day   Day of the visit.
+	 * @param sold  Tickets already sold for that day.
+	 * @param today Day the price is quoted on.
+	 * @return Entry fee for the visit.
+	 */
+	public double price(Park park, LocalDate day, long sold, LocalDate today) {
+		double base = park.getBaseFee() != null ? park.getBaseFee() : defaultBaseFee;
+		double multiplier = 1.0;
+
+		DayOfWeek dayOfWeek = day.getDayOfWeek();
+		if (dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY) {
+			multiplier *= weekendMultiplier;
+		}
+
+		Integer capacity = park.getDailyCapacity();
+		if (capacity != null && capacity > 0) {
+			double load = Math.min(1.0, (double) sold / capacity);
+			multiplier *= 1 + demandWeight * load * load;
+		}
+
+		long leadDays = ChronoUnit.DAYS.between(today, day);
+		if (leadDays <= lastMinuteDays) {
+			multiplier *= 1 + lastMinutePremium;
+		} else if (leadDays >= earlyBirdDays) {
+			multiplier *= 1 - earlyBirdDiscount;
+		}
+
+		multiplier = Math.max(minMultiplier, Math.min(maxMultiplier, multiplier));
+		double price = base * multiplier;
+		return roundingStep > 0 ? Math.round(price / roundingStep) * roundingStep : price;
+	}
+}
@@ -2,6 +2,7 @@ package com.masai.service;
 
 import com.masai.exception.ReviewNotFoundException;
 import com.masai.exception.SomethingWentWrongException;
+import com.masai.model.RatingSummary;
 import com.masai.model.Review;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -21,7 +22,7 @@ public interface ReviewService {
      * @return Set of reviews associated with the specified park.
      * @throws ReviewNotFoundException If no reviews are found for the specified park.
      */
-    Set<Review> getReview(Integer parkId) throws ReviewNotFoundException;
+    Set<Review> getReview(Long parkId) throws ReviewNotFoundException;
 
     /**
      * Creates a new review for a park by a user.
@@ -32,7 +33,7 @@ public interface ReviewService {
      * @return The created Review object.
      * @throws SomethingWentWrongException If an unexpected issue occurs during review creation.
      */
-    Review createReview(Integer parkId, Integer userId, Review review) throws SomethingWentWrongException;
+    Review createReview(Long parkId, Long userId, Review review) throws SomethingWentWrongException;
 
     /**
      * Updates an existing review of a park by a user.
@@ -44,7 +45,7 @@ public interface ReviewService {
      * @throws ReviewNotFoundException     If the specified review is not found.
      * @throws SomethingWentWrongException If an unexpected issue occurs during the update process.
      */
-    String updateReview(Integer parkId, Integer userId, Review review)
+    String updateReview(Long parkId, Long userId, Review review)
             throws ReviewNotFoundException, SomethingWentWrongException;
 
     /**
@@ -56,7 +57,7 @@ public interface ReviewService {
      * @return Message indicating the status of the deletion operation.
      * @throws ReviewNotFoundException If the specified review is not found.
      */
-    String deleteReview(Integer parkId, Integer userId, Integer reviewId) throws ReviewNotFoundException;
+    String deleteReview(Long parkId, Long userId, Long reviewId) throws ReviewNotFoundException;
 
     /**
      * Retrieves paginated reviews for a specific park.
@@ -66,7 +67,7 @@ public interface ReviewService {
      * @return Page object containing a set of reviews associated with the specified park.
      * @throws ReviewNotFoundException If no reviews are found for the specified park.
      */
-    Page<Review> getReview(Integer parkId, Pageable pageable) throws ReviewNotFoundException;
+    Page<Review> getReview(Long parkId, Pageable pageable) throws ReviewNotFoundException;
 
     /**
      * Retrieves paginated and sorted reviews for a specific park in ascending order.
@@ -76,7 +77,7 @@ public interface ReviewService {
      * @return Page object containing a set of reviews associated with the specified park sorted in ascending order.
      * @throws ReviewNotFoundException If no reviews are found for the specified park.
      */
-    Page<Review> getReviewSortedAsc(Integer parkId, Pageable pageable) throws ReviewNotFoundException;
+    Page<Review> getReviewSortedAsc(Long parkId, Pageable pageable) throws ReviewNotFoundException;
 
     /**
      * Retrieves paginated and sorted reviews for a specific park in descending order.
@@ -86,7 +87,7 @@ public interface ReviewService {
      * @return Page object containing a set of reviews associated with the specified park sorted in descending order.
      * @throws ReviewNotFoundException If no reviews are found for the specified park.
      */
-    Page<Review> getReviewSortedDesc(Integer parkId, Pageable pageable) throws ReviewNotFoundException;
+    Page<Review> getReviewSortedDesc(Long parkId, Pageable pageable) throws ReviewNotFoundException;
 
     /**
      * Adds a list of reviews in bulk.
@@ -96,4 +97,21 @@ public interface ReviewService {
      * @throws SomethingWentWrongException If an unexpected issue occurs during bulk review addition.
      */
     List<Review> addReviewsInBulk(List<Review> reviews) throws SomethingWentWrongException;
+
+    /**
+     * Summarizes the ratings of a park's reviews.
+     *
+     * @param parkId ID of the park.
+     * @return Review count, average rating and the number of reviews per star.
+     */
+    RatingSummary getRatingSummary(Long parkId);
+
+    /**
+     * Retrieves the most recent reviews of a park.
+     *
+     * @param parkId ID of the park.
+     * @param limit  Maximum number of reviews.
+     * @return Reviews, newest first.
+     */
+    List<Review> getLatestReviews(Long parkId, int limit);
 }
@@ -0,0 +1,130 @@
+package com.masai.service;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.masai.config.IdGenerator;
+import com.masai.model.Ticket;
+import com.masai.repository.DailySalesRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Collects sales and cancellations in memory and periodically adds them to the
+ * Daily_Sales rollups.
+ * <p>
+ * Each (park, day) pair holds one pending delta. Recording merges into it and
+ * a flush atomically removes it before writing, so a sale recorded during a
+ * flush lands in a fresh delta for the next one. Writes are additive upserts,
+ * so several nodes can flush into the same rows. Deltas that could not be
+ * written are merged back; anything lost on a crash is repaired by the rollup
+ * rebuild.
+ */
+@Component
+public class SalesAccumulator {
+
+	private Logger logger = LoggerFactory.getLogger(SalesAccumulator.class);
+
+	@Autowired
+	private DailySalesRepository dailySalesRepository;
+
+	@Autowired
+	private IdGenerator idGenerator;
+
+	private final Map<DayKey, Delta> pending = new ConcurrentHashMap<>();
+
+	/**
+	 * Records a stored ticket.
+	 *
+	 * @param ticket The ticket that was sold.
+	 */
+	public void recordSale(Ticket ticket) {
+		if (ticket.getPark() != null) {
+			recordSale(ticket.getPark().getParkId(), ticket.getPurchaseDate(), ticket.getEntryfee());
+		}
+	}
+
+	/**
+	 * Records a stored ticket by its park, for callers that only hold a
+	 * reference to the park.
+	 *
+	 * @param parkId       ID of the park.
+	 * @param purchaseDate Purchase date of the ticket.
+	 * @param entryFee     Entry fee of the ticket.
+	 */
+	public void recordSale(Long parkId, Date purchaseDate, double entryFee) {
+		add(parkId, purchaseDate, new Delta(1, entryFee, 0, 0));
+	}
+
+	/**
+	 * Records the cancellation of a ticket against its purchase day.
+	 *
+	 * @param ticket The ticket that was cancelled.
+	 */
+	public void recordCancellation(Ticket ticket) {
+		if (ticket.getPark() != null) {
+			recordCancellation(ticket.getPark().getParkId(), ticket.getPurchaseDate(), ticket.getEntryfee());
+		}
+	}
+
+	/**
+	 * Records the cancellation of a ticket by its park.
+	 *
+	 * @param parkId       ID of the park.
+	 * @param purchaseDate Purchase date of the ticket.
+	 * @param entryFee     Entry fee of the ticket.
+	 */
+	public void recordCancellation(Long parkId, Date purchaseDate, double entryFee) {
+		add(parkId, purchaseDate, new Delta(0, 0, 1, entryFee));
+	}
+
+	/**
+	 * Writes all pending deltas to the rollup table.
+	 */
+	@Scheduled(fixedDelayString = "${sales.rollup.flush-interval-ms:10000}")
+	@PreDestroy
+	public void flush() {
+		for (DayKey key : pending.keySet()) {
+			Delta delta = pending.remove(key);
+			if (delta == null) {
+				continue;
+			}
+			try {
+				dailySalesRepository.addToDay(idGenerator.nextId(), key.parkId(), key.day(), delta.tickets(),
+						delta.gross(), delta.cancellations(), delta.cancelled());
+			} catch (RuntimeException e) {
+				logger.warn("Could not flush sales of park {} on {}, will retry", key.parkId(), key.day(), e);
+				pending.merge(key, delta, Delta::plus);
+			}
+		}
+	}
+
+	private void add(Long parkId, Date purchaseDate, Delta delta) {
+		pending.merge(new DayKey(parkId, toDay(purchaseDate)), delta, Delta::plus);
+	}
+
+	private static LocalDate toDay(Date date) {
+		Date purchase = date != null ? date : new Date();
+		return purchase.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+	}
+
+	private record DayKey(Long parkId, LocalDate day) {
+	}
+
+	private record Delta(long tickets, double gross, long cancellations, double cancelled) {
+
+		Delta plus(Delta other) {
+			return new Delta(tickets + other.tickets, gross + other.gross, cancellations + other.cancellations,
+					cancelled + other.cancelled);
+		}
+	}
+}
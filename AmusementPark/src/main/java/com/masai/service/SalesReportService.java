@@ -0,0 +1,32 @@
+package com.masai.service;
+
+import com.masai.exception.ParkNotFoundException;
+import com.masai.model.SalesReport;
+
+import java.time.LocalDate;
+
+/**
+ * Service interface for sales reporting.
+ */
+public interface SalesReportService {
+
+    /**
+     * Sums a park's sales over a range of days from the daily rollups.
+     *
+     * @param parkId ID of the park.
+     * @param from   First day, inclusive.
+     * @param to     Last day, inclusive.
+     * @return Totals for the range and the per-day rollups.
+     * @throws ParkNotFoundException If the specified park is not found.
+     */
+    SalesReport getSalesReport(Long parkId, LocalDate from, LocalDate to) throws ParkNotFoundException;
+
+    /**
+     * Recomputes the daily rollups of all parks from the Tickets table.
+     *
+     * @param from First day, inclusive.
+     * @param to   Last day, inclusive.
+     * @return Number of rollup rows written.
+     */
+    int rebuildRollups(LocalDate from, LocalDate to);
+}
@@ -0,0 +1,328 @@
+package com.masai.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.masai.exception.ActivityNotFoundException;
+import com.masai.exception.SoldOutException;
+import com.masai.model.ActivitySession;
+import com.masai.model.SessionAvailability;
+import com.masai.repository.ActivityBookingRepository;
+import com.masai.repository.ActivitySessionRepository;
+
+/**
+ * In-memory seat inventory of activity sessions.
+ * <p>
+ * Like the daily ticket inventory, every session in use owns a small array of
+ * seat counters (stripes) that split its capacity; a booking takes its seats
+ * from the stripe picked by its thread and only falls back to the others when
+ * that share runs out, so guests booking a popular ride do not all retry on
+ * one counter. No database row is locked for a seat: the booking row is the
+ * only write, and the sum of a session's active bookings is the durable
+ * record the counters are seeded from and periodically reconciled with.
+ * <p>
+ * The session itself is kept next to its counters, so sold-out, cancelled and
+ * wrong-park requests are turned away without touching the database.
+ */
+@Component
+public class SessionInventory {
+
+	private Logger logger = LoggerFactory.getLogger(SessionInventory.class);
+
+	@Autowired
+	private ActivitySessionRepository sessionRepository;
+
+	@Autowired
+	private ActivityBookingRepository bookingRepository;
+
+	@Value("${bookings.stripes:8}")
+	private int stripes;
+
+	private final Map<Long, SessionSeats> sessions = new ConcurrentHashMap<>();
+
+	/**
+	 * @param sessionId ID of the session.
+	 * @return The session as last loaded.
+	 * @throws ActivityNotFoundException If the session does not exist or is
+	 *                                   cancelled.
+	 */
+	public ActivitySession session(Long sessionId) throws ActivityNotFoundException {
+		return seatsOf(sessionId).session;
+	}
+
+	/**
+	 * Takes seats on a session.
+	 *
+	 * @param sessionId ID of the session.
+	 * @param seats     Number of seats.
+	 * @return Reservation to be committed once the booking is stored, or rolled
+	 *         back if storing it fails.
+	 * @throws ActivityNotFoundException If the session does not exist or is
+	 *                                   cancelled.
+	 * @throws SoldOutException          If fewer seats are left.
+	 */
+	public Reservation reserve(Long sessionId, int seats) throws ActivityNotFoundException, SoldOutException {
+		SessionSeats sessionSeats = seatsOf(sessionId);
+		if (!sessionSeats.tryAcquire(seats)) {
+			throw new SoldOutException(seats == 1 ? "Activity session " + sessionId + " is sold out"
+					: "Activity session " + sessionId + " has fewer than " + seats + " seats left");
+		}
+		return new Reservation(sessionSeats, seats);
+	}
+
+	/**
+	 * Returns the seats of a cancelled booking right away.
+	 *
+	 * @param sessionId ID of the session.
+	 * @param seats     Number of seats booked.
+	 */
+	public void release(Long sessionId, int seats) {
+		SessionSeats sessionSeats = sessions.get(sessionId);
+		if (sessionSeats != null) {
+			sessionSeats.release(seats);
+		}
+	}
+
+	/**
+	 * Makes a new session bookable without loading it again.
+	 *
+	 * @param session The stored session.
+	 */
+	public void register(ActivitySession session) {
+		sessions.put(session.getId(), new SessionSeats(session, stripes));
+	}
+
+	/**
+	 * Stops all further bookings of a cancelled session.
+	 *
+	 * @param sessionId ID of the session.
+	 */
+	public void cancel(Long sessionId) {
+		sessions.remove(sessionId);
+	}
+
+	/**
+	 * Free seats of stored sessions; counters of sessions not yet in memory are
+	 * seeded with one grouped query.
+	 *
+	 * @param stored Sessions as loaded from the database.
+	 * @return Their availability, in the same order.
+	 */
+	public List<SessionAvailability> availability(List<ActivitySession> stored) {
+		List<Long> missing = new ArrayList<>();
+		for (ActivitySession session : stored) {
+			if (!sessions.containsKey(session.getId())) {
+				missing.add(session.getId());
+			}
+		}
+		if (!missing.isEmpty()) {
+			Map<Long, Integer> booked = new HashMap<>();
+			for (Object[] row : bookingRepository.sumActiveSeatsBySession(missing)) {
+				booked.put((Long) row[0], ((Number) row[1]).intValue());
+			}
+			for (ActivitySession session : stored) {
+				sessions.computeIfAbsent(session.getId(), id -> {
+					SessionSeats seats = new SessionSeats(session, stripes);
+					seats.adjust(booked.getOrDefault(id, 0));
+					return seats;
+				});
+			}
+		}
+
+		List<SessionAvailability> result = new ArrayList<>(stored.size());
+		for (ActivitySession session : stored) {
+			SessionSeats seats = sessions.get(session.getId());
+			int capacity = session.getCapacity();
+			int remaining = seats != null ? Math.max(0, capacity - seats.total()) : capacity;
+			result.add(new SessionAvailability(session.getId(), session.getActivityId(), session.getStartTime(),
+					capacity, remaining, remaining == 0));
+		}
+		return result;
+	}
+
+	/**
+	 * Re-aligns the counters with the stored bookings and drops sessions that
+	 * are over. As with {@link TicketInventory#reconcile}, seats held by
+	 * bookings in flight while the sum runs are not counted as drift.
+	 */
+	@Scheduled(fixedDelayString = "${bookings.reconcile-interval-ms:60000}")
+	public void reconcile() {
+		LocalDateTime cutoff = LocalDateTime.now().minusDays(1);
+		sessions.values().removeIf(seats -> seats.session.getStartTime().isBefore(cutoff));
+		sessions.forEach((sessionId, seats) -> {
+			int committed = seats.committed();
+			int stored = (int) bookingRepository.sumActiveSeats(sessionId);
+			int drift = TicketInventory.drift(stored, committed, seats.total());
+			if (drift != 0) {
+				logger.info("Reconciling seats of activity session {} by {}", sessionId, drift);
+				seats.adjust(drift);
+			}
+		});
+	}
+
+	private SessionSeats seatsOf(Long sessionId) throws ActivityNotFoundException {
+		SessionSeats seats = sessions.get(sessionId);
+		if (seats == null) {
+			seats = sessions.computeIfAbsent(sessionId, id -> sessionRepository.findById(id)
+					.filter(session -> !session.isCancelled()).map(session -> {
+						SessionSeats loaded = new SessionSeats(session, stripes);
+						loaded.adjust((int) bookingRepository.sumActiveSeats(id));
+						return loaded;
+					}).orElse(null));
+		}
+		if (seats == null) {
+			throw new ActivityNotFoundException("Activity session not found with ID: " + sessionId);
+		}
+		return seats;
+	}
+
+	/**
+	 * Seats taken by {@link #reserve(Long, int)} that are not yet backed by a
+	 * stored booking.
+	 */
+	public static class Reservation {
+
+		private final SessionSeats seats;
+
+		private final int count;
+
+		private final AtomicInteger state = new AtomicInteger();
+
+		private Reservation(SessionSeats seats, int count) {
+			this.seats = seats;
+			this.count = count;
+		}
+
+		public ActivitySession session() {
+			return seats.session;
+		}
+
+		public int seats() {
+			return count;
+		}
+
+		/**
+		 * Marks the seats as backed by a stored booking.
+		 */
+		public void commit() {
+			if (state.compareAndSet(0, 1)) {
+				seats.inFlight.addAndGet(-count);
+			}
+		}
+
+		/**
+		 * Gives the seats back because the booking could not be stored.
+		 */
+		public void rollback() {
+			if (state.compareAndSet(0, 2)) {
+				seats.inFlight.addAndGet(-count);
+				seats.release(count);
+			}
+		}
+	}
+
+	private static class SessionSeats {
+
+		private final ActivitySession session;
+
+		private final AtomicIntegerArray cells;
+
+		private final AtomicInteger inFlight = new AtomicInteger();
+
+		SessionSeats(ActivitySession session, int stripes) {
+			this.session = session;
+			this.cells = new AtomicIntegerArray(Math.max(1, stripes));
+		}
+
+		boolean tryAcquire(int seats) {
+			int n = cells.length();
+			int capacity = session.getCapacity();
+			int home = homeStripe(n);
+			int[] taken = new int[n];
+			int needed = seats;
+			for (int i = 0; i < n && needed > 0; i++) {
+				int stripe = (home + i) % n;
+				int share = capacity / n + (stripe < capacity % n ? 1 : 0);
+				int current;
+				while (needed > 0 && (current = cells.get(stripe)) < share) {
+					int take = Math.min(needed, share - current);
+					if (cells.compareAndSet(stripe, current, current + take)) {
+						taken[stripe] += take;
+						needed -= take;
+					}
+				}
+			}
+			if (needed > 0) {
+				// Not enough in total: hand back what was taken on the way
+				for (int stripe = 0; stripe < n; stripe++) {
+					if (taken[stripe] > 0) {
+						cells.addAndGet(stripe, -taken[stripe]);
+					}
+				}
+				return false;
+			}
+			inFlight.addAndGet(seats);
+			return true;
+		}
+
+		void release(int seats) {
+			int n = cells.length();
+			int home = homeStripe(n);
+			int left = seats;
+			for (int i = 0; i < n && left > 0; i++) {
+				int stripe = (home + i) % n;
+				int current;
+				while (left > 0 && (current = cells.get(stripe)) > 0) {
+					int give = Math.min(left, current);
+					if (cells.compareAndSet(stripe, current, current - give)) {
+						left -= give;
+					}
+				}
+			}
+		}
+
+		/**
+		 * Spreads a correction over the stripes so every stripe keeps roughly its
+		 * share of the total.
+		 */
+		void adjust(int delta) {
+			if (delta < 0) {
+				release(-delta);
+				return;
+			}
+			int n = cells.length();
+			for (int stripe = 0; stripe < n; stripe++) {
+				cells.addAndGet(stripe, delta / n + (stripe < delta % n ? 1 : 0));
+			}
+		}
+
+		int total() {
+			int sum = 0;
+			for (int i = 0; i < cells.length(); i++) {
+				sum += cells.get(i);
+			}
+			return sum;
+		}
+
+		int committed() {
+			return total() - inFlight.get();
+		}
+
+		private static int homeStripe(int n) {
+			return (int) (Thread.currentThread().threadId() % n);
+		}
+	}
+}
@@ -0,0 +1,498 @@
+package com.masai.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.masai.exception.ParkNotFoundException;
+import com.masai.exception.SoldOutException;
+import com.masai.model.Park;
+import com.masai.model.SlotAvailability;
+import com.masai.repository.ParkRepository;
+import com.masai.repository.TicketRepository;
+
+/**
+ * In-memory allocation of timed-entry slots.
+ * <p>
+ * A park's day is cut into slots of {@code slotMinutes} from its opening to its
+ * closing time, each holding {@code slotCapacity} visitors. Every day that has
+ * sales owns a counter per slot and a bitset of the slots that are full, so
+ * finding the first free slot is a scan over a few words per day. Days
+ * without any sales hold nothing at all. The slots of the next
+ * {@code slots.search-days} days are loaded with one grouped query when a
+ * park is first used; the tickets' {@code entrySlot} column is the durable
+ * record they are rebuilt from.
+ * <p>
+ * Places held by purchases that are not yet stored are tracked per park, so
+ * a rebuild after the park's settings change carries them over instead of
+ * losing them. A purchase stored while the rebuild runs may be counted twice
+ * until the next rebuild; it is never counted zero times.
+ */
+@Component
+public class SlotInventory {
+
+	@Autowired
+	private TicketRepository ticketRepository;
+
+	@Autowired
+	private ParkRepository parkRepository;
+
+	@Value("${slots.default-minutes:30}")
+	private int defaultMinutes;
+
+	@Value("${slots.search-days:90}")
+	private int searchDays;
+
+	private final Map<Long, ParkSlots> parks = new ConcurrentHashMap<>();
+
+	/**
+	 * Takes a place in a slot on the day of {@code visitDate}.
+	 *
+	 * @param park      The park visited.
+	 * @param visitDate Date of the visit.
+	 * @param requested Start of the wanted slot, or {@code null} for the first
+	 *                  free slot still ahead on that day.
+	 * @return The reservation, or empty if the park has no timed entry.
+	 * @throws SoldOutException If the slot, or every remaining slot of the day,
+	 *                          is full.
+	 */
+	public Optional<Reservation> reserve(Park park, Date visitDate, LocalTime requested) throws SoldOutException {
+		ParkSlots slots = slotsOf(park);
+		if (!slots.enabled()) {
+			return Optional.empty();
+		}
+		LocalDate day = toDay(visitDate);
+		DaySlots daySlots = slots.day(day, true);
+		if (requested != null) {
+			int index = slots.indexOf(requested);
+			if (index < 0 || !slots.startOf(index).equals(requested)) {
+				throw new SoldOutException("There is no entry slot at " + requested + " in park " + park.getParkId());
+			}
+			if (!daySlots.tryTake(index, slots.capacity)) {
+				throw new SoldOutException("The entry slot at " + requested + " on " + day + " is full");
+			}
+			return Optional.of(track(park, slots, new Reservation(slots, daySlots, day, index)));
+		}
+		LocalDateTime now = LocalDateTime.now();
+		int index = day.equals(now.toLocalDate()) ? slots.firstIndexFrom(now.toLocalTime()) : 0;
+		while ((index = daySlots.firstFree(index, slots.count, slots.capacity)) >= 0) {
+			if (daySlots.tryTake(index, slots.capacity)) {
+				return Optional.of(track(park, slots, new Reservation(slots, daySlots, day, index)));
+			}
+		}
+		throw new SoldOutException("All entry slots of park " + park.getParkId() + " on " + day + " are full");
+	}
+
+	/**
+	 * Frees the place of a cancelled ticket.
+	 *
+	 * @param parkId    ID of the park.
+	 * @param visitDate Date of the visit.
+	 * @param slot      Start of the ticket's slot, may be {@code null}.
+	 */
+	public void release(Long parkId, Date visitDate, LocalTime slot) {
+		ParkSlots slots = parks.get(parkId);
+		if (slot == null || slots == null || !slots.enabled()) {
+			return;
+		}
+		int index = slots.indexOf(slot);
+		DaySlots daySlots = slots.day(toDay(visitDate), false);
+		if (index >= 0 && daySlots != null) {
+			daySlots.release(index, slots.capacity);
+		}
+	}
+
+	/**
+	 * @param parkId ID of the park.
+	 * @param day    Day of the visit.
+	 * @return Every slot of the day with its free places; empty if the park has
+	 *         no timed entry.
+	 * @throws ParkNotFoundException If the park is not found.
+	 */
+	public List<SlotAvailability> getSlots(Long parkId, LocalDate day) throws ParkNotFoundException {
+		ParkSlots slots = slotsOf(parkId);
+		List<SlotAvailability> result = new ArrayList<>(slots.count);
+		DaySlots daySlots = slots.enabled() ? slots.day(day, false) : null;
+		for (int i = 0; i < slots.count; i++) {
+			int taken = daySlots != null ? daySlots.taken.get(i) : 0;
+			result.add(new SlotAvailability(day, slots.startOf(i), slots.capacity, Math.max(0, slots.capacity - taken)));
+		}
+		return result;
+	}
+
+	/**
+	 * Finds the first slot starting at or after {@code after} with a free place,
+	 * looking at most {@code slots.search-days} days ahead.
+	 *
+	 * @param parkId ID of the park.
+	 * @param after  Earliest wanted entry.
+	 * @return The slot, or empty if none is free or the park has no timed entry.
+	 * @throws ParkNotFoundException If the park is not found.
+	 */
+	public Optional<SlotAvailability> firstAvailable(Long parkId, LocalDateTime after) throws ParkNotFoundException {
+		ParkSlots slots = slotsOf(parkId);
+		if (!slots.enabled() || slots.capacity == 0) {
+			return Optional.empty();
+		}
+		for (int i = 0; i < searchDays; i++) {
+			LocalDate day = after.toLocalDate().plusDays(i);
+			int from = i == 0 ? slots.firstIndexFrom(after.toLocalTime()) : 0;
+			DaySlots daySlots = slots.day(day, false);
+			int index = daySlots == null ? (from < slots.count ? from : -1)
+					: daySlots.firstFree(from, slots.count, slots.capacity);
+			if (index >= 0) {
+				int taken = daySlots == null ? 0 : daySlots.taken.get(index);
+				return Optional.of(new SlotAvailability(day, slots.startOf(index), slots.capacity,
+						Math.max(0, slots.capacity - taken)));
+			}
+		}
+		return Optional.empty();
+	}
+
+	/**
+	 * Rebuilds a park's slots from the Tickets table, e.g. after its hours or
+	 * slot settings changed. Places held by purchases in flight move to the
+	 * slot with the same start in the new layout.
+	 *
+	 * @param park The park with its new settings.
+	 */
+	public void invalidate(Park park) {
+		parks.compute(park.getParkId(), (id, old) -> {
+			ParkSlots slots = layout(park);
+			if (old != null) {
+				old.retired = true;
+				// Move before counting, so a purchase stored meanwhile is not missed
+				old.inFlight.forEach(reservation -> reservation.moveTo(old, slots));
+			}
+			fill(slots);
+			return slots;
+		});
+	}
+
+	/**
+	 * Drops the slots of days that are over.
+	 */
+	@Scheduled(cron = "${slots.prune-cron:0 10 0 * * *}")
+	public void prune() {
+		LocalDate today = LocalDate.now();
+		parks.values().forEach(slots -> slots.days.keySet().removeIf(day -> day.isBefore(today)));
+	}
+
+	private ParkSlots slotsOf(Long parkId) throws ParkNotFoundException {
+		ParkSlots slots = parks.get(parkId);
+		if (slots != null) {
+			return slots;
+		}
+		Park park = parkRepository.findById(parkId)
+				.orElseThrow(() -> new ParkNotFoundException("Park with ID " + parkId + " not found"));
+		return slotsOf(park);
+	}
+
+	private ParkSlots slotsOf(Park park) {
+		return parks.computeIfAbsent(park.getParkId(), id -> {
+			ParkSlots slots = layout(park);
+			fill(slots);
+			return slots;
+		});
+	}
+
+	/**
+	 * Registers a reservation with its park; if the park was rebuilt since the
+	 * place was taken, moves the reservation to the new slots itself.
+	 */
+	private Reservation track(Park park, ParkSlots slots, Reservation reservation) {
+		slots.inFlight.add(reservation);
+		if (slots.retired) {
+			reservation.moveTo(slots, slotsOf(park));
+		}
+		return reservation;
+	}
+
+	private ParkSlots layout(Park park) {
+		LocalTime open = OpeningHours.parseTime(park.getOpeningHours()).orElse(null);
+		LocalTime close = OpeningHours.parseTime(park.getClosingHours()).orElse(null);
+		int minutes = park.getSlotMinutes() != null ? park.getSlotMinutes() : defaultMinutes;
+		if (open == null || close == null || park.getSlotCapacity() == null || minutes <= 0) {
+			return new ParkSlots(park.getParkId(), LocalTime.MIDNIGHT, 1, 0, 0, null);
+		}
+		// Closing at or before opening means the park is open until midnight
+		long openMinutes = close.isAfter(open) ? Duration.between(open, close).toMinutes()
+				: Duration.between(open, LocalTime.MAX).toMinutes() + 1;
+		int count = (int) (openMinutes / minutes);
+
+		return new ParkSlots(park.getParkId(), open, minutes, count, park.getSlotCapacity(),
+				LocalDate.now().plusDays(searchDays));
+	}
+
+	private void fill(ParkSlots slots) {
+		if (!slots.enabled()) {
+			return;
+		}
+		LocalDate today = LocalDate.now();
+		for (Object[] row : ticketRepository.countSlotsByParkBetween(slots.parkId, toDate(today),
+				toDate(slots.loadedUntil))) {
+			int index = slots.indexOf((LocalTime) row[1]);
+			if (index >= 0) {
+				slots.days.computeIfAbsent((LocalDate) row[0], d -> new DaySlots(slots.count)).add(index,
+						((Number) row[2]).intValue(), slots.capacity);
+			}
+		}
+	}
+
+	private DaySlots loadDay(ParkSlots slots, LocalDate day) {
+		DaySlots daySlots = new DaySlots(slots.count);
+		for (Object[] row : ticketRepository.countSlotsByParkBetween(slots.parkId, toDate(day),
+				toDate(day.plusDays(1)))) {
+			int index = slots.indexOf((LocalTime) row[1]);
+			if (index >= 0) {
+				daySlots.add(index, ((Number) row[2]).intValue(), slots.capacity);
+			}
+		}
+		return daySlots;
+	}
+
+	private static Date toDate(LocalDate day) {
+		return Date.from(day.atStartOfDay(ZoneId.systemDefault()).toInstant());
+	}
+
+	private static LocalDate toDay(Date date) {
+		Date visit = date != null ? date : new Date();
+		return visit.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+	}
+
+	/**
+	 * A place taken by {@link #reserve} that is not yet backed by a stored
+	 * ticket.
+	 */
+	public static class Reservation {
+
+		private final LocalDate day;
+
+		private final LocalTime start;
+
+		// Where the place is held; moved by a rebuild, null once it has no slot
+		private ParkSlots slots;
+
+		private DaySlots daySlots;
+
+		private int index;
+
+		private boolean done;
+
+		private Reservation(ParkSlots slots, DaySlots daySlots, LocalDate day, int index) {
+			this.slots = slots;
+			this.daySlots = daySlots;
+			this.day = day;
+			this.index = index;
+			this.start = slots.startOf(index);
+		}
+
+		/**
+		 * @return Start of the reserved slot.
+		 */
+		public LocalTime start() {
+			return start;
+		}
+
+		/**
+		 * Ends tracking of the place once its ticket is stored.
+		 */
+		public synchronized void commit() {
+			done = true;
+			if (slots != null) {
+				slots.inFlight.remove(this);
+			}
+		}
+
+		/**
+		 * Gives the place back because the ticket could not be stored.
+		 */
+		public synchronized void rollback() {
+			done = true;
+			if (slots != null) {
+				daySlots.release(index, slots.capacity);
+				slots.inFlight.remove(this);
+			}
+		}
+
+		/**
+		 * Takes the place again in the rebuilt slots of the park. The place is
+		 * held regardless of capacity, as it was already sold; if the new layout
+		 * has no slot with the same start, the place is dropped.
+		 */
+		private synchronized void moveTo(ParkSlots from, ParkSlots to) {
+			if (done || slots != from) {
+				return;
+			}
+			from.inFlight.remove(this);
+			int newIndex = to.enabled() ? to.indexOf(start) : -1;
+			if (newIndex < 0 || !to.startOf(newIndex).equals(start)) {
+				slots = null;
+				daySlots = null;
+				return;
+			}
+			slots = to;
+			index = newIndex;
+			daySlots = to.day(day, true);
+			daySlots.add(index, 1, to.capacity);
+			to.inFlight.add(this);
+		}
+	}
+
+	private class ParkSlots {
+
+		private final Long parkId;
+
+		private final LocalTime open;
+
+		private final int minutes;
+
+		private final int count;
+
+		private final int capacity;
+
+		// Days up to here were bulk-loaded; a missing day before it had no sales
+		private final LocalDate loadedUntil;
+
+		private final Map<LocalDate, DaySlots> days = new ConcurrentHashMap<>();
+
+		// Reservations not yet committed or rolled back
+		private final Set<Reservation> inFlight = ConcurrentHashMap.newKeySet();
+
+		// Set once the park was rebuilt and this instance replaced
+		private volatile boolean retired;
+
+		ParkSlots(Long parkId, LocalTime open, int minutes, int count, int capacity, LocalDate loadedUntil) {
+			this.parkId = parkId;
+			this.open = open;
+			this.minutes = minutes;
+			this.count = count;
+			this.capacity = capacity;
+			this.loadedUntil = loadedUntil;
+		}
+
+		boolean enabled() {
+			return count > 0 && loadedUntil != null;
+		}
+
+		LocalTime startOf(int index) {
+			return open.plusMinutes((long) index * minutes);
+		}
+
+		int indexOf(LocalTime start) {
+			long offset = Duration.between(open, start).toMinutes();
+			int index = offset < 0 ? -1 : (int) (offset / minutes);
+			return index < count ? index : -1;
+		}
+
+		int firstIndexFrom(LocalTime time) {
+			long offset = Duration.between(open, time).toMinutes();
+			return offset <= 0 ? 0 : (int) ((offset + minutes - 1) / minutes);
+		}
+
+		DaySlots day(LocalDate day, boolean create) {
+			if (day.isBefore(loadedUntil)) {
+				return create ? days.computeIfAbsent(day, d -> new DaySlots(count)) : days.get(day);
+			}
+			return days.computeIfAbsent(day, d -> loadDay(this, d));
+		}
+	}
+
+	private static class DaySlots {
+
+		private final AtomicIntegerArray taken;
+
+		private final AtomicLongArray full;
+
+		DaySlots(int count) {
+			this.taken = new AtomicIntegerArray(count);
+			this.full = new AtomicLongArray((count + 63) >>> 6);
+		}
+
+		boolean tryTake(int index, int capacity) {
+			int current;
+			while ((current = taken.get(index)) < capacity) {
+				if (taken.compareAndSet(index, current, current + 1)) {
+					if (current + 1 >= capacity) {
+						syncFull(index, capacity);
+					}
+					return true;
+				}
+			}
+			return false;
+		}
+
+		void release(int index, int capacity) {
+			int current;
+			while ((current = taken.get(index)) > 0) {
+				if (taken.compareAndSet(index, current, current - 1)) {
+					syncFull(index, capacity);
+					return;
+				}
+			}
+		}
+
+		void add(int index, int delta, int capacity) {
+			taken.addAndGet(index, delta);
+			syncFull(index, capacity);
+		}
+
+		/**
+		 * @return The first slot at or after {@code from} that is not full, or -1.
+		 */
+		int firstFree(int from, int count, int capacity) {
+			for (int word = from >>> 6; word < full.length(); word++) {
+				long free = ~full.get(word);
+				if (word == from >>> 6) {
+					free &= -1L << (from & 63);
+				}
+				while (free != 0) {
+					int index = (word << 6) + Long.numberOfTrailingZeros(free);
+					if (index >= count) {
+						return -1;
+					}
+					if (taken.get(index) < capacity) {
+						return index;
+					}
+					free &= free - 1;
+				}
+			}
+			return -1;
+		}
+
+		/**
+		 * Makes the full bit of a slot follow its counter; re-checks after writing
+		 * so that a racing take or release cannot leave a stale bit behind.
+		 */
+		private void syncFull(int index, int capacity) {
+			long mask = 1L << index;
+			while (true) {
+				boolean isFull = taken.get(index) >= capacity;
+				if (isFull) {
+					full.getAndAccumulate(index >>> 6, mask, (word, m) -> word | m);
+				} else {
+					full.getAndAccumulate(index >>> 6, mask, (word, m) -> word & ~m);
+				}
+				if ((taken.get(index) >= capacity) == isFull) {
+					return;
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,27 @@
+package com.masai.service;
+
+import com.masai.model.TicketExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Date;
+
+/**
+ * Service interface for exporting tickets.
+ */
+public interface TicketExportService {
+
+    /**
+     * Writes all tickets of a park purchased in a date range to a stream.
+     *
+     * @param parkId ID of the park.
+     * @param from   Start of the range, inclusive.
+     * @param to     End of the range, exclusive.
+     * @param format Output format.
+     * @param out    Stream to write to; it is flushed but not closed.
+     * @return Number of tickets written.
+     * @throws IOException If writing to the stream fails.
+     */
+    long exportTickets(Long parkId, Date from, Date to, TicketExportFormat format, OutputStream out)
+            throws IOException;
+}
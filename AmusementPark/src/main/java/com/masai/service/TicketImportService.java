@@ -0,0 +1,22 @@
+package com.masai.service;
+
+import com.masai.model.TicketImportReport;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Service interface for bulk ticket imports.
+ */
+public interface TicketImportService {
+
+    /**
+     * Imports tickets from a JSON array or newline-delimited JSON objects.
+     * Invalid rows are reported and skipped; they do not fail the import.
+     *
+     * @param in Request body holding the rows.
+     * @return Outcome of every row.
+     * @throws IOException If the body cannot be read or is not valid JSON.
+     */
+    TicketImportReport importTickets(InputStream in) throws IOException;
+}
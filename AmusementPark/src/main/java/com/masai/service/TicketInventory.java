@@ -0,0 +1,225 @@
+package com.masai.service;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.masai.exception.SoldOutException;
+import com.masai.repository.TicketRepository;
+
+/**
+ * In-memory daily ticket inventory per park.
+ * <p>
+ * Every (park, day) pair owns one counter, taken with a compare-and-set against
+ * the park's daily capacity. Purchases reach it only from the few purchase
+ * pipeline workers, so a single counter sees little contention and never sells
+ * more than the capacity.
+ * <p>
+ * Counters are seeded lazily from the Tickets table and periodically
+ * reconciled with it, so sales made outside of
+ * {@link #reserve(Long, Date, Integer)} (bulk imports, manual fixes) are
+ * picked up without a database lock on the purchase path.
+ * <p>
+ * The counters live in this node only. With several nodes selling the same
+ * park each one enforces the full capacity on its own view, so they can
+ * oversell by up to what the other nodes sold since the last reconcile; run a
+ * single purchasing node, or shorten {@code inventory.reconcile-interval-ms},
+ * where that margin matters.
+ */
+@Component
+public class TicketInventory {
+
+	private Logger logger = LoggerFactory.getLogger(TicketInventory.class);
+
+	@Autowired
+	private TicketRepository ticketRepository;
+
+	private final Map<DayKey, DailyCounter> counters = new ConcurrentHashMap<>();
+
+	/**
+	 * Reserves one slot for the given park on the day of {@code visitDate}.
+	 *
+	 * @param parkId    ID of the park.
+	 * @param visitDate Date of the visit; only the calendar day is used.
+	 * @param capacity  Daily capacity of the park, {@code null} for unlimited.
+	 * @return Reservation to be committed once the ticket is stored, or rolled
+	 *         back if storing it fails.
+	 * @throws SoldOutException If the park has no capacity left for that day.
+	 */
+	public Reservation reserve(Long parkId, Date visitDate, Integer capacity) throws SoldOutException {
+		DayKey key = new DayKey(parkId, toDay(visitDate));
+		DailyCounter counter = counterFor(key);
+		if (capacity == null) {
+			counter.forceAcquire();
+		} else if (!counter.tryAcquire(capacity)) {
+			throw new SoldOutException("Park with ID " + parkId + " is sold out for " + key.day());
+		}
+		return new Reservation(counter);
+	}
+
+	/**
+	 * Returns a slot for a cancelled ticket to the pool right away.
+	 *
+	 * @param parkId    ID of the park.
+	 * @param visitDate Date of the visit of the cancelled ticket.
+	 */
+	public void release(Long parkId, Date visitDate) {
+		DailyCounter counter = counters.get(new DayKey(parkId, toDay(visitDate)));
+		if (counter != null) {
+			counter.release();
+		}
+	}
+
+	/**
+	 * Number of slots currently taken for a park on a given day.
+	 *
+	 * @param parkId ID of the park.
+	 * @param day    Calendar day.
+	 * @return Sold (and in-flight) tickets for that day.
+	 */
+	public int sold(Long parkId, LocalDate day) {
+		return counterFor(new DayKey(parkId, day)).total();
+	}
+
+	/**
+	 * Re-aligns the in-memory counters with the Tickets table and drops counters
+	 * for days that are already over.
+	 * <p>
+	 * Reservations in flight while the count runs may or may not have their
+	 * ticket stored yet, so the count is only a drift if it falls outside the
+	 * range they allow: at least what was committed before the count, at most
+	 * everything taken after it.
+	 */
+	@Scheduled(fixedDelayString = "${inventory.reconcile-interval-ms:60000}")
+	public void reconcile() {
+		LocalDate today = LocalDate.now();
+		counters.keySet().removeIf(key -> key.day().isBefore(today));
+		counters.forEach((key, counter) -> {
+			int committed = counter.committed();
+			int stored = (int) countStored(key);
+			int drift = drift(stored, committed, counter.total());
+			if (drift != 0) {
+				logger.info("Reconciling inventory for park {} on {} by {}", key.parkId(), key.day(), drift);
+				counter.adjust(drift);
+			}
+		});
+	}
+
+	/**
+	 * @param stored    Count read from the database.
+	 * @param committed Committed slots before the count.
+	 * @param taken     Taken slots, in flight or not, after the count.
+	 * @return How far the stored count lies outside {@code [committed, taken]}.
+	 */
+	static int drift(int stored, int committed, int taken) {
+		if (stored < committed) {
+			return stored - committed;
+		}
+		return stored > taken ? stored - taken : 0;
+	}
+
+	private DailyCounter counterFor(DayKey key) {
+		return counters.computeIfAbsent(key, k -> {
+			DailyCounter counter = new DailyCounter();
+			counter.adjust((int) countStored(k));
+			return counter;
+		});
+	}
+
+	private long countStored(DayKey key) {
+		ZoneId zone = ZoneId.systemDefault();
+		Date from = Date.from(key.day().atStartOfDay(zone).toInstant());
+		Date to = Date.from(key.day().plusDays(1).atStartOfDay(zone).toInstant());
+		return ticketRepository.countActiveTicketsByParkBetween(key.parkId(), from, to);
+	}
+
+	private static LocalDate toDay(Date date) {
+		Date visit = date != null ? date : new Date();
+		return visit.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+	}
+
+	private record DayKey(Long parkId, LocalDate day) {
+	}
+
+	/**
+	 * A slot taken by {@link #reserve(Long, Date, Integer)} that is not yet
+	 * backed by a stored ticket.
+	 */
+	public static class Reservation {
+
+		private final DailyCounter counter;
+
+		private final AtomicInteger state = new AtomicInteger();
+
+		private Reservation(DailyCounter counter) {
+			this.counter = counter;
+		}
+
+		/**
+		 * Marks the slot as backed by a stored ticket.
+		 */
+		public void commit() {
+			if (state.compareAndSet(0, 1)) {
+				counter.inFlight.decrementAndGet();
+			}
+		}
+
+		/**
+		 * Gives the slot back because the ticket could not be stored.
+		 */
+		public void rollback() {
+			if (state.compareAndSet(0, 2)) {
+				counter.inFlight.decrementAndGet();
+				counter.release();
+			}
+		}
+	}
+
+	private static class DailyCounter {
+
+		private final AtomicInteger taken = new AtomicInteger();
+
+		private final AtomicInteger inFlight = new AtomicInteger();
+
+		boolean tryAcquire(int capacity) {
+			int current;
+			while ((current = taken.get()) < capacity) {
+				if (taken.compareAndSet(current, current + 1)) {
+					inFlight.incrementAndGet();
+					return true;
+				}
+			}
+			return false;
+		}
+
+		void forceAcquire() {
+			taken.incrementAndGet();
+			inFlight.incrementAndGet();
+		}
+
+		void release() {
+			taken.updateAndGet(current -> Math.max(0, current - 1));
+		}
+
+		void adjust(int delta) {
+			taken.updateAndGet(current -> Math.max(0, current + delta));
+		}
+
+		int total() {
+			return taken.get();
+		}
+
+		int committed() {
+			return total() - inFlight.get();
+		}
+	}
+}
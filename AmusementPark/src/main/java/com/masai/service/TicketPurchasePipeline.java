@@ -0,0 +1,333 @@
+package com.masai.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.masai.exception.InsufficientBalanceException;
+import com.masai.exception.ParkNotFoundException;
+import com.masai.exception.SomethingWentWrongException;
+import com.masai.exception.UserNotFoundException;
+import com.masai.model.Park;
+import com.masai.model.Ticket;
+import com.masai.model.User;
+import com.masai.repository.ParkRepository;
+import com.masai.repository.TicketRepository;
+import com.masai.repository.UserRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Write path for ticket purchases.
+ * <p>
+ * Purchases are queued and picked up by a few worker threads that coalesce
+ * whatever arrived within a short window (or up to a maximum batch size) into a
+ * single transaction: users and parks are resolved with one set-based query
+ * each, the tickets are inserted with {@code saveAll} (JDBC batched by
+ * Hibernate) and every caller's future completes once that transaction has
+ * committed. Purchases the buyer's wallet cannot cover are turned away before
+ * the batch is written, so ordinary rejections never abort it; if a batch
+ * still fails as a whole (a concurrent debit, a constraint), its purchases are
+ * retried one by one so that a single bad purchase does not fail its
+ * neighbours.
+ */
+@Component
+public class TicketPurchasePipeline {
+
+	private Logger logger = LoggerFactory.getLogger(TicketPurchasePipeline.class);
+
+	@Autowired
+	private TicketRepository ticketRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private ParkRepository parkRepository;
+
+	@Autowired
+	private TicketInventory ticketInventory;
+
+	@Autowired
+	private SlotInventory slotInventory;
+
+	@Autowired
+	private PriceTable priceTable;
+
+	@Autowired
+	private WalletService walletService;
+
+	@Autowired
+	private BookingService bookingService;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Value("${purchase.pipeline.queue-capacity:10000}")
+	private int queueCapacity;
+
+	@Value("${purchase.pipeline.batch-size:50}")
+	private int batchSize;
+
+	@Value("${purchase.pipeline.max-delay-ms:5}")
+	private long maxDelayMs;
+
+	@Value("${purchase.pipeline.workers:2}")
+	private int workers;
+
+	private BlockingQueue<PendingPurchase> queue;
+
+	private final List<Thread> threads = new ArrayList<>();
+
+	private volatile boolean running;
+
+	@PostConstruct
+	public void start() {
+		queue = new ArrayBlockingQueue<>(queueCapacity);
+		running = true;
+		for (int i = 0; i < workers; i++) {
+			Thread thread = new Thread(this::drain, "ticket-purchase-" + i);
+			thread.setDaemon(true);
+			thread.start();
+			threads.add(thread);
+		}
+	}
+
+	@PreDestroy
+	public void stop() throws InterruptedException {
+		running = false;
+		for (Thread thread : threads) {
+			thread.interrupt();
+			thread.join(TimeUnit.SECONDS.toMillis(5));
+		}
+		PendingPurchase left;
+		while ((left = queue.poll()) != null) {
+			left.future.completeExceptionally(new SomethingWentWrongException("Ticket sales are shutting down."));
+		}
+	}
+
+	/**
+	 * Queues a purchase.
+	 *
+	 * @param userId ID of the buyer.
+	 * @param parkId ID of the park.
+	 * @param ticket Ticket to store.
+	 * @return Future completed with the stored ticket once its batch has
+	 *         committed.
+	 */
+	public CompletableFuture<Ticket> submit(Long userId, Long parkId, Ticket ticket) {
+		PendingPurchase purchase = new PendingPurchase(userId, parkId, ticket);
+		if (!running || !queue.offer(purchase)) {
+			purchase.future.completeExceptionally(
+					new SomethingWentWrongException("Too many purchases in progress, please try again."));
+		}
+		return purchase.future;
+	}
+
+	private void drain() {
+		List<PendingPurchase> batch = new ArrayList<>(batchSize);
+		while (running) {
+			try {
+				PendingPurchase first = queue.take();
+				batch.add(first);
+				long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxDelayMs);
+				while (batch.size() < batchSize) {
+					long remaining = deadline - System.nanoTime();
+					if (queue.drainTo(batch, batchSize - batch.size()) == 0) {
+						PendingPurchase next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+						if (next == null) {
+							break;
+						}
+						batch.add(next);
+					}
+				}
+				process(batch);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				batch.forEach(p -> p.future.completeExceptionally(
+						new SomethingWentWrongException("Ticket sales are shutting down.")));
+				return;
+			} catch (RuntimeException e) {
+				logger.error("Unexpected failure in ticket purchase batch", e);
+				batch.forEach(p -> p.future.completeExceptionally(e));
+			} finally {
+				batch.clear();
+			}
+		}
+	}
+
+	private void process(List<PendingPurchase> batch) {
+		Map<Long, User> users = new HashMap<>();
+		Map<Long, Park> parks = new HashMap<>();
+		transactionTemplate.executeWithoutResult(status -> {
+			users.putAll(resolve(batch, PendingPurchase::userId, userRepository::findAllById, User::getUserId));
+			parks.putAll(resolve(batch, PendingPurchase::parkId, parkRepository::findAllById, Park::getParkId));
+		});
+
+		// What is left of each buyer's wallet after their earlier purchases in this batch
+		Map<Long, Double> budgets = new HashMap<>();
+		List<PendingPurchase> accepted = new ArrayList<>(batch.size());
+		for (PendingPurchase purchase : batch) {
+			User user = users.get(purchase.userId);
+			Park park = parks.get(purchase.parkId);
+			if (user == null) {
+				purchase.future
+						.completeExceptionally(new UserNotFoundException("User with ID " + purchase.userId + " not found"));
+			} else if (park == null) {
+				purchase.future
+						.completeExceptionally(new ParkNotFoundException("Park with ID " + purchase.parkId + " not found"));
+			} else {
+				try {
+					purchase.ticket.setUser(user);
+					purchase.ticket.setPark(park);
+					// The fee always comes from the price table, never from the client
+					purchase.ticket.setEntryfee(priceTable.priceFor(park, purchase.ticket.getPurchaseDate()));
+					// Hold a slot of the park's daily capacity before writing the ticket
+					purchase.reservation = ticketInventory.reserve(purchase.parkId,
+							purchase.ticket.getPurchaseDate(), park.getDailyCapacity());
+					// and a place in the requested (or first free) entry slot
+					try {
+						purchase.slot = slotInventory
+								.reserve(park, purchase.ticket.getPurchaseDate(), purchase.ticket.getEntrySlot())
+								.orElse(null);
+						// and the seats of the activity sessions booked with the ticket
+						purchase.addOns = bookingService.holdAddOns(purchase.parkId,
+								purchase.ticket.getPurchaseDate(), purchase.ticket.getAddOns());
+						double cost = purchase.ticket.getEntryfee() + bookingService.priceOf(purchase.addOns);
+						// The ledger is the balance; the user row may have been loaded before a debit
+						double budget = budgets.containsKey(purchase.userId) ? budgets.get(purchase.userId)
+								: walletService.getBalance(purchase.userId);
+						if (cost > budget) {
+							throw new InsufficientBalanceException(
+									"Insufficient wallet balance for User with ID " + purchase.userId);
+						}
+						budgets.put(purchase.userId, budget - cost);
+					} catch (RuntimeException e) {
+						purchase.reservation.rollback();
+						if (purchase.slot != null) {
+							purchase.slot.rollback();
+						}
+						purchase.addOns.forEach(SessionInventory.Reservation::rollback);
+						throw e;
+					}
+					purchase.ticket.setEntrySlot(purchase.slot != null ? purchase.slot.start() : null);
+					accepted.add(purchase);
+				} catch (RuntimeException e) {
+					purchase.future.completeExceptionally(e);
+				}
+			}
+		}
+		if (accepted.isEmpty()) {
+			return;
+		}
+
+		try {
+			persist(accepted);
+			accepted.forEach(PendingPurchase::succeed);
+		} catch (RuntimeException batchFailure) {
+			if (accepted.size() == 1) {
+				accepted.get(0).fail(batchFailure);
+				return;
+			}
+			// Isolate the failing purchase(s) by retrying one at a time
+			for (PendingPurchase purchase : accepted) {
+				purchase.ticket.setId(null);
+				try {
+					persist(List.of(purchase));
+					purchase.succeed();
+				} catch (RuntimeException e) {
+					purchase.fail(e);
+				}
+			}
+		}
+	}
+
+	private void persist(List<PendingPurchase> purchases) {
+		transactionTemplate.executeWithoutResult(status -> {
+			List<Ticket> saved = ticketRepository.saveAll(purchases.stream().map(p -> p.ticket).toList());
+			for (int i = 0; i < saved.size(); i++) {
+				Ticket ticket = saved.get(i);
+				// Charge the wallet in the same transaction as the insert
+				walletService.debitForTicket(purchases.get(i).userId, ticket.getEntryfee(), ticket.getId());
+				ticket.setBookings(bookingService.storeBookings(ticket, purchases.get(i).addOns));
+			}
+		});
+	}
+
+	private static <T> Map<Long, T> resolve(List<PendingPurchase> batch, Function<PendingPurchase, Long> key,
+			Function<Set<Long>, List<T>> loader, Function<T, Long> idOf) {
+		Set<Long> ids = new HashSet<>();
+		for (PendingPurchase purchase : batch) {
+			if (key.apply(purchase) != null) {
+				ids.add(key.apply(purchase));
+			}
+		}
+		return loader.apply(ids).stream().collect(Collectors.toMap(idOf, Function.identity()));
+	}
+
+	private static class PendingPurchase {
+
+		private final Long userId;
+
+		private final Long parkId;
+
+		private final Ticket ticket;
+
+		private final CompletableFuture<Ticket> future = new CompletableFuture<>();
+
+		private TicketInventory.Reservation reservation;
+
+		private SlotInventory.Reservation slot;
+
+		private List<SessionInventory.Reservation> addOns = List.of();
+
+		PendingPurchase(Long userId, Long parkId, Ticket ticket) {
+			this.userId = userId;
+			this.parkId = parkId;
+			this.ticket = ticket;
+		}
+
+		Long userId() {
+			return userId;
+		}
+
+		Long parkId() {
+			return parkId;
+		}
+
+		void succeed() {
+			reservation.commit();
+			if (slot != null) {
+				slot.commit();
+			}
+			addOns.forEach(SessionInventory.Reservation::commit);
+			future.complete(ticket);
+		}
+
+		void fail(RuntimeException e) {
+			reservation.rollback();
+			if (slot != null) {
+				slot.rollback();
+			}
+			addOns.forEach(SessionInventory.Reservation::rollback);
+			future.completeExceptionally(e);
+		}
+	}
+}
@@ -0,0 +1,37 @@
+package com.masai.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.masai.model.TicketCancelledEvent;
+
+/**
+ * Refunds the entry fee of a cancelled ticket to the buyer's wallet. The
+ * wallet refunds a ticket at most once, so redeliveries are harmless.
+ */
+@Component
+public class TicketRefundHandler implements OutboxHandler<TicketCancelledEvent> {
+
+	@Autowired
+	private WalletService walletService;
+
+	@Override
+	public String name() {
+		return "ticket-refund";
+	}
+
+	@Override
+	public String eventType() {
+		return TicketCancelledEvent.TYPE;
+	}
+
+	@Override
+	public Class<TicketCancelledEvent> payloadType() {
+		return TicketCancelledEvent.class;
+	}
+
+	@Override
+	public void handle(TicketCancelledEvent event, Long ticketId) {
+		walletService.refundTicket(event.getUserId(), event.getEntryFee(), ticketId);
+	}
+}
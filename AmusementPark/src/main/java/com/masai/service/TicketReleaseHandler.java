@@ -0,0 +1,64 @@
+package com.masai.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.masai.model.TicketCancelledEvent;
+import com.masai.repository.TicketRepository;
+
+/**
+ * Hands the capacity of a cancelled ticket back and records the cancellation
+ * in the sales rollups.
+ * <p>
+ * Inventory counts keep a cancelled ticket until it is marked released, so a
+ * reconcile before this handler runs does not give its capacity back early.
+ * The mark and the in-memory updates happen in one transaction: a redelivery
+ * finds the ticket marked and does nothing, and a reconcile racing the commit
+ * can only hold the capacity back a little longer, never free it twice.
+ */
+@Component
+public class TicketReleaseHandler implements OutboxHandler<TicketCancelledEvent> {
+
+	@Autowired
+	private TicketRepository ticketRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private TicketInventory ticketInventory;
+
+	@Autowired
+	private SlotInventory slotInventory;
+
+	@Autowired
+	private SalesAccumulator salesAccumulator;
+
+	@Override
+	public String name() {
+		return "ticket-release";
+	}
+
+	@Override
+	public String eventType() {
+		return TicketCancelledEvent.TYPE;
+	}
+
+	@Override
+	public Class<TicketCancelledEvent> payloadType() {
+		return TicketCancelledEvent.class;
+	}
+
+	@Override
+	public void handle(TicketCancelledEvent event, Long ticketId) {
+		transactionTemplate.executeWithoutResult(status -> {
+			if (ticketRepository.markCapacityReleased(ticketId) == 0) {
+				return;
+			}
+			ticketInventory.release(event.getParkId(), event.getPurchaseDate());
+			slotInventory.release(event.getParkId(), event.getPurchaseDate(), event.getEntrySlot());
+			salesAccumulator.recordCancellation(event.getParkId(), event.getPurchaseDate(), event.getEntryFee());
+		});
+	}
+}
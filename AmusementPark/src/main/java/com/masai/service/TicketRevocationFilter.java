@@ -0,0 +1,147 @@
+package com.masai.service;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.masai.repository.TicketRepository;
+
+/**
+ * In-memory set of cancelled tickets that gates must reject.
+ * <p>
+ * Lookups go through a Bloom filter first, so the common case (a ticket that
+ * was never cancelled) is answered with a few bit reads; only filter hits are
+ * confirmed against the exact map, so valid tickets are never rejected. Only
+ * tickets for today or later are kept: codes for past days fail the date check
+ * anyway.
+ * <p>
+ * The set only knows the cancellations this node loaded or saw, so it is a
+ * shortcut for rejecting codes; gates confirm every code that passes it
+ * against the Tickets table.
+ */
+@Component
+public class TicketRevocationFilter {
+
+	private Logger logger = LoggerFactory.getLogger(TicketRevocationFilter.class);
+
+	private static final int HASHES = 4;
+
+	@Autowired
+	private TicketRepository ticketRepository;
+
+	@Value("${gate.revocation-filter-bits:1048576}")
+	private int bits;
+
+	private volatile AtomicLongArray filter;
+
+	private final Map<Long, LocalDate> revoked = new ConcurrentHashMap<>();
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void load() {
+		LocalDate today = LocalDate.now();
+		Date from = Date.from(today.atStartOfDay(ZoneId.systemDefault()).toInstant());
+		List<Object[]> cancelled = ticketRepository.findCancelledTicketDatesFrom(from);
+		for (Object[] row : cancelled) {
+			revoked.put((Long) row[0], toDay((Date) row[1]));
+		}
+		rebuild();
+		logger.info("Loaded {} cancelled tickets into the revocation filter", cancelled.size());
+	}
+
+	/**
+	 * Adds a cancelled ticket.
+	 *
+	 * @param ticketId  ID of the cancelled ticket.
+	 * @param visitDate Date the ticket was valid on.
+	 */
+	public void revoke(Long ticketId, Date visitDate) {
+		LocalDate day = toDay(visitDate);
+		if (day.isBefore(LocalDate.now())) {
+			return;
+		}
+		revoked.put(ticketId, day);
+		set(filter(), ticketId);
+	}
+
+	/**
+	 * @param ticketId ID of a ticket.
+	 * @return {@code true} if the ticket has been cancelled.
+	 */
+	public boolean isRevoked(long ticketId) {
+		AtomicLongArray current = filter();
+		for (int i = 0; i < HASHES; i++) {
+			int bit = bit(ticketId, i, current.length() * 64);
+			if ((current.get(bit >>> 6) & (1L << bit)) == 0) {
+				return false;
+			}
+		}
+		return revoked.containsKey(ticketId);
+	}
+
+	/**
+	 * Drops tickets for past days and rebuilds the Bloom filter without them.
+	 */
+	@Scheduled(cron = "${gate.revocation-prune-cron:0 5 0 * * *}")
+	public void prune() {
+		LocalDate today = LocalDate.now();
+		revoked.values().removeIf(day -> day.isBefore(today));
+		rebuild();
+	}
+
+	private synchronized void rebuild() {
+		AtomicLongArray fresh = new AtomicLongArray(Math.max(1, bits / 64));
+		revoked.keySet().forEach(ticketId -> set(fresh, ticketId));
+		filter = fresh;
+		// Revocations that raced with the rebuild are re-applied to the new filter
+		revoked.keySet().forEach(ticketId -> set(fresh, ticketId));
+	}
+
+	private static void set(AtomicLongArray target, long ticketId) {
+		for (int i = 0; i < HASHES; i++) {
+			int bit = bit(ticketId, i, target.length() * 64);
+			target.getAndAccumulate(bit >>> 6, 1L << bit, (word, mask) -> word | mask);
+		}
+	}
+
+	private AtomicLongArray filter() {
+		AtomicLongArray current = filter;
+		if (current == null) {
+			synchronized (this) {
+				if (filter == null) {
+					rebuild();
+				}
+				current = filter;
+			}
+		}
+		return current;
+	}
+
+	/**
+	 * Double hashing over a 64-bit mix of the ticket ID (Kirsch-Mitzenmacher).
+	 */
+	private static int bit(long ticketId, int i, int size) {
+		long h = ticketId * 0x9E3779B97F4A7C15L;
+		h ^= h >>> 32;
+		int h1 = (int) h;
+		int h2 = (int) (h >>> 16) | 1;
+		return Math.floorMod(h1 + i * h2, size);
+	}
+
+	private static LocalDate toDay(Date date) {
+		Date visit = date != null ? date : new Date();
+		return visit.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+	}
+}
@@ -1,14 +1,18 @@
 package com.masai.service;
 
+import com.masai.exception.InsufficientBalanceException;
+import com.masai.exception.InvalidPageTokenException;
 import com.masai.exception.SomethingWentWrongException;
 import com.masai.exception.TicketNotFoundException;
 import com.masai.exception.UserNotFoundException;
 import com.masai.model.Ticket;
+import com.masai.model.TicketPage;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Service interface for managing tickets.
@@ -24,7 +28,7 @@ public interface TicketService {
      * @throws TicketNotFoundException If the specified ticket is not found.
      * @throws UserNotFoundException   If the specified user is not found.
      */
-    Ticket getTicket(Integer userId, Integer ticketId) throws TicketNotFoundException, UserNotFoundException;
+    Ticket getTicket(Long userId, Long ticketId) throws TicketNotFoundException, UserNotFoundException;
 
     /**
      * Retrieves all tickets for a specific user.
@@ -34,20 +38,34 @@ public interface TicketService {
      * @throws TicketNotFoundException If no tickets are found for the specified user.
      * @throws UserNotFoundException   If the specified user is not found.
      */
-    Set<Ticket> getTickets(Integer userId) throws TicketNotFoundException, UserNotFoundException;
+    Set<Ticket> getTickets(Long userId) throws TicketNotFoundException, UserNotFoundException;
 
     /**
-     * Creates a new ticket for a user in a specific park.
+     * Creates a new ticket for a user in a specific park. The entry fee is
+     * charged to the user's wallet.
      *
      * @param userId ID of the user for whom the ticket is created.
      * @param parkId ID of the park for which the ticket is created.
      * @param ticket Ticket object containing details of the ticket to be created.
      * @return The created Ticket object.
-     * @throws SomethingWentWrongException If an unexpected issue occurs during ticket creation.
-     * @throws UserNotFoundException       If the specified user is not found.
+     * @throws SomethingWentWrongException  If an unexpected issue occurs during ticket creation.
+     * @throws UserNotFoundException        If the specified user is not found.
+     * @throws InsufficientBalanceException If the user's wallet does not cover the entry fee.
+     */
+    Ticket createTicket(Long userId, Long parkId, Ticket ticket)
+            throws SomethingWentWrongException, UserNotFoundException, InsufficientBalanceException;
+
+    /**
+     * Queues a ticket purchase. Purchases arriving close together are written in
+     * one batch, and the returned future completes once the batch has committed.
+     *
+     * @param userId ID of the user for whom the ticket is created.
+     * @param parkId ID of the park for which the ticket is created.
+     * @param ticket Ticket object containing details of the ticket to be created.
+     * @return Future completed with the created Ticket object, or exceptionally
+     *         with the same exceptions as {@link #createTicket}.
      */
-    Ticket createTicket(Integer userId, Integer parkId, Ticket ticket)
-            throws SomethingWentWrongException, UserNotFoundException;
+    CompletableFuture<Ticket> purchaseTicket(Long userId, Long parkId, Ticket ticket);
 
     /**
      * Updates an existing ticket for a user.
@@ -60,11 +78,12 @@ public interface TicketService {
      * @throws SomethingWentWrongException If an unexpected issue occurs during the update process.
      * @throws UserNotFoundException       If the specified user is not found.
      */
-    String updateTicket(Integer userId, Integer ticketId, Ticket ticket)
+    String updateTicket(Long userId, Long ticketId, Ticket ticket)
             throws TicketNotFoundException, SomethingWentWrongException, UserNotFoundException;
 
     /**
-     * Deletes a specific ticket for a user.
+     * Deletes a specific ticket for a user. A ticket paid from the wallet is
+     * refunded shortly after, through the outbox.
      *
      * @param userId   ID of the user who owns the ticket.
      * @param ticketId ID of the ticket to be deleted.
@@ -72,7 +91,7 @@ public interface TicketService {
      * @throws TicketNotFoundException If the specified ticket is not found.
      * @throws UserNotFoundException   If the specified user is not found.
      */
-    String deleteTicket(Integer userId, Integer ticketId) throws TicketNotFoundException, UserNotFoundException;
+    String deleteTicket(Long userId, Long ticketId) throws TicketNotFoundException, UserNotFoundException;
 
     /**
      * Retrieves paginated tickets for a specific user.
@@ -83,11 +102,12 @@ public interface TicketService {
      * @throws TicketNotFoundException If no tickets are found for the specified user.
      * @throws UserNotFoundException   If the specified user is not found.
      */
-    Page<Ticket> getTickets(Integer userId, Pageable pageable)
+    Page<Ticket> getTickets(Long userId, Pageable pageable)
             throws TicketNotFoundException, UserNotFoundException;
 
     /**
      * Retrieves paginated and sorted tickets for a specific user in ascending order.
+     * Every call runs an OFFSET query and a count; prefer {@link #getTicketHistory} for deep pages.
      *
      * @param userId   ID of the user for whom tickets are requested.
      * @param pageable Pageable object containing pagination and sorting information.
@@ -95,11 +115,12 @@ public interface TicketService {
      * @throws TicketNotFoundException If no tickets are found for the specified user.
      * @throws UserNotFoundException   If the specified user is not found.
      */
-    Page<Ticket> getTicketsSortedAsc(Integer userId, Pageable pageable)
+    Page<Ticket> getTicketsSortedAsc(Long userId, Pageable pageable)
             throws TicketNotFoundException, UserNotFoundException;
 
     /**
      * Retrieves paginated and sorted tickets for a specific user in descending order.
+     * Every call runs an OFFSET query and a count; prefer {@link #getTicketHistory} for deep pages.
      *
      * @param userId   ID of the user for whom tickets are requested.
      * @param pageable Pageable object containing pagination and sorting information.
@@ -107,9 +128,27 @@ public interface TicketService {
      * @throws TicketNotFoundException If no tickets are found for the specified user.
      * @throws UserNotFoundException   If the specified user is not found.
      */
-    Page<Ticket> getTicketsSortedDesc(Integer userId, Pageable pageable)
+    Page<Ticket> getTicketsSortedDesc(Long userId, Pageable pageable)
             throws TicketNotFoundException, UserNotFoundException;
 
+    /**
+     * Retrieves a user's tickets one keyset page at a time, ordered by purchase
+     * date and ID.
+     *
+     * @param userId       ID of the user for whom tickets are requested.
+     * @param pageToken    Token from the previous page, or {@code null} for the
+     *                     first page.
+     * @param size         Maximum number of tickets on the page.
+     * @param descending   Whether to list the newest tickets first; ignored when a
+     *                     page token is given.
+     * @param includeTotal Whether to also count all of the user's tickets.
+     * @return The page and the token for the next one.
+     * @throws UserNotFoundException     If the specified user is not found.
+     * @throws InvalidPageTokenException If the page token is malformed.
+     */
+    TicketPage getTicketHistory(Long userId, String pageToken, int size, boolean descending, boolean includeTotal)
+            throws UserNotFoundException, InvalidPageTokenException;
+
     /**
      * Adds a list of tickets in bulk.
      *
@@ -20,7 +20,7 @@ public interface UserService {
      * @return User object corresponding to the specified ID.
      * @throws UserNotFoundException If the specified user is not found.
      */
-    User getUser(Integer userId) throws UserNotFoundException;
+    User getUser(Long userId) throws UserNotFoundException;
 
     /**
      * Creates a new user.
@@ -48,7 +48,7 @@ public interface UserService {
      * @return Message indicating the status of the deletion operation.
      * @throws UserNotFoundException If the specified user is not found.
      */
-    String deleteUser(Integer userId) throws UserNotFoundException;
+    String deleteUser(Long userId) throws UserNotFoundException;
 
     /**
      * Retrieves a list of all users.
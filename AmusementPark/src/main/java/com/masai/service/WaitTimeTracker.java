@@ -0,0 +1,338 @@
+package com.masai.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.masai.exception.ActivityNotFoundException;
+import com.masai.exception.SomethingWentWrongException;
+import com.masai.model.Activity;
+import com.masai.model.WaitTime;
+import com.masai.model.WaitTimeEvent;
+import com.masai.repository.ActivityRepository;
+
+/**
+ * Estimates ride queues from queue-entry and boarding events.
+ * <p>
+ * Each activity gets a ring of one-second buckets covering the last
+ * {@code wait-times.window-seconds}. Recording an event adds to the bucket of
+ * the current second; a writer that finds an expired bucket swaps in a fresh
+ * one with a compare-and-set, so writers never lock and only contend on the
+ * counters of the same second. Once a second the publisher sums every ring
+ * into arrival and boarding rates, applies Little's law to the tracked queue
+ * length and swaps in an immutable snapshot, which is all readers ever see.
+ * <p>
+ * Activities are looked up in an in-memory registry that is reloaded
+ * periodically, so ingestion does not touch the database for known
+ * activities. Estimates live on the node that received the events.
+ */
+@Component
+public class WaitTimeTracker {
+
+	private Logger logger = LoggerFactory.getLogger(WaitTimeTracker.class);
+
+	@Autowired
+	private ActivityRepository activityRepository;
+
+	@Value("${wait-times.window-seconds:600}")
+	private int windowSeconds;
+
+	@Value("${wait-times.forecast-minutes:15}")
+	private int forecastMinutes;
+
+	@Value("${wait-times.max-batch:10000}")
+	private int maxBatch;
+
+	private final Map<Long, Listed> registry = new ConcurrentHashMap<>();
+
+	private final Map<Long, Estimator> estimators = new ConcurrentHashMap<>();
+
+	private volatile Snapshot snapshot = new Snapshot(Map.of(), Map.of());
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void load() {
+		reload();
+	}
+
+	/**
+	 * Reloads the live activities, so activities added or deleted on other
+	 * nodes are picked up; estimators of deleted activities are dropped.
+	 */
+	@Scheduled(fixedDelayString = "${wait-times.registry-refresh-ms:60000}", initialDelayString = "${wait-times.registry-refresh-ms:60000}")
+	public void reload() {
+		Map<Long, Listed> fresh = new HashMap<>();
+		try {
+			for (Object[] row : activityRepository.findListedActivities()) {
+				fresh.put((Long) row[1], new Listed((Long) row[0], (String) row[2]));
+			}
+		} catch (RuntimeException e) {
+			logger.warn("Could not reload the activities for wait times", e);
+			return;
+		}
+		registry.putAll(fresh);
+		registry.keySet().retainAll(fresh.keySet());
+		estimators.keySet().retainAll(fresh.keySet());
+	}
+
+	/**
+	 * Records a batch of sensor events. The batch is validated as a whole
+	 * before any event is recorded.
+	 *
+	 * @param events Events in the order they happened.
+	 * @return Number of events recorded.
+	 * @throws ActivityNotFoundException   If an event names an unknown or
+	 *                                     deleted activity.
+	 * @throws SomethingWentWrongException If an event is incomplete or the batch
+	 *                                     is too large.
+	 */
+	public int record(List<WaitTimeEvent> events) throws ActivityNotFoundException, SomethingWentWrongException {
+		if (events == null || events.isEmpty()) {
+			return 0;
+		}
+		if (events.size() > maxBatch) {
+			throw new SomethingWentWrongException("At most " + maxBatch + " events can be sent at once.");
+		}
+		Estimator[] targets = new Estimator[events.size()];
+		for (int i = 0; i < events.size(); i++) {
+			WaitTimeEvent event = events.get(i);
+			if (event == null || event.getActivityId() == null || event.getType() == null) {
+				throw new SomethingWentWrongException("Every event needs an activity ID and a type.");
+			}
+			if (event.getCount() != null && event.getCount() < 0
+					|| event.getWaitSeconds() != null && event.getWaitSeconds() < 0) {
+				throw new SomethingWentWrongException("Event counts and waits must not be negative.");
+			}
+			targets[i] = estimator(event.getActivityId());
+		}
+
+		long second = System.currentTimeMillis() / 1000;
+		for (int i = 0; i < events.size(); i++) {
+			WaitTimeEvent event = events.get(i);
+			int count = event.getCount() != null ? event.getCount() : 1;
+			switch (event.getType()) {
+			case ENTRY -> targets[i].enter(second, count);
+			case BOARDING -> targets[i].board(second, count, event.getWaitSeconds());
+			case QUEUE_LENGTH -> targets[i].queueLength.set(count);
+			}
+		}
+		return events.size();
+	}
+
+	/**
+	 * Recomputes every estimate and publishes them for readers.
+	 */
+	@Scheduled(fixedRateString = "${wait-times.publish-interval-ms:1000}")
+	public void publish() {
+		long now = System.currentTimeMillis();
+		Date updatedAt = new Date(now);
+		Map<Long, WaitTime> byActivity = new HashMap<>();
+		Map<Long, List<WaitTime>> byPark = new HashMap<>();
+		for (Estimator estimator : estimators.values()) {
+			WaitTime waitTime = estimator.estimate(now / 1000, windowSeconds, forecastMinutes, updatedAt);
+			byActivity.put(waitTime.getActivityId(), waitTime);
+			byPark.computeIfAbsent(waitTime.getParkId(), id -> new ArrayList<>()).add(waitTime);
+		}
+		Map<Long, List<WaitTime>> sorted = new HashMap<>();
+		byPark.forEach((parkId, waits) -> {
+			waits.sort(Comparator.comparing(WaitTime::getActivityName, Comparator.nullsLast(Comparator.naturalOrder()))
+					.thenComparing(WaitTime::getActivityId));
+			sorted.put(parkId, List.copyOf(waits));
+		});
+		snapshot = new Snapshot(byActivity, sorted);
+	}
+
+	/**
+	 * @param activityId ID of the activity.
+	 * @return The last published estimate; an empty queue if no events were
+	 *         received for the activity yet.
+	 * @throws ActivityNotFoundException If the activity is unknown or deleted.
+	 */
+	public WaitTime getWaitTime(Long activityId) throws ActivityNotFoundException {
+		WaitTime waitTime = snapshot.byActivity().get(activityId);
+		if (waitTime != null) {
+			return waitTime;
+		}
+		Listed listed = lookup(activityId);
+		return new WaitTime(activityId, listed.name(), listed.parkId(), 0, 0, 0, 0.0, 0.0, new Date());
+	}
+
+	/**
+	 * @param parkId ID of the park.
+	 * @return The last published estimates of the park's activities that
+	 *         reported events, by activity name.
+	 */
+	public List<WaitTime> getParkWaitTimes(Long parkId) {
+		return snapshot.byPark().getOrDefault(parkId, List.of());
+	}
+
+	private Estimator estimator(Long activityId) throws ActivityNotFoundException {
+		Estimator estimator = estimators.get(activityId);
+		if (estimator != null) {
+			return estimator;
+		}
+		Listed listed = lookup(activityId);
+		return estimators.computeIfAbsent(activityId,
+				id -> new Estimator(id, listed, windowSeconds, System.currentTimeMillis() / 1000));
+	}
+
+	private Listed lookup(Long activityId) throws ActivityNotFoundException {
+		Listed listed = registry.get(activityId);
+		if (listed != null) {
+			return listed;
+		}
+		// Added since the last reload, possibly on another node
+		Activity activity = activityRepository.findById(activityId)
+				.filter(found -> !found.isDeleted() && found.getPark() != null && !found.getPark().isDeleted())
+				.orElseThrow(() -> new ActivityNotFoundException("Activity not found with ID: " + activityId));
+		listed = new Listed(activity.getPark().getParkId(), activity.getName());
+		registry.put(activityId, listed);
+		return listed;
+	}
+
+	private static double round(double value) {
+		return Math.round(value * 10) / 10.0;
+	}
+
+	private record Listed(Long parkId, String name) {
+	}
+
+	private record Snapshot(Map<Long, WaitTime> byActivity, Map<Long, List<WaitTime>> byPark) {
+	}
+
+	/**
+	 * Events of one second; replaced, never cleared, once the second expires.
+	 */
+	private static final class Bucket {
+
+		final long second;
+
+		final LongAdder arrivals = new LongAdder();
+
+		final LongAdder boardings = new LongAdder();
+
+		final LongAdder waitSeconds = new LongAdder();
+
+		final LongAdder timedBoardings = new LongAdder();
+
+		Bucket(long second) {
+			this.second = second;
+		}
+	}
+
+	private static final class Estimator {
+
+		private final Long activityId;
+
+		private final Listed listed;
+
+		private final long createdSecond;
+
+		private final AtomicReferenceArray<Bucket> ring;
+
+		private final AtomicLong queueLength = new AtomicLong();
+
+		Estimator(Long activityId, Listed listed, int windowSeconds, long createdSecond) {
+			this.activityId = activityId;
+			this.listed = listed;
+			this.createdSecond = createdSecond;
+			this.ring = new AtomicReferenceArray<>(Math.max(1, windowSeconds));
+		}
+
+		void enter(long second, int count) {
+			Bucket bucket = bucket(second);
+			if (bucket != null) {
+				bucket.arrivals.add(count);
+			}
+			queueLength.addAndGet(count);
+		}
+
+		void board(long second, int count, Long waitSeconds) {
+			Bucket bucket = bucket(second);
+			if (bucket != null) {
+				bucket.boardings.add(count);
+				if (waitSeconds != null) {
+					bucket.waitSeconds.add(waitSeconds * count);
+					bucket.timedBoardings.add(count);
+				}
+			}
+			// Sensors can miss entries, so the queue never goes below empty
+			queueLength.getAndUpdate(length -> Math.max(0, length - count));
+		}
+
+		/**
+		 * @return the bucket of {@code second}, or {@code null} if the writer
+		 *         stalled for longer than the window and the second is gone
+		 */
+		private Bucket bucket(long second) {
+			int slot = (int) Math.floorMod(second, ring.length());
+			Bucket bucket = ring.get(slot);
+			while (bucket == null || bucket.second < second) {
+				Bucket fresh = new Bucket(second);
+				if (ring.compareAndSet(slot, bucket, fresh)) {
+					return fresh;
+				}
+				bucket = ring.get(slot);
+			}
+			return bucket.second == second ? bucket : null;
+		}
+
+		WaitTime estimate(long nowSecond, int windowSeconds, int forecastMinutes, Date updatedAt) {
+			long arrivals = 0;
+			long boardings = 0;
+			long waitSeconds = 0;
+			long timedBoardings = 0;
+			for (int i = 0; i < ring.length(); i++) {
+				Bucket bucket = ring.get(i);
+				if (bucket != null && bucket.second > nowSecond - windowSeconds && bucket.second <= nowSecond) {
+					arrivals += bucket.arrivals.sum();
+					boardings += bucket.boardings.sum();
+					waitSeconds += bucket.waitSeconds.sum();
+					timedBoardings += bucket.timedBoardings.sum();
+				}
+			}
+			// A new estimator has not seen a full window yet
+			double minutes = Math.max(1, Math.min(windowSeconds, nowSecond - createdSecond + 1)) / 60.0;
+			double arrivalRate = arrivals / minutes;
+			double boardingRate = boardings / minutes;
+			long length = queueLength.get();
+
+			Double current;
+			if (timedBoardings > 0) {
+				current = round(waitSeconds / 60.0 / timedBoardings);
+			} else {
+				current = littlesLaw(length, boardingRate);
+			}
+			double projected = Math.max(0, length + (arrivalRate - boardingRate) * forecastMinutes);
+			Double predicted = littlesLaw(projected, boardingRate);
+			return new WaitTime(activityId, listed.name(), listed.parkId(), length, round(arrivalRate),
+					round(boardingRate), current, predicted, updatedAt);
+		}
+
+		/**
+		 * Time to clear the guests ahead at the current boarding rate; unknown
+		 * while guests queue but nobody boards.
+		 */
+		private static Double littlesLaw(double queueLength, double boardingRate) {
+			if (queueLength == 0) {
+				return 0.0;
+			}
+			return boardingRate > 0 ? round(queueLength / boardingRate) : null;
+		}
+	}
+}
@@ -0,0 +1,230 @@
+package com.masai.service;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.masai.config.AdmissionPassSigner;
+import com.masai.config.AdmissionPassSigner.AdmissionPass;
+import com.masai.config.AdmissionPassSigner.Kind;
+import com.masai.exception.AdmissionRequiredException;
+import com.masai.model.QueueStatus;
+
+/**
+ * Virtual waiting room for flash-sale ticket drops.
+ * <p>
+ * While a park is in flash-sale mode, buyers take a numbered place in line and
+ * poll for their status. A token bucket refilled at the park's configured
+ * rate moves the admission line forward; buyers at or below it receive a
+ * short-lived, single-use purchase permit that the ticket purchase endpoint
+ * requires. Joining and polling are answered from memory, so the burst never
+ * reaches the database and only the metered rate of purchases does.
+ * <p>
+ * A place in line buys once: its position stays consumed for the rest of the
+ * sale, so polling again or rejoining does not hand out a second permit.
+ * <p>
+ * Lines are held per node; run flash sales behind sticky routing or on a
+ * single node.
+ */
+@Component
+public class WaitingRoom {
+
+	public static final String PERMIT_HEADER = "Purchase-Permit";
+
+	private Logger logger = LoggerFactory.getLogger(WaitingRoom.class);
+
+	@Autowired
+	private AdmissionPassSigner passSigner;
+
+	@Value("${flash-sale.permit-ttl-ms:120000}")
+	private long permitTtlMs;
+
+	@Value("${flash-sale.queue-ttl-ms:3600000}")
+	private long queueTtlMs;
+
+	private final Map<Long, Sale> sales = new ConcurrentHashMap<>();
+
+	/**
+	 * Puts a park into flash-sale mode, or changes the rate of a running sale.
+	 *
+	 * @param parkId        ID of the park.
+	 * @param ratePerSecond Buyers admitted per second, sized to the purchases
+	 *                      the database sustains.
+	 * @param burst         Buyers that may be admitted at once after a lull.
+	 */
+	public void open(Long parkId, double ratePerSecond, int burst) {
+		Sale sale = new Sale(ratePerSecond, Math.max(1, burst));
+		Sale previous = sales.putIfAbsent(parkId, sale);
+		if (previous != null) {
+			previous.ratePerSecond = ratePerSecond;
+			previous.burst = Math.max(1, burst);
+		}
+		logger.info("Flash sale for park {} admits {} buyers per second (burst {})", parkId, ratePerSecond, burst);
+	}
+
+	/**
+	 * Ends flash-sale mode for a park; purchases no longer need a permit.
+	 *
+	 * @param parkId ID of the park.
+	 */
+	public void close(Long parkId) {
+		sales.remove(parkId);
+	}
+
+	/**
+	 * @param parkId ID of the park.
+	 * @return {@code true} if buyers of the park have to queue.
+	 */
+	public boolean isActive(Long parkId) {
+		return sales.containsKey(parkId);
+	}
+
+	/**
+	 * Places a buyer in line. Joining again returns the buyer's existing place.
+	 *
+	 * @param userId ID of the buyer.
+	 * @param parkId ID of the park.
+	 * @return The buyer's place, with a permit if already admitted.
+	 * @throws AdmissionRequiredException If the park is not in flash-sale mode.
+	 */
+	public QueueStatus join(Long userId, Long parkId) throws AdmissionRequiredException {
+		Sale sale = saleOf(parkId);
+		long position = sale.positions.computeIfAbsent(userId, id -> sale.issued.incrementAndGet());
+		String queueToken = passSigner
+				.sign(new AdmissionPass(Kind.QUEUE, userId, parkId, position, System.currentTimeMillis() + queueTtlMs));
+		return statusOf(sale, userId, parkId, position, queueToken);
+	}
+
+	/**
+	 * @param queueToken Token returned by {@link #join}.
+	 * @return The buyer's current place, with a permit once admitted.
+	 * @throws AdmissionRequiredException If the token is invalid or expired, or
+	 *                                    the sale has ended.
+	 */
+	public QueueStatus status(String queueToken) throws AdmissionRequiredException {
+		AdmissionPass pass = passSigner.verify(queueToken, Kind.QUEUE)
+				.orElseThrow(() -> new AdmissionRequiredException("Queue token is invalid or expired, please rejoin."));
+		return statusOf(saleOf(pass.parkId()), pass.userId(), pass.parkId(), pass.position(), queueToken);
+	}
+
+	/**
+	 * Takes the purchase permit of a buyer if the park is in flash-sale mode.
+	 *
+	 * @param permit Value of the Purchase-Permit header, may be {@code null}.
+	 * @param userId ID of the buyer.
+	 * @param parkId ID of the park.
+	 * @return Position the permit was issued for, to be handed to
+	 *         {@link #returnPermit} if the purchase fails; {@code null} if no
+	 *         flash sale is running.
+	 * @throws AdmissionRequiredException If a permit is needed and the one given
+	 *                                    is missing, invalid, or its position has
+	 *                                    already bought.
+	 */
+	public Long usePermit(String permit, Long userId, Long parkId) throws AdmissionRequiredException {
+		Sale sale = parkId != null ? sales.get(parkId) : null;
+		if (sale == null) {
+			return null;
+		}
+		AdmissionPass pass = passSigner.verify(permit, Kind.PERMIT)
+				.filter(p -> userId != null && p.userId() == userId && p.parkId() == parkId)
+				.orElseThrow(() -> new AdmissionRequiredException(
+						"Tickets for park " + parkId + " are on a flash sale, please join the queue."));
+		if (!sale.consumed.add(pass.position())) {
+			throw new AdmissionRequiredException("Purchase permit has already been used.");
+		}
+		return pass.position();
+	}
+
+	/**
+	 * Makes a permit usable again after the purchase it was used for failed.
+	 *
+	 * @param parkId   ID of the park.
+	 * @param position Value returned by {@link #usePermit}.
+	 */
+	public void returnPermit(Long parkId, Long position) {
+		Sale sale = sales.get(parkId);
+		if (sale != null && position != null) {
+			sale.consumed.remove(position);
+		}
+	}
+
+	/**
+	 * Refills every sale's token bucket and admits as many buyers as it holds.
+	 */
+	@Scheduled(fixedDelayString = "${flash-sale.tick-ms:100}")
+	public void tick() {
+		long now = System.nanoTime();
+		sales.values().forEach(sale -> {
+			sale.refill(now);
+			long waiting = sale.issued.get() - sale.admitted;
+			long admit = Math.min(waiting, (long) sale.tokens);
+			if (admit > 0) {
+				sale.tokens -= admit;
+				sale.admitted += admit;
+			}
+		});
+	}
+
+	private QueueStatus statusOf(Sale sale, Long userId, Long parkId, long position, String queueToken) {
+		long admitted = sale.admitted;
+		if (position > admitted) {
+			return new QueueStatus(parkId, position, position - admitted - 1, false, queueToken, null, null);
+		}
+		if (sale.consumed.contains(position)) {
+			// Bought already, or a purchase is in flight; no further permits
+			return new QueueStatus(parkId, position, 0, true, queueToken, null, null);
+		}
+		long expiresAt = System.currentTimeMillis() + permitTtlMs;
+		String permit = passSigner.sign(new AdmissionPass(Kind.PERMIT, userId, parkId, position, expiresAt));
+		return new QueueStatus(parkId, position, 0, true, queueToken, permit, new Date(expiresAt));
+	}
+
+	private Sale saleOf(Long parkId) throws AdmissionRequiredException {
+		Sale sale = sales.get(parkId);
+		if (sale == null) {
+			throw new AdmissionRequiredException("There is no flash sale running for park " + parkId);
+		}
+		return sale;
+	}
+
+	private static class Sale {
+
+		private volatile double ratePerSecond;
+
+		private volatile int burst;
+
+		private final AtomicLong issued = new AtomicLong();
+
+		private final Map<Long, Long> positions = new ConcurrentHashMap<>();
+
+		// Positions that bought or are buying; kept until the sale closes
+		private final Set<Long> consumed = ConcurrentHashMap.newKeySet();
+
+		// Written by the ticker only
+		private volatile long admitted;
+
+		private double tokens;
+
+		private long lastRefill = System.nanoTime();
+
+		Sale(double ratePerSecond, int burst) {
+			this.ratePerSecond = ratePerSecond;
+			this.burst = burst;
+			this.tokens = burst;
+		}
+
+		void refill(long now) {
+			tokens = Math.min(burst, tokens + (now - lastRefill) / 1e9 * ratePerSecond);
+			lastRefill = now;
+		}
+	}
+}
@@ -0,0 +1,96 @@
+package com.masai.service;
+
+import com.masai.exception.InsufficientBalanceException;
+import com.masai.exception.SomethingWentWrongException;
+import com.masai.exception.UserNotFoundException;
+import com.masai.model.WalletTransaction;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Service interface for managing user wallets.
+ */
+public interface WalletService {
+
+    /**
+     * Adds money to a user's wallet. Only admins may call this, for money taken
+     * outside the application; there is no payment behind it.
+     *
+     * @param userId ID of the user whose wallet is credited.
+     * @param amount Amount to add, must be positive.
+     * @return The recorded ledger entry.
+     * @throws UserNotFoundException       If the specified user is not found.
+     * @throws SomethingWentWrongException If the amount is not positive.
+     */
+    WalletTransaction topUp(Long userId, double amount) throws UserNotFoundException, SomethingWentWrongException;
+
+    /**
+     * Charges a ticket purchase to a user's wallet.
+     *
+     * @param userId   ID of the user who buys the ticket.
+     * @param amount   Entry fee to charge.
+     * @param ticketId ID of the purchased ticket.
+     * @return The recorded ledger entry.
+     * @throws InsufficientBalanceException If the wallet does not cover the amount.
+     * @throws SomethingWentWrongException  If the amount is negative.
+     */
+    WalletTransaction debitForTicket(Long userId, double amount, Long ticketId)
+            throws InsufficientBalanceException, SomethingWentWrongException;
+
+    /**
+     * Refunds a cancelled ticket to the wallet it was paid from. Tickets that
+     * were never charged, or are already refunded, are left alone.
+     *
+     * @param userId   ID of the user who owns the ticket.
+     * @param amount   Entry fee to refund.
+     * @param ticketId ID of the cancelled ticket.
+     * @return The recorded ledger entry, or {@code null} if nothing was refunded.
+     */
+    WalletTransaction refundTicket(Long userId, double amount, Long ticketId);
+
+    /**
+     * Charges an activity booking to a user's wallet.
+     *
+     * @param userId    ID of the user who books.
+     * @param amount    Price of the booking.
+     * @param ticketId  ID of the ticket the booking is added to.
+     * @param bookingId ID of the booking.
+     * @return The recorded ledger entry.
+     * @throws InsufficientBalanceException If the wallet does not cover the amount.
+     * @throws SomethingWentWrongException  If the amount is negative.
+     */
+    WalletTransaction debitForBooking(Long userId, double amount, Long ticketId, Long bookingId)
+            throws InsufficientBalanceException, SomethingWentWrongException;
+
+    /**
+     * Refunds a cancelled activity booking. Bookings that were never charged, or
+     * are already refunded, are left alone.
+     *
+     * @param userId    ID of the user who made the booking.
+     * @param amount    Price of the booking.
+     * @param ticketId  ID of the ticket the booking belongs to.
+     * @param bookingId ID of the cancelled booking.
+     * @return The recorded ledger entry, or {@code null} if nothing was refunded.
+     */
+    WalletTransaction refundBooking(Long userId, double amount, Long ticketId, Long bookingId);
+
+    /**
+     * Computes a user's balance from the latest snapshot plus the ledger entries
+     * recorded after it.
+     *
+     * @param userId ID of the user.
+     * @return Current wallet balance.
+     * @throws UserNotFoundException If the specified user is not found.
+     */
+    double getBalance(Long userId) throws UserNotFoundException;
+
+    /**
+     * Retrieves a user's ledger, newest entries first.
+     *
+     * @param userId   ID of the user.
+     * @param pageable Pageable object containing pagination information.
+     * @return Page of ledger entries.
+     * @throws UserNotFoundException If the specified user is not found.
+     */
+    Page<WalletTransaction> getTransactions(Long userId, Pageable pageable) throws UserNotFoundException;
+}
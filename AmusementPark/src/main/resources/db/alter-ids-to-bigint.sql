@@ -0,0 +1,23 @@
+-- Widens the INT id and foreign key columns of a database created before
+-- IDs moved to 64-bit time-ordered values (Integer -> Long).
+-- spring.jpa.hibernate.ddl-auto=update does not change existing column
+-- types, so run this once against MySQL before deploying that version.
+-- IDs are now assigned by the application, so AUTO_INCREMENT is dropped.
+-- Table and column names are the physical ones Hibernate generates: the
+-- naming strategy lower-cases @Table names and snake-cases join columns, and
+-- MySQL on Linux matches table names case-sensitively.
+
+SET FOREIGN_KEY_CHECKS = 0;
+
+ALTER TABLE users MODIFY user_id BIGINT NOT NULL;
+ALTER TABLE parks MODIFY park_id BIGINT NOT NULL;
+ALTER TABLE activities MODIFY id BIGINT NOT NULL, MODIFY park_id BIGINT NULL;
+ALTER TABLE addresses MODIFY address_id BIGINT NOT NULL, MODIFY user_id BIGINT NULL;
+ALTER TABLE reviews MODIFY id BIGINT NOT NULL, MODIFY user_id BIGINT NULL, MODIFY park_id BIGINT NULL;
+ALTER TABLE tickets MODIFY id BIGINT NOT NULL, MODIFY user_id BIGINT NULL, MODIFY park_id BIGINT NULL;
+
+-- Wallet tables created by the ledger change, before the switch
+ALTER TABLE wallet_ledger MODIFY id BIGINT NOT NULL, MODIFY user_id BIGINT NOT NULL, MODIFY ticket_id BIGINT NULL;
+ALTER TABLE wallet_snapshots MODIFY user_id BIGINT NOT NULL;
+
+SET FOREIGN_KEY_CHECKS = 1;
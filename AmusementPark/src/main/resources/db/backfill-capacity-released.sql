@@ -0,0 +1,7 @@
+-- Marks tickets cancelled before the capacity_released column existed as
+-- released. spring.jpa.hibernate.ddl-auto=update adds the column with 0 for
+-- every existing row, which would make the inventories count those tickets
+-- as sold again. Run this once against MySQL right after deploying that
+-- version; reconcile corrects any counter seeded before it ran.
+
+UPDATE tickets SET capacity_released = 1 WHERE is_cancelled = 1;
@@ -0,0 +1,58 @@
+package com.masai.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Base64;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.masai.config.AdmissionPassSigner.AdmissionPass;
+import com.masai.config.AdmissionPassSigner.Kind;
+
+class AdmissionPassSignerTest {
+
+	private AdmissionPassSigner signer;
+
+	@BeforeEach
+	void setUp() {
+		signer = new AdmissionPassSigner();
+		ReflectionTestUtils.setField(signer, "jwtHelper", new JwtHelper());
+		signer.init();
+	}
+
+	@Test
+	void signedPassesVerify() {
+		AdmissionPass pass = new AdmissionPass(Kind.QUEUE, 11L, 22L, 33L, System.currentTimeMillis() + 60_000);
+
+		assertEquals(pass, signer.verify(signer.sign(pass), Kind.QUEUE).orElseThrow());
+	}
+
+	@Test
+	void passesOfAnotherKindAreRejected() {
+		String queueToken = signer.sign(new AdmissionPass(Kind.QUEUE, 11L, 22L, 33L, System.currentTimeMillis() + 60_000));
+
+		assertTrue(signer.verify(queueToken, Kind.PERMIT).isEmpty());
+	}
+
+	@Test
+	void expiredPassesAreRejected() {
+		String permit = signer.sign(new AdmissionPass(Kind.PERMIT, 11L, 22L, 33L, System.currentTimeMillis() - 1));
+
+		assertTrue(signer.verify(permit, Kind.PERMIT).isEmpty());
+	}
+
+	@Test
+	void tamperedOrMissingPassesAreRejected() {
+		byte[] bytes = Base64.getUrlDecoder()
+				.decode(signer.sign(new AdmissionPass(Kind.PERMIT, 11L, 22L, 33L, System.currentTimeMillis() + 60_000)));
+		// Move the permit to the front of the line without re-signing it
+		bytes[25] ^= 1;
+
+		assertTrue(signer.verify(Base64.getUrlEncoder().withoutPadding().encodeToString(bytes), Kind.PERMIT).isEmpty());
+		assertTrue(signer.verify(null, Kind.PERMIT).isEmpty());
+		assertTrue(signer.verify("not base64!", Kind.PERMIT).isEmpty());
+	}
+}
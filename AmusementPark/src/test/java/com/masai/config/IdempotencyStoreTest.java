@@ -0,0 +1,144 @@
+package com.masai.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.masai.exception.IdempotencyKeyReusedException;
+import com.masai.repository.IdempotencyRecordRepository;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyStoreTest {
+
+	private static final String SCOPE = "POST /api/tickets";
+
+	@Mock
+	private IdempotencyRecordRepository recordRepository;
+
+	@Spy
+	private ObjectMapper objectMapper = new ObjectMapper();
+
+	@InjectMocks
+	private IdempotencyStore store;
+
+	private final AtomicInteger runs = new AtomicInteger();
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(store, "ttlMs", 60_000L);
+		ReflectionTestUtils.setField(store, "maxEntries", 100);
+		ReflectionTestUtils.setField(store, "storeThreads", 1);
+		store.start();
+	}
+
+	@AfterEach
+	void tearDown() throws InterruptedException {
+		store.stop();
+	}
+
+	@Test
+	void retriesAreAnsweredFromTheStore() throws Exception {
+		ResponseEntity<String> first = execute("key", body("{}"));
+		awaitStored();
+		ResponseEntity<String> retry = execute("key", body("{}"));
+
+		assertEquals(1, runs.get());
+		assertEquals(first.getBody(), retry.getBody());
+		assertNull(first.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+		assertEquals("true", retry.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+	}
+
+	@Test
+	void aKeyCannotBeReusedForAnotherBody() throws Exception {
+		execute("key", body("{\"parkId\":1}"));
+		awaitStored();
+		HttpServletRequest other = body("{\"parkId\":2}");
+
+		assertThrows(IdempotencyKeyReusedException.class, () -> execute("key", other));
+		assertEquals(1, runs.get());
+	}
+
+	@Test
+	void failedResponsesAreNotStored() throws Exception {
+		store.execute("key", SCOPE, body("{}"), String.class, () -> {
+			runs.incrementAndGet();
+			return ResponseEntity.badRequest().body("sold out");
+		});
+		awaitStored();
+		execute("key", body("{}"));
+
+		assertEquals(2, runs.get());
+	}
+
+	@Test
+	void aRequestFinishingBetweenLookupAndClaimIsNotRunAgain() throws Exception {
+		HttpServletRequest request = body("{}");
+		AtomicInteger lookups = new AtomicInteger();
+		// The first request runs to completion while the retry is between its
+		// lookup and taking the in-flight entry
+		when(recordRepository.findById(anyString())).thenAnswer(invocation -> {
+			if (lookups.getAndIncrement() == 0) {
+				execute("key", request);
+				awaitStored();
+			}
+			return Optional.empty();
+		});
+
+		ResponseEntity<String> retry = execute("key", request);
+
+		assertEquals(1, runs.get());
+		assertEquals("true", retry.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+	}
+
+	private ResponseEntity<String> execute(String key, HttpServletRequest request) {
+		return store.execute(key, SCOPE, request, String.class,
+				() -> ResponseEntity.ok("ticket " + runs.incrementAndGet()));
+	}
+
+	private static HttpServletRequest body(String json) throws IOException {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/tickets");
+		request.setContent(json.getBytes(StandardCharsets.UTF_8));
+		ContentCachingRequestWrapper wrapper = new ContentCachingRequestWrapper(request);
+		wrapper.getInputStream().readAllBytes();
+		return wrapper;
+	}
+
+	/**
+	 * Responses are stored on the store's own thread; wait until nothing is in
+	 * flight any more.
+	 */
+	@SuppressWarnings("unchecked")
+	private void awaitStored() throws InterruptedException {
+		Map<String, ?> inFlight = (Map<String, ?>) ReflectionTestUtils.getField(store, "inFlight");
+		long deadline = System.currentTimeMillis() + 5_000;
+		while (!inFlight.isEmpty() && System.currentTimeMillis() < deadline) {
+			Thread.sleep(5);
+		}
+		assertTrue(inFlight.isEmpty());
+	}
+}
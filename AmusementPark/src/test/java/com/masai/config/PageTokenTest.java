@@ -0,0 +1,38 @@
+package com.masai.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+
+import com.masai.exception.InvalidPageTokenException;
+
+class PageTokenTest {
+
+	@Test
+	void numericTokensRoundTrip() {
+		PageToken token = new PageToken(1_700_000_000_000L, 42L, true);
+
+		assertEquals(token, PageToken.decode(token.encode()));
+	}
+
+	@Test
+	void textTokensRoundTrip() {
+		PageToken token = new PageToken(0L, 7L, false, "Wonderland Ünïcode");
+
+		assertEquals(token, PageToken.decode(token.encode()));
+	}
+
+	@Test
+	void malformedTokensAreRejected() {
+		String valid = new PageToken(1L, 2L, true).encode();
+		String truncated = valid.substring(0, valid.length() - 2);
+		String otherVersion = Base64.getUrlEncoder().withoutPadding().encodeToString(new byte[18]);
+
+		assertThrows(InvalidPageTokenException.class, () -> PageToken.decode("not base64!"));
+		assertThrows(InvalidPageTokenException.class, () -> PageToken.decode(truncated));
+		assertThrows(InvalidPageTokenException.class, () -> PageToken.decode(otherVersion));
+	}
+}
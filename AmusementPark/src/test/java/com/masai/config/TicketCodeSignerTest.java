@@ -0,0 +1,55 @@
+package com.masai.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.Base64;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.masai.config.AdmissionPassSigner.AdmissionPass;
+import com.masai.config.AdmissionPassSigner.Kind;
+import com.masai.config.TicketCodeSigner.TicketCode;
+
+class TicketCodeSignerTest {
+
+	private TicketCodeSigner signer;
+
+	@BeforeEach
+	void setUp() {
+		signer = new TicketCodeSigner();
+		ReflectionTestUtils.setField(signer, "jwtHelper", new JwtHelper());
+		signer.init();
+	}
+
+	@Test
+	void signedCodesVerify() {
+		LocalDate day = LocalDate.of(2024, 7, 1);
+
+		assertEquals(new TicketCode(123L, 45L, day), signer.verify(signer.sign(123L, 45L, day)).orElseThrow());
+	}
+
+	@Test
+	void tamperedCodesAreRejected() {
+		byte[] bytes = Base64.getUrlDecoder().decode(signer.sign(123L, 45L, LocalDate.of(2024, 7, 1)));
+		// Point the code at another ticket without re-signing it
+		bytes[8] ^= 1;
+
+		assertTrue(signer.verify(Base64.getUrlEncoder().withoutPadding().encodeToString(bytes)).isEmpty());
+		assertTrue(signer.verify("not base64!").isEmpty());
+		assertTrue(signer.verify("").isEmpty());
+	}
+
+	@Test
+	void valuesSignedForAnotherPurposeAreRejected() {
+		AdmissionPassSigner passSigner = new AdmissionPassSigner();
+		ReflectionTestUtils.setField(passSigner, "jwtHelper", new JwtHelper());
+		passSigner.init();
+		String pass = passSigner.sign(new AdmissionPass(Kind.PERMIT, 1L, 2L, 3L, Long.MAX_VALUE));
+
+		assertTrue(signer.verify(pass).isEmpty());
+	}
+}
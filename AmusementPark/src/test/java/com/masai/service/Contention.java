@@ -0,0 +1,54 @@
+package com.masai.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the same attempt from many threads released together, the way a
+ * ticket drop hits the inventories.
+ */
+final class Contention {
+
+	private Contention() {
+	}
+
+	/**
+	 * @param threads  Number of competing threads.
+	 * @param attempts Attempts per thread.
+	 * @param attempt  One attempt, returning whether it succeeded.
+	 * @return Number of successful attempts over all threads.
+	 */
+	static int successes(int threads, int attempts, Callable<Boolean> attempt) throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		try {
+			AtomicInteger successes = new AtomicInteger();
+			CountDownLatch start = new CountDownLatch(1);
+			List<Future<?>> runs = new ArrayList<>(threads);
+			for (int i = 0; i < threads; i++) {
+				runs.add(pool.submit(() -> {
+					start.await();
+					for (int j = 0; j < attempts; j++) {
+						if (attempt.call()) {
+							successes.incrementAndGet();
+						}
+					}
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> run : runs) {
+				run.get(10, TimeUnit.SECONDS);
+			}
+			return successes.get();
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+}
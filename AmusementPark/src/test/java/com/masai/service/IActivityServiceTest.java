@@ -0,0 +1,123 @@
+package com.masai.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import com.masai.model.Activity;
+import com.masai.model.ActivityPage;
+import com.masai.model.Park;
+
+/**
+ * Pages through a park's activities with keyset tokens, including activities
+ * that share a sort key.
+ */
+@DataJpaTest
+@Import(IActivityService.class)
+class IActivityServiceTest {
+
+	@Autowired
+	private IActivityService activityService;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@MockBean
+	private ParkCache parkCache;
+
+	@MockBean
+	private ParkSearchIndex searchIndex;
+
+	private Long parkId;
+
+	@BeforeEach
+	void setUp() {
+		Park park = new Park();
+		park.setName("Search Park");
+		park.setImg("https://example.com/park.png");
+		park.setLocation("Somewhere");
+		park.setDescription("A park used by the activity search test");
+		park.setOpeningHours("09:00");
+		park.setClosingHours("18:00");
+		parkId = entityManager.persist(park).getParkId();
+
+		activity(park, "Coaster", 30, false);
+		activity(park, "Bumper Cars", 10, false);
+		activity(park, "Coaster", 30, false);
+		activity(park, "Drop Tower", 30, false);
+		activity(park, "Carousel", 5, false);
+		activity(park, "Log Flume", 20, false);
+		activity(park, "Carnival Wheel", 15, true);
+		entityManager.flush();
+		entityManager.clear();
+	}
+
+	@Test
+	void pagingByNameVisitsEveryActivityOnce() {
+		List<Activity> seen = all("name", false, null, 2);
+
+		assertEquals(List.of("Bumper Cars", "Carousel", "Coaster", "Coaster", "Drop Tower", "Log Flume"),
+				names(seen));
+		assertEquals(6, seen.stream().map(Activity::getId).distinct().count());
+	}
+
+	@Test
+	void pagingByPriceDescendingKeepsTiedPricesInIdOrder() {
+		List<Activity> seen = all("price", true, null, 2);
+
+		assertEquals(List.of(30.0, 30.0, 30.0, 20.0, 10.0, 5.0), seen.stream().map(Activity::getPrice).toList());
+		List<Long> tied = seen.subList(0, 3).stream().map(Activity::getId).toList();
+		assertEquals(tied.stream().sorted((a, b) -> Long.compare(b, a)).toList(), tied);
+	}
+
+	@Test
+	void filtersApplyToEveryPage() {
+		assertEquals(List.of("Carousel", "Coaster", "Coaster"), names(all("name", false, "C", 1)));
+		// Wildcards in the prefix are matched literally
+		assertEquals(List.of(), names(all("name", false, "%", 2)));
+	}
+
+	@Test
+	void deletedActivitiesAreListedSeparately() {
+		ActivityPage page = activityService.findActivities(parkId, null, null, null, true, "name", false, null, 10);
+
+		assertEquals(List.of("Carnival Wheel"), names(page.getActivities()));
+		assertNull(page.getNextPageToken());
+	}
+
+	private List<Activity> all(String sort, boolean descending, String prefix, int size) {
+		List<Activity> seen = new ArrayList<>();
+		String token = null;
+		do {
+			ActivityPage page = activityService.findActivities(parkId, null, null, prefix, false, sort, descending,
+					token, size);
+			seen.addAll(page.getActivities());
+			token = page.getNextPageToken();
+		} while (token != null);
+		return seen;
+	}
+
+	private void activity(Park park, String name, double price, boolean deleted) {
+		Activity activity = new Activity();
+		activity.setName(name);
+		activity.setDescription(name + " ride");
+		activity.setPrice(price);
+		activity.setDeleted(deleted);
+		activity.setPark(park);
+		entityManager.persist(activity);
+	}
+
+	private static List<String> names(List<Activity> activities) {
+		return activities.stream().map(Activity::getName).toList();
+	}
+}
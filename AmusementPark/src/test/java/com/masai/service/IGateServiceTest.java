@@ -0,0 +1,102 @@
+package com.masai.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.Date;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import com.masai.config.JwtHelper;
+import com.masai.config.TicketCodeSigner;
+import com.masai.model.Park;
+import com.masai.model.Ticket;
+import com.masai.model.TicketValidation;
+import com.masai.repository.TicketRepository;
+
+/**
+ * Scans codes against stored tickets, including cancellations this node's
+ * revocation filter never heard of.
+ */
+@DataJpaTest
+@Import({ IGateService.class, TicketRevocationFilter.class, TicketCodeSigner.class, JwtHelper.class })
+class IGateServiceTest {
+
+	@Autowired
+	private GateService gateService;
+
+	@Autowired
+	private TicketCodeSigner ticketCodeSigner;
+
+	@Autowired
+	private TicketRevocationFilter revocationFilter;
+
+	@Autowired
+	private TicketRepository ticketRepository;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	private Ticket ticket;
+
+	private String code;
+
+	@BeforeEach
+	void setUp() {
+		Park park = new Park();
+		park.setName("Gate Park");
+		park.setImg("https://example.com/park.png");
+		park.setLocation("Somewhere");
+		park.setDescription("A park used by the gate test");
+		park.setOpeningHours("09:00");
+		park.setClosingHours("18:00");
+		park = entityManager.persist(park);
+		ticket = new Ticket();
+		ticket.setPark(park);
+		ticket.setPurchaseDate(new Date());
+		ticket = entityManager.persist(ticket);
+		entityManager.flush();
+		code = ticketCodeSigner.sign(ticket.getId(), park.getParkId(), LocalDate.now());
+	}
+
+	@Test
+	void aCodeAdmitsOnce() {
+		assertTrue(gateService.admit(code, null).isValid());
+
+		TicketValidation again = gateService.admit(code, null);
+		assertFalse(again.isValid());
+		assertEquals("Ticket has already been used.", again.getReason());
+		assertEquals("Ticket has already been used.", gateService.validate(code, null).getReason());
+	}
+
+	@Test
+	void validatingDoesNotUseTheTicket() {
+		assertTrue(gateService.validate(code, null).isValid());
+		assertTrue(gateService.validate(code, null).isValid());
+		assertTrue(gateService.admit(code, null).isValid());
+	}
+
+	@Test
+	void cancellationsThisNodeNeverSawAreRejected() {
+		ticketRepository.markCancelled(ticket.getId());
+		assertFalse(revocationFilter.isRevoked(ticket.getId()));
+
+		assertEquals("Ticket has been cancelled.", gateService.validate(code, null).getReason());
+		assertEquals("Ticket has been cancelled.", gateService.admit(code, null).getReason());
+		assertTrue(revocationFilter.isRevoked(ticket.getId()));
+	}
+
+	@Test
+	void unknownTicketsAreRejected() {
+		String missing = ticketCodeSigner.sign(ticket.getId() + 1, ticket.getPark().getParkId(), LocalDate.now());
+
+		assertEquals("Ticket not found.", gateService.admit(missing, null).getReason());
+	}
+}
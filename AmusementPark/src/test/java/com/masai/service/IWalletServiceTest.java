@@ -0,0 +1,132 @@
+package com.masai.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.masai.exception.InsufficientBalanceException;
+import com.masai.model.User;
+import com.masai.repository.UserRepository;
+import com.masai.repository.WalletSnapshotRepository;
+import com.masai.repository.WalletTransactionRepository;
+
+/**
+ * Runs the wallet against a real database, committing every step the way
+ * requests do.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@ActiveProfiles("test")
+@Import(IWalletService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IWalletServiceTest {
+
+	@Autowired
+	private IWalletService walletService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private WalletTransactionRepository walletTransactionRepository;
+
+	@Autowired
+	private WalletSnapshotRepository walletSnapshotRepository;
+
+	@AfterEach
+	void tearDown() {
+		walletTransactionRepository.deleteAll();
+		walletSnapshotRepository.deleteAll();
+		userRepository.deleteAll();
+	}
+
+	@Test
+	void balanceFollowsTheLedger() {
+		Long userId = user("ledger", 0).getUserId();
+
+		walletService.topUp(userId, 100);
+		walletService.debitForTicket(userId, 30, 1L);
+		walletService.debitForBooking(userId, 20, 1L, 2L);
+		walletService.refundBooking(userId, 20, 1L, 2L);
+
+		assertEquals(70, walletService.getBalance(userId));
+		assertEquals(70, userRepository.findById(userId).orElseThrow().getWallet());
+	}
+
+	@Test
+	void aTicketIsRefundedOnce() {
+		Long userId = user("refund", 0).getUserId();
+		walletService.topUp(userId, 50);
+		walletService.debitForTicket(userId, 50, 1L);
+
+		assertNotNull(walletService.refundTicket(userId, 50, 1L));
+		assertNull(walletService.refundTicket(userId, 50, 1L));
+		// Nothing was bought with this ticket, so there is nothing to refund
+		assertNull(walletService.refundTicket(userId, 50, 2L));
+
+		assertEquals(50, walletService.getBalance(userId));
+	}
+
+	@Test
+	void debitsNeverOverdraw() {
+		Long userId = user("overdraw", 0).getUserId();
+		walletService.topUp(userId, 10);
+
+		assertThrows(InsufficientBalanceException.class, () -> walletService.debitForTicket(userId, 10.01, 1L));
+		assertEquals(10, walletService.getBalance(userId));
+	}
+
+	@Test
+	void savingALoadedUserKeepsDebitsMadeMeanwhile() {
+		Long userId = user("stale", 0).getUserId();
+		walletService.topUp(userId, 100);
+		User loaded = userRepository.findById(userId).orElseThrow();
+
+		walletService.debitForTicket(userId, 40, 1L);
+		loaded.setPhone("9999999999");
+		userRepository.save(loaded);
+
+		assertEquals(60, userRepository.findById(userId).orElseThrow().getWallet());
+		assertEquals(60, walletService.getBalance(userId));
+	}
+
+	@Test
+	void usersFromBeforeTheLedgerGetOneOpeningEntry() {
+		Long legacy = user("legacy", 80).getUserId();
+		Long broke = user("broke", 0).getUserId();
+		Long recorded = user("recorded", 0).getUserId();
+		walletService.topUp(recorded, 25);
+
+		walletService.backfillOpeningBalances();
+		walletService.backfillOpeningBalances();
+
+		assertEquals(80, walletService.getBalance(legacy));
+		assertEquals(0, walletService.getBalance(broke));
+		assertEquals(25, walletService.getBalance(recorded));
+		assertEquals(2, walletTransactionRepository.count());
+	}
+
+	private User user(String name, double wallet) {
+		User user = new User();
+		user.setFullName("Test " + name);
+		user.setUsername(name);
+		user.setPassword("Secret#123");
+		user.setPhone("1234567890");
+		user.setEmail(name + "@example.com");
+		user.setRole("USER");
+		user.setWallet(wallet);
+		return userRepository.save(user);
+	}
+}
@@ -0,0 +1,165 @@
+package com.masai.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.masai.model.DeadLetterEvent;
+import com.masai.model.OutboxEvent;
+import com.masai.model.TicketCancelledEvent;
+import com.masai.repository.DeadLetterEventRepository;
+import com.masai.repository.OutboxEventRepository;
+
+/**
+ * Runs the dispatcher's poller against mocked tables: one delivery that
+ * succeeds, and failures that are retried and finally parked.
+ */
+@ExtendWith(MockitoExtension.class)
+class OutboxDispatcherTest {
+
+	private static final long EVENT = 7L;
+
+	private static final long TICKET = 42L;
+
+	@Mock
+	private OutboxEventRepository outboxEventRepository;
+
+	@Mock
+	private DeadLetterEventRepository deadLetterEventRepository;
+
+	@Mock
+	private TransactionTemplate transactionTemplate;
+
+	private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+	private final RecordingHandler handler = new RecordingHandler();
+
+	private final OutboxDispatcher dispatcher = new OutboxDispatcher();
+
+	@BeforeEach
+	void setUp() {
+		when(transactionTemplate.execute(any())).thenAnswer(
+				invocation -> invocation.getArgument(0, TransactionCallback.class).doInTransaction(null));
+		ReflectionTestUtils.setField(dispatcher, "outboxEventRepository", outboxEventRepository);
+		ReflectionTestUtils.setField(dispatcher, "deadLetterEventRepository", deadLetterEventRepository);
+		ReflectionTestUtils.setField(dispatcher, "transactionTemplate", transactionTemplate);
+		ReflectionTestUtils.setField(dispatcher, "objectMapper", objectMapper);
+		ReflectionTestUtils.setField(dispatcher, "handlerList", List.of(handler));
+		ReflectionTestUtils.setField(dispatcher, "batchSize", 10);
+		ReflectionTestUtils.setField(dispatcher, "workerCount", 2);
+		ReflectionTestUtils.setField(dispatcher, "pollIntervalMs", 20L);
+		ReflectionTestUtils.setField(dispatcher, "leaseMs", 60_000L);
+		ReflectionTestUtils.setField(dispatcher, "maxAttempts", 3);
+		ReflectionTestUtils.setField(dispatcher, "retryBaseMs", 1_000L);
+		ReflectionTestUtils.setField(dispatcher, "retryMaxMs", 60_000L);
+	}
+
+	@AfterEach
+	void tearDown() throws InterruptedException {
+		dispatcher.stop();
+	}
+
+	@Test
+	void deliveredEventsAreDeleted() throws Exception {
+		when(outboxEventRepository.lockDue(any(), anyInt())).thenReturn(List.of(event(0)), List.of());
+
+		dispatcher.start();
+
+		verify(outboxEventRepository, timeout(5_000)).deleteById(EVENT);
+		assertEquals(List.of(TICKET), handler.delivered);
+		verify(outboxEventRepository, never()).save(any());
+	}
+
+	@Test
+	void failedEventsAreRetriedLater() throws Exception {
+		handler.failing = true;
+		when(outboxEventRepository.lockDue(any(), anyInt())).thenReturn(List.of(event(0)), List.of());
+		long before = System.currentTimeMillis();
+
+		dispatcher.start();
+
+		ArgumentCaptor<OutboxEvent> retry = ArgumentCaptor.forClass(OutboxEvent.class);
+		verify(outboxEventRepository, timeout(5_000)).save(retry.capture());
+		assertEquals(1, retry.getValue().getAttempts());
+		assertTrue(retry.getValue().getNextAttemptAt().getTime() >= before + 1_000);
+		assertTrue(retry.getValue().getLastError().contains("handler down"));
+		verify(outboxEventRepository, never()).deleteById(any());
+	}
+
+	@Test
+	void eventsOutOfAttemptsAreParked() throws Exception {
+		handler.failing = true;
+		doAnswer(invocation -> {
+			invocation.getArgument(0, Consumer.class).accept(null);
+			return null;
+		}).when(transactionTemplate).executeWithoutResult(any());
+		when(outboxEventRepository.lockDue(any(), anyInt())).thenReturn(List.of(event(2)), List.of());
+
+		dispatcher.start();
+
+		ArgumentCaptor<DeadLetterEvent> parked = ArgumentCaptor.forClass(DeadLetterEvent.class);
+		verify(deadLetterEventRepository, timeout(5_000)).save(parked.capture());
+		verify(outboxEventRepository, timeout(5_000)).deleteById(EVENT);
+		assertEquals(3, parked.getValue().getAttempts());
+	}
+
+	private OutboxEvent event(int attempts) throws Exception {
+		String payload = objectMapper
+				.writeValueAsString(new TicketCancelledEvent(TICKET, 1L, 1L, new Date(), 100.0, null));
+		return new OutboxEvent(EVENT, TicketCancelledEvent.TYPE, handler.name(), TICKET, payload, new Date(),
+				attempts, new Date(), null);
+	}
+
+	private static class RecordingHandler implements OutboxHandler<TicketCancelledEvent> {
+
+		private final List<Long> delivered = new CopyOnWriteArrayList<>();
+
+		private volatile boolean failing;
+
+		@Override
+		public String name() {
+			return "recording";
+		}
+
+		@Override
+		public String eventType() {
+			return TicketCancelledEvent.TYPE;
+		}
+
+		@Override
+		public Class<TicketCancelledEvent> payloadType() {
+			return TicketCancelledEvent.class;
+		}
+
+		@Override
+		public void handle(TicketCancelledEvent event, Long ticketId) {
+			if (failing) {
+				throw new IllegalStateException("handler down");
+			}
+			delivered.add(event.getTicketId());
+		}
+	}
+}
@@ -0,0 +1,127 @@
+package com.masai.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.masai.exception.SomethingWentWrongException;
+import com.masai.model.ParkSummary;
+
+@ExtendWith(MockitoExtension.class)
+class ParkCatalogTest {
+
+	@Mock
+	private ParkService parkService;
+
+	@Mock
+	private ParkCache parkCache;
+
+	@Spy
+	private ObjectMapper objectMapper = new ObjectMapper();
+
+	@InjectMocks
+	private ParkCatalog catalog;
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(catalog, "maxAgeMs", 60_000L);
+		ReflectionTestUtils.setField(catalog, "gzipMinBytes", 1024);
+	}
+
+	@Test
+	void smallListingsAreNotCompressed() {
+		when(parkService.getParkSummaries()).thenReturn(parks(1));
+
+		assertNull(catalog.current().gzip());
+	}
+
+	@Test
+	void largeListingsAreCompressedOnce() throws IOException {
+		when(parkService.getParkSummaries()).thenReturn(parks(50));
+
+		ParkCatalog.Snapshot snapshot = catalog.current();
+
+		assertTrue(snapshot.gzip().length < snapshot.json().length);
+		try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(snapshot.gzip()))) {
+			assertArrayEquals(snapshot.json(), in.readAllBytes());
+		}
+		assertSame(snapshot, catalog.current());
+	}
+
+	@Test
+	void eachRepresentationHasItsOwnTag() {
+		when(parkService.getParkSummaries()).thenReturn(parks(1));
+		ParkCatalog.Snapshot snapshot = catalog.current();
+		String plain = snapshot.etag(false);
+
+		assertNotEquals(plain, snapshot.etag(true));
+		assertTrue(snapshot.matches(plain, false));
+		assertTrue(snapshot.matches("\"other\", W/" + plain, false));
+		assertTrue(snapshot.matches("*", true));
+		assertFalse(snapshot.matches(plain, true));
+		assertFalse(snapshot.matches(null, false));
+	}
+
+	@Test
+	void refreshRebuildsOnlyAfterAChange() {
+		when(parkService.getParkSummaries()).thenReturn(parks(1), parks(2));
+		when(parkCache.version()).thenReturn(1L);
+		catalog.refresh();
+		ParkCatalog.Snapshot first = catalog.current();
+
+		catalog.refresh();
+		assertSame(first, catalog.current());
+
+		when(parkCache.version()).thenReturn(2L);
+		catalog.refresh();
+		assertNotEquals(first.hash(), catalog.current().hash());
+		verify(parkService, times(2)).getParkSummaries();
+	}
+
+	@Test
+	void aFailedRebuildKeepsServingThePreviousListing() {
+		when(parkService.getParkSummaries()).thenReturn(parks(1))
+				.thenThrow(new SomethingWentWrongException("database down"));
+		when(parkCache.version()).thenReturn(1L, 2L);
+		catalog.refresh();
+		ParkCatalog.Snapshot first = catalog.current();
+
+		catalog.refresh();
+
+		assertSame(first, catalog.current());
+	}
+
+	private static List<ParkSummary> parks(int count) {
+		return IntStream.rangeClosed(1, count).mapToObj(i -> {
+			ParkSummary park = new ParkSummary();
+			park.setParkId((long) i);
+			park.setName("Park " + i);
+			park.setLocation("Somewhere");
+			park.setDescription("A park with rides, shows and a lake to walk around");
+			return park;
+		}).toList();
+	}
+}
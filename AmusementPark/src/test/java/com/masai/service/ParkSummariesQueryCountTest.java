@@ -0,0 +1,109 @@
+package com.masai.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import com.masai.model.Activity;
+import com.masai.model.Park;
+import com.masai.model.ParkSummary;
+import com.masai.model.Review;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Guards the park listing against N+1 queries: however many parks there are,
+ * it must stay at one statement each for parks, activities and review stats.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(IParkService.class)
+class ParkSummariesQueryCountTest {
+
+	@Autowired
+	private ParkService parkService;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@MockBean
+	private SlotInventory slotInventory;
+
+	@MockBean
+	private AvailabilityCalendar availabilityCalendar;
+
+	@MockBean
+	private ParkCache parkCache;
+
+	@MockBean
+	private ParkSearchIndex searchIndex;
+
+	@MockBean
+	private ParkLocator parkLocator;
+
+	@MockBean
+	private OpenHoursIndex openHoursIndex;
+
+	@Test
+	void summariesTakeThreeStatementsWhateverTheParkCount() {
+		for (int i = 0; i < 5; i++) {
+			Park park = entityManager.persist(park("Park " + i));
+			for (int j = 0; j < 3; j++) {
+				entityManager.persist(activity(park, "Ride " + j));
+			}
+			for (int j = 1; j <= 2; j++) {
+				entityManager.persist(review(park, j + 2));
+			}
+		}
+		entityManager.flush();
+		entityManager.clear();
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		List<ParkSummary> summaries = parkService.getParkSummaries();
+
+		assertEquals(5, summaries.size());
+		assertEquals(3, summaries.get(0).getActivities().size());
+		assertEquals(2L, summaries.get(0).getReviewCount());
+		assertEquals(3, statistics.getPrepareStatementCount());
+	}
+
+	private static Park park(String name) {
+		Park park = new Park();
+		park.setName(name);
+		park.setImg("https://example.com/park.png");
+		park.setLocation("Somewhere");
+		park.setDescription("A park used by the query count test");
+		park.setOpeningHours("09:00");
+		park.setClosingHours("18:00");
+		return park;
+	}
+
+	private static Activity activity(Park park, String name) {
+		Activity activity = new Activity();
+		activity.setName(name);
+		activity.setDescription("An activity");
+		activity.setPrice(10);
+		activity.setPark(park);
+		return activity;
+	}
+
+	private static Review review(Park park, int rating) {
+		Review review = new Review();
+		review.setRating(rating);
+		review.setComment("Fine");
+		review.setPark(park);
+		return review;
+	}
+}
@@ -0,0 +1,102 @@
+package com.masai.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.masai.exception.ParkNotFoundException;
+import com.masai.model.Park;
+import com.masai.model.PriceQuote;
+import com.masai.repository.ParkRepository;
+import com.masai.repository.TicketRepository;
+
+@ExtendWith(MockitoExtension.class)
+class PriceTableTest {
+
+	private static final Long PARK = 1L;
+
+	private final LocalDate today = LocalDate.now();
+
+	@Mock
+	private ParkRepository parkRepository;
+
+	@Mock
+	private TicketRepository ticketRepository;
+
+	@Mock
+	private PricingEngine pricingEngine;
+
+	@InjectMocks
+	private PriceTable priceTable;
+
+	private Park park;
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(priceTable, "horizonDays", 3);
+		park = new Park();
+		park.setParkId(PARK);
+		// Every ticket sold adds one to the fee
+		lenient().when(pricingEngine.price(any(), any(), anyLong(), any()))
+				.thenAnswer(invocation -> 100.0 + invocation.getArgument(2, Long.class));
+	}
+
+	@Test
+	void theTableIsPricedFromTheSalesOfEachDay() {
+		List<Object[]> sold = List.<Object[]>of(new Object[] { PARK, today.plusDays(1), 7L });
+		when(ticketRepository.countActiveTicketsByParkAndDayBetween(any(), any())).thenReturn(sold);
+		when(parkRepository.findAll()).thenReturn(List.of(park));
+		priceTable.refresh();
+		clearInvocations(pricingEngine);
+
+		assertEquals(100, priceTable.priceFor(park, visit(today)));
+		assertEquals(107, priceTable.priceFor(park, visit(today.plusDays(1))));
+		verifyNoInteractions(pricingEngine);
+	}
+
+	@Test
+	void daysOutsideTheTableArePricedWithoutDemand() {
+		when(ticketRepository.countActiveTicketsByParkAndDayBetween(any(), any())).thenReturn(List.of());
+		when(parkRepository.findAll()).thenReturn(List.of(park));
+		priceTable.refresh();
+
+		assertEquals(100, priceTable.priceFor(park, visit(today.plusDays(5))));
+		verify(pricingEngine).price(eq(park), eq(today.plusDays(5)), eq(0L), any());
+	}
+
+	@Test
+	void quotesCoverTheRangeUpToTheHorizon() {
+		when(parkRepository.findById(PARK)).thenReturn(Optional.of(park));
+
+		List<PriceQuote> quotes = priceTable.quotes(PARK, today, today.plusDays(10));
+
+		assertEquals(List.of(today, today.plusDays(1), today.plusDays(2)),
+				quotes.stream().map(PriceQuote::getDay).toList());
+		assertThrows(ParkNotFoundException.class, () -> priceTable.quotes(2L, today, today));
+	}
+
+	private static Date visit(LocalDate day) {
+		return Date.from(day.atTime(12, 0).atZone(ZoneId.systemDefault()).toInstant());
+	}
+}
@@ -0,0 +1,79 @@
+package com.masai.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.masai.exception.SoldOutException;
+import com.masai.model.ActivitySession;
+import com.masai.repository.ActivityBookingRepository;
+import com.masai.repository.ActivitySessionRepository;
+
+@ExtendWith(MockitoExtension.class)
+class SessionInventoryTest {
+
+	private static final Long SESSION = 7L;
+
+	@Mock
+	private ActivitySessionRepository sessionRepository;
+
+	@Mock
+	private ActivityBookingRepository bookingRepository;
+
+	@InjectMocks
+	private SessionInventory inventory;
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(inventory, "stripes", 8);
+		when(sessionRepository.findById(SESSION)).thenReturn(Optional
+				.of(new ActivitySession(SESSION, 3L, 1L, LocalDateTime.now().plusDays(1), 20, false)));
+	}
+
+	@Test
+	void concurrentBookingsNeverOversell() throws Exception {
+		int bookings = Contention.successes(16, 20, () -> {
+			try {
+				inventory.reserve(SESSION, 2).commit();
+				return true;
+			} catch (SoldOutException e) {
+				return false;
+			}
+		});
+
+		assertEquals(10, bookings);
+		assertThrows(SoldOutException.class, () -> inventory.reserve(SESSION, 1));
+	}
+
+	@Test
+	void partialRequestsDoNotKeepSeats() {
+		inventory.reserve(SESSION, 19).commit();
+
+		assertThrows(SoldOutException.class, () -> inventory.reserve(SESSION, 2));
+		inventory.reserve(SESSION, 1).commit();
+	}
+
+	@Test
+	void reconcileLeavesBookingsInFlightAlone() {
+		inventory.reserve(SESSION, 4).commit();
+		inventory.reserve(SESSION, 6);
+		// Only the committed booking is stored yet
+		when(bookingRepository.sumActiveSeats(SESSION)).thenReturn(4L);
+
+		inventory.reconcile();
+
+		inventory.reserve(SESSION, 10).commit();
+		assertThrows(SoldOutException.class, () -> inventory.reserve(SESSION, 1));
+	}
+}
@@ -0,0 +1,94 @@
+package com.masai.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.Date;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.masai.exception.SoldOutException;
+import com.masai.model.Park;
+import com.masai.repository.TicketRepository;
+
+@ExtendWith(MockitoExtension.class)
+class SlotInventoryTest {
+
+	private static final LocalTime NINE = LocalTime.of(9, 0);
+
+	private final LocalDate day = LocalDate.now().plusDays(1);
+
+	private final Date visit = Date.from(day.atStartOfDay(ZoneId.systemDefault()).toInstant());
+
+	@Mock
+	private TicketRepository ticketRepository;
+
+	@InjectMocks
+	private SlotInventory inventory;
+
+	private Park park;
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(inventory, "searchDays", 90);
+		// Two slots of ten places, 09:00 and 09:30
+		park = new Park();
+		park.setParkId(1L);
+		park.setOpeningHours("09:00");
+		park.setClosingHours("10:00");
+		park.setSlotMinutes(30);
+		park.setSlotCapacity(10);
+	}
+
+	@Test
+	void concurrentBuyersNeverOverfillASlot() throws Exception {
+		int taken = Contention.successes(16, 5, () -> {
+			try {
+				inventory.reserve(park, visit, NINE).get().commit();
+				return true;
+			} catch (SoldOutException e) {
+				return false;
+			}
+		});
+
+		assertEquals(10, taken);
+		assertEquals(0, remaining(NINE));
+	}
+
+	@Test
+	void fullSlotsFallThroughToTheNextFreeOne() {
+		for (int i = 0; i < 10; i++) {
+			inventory.reserve(park, visit, NINE).get().commit();
+		}
+
+		assertEquals(LocalTime.of(9, 30), inventory.reserve(park, visit, null).get().start());
+		assertThrows(SoldOutException.class, () -> inventory.reserve(park, visit, NINE));
+	}
+
+	@Test
+	void rebuildKeepsPlacesHeldInFlight() {
+		SlotInventory.Reservation pending = inventory.reserve(park, visit, NINE).get();
+		inventory.reserve(park, visit, NINE).get();
+
+		// Nothing is stored yet, so the rebuild only knows about the places in flight
+		inventory.invalidate(park);
+		assertEquals(8, remaining(NINE));
+
+		pending.rollback();
+		assertEquals(9, remaining(NINE));
+	}
+
+	private int remaining(LocalTime start) {
+		return inventory.getSlots(park.getParkId(), day).stream().filter(slot -> slot.getStart().equals(start))
+				.findFirst().orElseThrow().getRemaining();
+	}
+}
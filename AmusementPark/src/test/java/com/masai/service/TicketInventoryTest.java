@@ -0,0 +1,88 @@
+package com.masai.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.masai.exception.SoldOutException;
+import com.masai.repository.TicketRepository;
+
+@ExtendWith(MockitoExtension.class)
+class TicketInventoryTest {
+
+	private static final Long PARK = 1L;
+
+	private final LocalDate day = LocalDate.now().plusDays(1);
+
+	private final Date visit = Date.from(day.atStartOfDay(ZoneId.systemDefault()).toInstant());
+
+	@Mock
+	private TicketRepository ticketRepository;
+
+	@InjectMocks
+	private TicketInventory inventory;
+
+	@Test
+	void concurrentBuyersNeverOversell() throws Exception {
+		int sold = Contention.successes(16, 50, () -> {
+			try {
+				inventory.reserve(PARK, visit, 100).commit();
+				return true;
+			} catch (SoldOutException e) {
+				return false;
+			}
+		});
+
+		assertEquals(100, sold);
+		assertEquals(100, inventory.sold(PARK, day));
+	}
+
+	@Test
+	void rolledBackReservationsAreSoldAgain() {
+		inventory.reserve(PARK, visit, 1).rollback();
+		inventory.reserve(PARK, visit, 1).commit();
+
+		assertThrows(SoldOutException.class, () -> inventory.reserve(PARK, visit, 1));
+	}
+
+	@Test
+	void reconcileLeavesReservationsInFlightAlone() {
+		inventory.reserve(PARK, visit, 10).commit();
+		inventory.reserve(PARK, visit, 10);
+		// Only the committed ticket is stored yet
+		when(ticketRepository.countActiveTicketsByParkBetween(anyLong(), any(), any())).thenReturn(1L);
+
+		inventory.reconcile();
+
+		assertEquals(2, inventory.sold(PARK, day));
+	}
+
+	@Test
+	void reconcilePicksUpTicketsSoldElsewhere() {
+		inventory.reserve(PARK, visit, 10).commit();
+		when(ticketRepository.countActiveTicketsByParkBetween(anyLong(), any(), any())).thenReturn(4L);
+
+		inventory.reconcile();
+
+		assertEquals(4, inventory.sold(PARK, day));
+	}
+
+	@Test
+	void driftIsOnlyOutsideTheInFlightRange() {
+		assertEquals(0, TicketInventory.drift(5, 3, 7));
+		assertEquals(-2, TicketInventory.drift(1, 3, 7));
+		assertEquals(2, TicketInventory.drift(9, 3, 7));
+	}
+}
@@ -0,0 +1,124 @@
+package com.masai.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import com.masai.model.Park;
+import com.masai.model.SlotAvailability;
+import com.masai.model.Ticket;
+import com.masai.model.TicketCancelledEvent;
+import com.masai.repository.TicketRepository;
+
+/**
+ * Runs a cancellation against the stored tickets the inventories count, with
+ * reconciles and reloads landing between the cancel and its release.
+ */
+@DataJpaTest
+@Import({ TicketReleaseHandler.class, TicketInventory.class, SlotInventory.class })
+class TicketReleaseHandlerTest {
+
+	private static final LocalTime NINE = LocalTime.of(9, 0);
+
+	@Autowired
+	private TicketReleaseHandler handler;
+
+	@Autowired
+	private TicketInventory ticketInventory;
+
+	@Autowired
+	private SlotInventory slotInventory;
+
+	@Autowired
+	private TicketRepository ticketRepository;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@MockBean
+	private SalesAccumulator salesAccumulator;
+
+	private final LocalDate day = LocalDate.now().plusDays(1);
+
+	private final Date visit = Date.from(day.atTime(12, 0).atZone(ZoneId.systemDefault()).toInstant());
+
+	private Park park;
+
+	private Ticket cancelled;
+
+	@BeforeEach
+	void setUp() {
+		park = new Park();
+		park.setName("Release Park");
+		park.setImg("https://example.com/park.png");
+		park.setLocation("Somewhere");
+		park.setDescription("A park used by the release test");
+		park.setOpeningHours("09:00");
+		park.setClosingHours("10:00");
+		park.setSlotMinutes(30);
+		park.setSlotCapacity(10);
+		park = entityManager.persist(park);
+		for (int i = 0; i < 3; i++) {
+			Ticket ticket = new Ticket();
+			ticket.setPark(park);
+			ticket.setPurchaseDate(visit);
+			ticket.setEntrySlot(NINE);
+			cancelled = entityManager.persist(ticket);
+		}
+		entityManager.flush();
+		assertEquals(3, ticketInventory.sold(park.getParkId(), day));
+		assertEquals(7, remaining());
+	}
+
+	@Test
+	void reconcileBeforeTheReleaseDoesNotFreeTheTicketTwice() {
+		ticketRepository.markCancelled(cancelled.getId());
+
+		// The outbox has not delivered yet: counts must still include the ticket
+		ticketInventory.reconcile();
+		slotInventory.invalidate(park);
+		assertEquals(3, ticketInventory.sold(park.getParkId(), day));
+		assertEquals(7, remaining());
+
+		handler.handle(event(), cancelled.getId());
+		assertEquals(2, ticketInventory.sold(park.getParkId(), day));
+		assertEquals(8, remaining());
+
+		ticketInventory.reconcile();
+		slotInventory.invalidate(park);
+		assertEquals(2, ticketInventory.sold(park.getParkId(), day));
+		assertEquals(8, remaining());
+	}
+
+	@Test
+	void redeliveredEventsAreIgnored() {
+		ticketRepository.markCancelled(cancelled.getId());
+
+		handler.handle(event(), cancelled.getId());
+		handler.handle(event(), cancelled.getId());
+
+		assertEquals(2, ticketInventory.sold(park.getParkId(), day));
+		assertEquals(8, remaining());
+	}
+
+	private TicketCancelledEvent event() {
+		return new TicketCancelledEvent(cancelled.getId(), null, park.getParkId(), visit, 100.0, NINE);
+	}
+
+	private int remaining() {
+		List<SlotAvailability> slots = slotInventory.getSlots(park.getParkId(), day);
+		return slots.stream().filter(slot -> slot.getStart().equals(NINE)).findFirst().orElseThrow().getRemaining();
+	}
+}
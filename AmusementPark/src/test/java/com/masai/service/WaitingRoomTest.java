@@ -0,0 +1,88 @@
+package com.masai.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.masai.config.AdmissionPassSigner;
+import com.masai.config.JwtHelper;
+import com.masai.exception.AdmissionRequiredException;
+import com.masai.model.QueueStatus;
+
+class WaitingRoomTest {
+
+	private static final Long PARK = 1L;
+
+	private static final Long BUYER = 10L;
+
+	private WaitingRoom waitingRoom;
+
+	@BeforeEach
+	void setUp() {
+		AdmissionPassSigner passSigner = new AdmissionPassSigner();
+		ReflectionTestUtils.setField(passSigner, "jwtHelper", new JwtHelper());
+		passSigner.init();
+		waitingRoom = new WaitingRoom();
+		ReflectionTestUtils.setField(waitingRoom, "passSigner", passSigner);
+		ReflectionTestUtils.setField(waitingRoom, "permitTtlMs", 60_000L);
+		ReflectionTestUtils.setField(waitingRoom, "queueTtlMs", 60_000L);
+		waitingRoom.open(PARK, 1, 1);
+	}
+
+	@Test
+	void buyersBeyondTheRateWaitForTheirTurn() {
+		waitingRoom.join(BUYER, PARK);
+		waitingRoom.tick();
+
+		QueueStatus second = waitingRoom.join(BUYER + 1, PARK);
+
+		assertFalse(second.isAdmitted());
+		assertNull(second.getPermit());
+	}
+
+	@Test
+	void aPositionBuysOnlyOnce() {
+		String queueToken = waitingRoom.join(BUYER, PARK).getQueueToken();
+		waitingRoom.tick();
+		String permit = waitingRoom.status(queueToken).getPermit();
+		assertNotNull(permit);
+
+		waitingRoom.usePermit(permit, BUYER, PARK);
+
+		// Neither polling nor rejoining hands out another permit for the position
+		QueueStatus polled = waitingRoom.status(queueToken);
+		assertTrue(polled.isAdmitted());
+		assertNull(polled.getPermit());
+		assertNull(waitingRoom.join(BUYER, PARK).getPermit());
+		assertThrows(AdmissionRequiredException.class, () -> waitingRoom.usePermit(permit, BUYER, PARK));
+	}
+
+	@Test
+	void aFailedPurchaseGetsThePermitBack() {
+		String queueToken = waitingRoom.join(BUYER, PARK).getQueueToken();
+		waitingRoom.tick();
+		String permit = waitingRoom.status(queueToken).getPermit();
+
+		Long position = waitingRoom.usePermit(permit, BUYER, PARK);
+		waitingRoom.returnPermit(PARK, position);
+
+		assertEquals(position, waitingRoom.usePermit(waitingRoom.status(queueToken).getPermit(), BUYER, PARK));
+	}
+
+	@Test
+	void permitsAreBoundToTheirBuyer() {
+		String queueToken = waitingRoom.join(BUYER, PARK).getQueueToken();
+		waitingRoom.tick();
+		String permit = waitingRoom.status(queueToken).getPermit();
+
+		assertThrows(AdmissionRequiredException.class, () -> waitingRoom.usePermit(permit, BUYER + 1, PARK));
+		assertThrows(AdmissionRequiredException.class, () -> waitingRoom.usePermit(null, BUYER, PARK));
+	}
+}